@@ -0,0 +1,129 @@
+package io.flutter.plugins.videoplayer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.flutter.plugin.common.StandardMessageCodec;
+import io.flutter.plugin.common.StandardMethodCodec;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the high frequency events of the {@code VideoPlayer} listeners, alone and encoded the way
+ * the event channel does.
+ *
+ * <p>The map benchmarks are the events as they were sent before {@link EventFrame}, encoded with
+ * the standard envelope; the frame benchmarks are what the listeners send now, encoded with {@link
+ * EventCodec}. Compare their {@code gc.alloc.rate.norm} from the gc profiler.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EventMapBenchmark {
+  private final StandardMessageCodec codec = new StandardMessageCodec();
+  private final EventFrame positionFrame = new EventFrame(EventFrame.TYPE_POSITION);
+  private final EventFrame bufferingFrame = new EventFrame(EventFrame.TYPE_BUFFERING_UPDATE);
+  private final EventFrame loadingFrame = new EventFrame(EventFrame.TYPE_LOADING_PROGRESS);
+  private final EventFrame stateFrame = new EventFrame(EventFrame.TYPE_STATE_CHANGED);
+  private long position;
+
+  @Benchmark
+  public Map<String, Object> stateChanged() {
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", "stateChanged");
+    event.put("state", 3);
+    return event;
+  }
+
+  @Benchmark
+  public Map<String, Object> loadingProgress() {
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", "loadingProgress");
+    event.put("percent", 42);
+    event.put("kbps", 2048f);
+    return event;
+  }
+
+  @Benchmark
+  public Map<String, Object> bufferingUpdate() {
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", "bufferingUpdate");
+    List<? extends Number> range = Arrays.asList(0, position += 500);
+    event.put("values", Collections.singletonList(range));
+    return event;
+  }
+
+  @Benchmark
+  public Map<String, Object> position() {
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", "position");
+    event.put("position", position += 500);
+    return event;
+  }
+
+  @Benchmark
+  public ByteBuffer encodedBufferingUpdate() {
+    return codec.encodeMessage(bufferingUpdate());
+  }
+
+  @Benchmark
+  public ByteBuffer encodedPosition() {
+    return codec.encodeMessage(position());
+  }
+
+  @Benchmark
+  public ByteBuffer envelopeStateChanged() {
+    return StandardMethodCodec.INSTANCE.encodeSuccessEnvelope(stateChanged());
+  }
+
+  @Benchmark
+  public ByteBuffer envelopeLoadingProgress() {
+    return StandardMethodCodec.INSTANCE.encodeSuccessEnvelope(loadingProgress());
+  }
+
+  @Benchmark
+  public ByteBuffer envelopeBufferingUpdate() {
+    return StandardMethodCodec.INSTANCE.encodeSuccessEnvelope(bufferingUpdate());
+  }
+
+  @Benchmark
+  public ByteBuffer envelopePosition() {
+    return StandardMethodCodec.INSTANCE.encodeSuccessEnvelope(position());
+  }
+
+  @Benchmark
+  public ByteBuffer frameStateChanged() {
+    return EventCodec.INSTANCE.encodeSuccessEnvelope(stateFrame.stateChanged(3));
+  }
+
+  @Benchmark
+  public ByteBuffer frameLoadingProgress() {
+    return EventCodec.INSTANCE.encodeSuccessEnvelope(loadingFrame.loadingProgress(42, 2048f));
+  }
+
+  @Benchmark
+  public ByteBuffer frameBufferingUpdate() {
+    return EventCodec.INSTANCE.encodeSuccessEnvelope(
+        bufferingFrame.bufferingUpdate(position += 500));
+  }
+
+  @Benchmark
+  public ByteBuffer framePosition() {
+    return EventCodec.INSTANCE.encodeSuccessEnvelope(positionFrame.position(position += 500));
+  }
+}
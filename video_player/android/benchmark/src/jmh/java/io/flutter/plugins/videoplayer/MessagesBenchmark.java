@@ -0,0 +1,129 @@
+package io.flutter.plugins.videoplayer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.flutter.plugin.common.MessageCodec;
+import io.flutter.plugin.common.StandardMessageCodec;
+import io.flutter.plugins.videoplayer.Messages.PositionMessage;
+import io.flutter.plugins.videoplayer.Messages.TextureMessage;
+import io.flutter.plugins.videoplayer.Messages.VolumeMessage;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The platform side of one {@code position}, {@code seekTo} and {@code setVolume} call: decoding
+ * the request and encoding the reply, over the Pigeon maps and over {@link CompactMessages}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MessagesBenchmark {
+  private final StandardMessageCodec standardCodec = new StandardMessageCodec();
+  private final CompactMessages.Codec compactCodec = CompactMessages.Codec.INSTANCE;
+
+  private ByteBuffer pigeonTexture;
+  private ByteBuffer pigeonPosition;
+  private ByteBuffer pigeonVolume;
+  private ByteBuffer compactTexture;
+  private ByteBuffer compactPosition;
+  private ByteBuffer compactVolume;
+  private VolumeMessage volumeMessage;
+
+  @Setup
+  public void setUp() {
+    TextureMessage texture = new TextureMessage();
+    texture.setTextureId(3L);
+    PositionMessage position = new PositionMessage();
+    position.setTextureId(3L);
+    position.setPosition(73_500L);
+    volumeMessage = new VolumeMessage();
+    volumeMessage.setTextureId(3L);
+    volumeMessage.setVolume(0.5);
+
+    pigeonTexture = request(standardCodec, texture.toMap());
+    pigeonPosition = request(standardCodec, position.toMap());
+    pigeonVolume = request(standardCodec, volumeMessage.toMap());
+    compactTexture = request(compactCodec, texture);
+    compactPosition = request(compactCodec, position);
+    compactVolume = request(compactCodec, volumeMessage);
+  }
+
+  @Benchmark
+  public VolumeMessage toMapFromMap() {
+    return VolumeMessage.fromMap(volumeMessage.toMap());
+  }
+
+  @Benchmark
+  public ByteBuffer pigeonPosition() {
+    TextureMessage input =
+        TextureMessage.fromMap((HashMap) standardCodec.decodeMessage(pigeonTexture.duplicate()));
+    PositionMessage output = new PositionMessage();
+    output.setTextureId(input.getTextureId());
+    output.setPosition(73_500L);
+    HashMap<String, Object> wrapped = new HashMap<>();
+    wrapped.put("result", output.toMap());
+    return standardCodec.encodeMessage(wrapped);
+  }
+
+  @Benchmark
+  public ByteBuffer compactPosition() {
+    TextureMessage input = (TextureMessage) compactCodec.decodeMessage(compactTexture.duplicate());
+    PositionMessage output = new PositionMessage();
+    output.setTextureId(input.getTextureId());
+    output.setPosition(73_500L);
+    return compactCodec.encodeMessage(output);
+  }
+
+  @Benchmark
+  public ByteBuffer pigeonSeekTo() {
+    PositionMessage input =
+        PositionMessage.fromMap((HashMap) standardCodec.decodeMessage(pigeonPosition.duplicate()));
+    HashMap<String, Object> wrapped = new HashMap<>();
+    wrapped.put("result", null);
+    return standardCodec.encodeMessage(wrapped);
+  }
+
+  @Benchmark
+  public ByteBuffer compactSeekTo() {
+    compactCodec.decodeMessage(compactPosition.duplicate());
+    return compactCodec.encodeMessage(null);
+  }
+
+  @Benchmark
+  public ByteBuffer pigeonSetVolume() {
+    VolumeMessage input =
+        VolumeMessage.fromMap((HashMap) standardCodec.decodeMessage(pigeonVolume.duplicate()));
+    HashMap<String, Object> wrapped = new HashMap<>();
+    wrapped.put("result", null);
+    return standardCodec.encodeMessage(wrapped);
+  }
+
+  @Benchmark
+  public ByteBuffer compactSetVolume() {
+    compactCodec.decodeMessage(compactVolume.duplicate());
+    return compactCodec.encodeMessage(null);
+  }
+
+  /** Encodes {@code message} into its own buffer, positioned for reading like an incoming call. */
+  private static <T> ByteBuffer request(MessageCodec<T> codec, T message) {
+    ByteBuffer encoded = codec.encodeMessage(message);
+    encoded.flip();
+    ByteBuffer copy = ByteBuffer.allocateDirect(encoded.remaining());
+    copy.put(encoded);
+    copy.flip();
+    return copy;
+  }
+}
@@ -0,0 +1,92 @@
+package io.flutter.plugins.videoplayer;
+
+import android.util.LongSparseArray;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The texture id to player lookup done by every {@code VideoPlayerPlugin} call, with {@link
+ * PlayerRegistry} against the {@code LongSparseArray} it replaced and a {@code HashMap} as the
+ * baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayerLookupBenchmark {
+  @Param({"1", "4", "16", "64"})
+  public int players;
+
+  private final LongSparseArray<Object> sparseArray = new LongSparseArray<>();
+  private final HashMap<Long, Object> hashMap = new HashMap<>();
+  private final PlayerRegistry<Object> registry = new PlayerRegistry<>();
+  private long[] ids;
+  private int next;
+  private long nextId;
+
+  @Setup
+  public void setUp() {
+    ids = new long[players];
+    for (int i = 0; i < players; i++) {
+      // Texture ids grow by one per texture, other plugins take some of them.
+      ids[i] = nextId;
+      nextId += 1 + (i % 3);
+      sparseArray.put(ids[i], new Object());
+      hashMap.put(ids[i], new Object());
+      registry.put(ids[i], new Object());
+    }
+  }
+
+  @Benchmark
+  public Object sparseArrayGet() {
+    return sparseArray.get(nextKey());
+  }
+
+  @Benchmark
+  public Object registryGet() {
+    return registry.get(nextKey());
+  }
+
+  @Benchmark
+  public Object hashMapGet() {
+    return hashMap.get(nextKey());
+  }
+
+  /** A dispose followed by a create, as a feed does when it scrolls. */
+  @Benchmark
+  public int sparseArrayChurn() {
+    int slot = next++ % players;
+    sparseArray.remove(ids[slot]);
+    ids[slot] = nextId++;
+    sparseArray.put(ids[slot], this);
+    return sparseArray.size();
+  }
+
+  @Benchmark
+  public int registryChurn() {
+    int slot = next++ % players;
+    registry.remove(ids[slot]);
+    ids[slot] = nextId++;
+    registry.put(ids[slot], this);
+    return registry.size();
+  }
+
+  private long nextKey() {
+    return ids[next++ % players];
+  }
+}
@@ -0,0 +1,153 @@
+package io.flutter.plugins.videoplayer;
+
+import android.os.Looper;
+import android.view.Choreographer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.flutter.plugin.common.EventChannel;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per event of {@link QueuingEventSink}, from {@code success} to the delegate.
+ *
+ * <p>Each invocation sends a burst of {@code loadingProgress} events followed by one {@code
+ * completed}, then runs the pending main thread work, so the coalescing windows are measured
+ * together with their flush. The {@code Frames} variants send an {@link EventFrame} that is
+ * overwritten for every event, as the player does for its high frequency events.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QueuingEventSinkBenchmark {
+  private static final int BURST = 32;
+
+  @Param({"-1", "0", "16"})
+  public long coalesceWindow;
+
+  private QueuingEventSink sink;
+  private Map<String, Object> progressEvent;
+  private Map<String, Object> completedEvent;
+  private EventFrame progressFrame;
+
+  @Setup
+  public void setUp(Blackhole blackhole) {
+    progressEvent = new HashMap<>();
+    progressEvent.put("event", "loadingProgress");
+    progressEvent.put("percent", 50);
+    progressEvent.put("kbps", 1024f);
+    completedEvent = new HashMap<>();
+    completedEvent.put("event", "completed");
+    progressFrame = new EventFrame(EventFrame.TYPE_LOADING_PROGRESS);
+
+    sink = new QueuingEventSink();
+    sink.setDelegate(new ConsumingSink(blackhole));
+    sink.setCoalesceWindow(coalesceWindow);
+  }
+
+  /** Events sent on the main thread, as the AliPlayer listeners do. */
+  @Benchmark
+  @OperationsPerInvocation(BURST + 1)
+  public void mainThread(MainThreadState state) {
+    burst();
+  }
+
+  /** Events sent from a worker thread, drained by posts to the main looper. */
+  @Benchmark
+  @OperationsPerInvocation(BURST + 1)
+  public void workerThread(WorkerThreadState state) {
+    burst();
+  }
+
+  /** Frames sent on the main thread. */
+  @Benchmark
+  @OperationsPerInvocation(BURST + 1)
+  public void mainThreadFrames(MainThreadState state) {
+    frameBurst();
+  }
+
+  /** Frames sent from a worker thread, copied before they are queued. */
+  @Benchmark
+  @OperationsPerInvocation(BURST + 1)
+  public void workerThreadFrames(WorkerThreadState state) {
+    frameBurst();
+  }
+
+  private void burst() {
+    for (int i = 0; i < BURST; i++) {
+      sink.success(progressEvent);
+    }
+    flush();
+  }
+
+  private void frameBurst() {
+    for (int i = 0; i < BURST; i++) {
+      sink.success(progressFrame.loadingProgress(i, 1024f));
+    }
+    flush();
+  }
+
+  private void flush() {
+    sink.success(completedEvent);
+    Looper.runPending();
+    Choreographer.getInstance().doFrame();
+  }
+
+  /** Makes the benchmark thread the main thread. */
+  @State(Scope.Thread)
+  public static class MainThreadState {
+    @Setup
+    public void setUp() {
+      Looper.prepareMainLooper();
+    }
+  }
+
+  /** Moves the main looper to another thread so that the benchmark thread is a worker. */
+  @State(Scope.Thread)
+  public static class WorkerThreadState {
+    @Setup
+    public void setUp() throws InterruptedException {
+      Thread mainThread = new Thread(Looper::prepareMainLooper);
+      mainThread.start();
+      mainThread.join();
+    }
+  }
+
+  private static final class ConsumingSink implements EventChannel.EventSink {
+    private final Blackhole blackhole;
+
+    ConsumingSink(Blackhole blackhole) {
+      this.blackhole = blackhole;
+    }
+
+    @Override
+    public void success(Object event) {
+      blackhole.consume(event);
+    }
+
+    @Override
+    public void error(String errorCode, String errorMessage, Object errorDetails) {
+      blackhole.consume(errorCode);
+    }
+
+    @Override
+    public void endOfStream() {}
+  }
+}
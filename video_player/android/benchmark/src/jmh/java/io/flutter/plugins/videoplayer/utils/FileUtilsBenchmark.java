@@ -0,0 +1,99 @@
+package io.flutter.plugins.videoplayer.utils;
+
+import android.graphics.Bitmap;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The snapshot write path: {@link FileUtils#saveBitmap} and the stream copy used when a file is
+ * published to the MediaStore.
+ *
+ * <p>The stub {@link Bitmap} writes raw pixels, so {@code saveBitmap} measures the file I/O only.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class FileUtilsBenchmark {
+  private File dir;
+  private Bitmap bitmap;
+
+  @Setup
+  public void setUp() throws IOException {
+    dir = Files.createTempDirectory("file-utils-benchmark").toFile();
+    bitmap = Bitmap.createBitmap(1280, 720, Bitmap.Config.ARGB_8888);
+  }
+
+  @TearDown
+  public void tearDown() {
+    FileUtils.deleteDirectory(dir);
+  }
+
+  @Benchmark
+  public String saveBitmap() {
+    String path = FileUtils.saveBitmap(bitmap, dir.getPath());
+    //noinspection ResultOfMethodCallIgnored
+    new File(path).delete();
+    return path;
+  }
+
+  @Benchmark
+  public long copy(CopyState state) throws IOException {
+    try (InputStream in = new BufferedInputStream(new FileInputStream(state.source));
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(state.target))) {
+      FileUtils.copy(in, out);
+    }
+    return state.target.length();
+  }
+
+  @State(Scope.Thread)
+  public static class CopyState {
+    @Param({"1048576", "8388608"})
+    public int copySize;
+
+    File source;
+    File target;
+
+    @Setup
+    public void setUp() throws IOException {
+      source = File.createTempFile("file-utils-benchmark", ".mp4");
+      target = File.createTempFile("file-utils-benchmark", ".mp4");
+      byte[] bytes = new byte[copySize];
+      new Random(42).nextBytes(bytes);
+      Files.write(source.toPath(), bytes);
+    }
+
+    @TearDown
+    public void tearDown() {
+      //noinspection ResultOfMethodCallIgnored
+      source.delete();
+      //noinspection ResultOfMethodCallIgnored
+      target.delete();
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package android.content;
+
+import android.net.Uri;
+import android.os.ParcelFileDescriptor;
+
+import java.io.FileNotFoundException;
+
+public abstract class ContentResolver {
+  public abstract Uri insert(Uri url, ContentValues values);
+
+  public abstract int update(Uri uri, ContentValues values, String where, String[] selectionArgs);
+
+  public abstract ParcelFileDescriptor openFileDescriptor(
+      Uri uri, String mode, android.os.CancellationSignal signal) throws FileNotFoundException;
+}
@@ -0,0 +1,19 @@
+package android.content;
+
+import java.util.HashMap;
+
+public final class ContentValues {
+  private final HashMap<String, Object> values = new HashMap<>();
+
+  public void put(String key, String value) {
+    values.put(key, value);
+  }
+
+  public void put(String key, Integer value) {
+    values.put(key, value);
+  }
+
+  public void clear() {
+    values.clear();
+  }
+}
@@ -0,0 +1,11 @@
+package android.content;
+
+import java.io.File;
+
+public abstract class Context {
+  public abstract File getExternalFilesDir(String type);
+
+  public abstract File getFilesDir();
+
+  public abstract ContentResolver getContentResolver();
+}
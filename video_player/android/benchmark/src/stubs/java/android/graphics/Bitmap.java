@@ -0,0 +1,57 @@
+package android.graphics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Benchmark stand-in for the Android bitmap. {@link #compress} writes the raw pixels instead of
+ * encoding them, so a benchmark measures the I/O around the encoder rather than the encoder.
+ */
+public final class Bitmap {
+  public enum CompressFormat {
+    JPEG,
+    PNG,
+    WEBP
+  }
+
+  public enum Config {
+    ARGB_8888
+  }
+
+  private final int width;
+  private final int height;
+  private final byte[] pixels;
+
+  private Bitmap(int width, int height) {
+    this.width = width;
+    this.height = height;
+    this.pixels = new byte[width * height * 4];
+  }
+
+  public static Bitmap createBitmap(int width, int height, Config config) {
+    return new Bitmap(width, height);
+  }
+
+  public boolean compress(CompressFormat format, int quality, OutputStream stream) {
+    try {
+      for (int offset = 0; offset < pixels.length; offset += 16 * 1024) {
+        stream.write(pixels, offset, Math.min(16 * 1024, pixels.length - offset));
+      }
+      return true;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  public int getByteCount() {
+    return pixels.length;
+  }
+}
@@ -0,0 +1,13 @@
+package android.os;
+
+public class Build {
+  public static class VERSION {
+    public static final int SDK_INT = 28;
+  }
+
+  public static class VERSION_CODES {
+    public static final int JELLY_BEAN_MR2 = 18;
+    public static final int LOLLIPOP = 21;
+    public static final int Q = 29;
+  }
+}
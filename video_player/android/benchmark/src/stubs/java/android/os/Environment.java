@@ -0,0 +1,11 @@
+package android.os;
+
+import java.io.File;
+
+public class Environment {
+  public static final String DIRECTORY_MOVIES = "Movies";
+
+  public static File getExternalStorageDirectory() {
+    return new File(System.getProperty("java.io.tmpdir"));
+  }
+}
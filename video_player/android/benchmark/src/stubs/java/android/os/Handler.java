@@ -0,0 +1,30 @@
+package android.os;
+
+/** Benchmark stand-in for the Android handler, see {@link Looper}. Delays are ignored. */
+public class Handler {
+  private final Looper looper;
+
+  public Handler() {
+    this(Looper.getMainLooper());
+  }
+
+  public Handler(Looper looper) {
+    this.looper = looper;
+  }
+
+  public final boolean post(Runnable r) {
+    return looper.queue.offer(r);
+  }
+
+  public final boolean postDelayed(Runnable r, long delayMillis) {
+    return looper.queue.offer(r);
+  }
+
+  public final void removeCallbacks(Runnable r) {
+    while (looper.queue.remove(r)) {}
+  }
+
+  public final Looper getLooper() {
+    return looper;
+  }
+}
@@ -0,0 +1,47 @@
+package android.os;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Benchmark stand-in for the Android looper.
+ *
+ * <p>Only the main looper exists. Runnables posted through {@link Handler} are queued and run by
+ * {@link #runPending}, which the benchmarks call where the real main thread would loop.
+ */
+public final class Looper {
+  private static final Looper MAIN = new Looper();
+
+  final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+  private volatile Thread thread;
+
+  private Looper() {}
+
+  /** Makes the calling thread the main thread. */
+  public static void prepareMainLooper() {
+    MAIN.thread = Thread.currentThread();
+  }
+
+  public static Looper getMainLooper() {
+    return MAIN;
+  }
+
+  public static Looper myLooper() {
+    return MAIN.thread == Thread.currentThread() ? MAIN : null;
+  }
+
+  public Thread getThread() {
+    return thread;
+  }
+
+  /** Runs every queued runnable, including the ones posted while running. Not part of Android. */
+  public static int runPending() {
+    int count = 0;
+    Runnable runnable;
+    while ((runnable = MAIN.queue.poll()) != null) {
+      runnable.run();
+      count++;
+    }
+    return count;
+  }
+}
@@ -0,0 +1,22 @@
+package android.os;
+
+import java.io.Closeable;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+
+public class ParcelFileDescriptor implements Closeable {
+  private final FileDescriptor fd = new FileDescriptor();
+
+  public FileDescriptor getFileDescriptor() {
+    return fd;
+  }
+
+  @Override
+  public void close() {}
+
+  public static class AutoCloseOutputStream extends FileOutputStream {
+    public AutoCloseOutputStream(ParcelFileDescriptor pfd) {
+      super(pfd.getFileDescriptor());
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package android.os;
+
+import java.io.File;
+
+public class StatFs {
+  private final File file;
+
+  public StatFs(String path) {
+    file = new File(path);
+  }
+
+  public int getAvailableBlocks() {
+    return (int) (file.getUsableSpace() / getBlockSize());
+  }
+
+  public int getBlockCount() {
+    return (int) (file.getTotalSpace() / getBlockSize());
+  }
+
+  public long getAvailableBytes() {
+    return file.getUsableSpace();
+  }
+
+  public long getTotalBytes() {
+    return file.getTotalSpace();
+  }
+
+  public int getBlockSize() {
+    return 4096;
+  }
+}
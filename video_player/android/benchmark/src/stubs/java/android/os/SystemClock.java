@@ -0,0 +1,28 @@
+package android.os;
+
+/**
+ * JVM stand-in for the Android clock.
+ *
+ * <p>It follows {@link System#nanoTime} until a test sets it with {@link #setUptimeMillis}, so
+ * timeouts can be stepped through without sleeping.
+ */
+public final class SystemClock {
+  // -1表示跟随System.nanoTime
+  private static volatile long fixedUptime = -1;
+
+  private SystemClock() {}
+
+  public static long uptimeMillis() {
+    long fixed = fixedUptime;
+    return fixed >= 0 ? fixed : System.nanoTime() / 1000000;
+  }
+
+  public static long elapsedRealtime() {
+    return uptimeMillis();
+  }
+
+  /** Stops the clock at {@code millis}, or lets it run again when negative. Not part of Android. */
+  public static void setUptimeMillis(long millis) {
+    fixedUptime = millis;
+  }
+}
@@ -0,0 +1,29 @@
+package android.provider;
+
+import android.net.Uri;
+
+public final class MediaStore {
+  public static final String VOLUME_EXTERNAL_PRIMARY = "external_primary";
+
+  public interface MediaColumns {
+    String DISPLAY_NAME = "_display_name";
+    String MIME_TYPE = "mime_type";
+    String IS_PENDING = "is_pending";
+  }
+
+  public static final class Images {
+    public static final class Media implements MediaColumns {
+      public static Uri getContentUri(String volumeName) {
+        return null;
+      }
+    }
+  }
+
+  public static final class Video {
+    public static final class Media implements MediaColumns {
+      public static Uri getContentUri(String volumeName) {
+        return null;
+      }
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package android.system;
+
+import java.io.FileDescriptor;
+
+/** JVM stand-in for the Android system calls. Preallocation is left to {@code setLength}. */
+public final class Os {
+  private Os() {}
+
+  public static void posix_fallocate(FileDescriptor fd, long offset, long len)
+      throws ErrnoException {}
+}
@@ -0,0 +1,7 @@
+package android.text;
+
+public class TextUtils {
+  public static boolean isEmpty(CharSequence str) {
+    return str == null || str.length() == 0;
+  }
+}
@@ -0,0 +1,116 @@
+package android.util;
+
+import java.util.Arrays;
+
+/**
+ * Benchmark copy of the Android {@code LongSparseArray}: sorted keys, binary search lookups and
+ * lazy compaction of removed entries, so that lookups cost what they cost on a device.
+ */
+public class LongSparseArray<E> {
+  private static final Object DELETED = new Object();
+
+  private boolean garbage = false;
+  private long[] keys;
+  private Object[] values;
+  private int size;
+
+  public LongSparseArray() {
+    this(10);
+  }
+
+  public LongSparseArray(int initialCapacity) {
+    keys = new long[Math.max(1, initialCapacity)];
+    values = new Object[keys.length];
+  }
+
+  public E get(long key) {
+    return get(key, null);
+  }
+
+  @SuppressWarnings("unchecked")
+  public E get(long key, E valueIfKeyNotFound) {
+    int i = Arrays.binarySearch(keys, 0, size, key);
+    if (i < 0 || values[i] == DELETED) {
+      return valueIfKeyNotFound;
+    }
+    return (E) values[i];
+  }
+
+  public void remove(long key) {
+    int i = Arrays.binarySearch(keys, 0, size, key);
+    if (i >= 0 && values[i] != DELETED) {
+      values[i] = DELETED;
+      garbage = true;
+    }
+  }
+
+  public void put(long key, E value) {
+    int i = Arrays.binarySearch(keys, 0, size, key);
+    if (i >= 0) {
+      values[i] = value;
+      return;
+    }
+    i = ~i;
+    if (i < size && values[i] == DELETED) {
+      keys[i] = key;
+      values[i] = value;
+      return;
+    }
+    if (garbage && size >= keys.length) {
+      gc();
+      i = ~Arrays.binarySearch(keys, 0, size, key);
+    }
+    if (size >= keys.length) {
+      int capacity = size * 2;
+      keys = Arrays.copyOf(keys, capacity);
+      values = Arrays.copyOf(values, capacity);
+    }
+    System.arraycopy(keys, i, keys, i + 1, size - i);
+    System.arraycopy(values, i, values, i + 1, size - i);
+    keys[i] = key;
+    values[i] = value;
+    size++;
+  }
+
+  public int size() {
+    if (garbage) {
+      gc();
+    }
+    return size;
+  }
+
+  public long keyAt(int index) {
+    if (garbage) {
+      gc();
+    }
+    return keys[index];
+  }
+
+  @SuppressWarnings("unchecked")
+  public E valueAt(int index) {
+    if (garbage) {
+      gc();
+    }
+    return (E) values[index];
+  }
+
+  public void clear() {
+    Arrays.fill(values, 0, size, null);
+    size = 0;
+    garbage = false;
+  }
+
+  private void gc() {
+    int o = 0;
+    for (int i = 0; i < size; i++) {
+      if (values[i] != DELETED) {
+        keys[o] = keys[i];
+        values[o] = values[i];
+        o++;
+      }
+    }
+    Arrays.fill(values, o, size, null);
+    size = o;
+    garbage = false;
+  }
+}
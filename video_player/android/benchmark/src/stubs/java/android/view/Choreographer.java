@@ -0,0 +1,39 @@
+package android.view;
+
+import java.util.ArrayList;
+
+/** Benchmark stand-in for the Android choreographer. Frames are driven by {@link #doFrame()}. */
+public final class Choreographer {
+  private static final Choreographer INSTANCE = new Choreographer();
+
+  private final ArrayList<FrameCallback> callbacks = new ArrayList<>();
+
+  public interface FrameCallback {
+    void doFrame(long frameTimeNanos);
+  }
+
+  public static Choreographer getInstance() {
+    return INSTANCE;
+  }
+
+  public void postFrameCallback(FrameCallback callback) {
+    callbacks.add(callback);
+  }
+
+  public void removeFrameCallback(FrameCallback callback) {
+    while (callbacks.remove(callback)) {}
+  }
+
+  /** Runs the callbacks posted before this frame. Not part of Android. */
+  public void doFrame() {
+    if (callbacks.isEmpty()) {
+      return;
+    }
+    FrameCallback[] frame = callbacks.toArray(new FrameCallback[0]);
+    callbacks.clear();
+    long now = System.nanoTime();
+    for (FrameCallback callback : frame) {
+      callback.doFrame(now);
+    }
+  }
+}
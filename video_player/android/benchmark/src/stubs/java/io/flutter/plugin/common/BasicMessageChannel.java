@@ -0,0 +1,20 @@
+package io.flutter.plugin.common;
+
+/** Benchmark stand-in. Handlers are accepted and dropped, nothing is sent. */
+public final class BasicMessageChannel<T> {
+  public BasicMessageChannel(BinaryMessenger messenger, String name, MessageCodec<T> codec) {}
+
+  public interface MessageHandler<T> {
+    void onMessage(T message, Reply<T> reply);
+  }
+
+  public interface Reply<T> {
+    void reply(T reply);
+  }
+
+  public void setMessageHandler(MessageHandler<T> handler) {}
+
+  public void send(T message) {}
+
+  public void send(T message, Reply<T> callback) {}
+}
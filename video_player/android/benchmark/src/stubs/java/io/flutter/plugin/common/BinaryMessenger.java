@@ -0,0 +1,19 @@
+package io.flutter.plugin.common;
+
+import java.nio.ByteBuffer;
+
+public interface BinaryMessenger {
+  void send(String channel, ByteBuffer message);
+
+  void send(String channel, ByteBuffer message, BinaryReply callback);
+
+  void setMessageHandler(String channel, BinaryMessageHandler handler);
+
+  interface BinaryReply {
+    void reply(ByteBuffer reply);
+  }
+
+  interface BinaryMessageHandler {
+    void onMessage(ByteBuffer message, BinaryReply reply);
+  }
+}
@@ -0,0 +1,11 @@
+package io.flutter.plugin.common;
+
+public final class EventChannel {
+  public interface EventSink {
+    void success(Object event);
+
+    void error(String errorCode, String errorMessage, Object errorDetails);
+
+    void endOfStream();
+  }
+}
@@ -0,0 +1,15 @@
+package io.flutter.plugin.common;
+
+import java.nio.ByteBuffer;
+
+public interface MethodCodec {
+  ByteBuffer encodeMethodCall(MethodCall methodCall);
+
+  MethodCall decodeMethodCall(ByteBuffer methodCall);
+
+  ByteBuffer encodeSuccessEnvelope(Object result);
+
+  ByteBuffer encodeErrorEnvelope(String errorCode, String errorMessage, Object errorDetails);
+
+  Object decodeEnvelope(ByteBuffer envelope);
+}
@@ -0,0 +1,220 @@
+package io.flutter.plugin.common;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmark copy of the Flutter {@code StandardMessageCodec}, following the same wire format and
+ * the same allocation pattern (a growable stream copied into a direct buffer), so that the Pigeon
+ * channels can be measured end to end.
+ */
+public class StandardMessageCodec implements MessageCodec<Object> {
+  public static final StandardMessageCodec INSTANCE = new StandardMessageCodec();
+
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+
+  private static final byte NULL = 0;
+  private static final byte TRUE = 1;
+  private static final byte FALSE = 2;
+  private static final byte INT = 3;
+  private static final byte LONG = 4;
+  private static final byte DOUBLE = 6;
+  private static final byte STRING = 7;
+  private static final byte BYTE_ARRAY = 8;
+  private static final byte LIST = 12;
+  private static final byte MAP = 13;
+
+  @Override
+  public ByteBuffer encodeMessage(Object message) {
+    if (message == null) {
+      return null;
+    }
+    ExposedByteArrayOutputStream stream = new ExposedByteArrayOutputStream();
+    writeValue(stream, message);
+    ByteBuffer buffer = ByteBuffer.allocateDirect(stream.size());
+    buffer.put(stream.buffer(), 0, stream.size());
+    return buffer;
+  }
+
+  @Override
+  public Object decodeMessage(ByteBuffer message) {
+    if (message == null) {
+      return null;
+    }
+    message.order(ByteOrder.nativeOrder());
+    Object value = readValue(message);
+    if (message.hasRemaining()) {
+      throw new IllegalArgumentException("Message corrupted");
+    }
+    return value;
+  }
+
+  protected static void writeSize(ByteArrayOutputStream stream, int value) {
+    if (value < 254) {
+      stream.write(value);
+    } else if (value <= 0xffff) {
+      stream.write(254);
+      writeChar(stream, value);
+    } else {
+      stream.write(255);
+      writeInt(stream, value);
+    }
+  }
+
+  protected static void writeChar(ByteArrayOutputStream stream, int value) {
+    stream.write(value);
+    stream.write(value >>> 8);
+  }
+
+  protected static void writeInt(ByteArrayOutputStream stream, int value) {
+    stream.write(value);
+    stream.write(value >>> 8);
+    stream.write(value >>> 16);
+    stream.write(value >>> 24);
+  }
+
+  protected static void writeLong(ByteArrayOutputStream stream, long value) {
+    for (int i = 0; i < 8; i++) {
+      stream.write((byte) (value >>> (8 * i)));
+    }
+  }
+
+  protected static void writeBytes(ByteArrayOutputStream stream, byte[] bytes) {
+    writeSize(stream, bytes.length);
+    stream.write(bytes, 0, bytes.length);
+  }
+
+  protected static void writeAlignment(ByteArrayOutputStream stream, int alignment) {
+    int mod = stream.size() % alignment;
+    if (mod != 0) {
+      for (int i = 0; i < alignment - mod; i++) {
+        stream.write(0);
+      }
+    }
+  }
+
+  protected void writeValue(ByteArrayOutputStream stream, Object value) {
+    if (value == null) {
+      stream.write(NULL);
+    } else if (value == Boolean.TRUE) {
+      stream.write(TRUE);
+    } else if (value == Boolean.FALSE) {
+      stream.write(FALSE);
+    } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      stream.write(INT);
+      writeInt(stream, ((Number) value).intValue());
+    } else if (value instanceof Long) {
+      stream.write(LONG);
+      writeLong(stream, (long) value);
+    } else if (value instanceof Float || value instanceof Double) {
+      stream.write(DOUBLE);
+      writeAlignment(stream, 8);
+      writeLong(stream, Double.doubleToLongBits(((Number) value).doubleValue()));
+    } else if (value instanceof String) {
+      stream.write(STRING);
+      writeBytes(stream, ((String) value).getBytes(UTF8));
+    } else if (value instanceof byte[]) {
+      stream.write(BYTE_ARRAY);
+      writeBytes(stream, (byte[]) value);
+    } else if (value instanceof List) {
+      stream.write(LIST);
+      List<?> list = (List) value;
+      writeSize(stream, list.size());
+      for (Object o : list) {
+        writeValue(stream, o);
+      }
+    } else if (value instanceof Map) {
+      stream.write(MAP);
+      Map<?, ?> map = (Map) value;
+      writeSize(stream, map.size());
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        writeValue(stream, entry.getKey());
+        writeValue(stream, entry.getValue());
+      }
+    } else {
+      throw new IllegalArgumentException("Unsupported value: " + value);
+    }
+  }
+
+  protected static int readSize(ByteBuffer buffer) {
+    int value = buffer.get() & 0xff;
+    if (value < 254) {
+      return value;
+    } else if (value == 254) {
+      return buffer.getChar();
+    } else {
+      return buffer.getInt();
+    }
+  }
+
+  protected static byte[] readBytes(ByteBuffer buffer) {
+    byte[] bytes = new byte[readSize(buffer)];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  protected static void readAlignment(ByteBuffer buffer, int alignment) {
+    int mod = buffer.position() % alignment;
+    if (mod != 0) {
+      buffer.position(buffer.position() + alignment - mod);
+    }
+  }
+
+  protected final Object readValue(ByteBuffer buffer) {
+    return readValueOfType(buffer.get(), buffer);
+  }
+
+  protected Object readValueOfType(byte type, ByteBuffer buffer) {
+    switch (type) {
+      case NULL:
+        return null;
+      case TRUE:
+        return true;
+      case FALSE:
+        return false;
+      case INT:
+        return buffer.getInt();
+      case LONG:
+        return buffer.getLong();
+      case DOUBLE:
+        readAlignment(buffer, 8);
+        return buffer.getDouble();
+      case STRING:
+        return new String(readBytes(buffer), UTF8);
+      case BYTE_ARRAY:
+        return readBytes(buffer);
+      case LIST:
+        {
+          int size = readSize(buffer);
+          List<Object> list = new ArrayList<>(size);
+          for (int i = 0; i < size; i++) {
+            list.add(readValue(buffer));
+          }
+          return list;
+        }
+      case MAP:
+        {
+          int size = readSize(buffer);
+          Map<Object, Object> map = new HashMap<>();
+          for (int i = 0; i < size; i++) {
+            map.put(readValue(buffer), readValue(buffer));
+          }
+          return map;
+        }
+      default:
+        throw new IllegalArgumentException("Message corrupted");
+    }
+  }
+
+  static final class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+    byte[] buffer() {
+      return buf;
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package io.flutter.plugin.common;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Benchmark copy of the Flutter {@code StandardMethodCodec}. Only the envelopes used by the event
+ * channels are encoded the way the engine does; method calls are not needed by the benchmarks.
+ */
+public final class StandardMethodCodec implements MethodCodec {
+  public static final StandardMethodCodec INSTANCE =
+      new StandardMethodCodec(StandardMessageCodec.INSTANCE);
+
+  private final StandardMessageCodec messageCodec;
+
+  public StandardMethodCodec(StandardMessageCodec messageCodec) {
+    this.messageCodec = messageCodec;
+  }
+
+  @Override
+  public ByteBuffer encodeMethodCall(MethodCall methodCall) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public MethodCall decodeMethodCall(ByteBuffer methodCall) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public ByteBuffer encodeSuccessEnvelope(Object result) {
+    StandardMessageCodec.ExposedByteArrayOutputStream stream =
+        new StandardMessageCodec.ExposedByteArrayOutputStream();
+    stream.write(0);
+    messageCodec.writeValue(stream, result);
+    return toBuffer(stream);
+  }
+
+  @Override
+  public ByteBuffer encodeErrorEnvelope(String errorCode, String errorMessage, Object errorDetails) {
+    StandardMessageCodec.ExposedByteArrayOutputStream stream =
+        new StandardMessageCodec.ExposedByteArrayOutputStream();
+    stream.write(1);
+    messageCodec.writeValue(stream, errorCode);
+    messageCodec.writeValue(stream, errorMessage);
+    messageCodec.writeValue(stream, errorDetails);
+    return toBuffer(stream);
+  }
+
+  @Override
+  public Object decodeEnvelope(ByteBuffer envelope) {
+    envelope.order(ByteOrder.nativeOrder());
+    if (envelope.get() != 0) {
+      throw new IllegalArgumentException("Envelope corrupted");
+    }
+    return messageCodec.readValue(envelope);
+  }
+
+  private static ByteBuffer toBuffer(StandardMessageCodec.ExposedByteArrayOutputStream stream) {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(stream.size());
+    buffer.put(stream.buffer(), 0, stream.size());
+    return buffer;
+  }
+}
@@ -0,0 +1,86 @@
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertTrue;
+
+import android.os.SystemClock;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class DownloadThrottleTest {
+  private final DownloadManager.Throttle throttle = new DownloadManager.Throttle();
+
+  @After
+  public void tearDown() {
+    SystemClock.setUptimeMillis(-1);
+  }
+
+  @Test
+  public void doesNotWaitWithoutACap() throws Exception {
+    long elapsed = timeAcquire(64 * 1024 * 1024);
+    assertTrue("waited " + elapsed + " ms", elapsed < 50);
+  }
+
+  @Test
+  public void startsEmptyAndWaitsForTheMissingTokens() throws Exception {
+    SystemClock.setUptimeMillis(100000);
+    throttle.setRate(10000);
+    // 10000字节每秒，缺1000字节要等100毫秒
+    long elapsed = timeAcquire(1000);
+    assertTrue("waited " + elapsed + " ms", elapsed >= 90 && elapsed < 400);
+  }
+
+  @Test
+  public void savesAtMostOneSecondOfTokens() throws Exception {
+    SystemClock.setUptimeMillis(100000);
+    throttle.setRate(10000);
+    SystemClock.setUptimeMillis(105000);
+    // 空闲5秒只积攒了1秒的额度
+    long elapsed = timeAcquire(10000);
+    assertTrue("waited " + elapsed + " ms", elapsed < 50);
+    elapsed = timeAcquire(2000);
+    assertTrue("waited " + elapsed + " ms", elapsed >= 190 && elapsed < 500);
+  }
+
+  @Test
+  public void sharesTheCapBetweenDownloads() throws Exception {
+    final int rate = 1024 * 1024;
+    throttle.setRate(rate);
+    List<Thread> workers = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      Thread worker = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            for (int chunk = 0; chunk < 8; chunk++) {
+              throttle.acquire(16 * 1024);
+            }
+          } catch (Exception e) {
+            throw new AssertionError(e);
+          }
+        }
+      });
+      workers.add(worker);
+    }
+    long start = System.nanoTime();
+    for (Thread worker : workers) {
+      worker.start();
+    }
+    for (Thread worker : workers) {
+      worker.join();
+    }
+    // 4个线程共512KB，按1MB每秒约半秒
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    assertTrue("took " + elapsed + " ms", elapsed >= 400 && elapsed < 1500);
+  }
+
+  private long timeAcquire(int bytes) throws Exception {
+    long start = System.nanoTime();
+    throttle.acquire(bytes);
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+}
@@ -0,0 +1,226 @@
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Plays the proxy against an origin served in process, with the range requests of a player. */
+public class LocalProxyTest {
+  // 比所有窗口都映射时还长一个窗口，读完整个文件必然会淘汰窗口
+  private static final int LENGTH = (LocalProxy.MAX_MAPPED_REGIONS + 1) * LocalProxy.REGION + 777;
+  private static final byte[] DATA = new byte[LENGTH];
+
+  static {
+    new Random(7).nextBytes(DATA);
+  }
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  private final AtomicLong originBytes = new AtomicLong();
+  private HttpServer origin;
+  private String originUrl;
+  private LocalProxy proxy;
+
+  @Before
+  public void setUp() throws IOException {
+    origin = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    origin.setExecutor(Executors.newCachedThreadPool());
+    origin.createContext("/", new HttpHandler() {
+      @Override
+      public void handle(HttpExchange exchange) throws IOException {
+        serve(exchange);
+      }
+    });
+    origin.start();
+    originUrl = "http://127.0.0.1:" + origin.getAddress().getPort() + "/video.mp4";
+
+    proxy = new LocalProxy(folder.newFolder("proxy"));
+    Messages.ProxyMessage config = new Messages.ProxyMessage();
+    config.setEnable(true);
+    proxy.setConfig(config);
+  }
+
+  @After
+  public void tearDown() {
+    proxy.stop();
+    origin.stop(0);
+  }
+
+  @Test
+  public void servesRangesFromTheDownloadedBytes() throws IOException {
+    String local = proxy.route(originUrl, null);
+    assertTrue(local, local.startsWith("http://127.0.0.1:"));
+
+    Response head = get(local, "bytes=0-1023");
+    assertEquals(206, head.code);
+    assertEquals("bytes 0-1023/" + LENGTH, head.contentRange);
+    assertArrayEquals(Arrays.copyOfRange(DATA, 0, 1024), head.body);
+
+    // 跨越窗口边界的范围
+    int from = LocalProxy.REGION - 100;
+    Response middle = get(local, "bytes=" + from + "-" + (from + 199));
+    assertArrayEquals(Arrays.copyOfRange(DATA, from, from + 200), middle.body);
+
+    int tailFrom = LENGTH - 5000;
+    Response tail = get(local, "bytes=" + tailFrom + "-");
+    assertEquals("bytes " + tailFrom + "-" + (LENGTH - 1) + "/" + LENGTH, tail.contentRange);
+    assertArrayEquals(Arrays.copyOfRange(DATA, tailFrom, LENGTH), tail.body);
+  }
+
+  @Test
+  public void remapsEvictedWindows() throws IOException {
+    String local = proxy.route(originUrl, null);
+    Response full = get(local, null);
+    assertEquals(200, full.code);
+    assertArrayEquals(DATA, full.body);
+
+    // 第一个窗口已经被淘汰，重新映射后读到的是下载好的字节
+    Response start = get(local, "bytes=0-65535");
+    assertArrayEquals(Arrays.copyOfRange(DATA, 0, 65536), start.body);
+    long downloaded = originBytes.get();
+    assertTrue("downloaded " + downloaded, downloaded < 2L * LENGTH);
+  }
+
+  @Test
+  public void sharesOneDownloadBetweenPlayers() throws Exception {
+    final String local = proxy.route(originUrl, null);
+    final List<Throwable> failures = new ArrayList<>();
+    List<Thread> players = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      Thread player = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            assertArrayEquals(DATA, get(local, "bytes=0-").body);
+          } catch (Throwable e) {
+            synchronized (failures) {
+              failures.add(e);
+            }
+          }
+        }
+      });
+      player.start();
+      players.add(player);
+    }
+    for (Thread player : players) {
+      player.join();
+    }
+    assertEquals(failures.toString(), 0, failures.size());
+
+    Messages.ProxyMessage stats = proxy.getStats();
+    assertEquals(3L, (long) stats.getRequestCount());
+    assertTrue(stats.getSharedRequestCount() >= 2);
+    assertEquals(3L * LENGTH, (long) stats.getServedBytes());
+    // 三个播放器只从源站下载了一份
+    assertTrue("downloaded " + originBytes.get(), originBytes.get() < 2L * LENGTH);
+  }
+
+  @Test
+  public void forgetsTheOldestRoutes() throws IOException {
+    String first = proxy.route(originUrl + "?n=0", null);
+    for (int i = 1; i <= LocalProxy.MAX_ROUTES; i++) {
+      proxy.route(originUrl + "?n=" + i, null);
+    }
+    assertEquals(404, get(first, "bytes=0-0").code);
+    String last = proxy.route(originUrl + "?n=" + LocalProxy.MAX_ROUTES, null);
+    assertArrayEquals(Arrays.copyOfRange(DATA, 0, 10), get(last, "bytes=0-9").body);
+  }
+
+  @Test
+  public void leavesStreamingManifestsAlone() {
+    String manifest = "http://127.0.0.1:1/live/index.m3u8";
+    assertEquals(manifest, proxy.route(manifest, null));
+    assertEquals(originUrl, proxy.route(originUrl, "hls"));
+  }
+
+  private void serve(HttpExchange exchange) throws IOException {
+    String range = exchange.getRequestHeaders().getFirst("Range");
+    long start = 0;
+    long end = LENGTH - 1;
+    int code = 200;
+    if (range != null && range.startsWith("bytes=")) {
+      String[] bounds = range.substring(6).split("-", 2);
+      start = Long.parseLong(bounds[0]);
+      if (!bounds[1].isEmpty()) {
+        end = Math.min(end, Long.parseLong(bounds[1]));
+      }
+      code = 206;
+      exchange.getResponseHeaders()
+          .add("Content-Range", "bytes " + start + "-" + end + "/" + LENGTH);
+    }
+    exchange.getResponseHeaders().add("Content-Type", "video/mp4");
+    exchange.getResponseHeaders().add("Accept-Ranges", "bytes");
+    exchange.sendResponseHeaders(code, end - start + 1);
+    OutputStream out = exchange.getResponseBody();
+    try {
+      // 分块写，代理中途断开时只算已经发出的字节
+      for (long position = start; position <= end; position += 64 * 1024) {
+        int count = (int) Math.min(64 * 1024, end - position + 1);
+        out.write(DATA, (int) position, count);
+        originBytes.addAndGet(count);
+      }
+    } catch (IOException e) {
+      // 代理改变了下载位置
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private static Response get(String url, String range) throws IOException {
+    HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+    connection.setReadTimeout(30000);
+    if (range != null) {
+      connection.setRequestProperty("Range", range);
+    }
+    Response response = new Response();
+    response.code = connection.getResponseCode();
+    response.contentRange = connection.getHeaderField("Content-Range");
+    if (response.code >= 400) {
+      connection.disconnect();
+      return response;
+    }
+    InputStream in = connection.getInputStream();
+    try {
+      ByteArrayOutputStream body = new ByteArrayOutputStream();
+      byte[] buffer = new byte[64 * 1024];
+      int read;
+      while ((read = in.read(buffer)) > 0) {
+        body.write(buffer, 0, read);
+      }
+      response.body = body.toByteArray();
+    } finally {
+      in.close();
+    }
+    return response;
+  }
+
+  private static final class Response {
+    int code;
+    String contentRange;
+    byte[] body;
+  }
+}
@@ -0,0 +1,175 @@
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PlayerRegistryTest {
+  private final PlayerRegistry<String> registry = new PlayerRegistry<>();
+
+  @Test
+  public void putsReplacesAndRemoves() {
+    assertTrue(registry.isEmpty());
+    registry.put(7, "a");
+    registry.put(7, "b");
+    assertEquals(1, registry.size());
+    assertEquals("b", registry.get(7));
+    assertNull(registry.get(8));
+
+    assertEquals("b", registry.remove(7));
+    assertNull(registry.remove(7));
+    assertNull(registry.get(7));
+    assertTrue(registry.isEmpty());
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void rejectsNullValues() {
+    registry.put(1, null);
+  }
+
+  @Test
+  public void growsAndShrinksWithoutLosingEntries() {
+    for (long id = 0; id < 1000; id++) {
+      registry.put(id * 31, "v" + id);
+    }
+    assertEquals(1000, registry.size());
+    for (long id = 0; id < 1000; id++) {
+      assertEquals("v" + id, registry.get(id * 31));
+    }
+    // 删除后探测链上的其他项仍然找得到
+    for (long id = 0; id < 1000; id += 2) {
+      assertEquals("v" + id, registry.remove(id * 31));
+    }
+    assertEquals(500, registry.size());
+    for (long id = 0; id < 1000; id++) {
+      assertEquals(id % 2 == 0 ? null : "v" + id, registry.get(id * 31));
+    }
+    long[] keys = registry.keys();
+    assertEquals(500, keys.length);
+    Arrays.sort(keys);
+    assertEquals(31, keys[0]);
+  }
+
+  @Test
+  public void snapshotsDoNotSeeLaterWrites() {
+    registry.put(1, "a");
+    registry.put(2, "b");
+    List<String> values = registry.values();
+    long[] keys = registry.keys();
+
+    registry.remove(1);
+    registry.put(3, "c");
+
+    assertEquals(new HashSet<>(Arrays.asList("a", "b")), new HashSet<>(values));
+    assertEquals(2, keys.length);
+    assertEquals(new HashSet<>(Arrays.asList("b", "c")), new HashSet<>(registry.values()));
+  }
+
+  @Test
+  public void removeAllHandsOutEveryValueOnce() {
+    for (long id = 0; id < 20; id++) {
+      registry.put(id, "v" + id);
+    }
+    List<String> removed = registry.removeAll();
+    assertEquals(20, removed.size());
+    assertEquals(20, new HashSet<>(removed).size());
+    assertTrue(registry.isEmpty());
+    assertTrue(registry.removeAll().isEmpty());
+  }
+
+  @Test
+  public void readersAlwaysSeeStableEntriesWhileTheTableIsRebuilt() throws Exception {
+    final int stable = 16;
+    for (long id = 0; id < stable; id++) {
+      registry.put(id, "stable" + id);
+    }
+    final AtomicBoolean running = new AtomicBoolean(true);
+    final AtomicInteger misses = new AtomicInteger();
+    List<Thread> readers = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      Thread reader = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          while (running.get()) {
+            for (long id = 0; id < stable; id++) {
+              if (!("stable" + id).equals(registry.get(id))) {
+                misses.incrementAndGet();
+              }
+            }
+          }
+        }
+      });
+      reader.start();
+      readers.add(reader);
+    }
+    // 反复扩容和缩容
+    for (int round = 0; round < 200; round++) {
+      for (long id = 1000; id < 1064; id++) {
+        registry.put(id, "churn");
+      }
+      for (long id = 1000; id < 1064; id++) {
+        registry.remove(id);
+      }
+    }
+    running.set(false);
+    for (Thread reader : readers) {
+      reader.join();
+    }
+    assertEquals(0, misses.get());
+    assertEquals(stable, registry.size());
+  }
+
+  @Test
+  public void concurrentRemovesHandOutEachValueOnce() throws Exception {
+    final int count = 2000;
+    for (long id = 0; id < count; id++) {
+      registry.put(id, "v" + id);
+    }
+    final CountDownLatch start = new CountDownLatch(1);
+    final Set<String> removed = new HashSet<>();
+    final AtomicInteger duplicates = new AtomicInteger();
+    List<Thread> removers = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      Thread remover = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+          } catch (InterruptedException e) {
+            return;
+          }
+          for (long id = 0; id < count; id++) {
+            String value = registry.remove(id);
+            if (value != null) {
+              synchronized (removed) {
+                if (!removed.add(value)) {
+                  duplicates.incrementAndGet();
+                }
+              }
+            }
+          }
+        }
+      });
+      remover.start();
+      removers.add(remover);
+    }
+    start.countDown();
+    for (Thread remover : removers) {
+      remover.join();
+    }
+    assertEquals(0, duplicates.get());
+    assertEquals(count, removed.size());
+    assertTrue(registry.isEmpty());
+  }
+}
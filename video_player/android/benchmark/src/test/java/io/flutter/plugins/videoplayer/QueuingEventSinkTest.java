@@ -0,0 +1,198 @@
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.os.Looper;
+import android.view.Choreographer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.flutter.plugin.common.EventChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class QueuingEventSinkTest {
+  private static final int PRODUCERS = 4;
+  private static final int EVENTS_PER_PRODUCER = 20000;
+
+  private final List<Object> delivered = new ArrayList<>();
+  private QueuingEventSink sink;
+
+  @Before
+  public void setUp() {
+    Looper.prepareMainLooper();
+    Looper.runPending();
+    Choreographer.getInstance().doFrame();
+    sink = new QueuingEventSink();
+  }
+
+  @Test
+  public void keepsTheOrderOfEachProducerUnderContention() throws Exception {
+    sink.setDelegate(new RecordingSink());
+    Thread[] producers = startProducers("completed", null);
+    drainUntil(producers, PRODUCERS * EVENTS_PER_PRODUCER);
+
+    assertEquals(PRODUCERS * EVENTS_PER_PRODUCER, delivered.size());
+    int[] next = new int[PRODUCERS];
+    for (Object event : delivered) {
+      Map<?, ?> map = (Map<?, ?>) event;
+      int producer = (Integer) map.get("producer");
+      assertEquals(next[producer]++, map.get("seq"));
+    }
+    for (int count : next) {
+      assertEquals(EVENTS_PER_PRODUCER, count);
+    }
+    assertEquals(PRODUCERS * EVENTS_PER_PRODUCER, sink.getDeliveredCount());
+  }
+
+  @Test
+  public void deliversWorkerEventsBeforeLaterMainThreadEvents() throws Exception {
+    sink.setDelegate(new RecordingSink());
+    Thread worker = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        sink.success(event("completed", 0, 0));
+      }
+    });
+    worker.start();
+    worker.join();
+    // 工作线程的事件还没有被主线程处理
+    sink.success(event("completed", 1, 0));
+
+    assertEquals(2, delivered.size());
+    assertEquals(0, ((Map<?, ?>) delivered.get(0)).get("producer"));
+    assertEquals(1, ((Map<?, ?>) delivered.get(1)).get("producer"));
+  }
+
+  @Test
+  public void queuesEventsUntilTheDelegateIsSet() throws Exception {
+    Thread[] producers = startProducers("completed", null);
+    for (Thread producer : producers) {
+      producer.join();
+    }
+    Looper.runPending();
+    sink.success(event("completed", PRODUCERS, 0));
+    assertTrue(delivered.isEmpty());
+
+    sink.setDelegate(new RecordingSink());
+    assertEquals(PRODUCERS * EVENTS_PER_PRODUCER + 1, delivered.size());
+    assertEquals(PRODUCERS, ((Map<?, ?>) delivered.get(delivered.size() - 1)).get("producer"));
+  }
+
+  @Test
+  public void coalescesWithoutReorderingUnderContention() throws Exception {
+    sink.setDelegate(new RecordingSink());
+    sink.setCoalesceWindow(QueuingEventSink.COALESCE_VSYNC);
+    final CountDownLatch done = new CountDownLatch(PRODUCERS);
+    Thread[] producers = startProducers("position", done);
+    while (done.getCount() > 0) {
+      Looper.runPending();
+      Choreographer.getInstance().doFrame();
+    }
+    for (Thread producer : producers) {
+      producer.join();
+    }
+    Looper.runPending();
+    Choreographer.getInstance().doFrame();
+
+    int[] last = new int[PRODUCERS];
+    Arrays.fill(last, -1);
+    for (Object event : delivered) {
+      Map<?, ?> map = (Map<?, ?>) event;
+      int producer = (Integer) map.get("producer");
+      int seq = (Integer) map.get("seq");
+      if (producer == 0 && seq == EVENTS_PER_PRODUCER) {
+        // 结束事件之前，最后的位置已经送达
+        assertEquals(EVENTS_PER_PRODUCER - 1, last[0]);
+      }
+      if (producer != 0) {
+        // 不合并的事件一个不少，也不乱序
+        assertEquals(last[producer] + 1, seq);
+      }
+      assertTrue(seq > last[producer]);
+      last[producer] = seq;
+    }
+    for (int seq : last) {
+      assertEquals(EVENTS_PER_PRODUCER, seq);
+    }
+    assertEquals(
+        PRODUCERS * (EVENTS_PER_PRODUCER + 1),
+        sink.getDeliveredCount() + sink.getCoalescedCount());
+  }
+
+  /**
+   * Starts the producers. Each sends {@link #EVENTS_PER_PRODUCER} events, of {@code firstType} for
+   * the first producer and {@code completed} for the others, then one more {@code completed} when
+   * {@code done} is given.
+   */
+  private Thread[] startProducers(final String firstType, final CountDownLatch done) {
+    final CountDownLatch start = new CountDownLatch(1);
+    Thread[] producers = new Thread[PRODUCERS];
+    for (int i = 0; i < PRODUCERS; i++) {
+      final int producer = i;
+      final String type = i == 0 ? firstType : "completed";
+      producers[i] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+          } catch (InterruptedException e) {
+            return;
+          }
+          for (int seq = 0; seq < EVENTS_PER_PRODUCER; seq++) {
+            sink.success(event(type, producer, seq));
+          }
+          if (done != null) {
+            sink.success(event("completed", producer, EVENTS_PER_PRODUCER));
+            done.countDown();
+          }
+        }
+      });
+      producers[i].start();
+    }
+    start.countDown();
+    return producers;
+  }
+
+  /** Plays the main thread until {@code count} events arrived and the producers exited. */
+  private void drainUntil(Thread[] producers, int count) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+    while (delivered.size() < count && System.nanoTime() < deadline) {
+      Looper.runPending();
+    }
+    for (Thread producer : producers) {
+      producer.join();
+    }
+    Looper.runPending();
+  }
+
+  private static Map<String, Object> event(String type, int producer, int seq) {
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", type);
+    event.put("producer", producer);
+    event.put("seq", seq);
+    return event;
+  }
+
+  private final class RecordingSink implements EventChannel.EventSink {
+    @Override
+    public void success(Object event) {
+      delivered.add(event);
+    }
+
+    @Override
+    public void error(String errorCode, String errorMessage, Object errorDetails) {
+      delivered.add(errorCode);
+    }
+
+    @Override
+    public void endOfStream() {}
+  }
+}
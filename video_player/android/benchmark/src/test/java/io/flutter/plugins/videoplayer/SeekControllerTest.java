@@ -0,0 +1,144 @@
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.os.SystemClock;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+public class SeekControllerTest {
+  private static final long START = 100000;
+
+  private SeekController seeks;
+
+  @Before
+  public void setUp() {
+    SystemClock.setUptimeMillis(START);
+    seeks = new SeekController();
+  }
+
+  @After
+  public void tearDown() {
+    SystemClock.setUptimeMillis(-1);
+  }
+
+  @Test
+  public void issuesTheFirstSeekAtOnce() {
+    assertTrue(seeks.request(1000, true));
+    assertTrue(seeks.isRunningAccurate());
+    assertEquals(-1, seeks.next());
+  }
+
+  @Test
+  public void coalescesSeeksRequestedWhileOneRuns() {
+    assertTrue(seeks.request(1000, true));
+    assertFalse(seeks.request(2000, false));
+    assertFalse(seeks.request(3000, false));
+    assertFalse(seeks.request(4000, true));
+
+    SystemClock.setUptimeMillis(START + 200);
+    Map<String, Object> event = seeks.onSeekComplete();
+    assertEquals(1000L, event.get("position"));
+    assertEquals(2, event.get("coalesced"));
+    assertEquals(true, event.get("pending"));
+    assertEquals(200L, event.get("seekLatency"));
+
+    // 只执行最新的目标，保留它自己的模式
+    assertEquals(4000, seeks.next());
+    assertTrue(seeks.isRunningAccurate());
+    assertEquals(-1, seeks.next());
+
+    SystemClock.setUptimeMillis(START + 300);
+    event = seeks.onSeekComplete();
+    assertEquals(4000L, event.get("position"));
+    assertEquals(0, event.get("coalesced"));
+    assertEquals(false, event.get("pending"));
+    // 从请求算起，包含等待前一个seek的时间
+    assertEquals(300L, event.get("latency"));
+    assertEquals(100L, event.get("seekLatency"));
+
+    Messages.MetricsMessage metrics = new Messages.MetricsMessage();
+    seeks.fill(metrics);
+    assertEquals(2L, (long) metrics.getSeekCompletedCount());
+    assertEquals(2L, (long) metrics.getSeekCoalescedCount());
+  }
+
+  @Test
+  public void staleSeekStopsHoldingBackNewOnes() {
+    assertTrue(seeks.request(1000, true));
+    SystemClock.setUptimeMillis(START + SeekController.STALE_SEEK_MS - 1);
+    assertFalse(seeks.request(2000, true));
+
+    SystemClock.setUptimeMillis(START + SeekController.STALE_SEEK_MS);
+    assertTrue(seeks.request(3000, true));
+    // 等待中的2000已经过时，完成后不再回跳
+    Map<String, Object> event = seeks.onSeekComplete();
+    assertNull(event);
+    assertEquals(-1, seeks.next());
+  }
+
+  @Test
+  public void ignoresTheLateCompletionOfAReplacedSeek() {
+    assertTrue(seeks.request(1000, true));
+    SystemClock.setUptimeMillis(START + SeekController.STALE_SEEK_MS);
+    assertTrue(seeks.request(2000, false));
+    assertFalse(seeks.request(3000, false));
+
+    // 第一个回调属于被替换的1000
+    assertNull(seeks.onSeekComplete());
+    assertEquals(-1, seeks.next());
+
+    Map<String, Object> event = seeks.onSeekComplete();
+    assertEquals(2000L, event.get("position"));
+    assertEquals(3000, seeks.next());
+    assertEquals(3000L, seeks.onSeekComplete().get("position"));
+  }
+
+  @Test
+  public void waitsForTheLastStaleSeekOnly() {
+    assertTrue(seeks.request(1000, true));
+    SystemClock.setUptimeMillis(START + SeekController.STALE_SEEK_MS);
+    assertTrue(seeks.request(2000, true));
+    SystemClock.setUptimeMillis(START + 2 * SeekController.STALE_SEEK_MS);
+    assertTrue(seeks.request(3000, true));
+
+    // 1000的回调视为丢失，只有2000的回调会被忽略
+    assertNull(seeks.onSeekComplete());
+    assertEquals(3000L, seeks.onSeekComplete().get("position"));
+  }
+
+  @Test
+  public void ignoresTheCompletionOfAnUntrackedSeek() {
+    seeks.onUntrackedSeek();
+    assertTrue(seeks.request(1000, true));
+    assertNull(seeks.onSeekComplete());
+    assertEquals(1000L, seeks.onSeekComplete().get("position"));
+  }
+
+  @Test
+  public void resetForgetsRunningAndPendingSeeks() {
+    assertTrue(seeks.request(1000, true));
+    assertFalse(seeks.request(2000, true));
+    seeks.reset();
+
+    assertEquals(-1, seeks.next());
+    assertTrue(seeks.request(3000, true));
+    assertEquals(3000L, seeks.onSeekComplete().get("position"));
+  }
+
+  @Test
+  public void autoModeIsAccurateOnlyOnRelease() {
+    assertTrue(SeekController.isAccurate(null, null));
+    assertTrue(SeekController.isAccurate((long) SeekController.MODE_ACCURATE, true));
+    assertFalse(SeekController.isAccurate((long) SeekController.MODE_INACCURATE, false));
+    assertFalse(SeekController.isAccurate((long) SeekController.MODE_AUTO, true));
+    assertTrue(SeekController.isAccurate((long) SeekController.MODE_AUTO, false));
+  }
+}
@@ -0,0 +1,312 @@
+package io.flutter.plugins.videoplayer;
+
+import android.app.ActivityManager;
+import android.content.Context;
+import android.os.Build;
+import android.os.SystemClock;
+
+import com.aliyun.player.nativeclass.TrackInfo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Picks the video track of one {@link VideoPlayer} session from the measured throughput and the
+ * buffer level.
+ *
+ * <p>The throughput is estimated from the {@code onLoadingProgress} samples and from how fast the
+ * buffered position grows while the current track downloads. A track is eligible when it fits in
+ * the resolution and bitrate caps; the policy keeps the highest eligible track whose bitrate is
+ * below {@link #SAFETY} of the throughput. It switches up only with {@link #UP_SWITCH_BUFFER_MS}
+ * buffered and at most once per {@link #UP_SWITCH_INTERVAL_MS}, and switches down once the buffer
+ * runs below {@link #DOWN_SWITCH_BUFFER_MS} or right after a rebuffer.
+ *
+ * <p>Low-RAM devices are capped to {@link #LOW_RAM_MAX_HEIGHT} unless a cap is set explicitly.
+ *
+ * <p>All methods must be called on the platform thread.
+ */
+final class AbrController {
+  static final double SAFETY = 0.7;
+  static final long UP_SWITCH_BUFFER_MS = 8000;
+  static final long UP_SWITCH_INTERVAL_MS = 10000;
+  static final long DOWN_SWITCH_BUFFER_MS = 4000;
+  static final int LOW_RAM_MAX_HEIGHT = 720;
+
+  private static final double KBPS_WEIGHT = 0.3;
+  // 估算吞吐量时，缓冲位置的增长至少跨越这么长时间才算一个样本
+  private static final long MIN_PROBE_MS = 500;
+
+  // 按码率从低到高排列的视频轨道
+  private final List<TrackInfo> tracks = new ArrayList<>();
+
+  private boolean enabled;
+  private int maxWidth;
+  private int maxHeight;
+  private long maxBitrate;
+
+  private int currentIndex = -1;
+  private double kbps;
+  private long lastSwitchTime;
+  private long switchCount;
+
+  private long probePosition = -1;
+  private long probeTime;
+
+  private int pendingIndex = -1;
+  private long pendingSince;
+  private boolean pendingAuto;
+
+  AbrController(Context context, double initialKbps) {
+    maxHeight = isLowRamDevice(context) ? LOW_RAM_MAX_HEIGHT : 0;
+    kbps = initialKbps;
+  }
+
+  private static boolean isLowRamDevice(Context context) {
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.KITKAT) {
+      return false;
+    }
+    ActivityManager am = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+    return am != null && am.isLowRamDevice();
+  }
+
+  /**
+   * Configures the policy. Null arguments keep their value; a cap of 0 removes it.
+   *
+   * @see Messages.AbrMessage
+   */
+  void configure(Boolean enable, Long maxWidth, Long maxHeight, Long maxBitrate) {
+    if (enable != null) {
+      enabled = enable;
+    }
+    if (maxWidth != null) {
+      this.maxWidth = maxWidth.intValue();
+    }
+    if (maxHeight != null) {
+      this.maxHeight = maxHeight.intValue();
+    }
+    if (maxBitrate != null) {
+      this.maxBitrate = maxBitrate;
+    }
+  }
+
+  /** Takes the track list of a prepared source and the video track in use. */
+  void setTracks(List<TrackInfo> all, TrackInfo current) {
+    tracks.clear();
+    if (all != null) {
+      for (TrackInfo info : all) {
+        // 只有带码率的视频轨道（多码率HLS的各个清晰度）能参与自适应
+        if (isVideo(info) && info.getVideoBitrate() > 0) {
+          tracks.add(info);
+        }
+      }
+    }
+    Collections.sort(
+        tracks,
+        new Comparator<TrackInfo>() {
+          @Override
+          public int compare(TrackInfo a, TrackInfo b) {
+            return Integer.compare(a.getVideoBitrate(), b.getVideoBitrate());
+          }
+        });
+    onPrepared(current);
+  }
+
+  /** Called after every prepare, including restores, with the video track in use. */
+  void onPrepared(TrackInfo current) {
+    currentIndex = current != null ? current.getIndex() : -1;
+    pendingIndex = -1;
+    resetProbe();
+  }
+
+  /** Records a bandwidth sample from {@code onLoadingProgress}. */
+  void onThroughput(float sample) {
+    if (sample > 0) {
+      addSample(sample);
+    }
+  }
+
+  /**
+   * Estimates the throughput from the growth of the buffered position while the current track
+   * downloads.
+   */
+  void onBufferedPosition(long bufferedPosition) {
+    long now = SystemClock.uptimeMillis();
+    TrackInfo current = find(currentIndex);
+    if (probePosition < 0 || current == null || bufferedPosition < probePosition) {
+      probePosition = bufferedPosition;
+      probeTime = now;
+      return;
+    }
+    long elapsed = now - probeTime;
+    if (elapsed < MIN_PROBE_MS) {
+      return;
+    }
+    long downloaded = bufferedPosition - probePosition;
+    probePosition = bufferedPosition;
+    probeTime = now;
+    // 缓冲满时下载暂停，增长为0不代表网速为0；增长过快一般是seek后的跳变
+    if (downloaded > 0 && downloaded < elapsed * 20) {
+      addSample(downloaded * (current.getVideoBitrate() / 1000.0) / elapsed);
+    }
+  }
+
+  /** Forgets the buffered position, e.g. after a seek. */
+  void resetProbe() {
+    probePosition = -1;
+  }
+
+  private void addSample(double sample) {
+    kbps = kbps > 0 ? kbps + KBPS_WEIGHT * (sample - kbps) : sample;
+  }
+
+  /**
+   * Returns the track to switch to given {@code bufferLevel} ms of media ahead of the playback
+   * position, or null to stay.
+   */
+  TrackInfo decide(long bufferLevel) {
+    TrackInfo current = find(currentIndex);
+    if (!enabled || pendingIndex >= 0 || current == null || tracks.size() < 2) {
+      return null;
+    }
+    TrackInfo target = pick();
+    if (target == null || target.getIndex() == current.getIndex()) {
+      return null;
+    }
+    if (target.getVideoBitrate() > current.getVideoBitrate()) {
+      long now = SystemClock.uptimeMillis();
+      if (bufferLevel < UP_SWITCH_BUFFER_MS || now - lastSwitchTime < UP_SWITCH_INTERVAL_MS) {
+        return null;
+      }
+    } else if (isEligible(current) && bufferLevel >= DOWN_SWITCH_BUFFER_MS) {
+      // 当前轨道在限制内且缓冲充足，暂不降级
+      return null;
+    }
+    return target;
+  }
+
+  /** Returns the track to switch to after a rebuffer, or null to stay. */
+  TrackInfo onRebuffer() {
+    TrackInfo current = find(currentIndex);
+    if (!enabled || pendingIndex >= 0 || current == null) {
+      return null;
+    }
+    // 卡顿说明当前码率已超出网速，估算不应高于它
+    kbps = Math.min(kbps, current.getVideoBitrate() / 1000.0);
+    TrackInfo target = pick();
+    if (target != null && target.getVideoBitrate() < current.getVideoBitrate()) {
+      return target;
+    }
+    int position = tracks.indexOf(current);
+    return position > 0 ? tracks.get(position - 1) : null;
+  }
+
+  /** The highest eligible track the throughput can sustain, or the lowest eligible one. */
+  private TrackInfo pick() {
+    TrackInfo lowest = null;
+    TrackInfo best = null;
+    for (TrackInfo info : tracks) {
+      if (!isEligible(info)) {
+        continue;
+      }
+      if (lowest == null) {
+        lowest = info;
+      }
+      if (kbps > 0 && info.getVideoBitrate() / 1000.0 <= kbps * SAFETY) {
+        best = info;
+      }
+    }
+    if (best != null) {
+      return best;
+    }
+    // 还没有网速样本时保持当前轨道，除非它超出限制
+    TrackInfo current = find(currentIndex);
+    return kbps <= 0 && current != null && isEligible(current) ? current : lowest;
+  }
+
+  private boolean isEligible(TrackInfo info) {
+    int width = info.getVideoWidth();
+    int height = info.getVideoHeight();
+    // 竖屏视频按短边比较
+    int shortSide = Math.min(width, height);
+    int longSide = Math.max(width, height);
+    if (maxHeight > 0 && shortSide > maxHeight) {
+      return false;
+    }
+    if (maxWidth > 0 && longSide > maxWidth) {
+      return false;
+    }
+    return maxBitrate <= 0 || info.getVideoBitrate() <= maxBitrate;
+  }
+
+  private static boolean isVideo(TrackInfo info) {
+    return info.getType() == TrackInfo.Type.TYPE_VIDEO || info.getType() == TrackInfo.Type.TYPE_VOD;
+  }
+
+  private TrackInfo find(int index) {
+    for (TrackInfo info : tracks) {
+      if (info.getIndex() == index) {
+        return info;
+      }
+    }
+    return null;
+  }
+
+  /** Records that {@code index} was requested, by the policy or by the app. */
+  void onSwitchStarted(int index, boolean auto) {
+    pendingIndex = index;
+    pendingSince = SystemClock.uptimeMillis();
+    pendingAuto = auto;
+    if (!auto && (index < 0 || find(index) != null)) {
+      // 手动选择清晰度后不再自动切换，直到重新开启
+      enabled = false;
+    }
+  }
+
+  /**
+   * Builds the {@code trackChanged} event for a switch that completed or failed.
+   *
+   * @param error null when the switch succeeded
+   */
+  Map<String, Object> onSwitchEnded(TrackInfo track, String error) {
+    long now = SystemClock.uptimeMillis();
+    Map<String, Object> event = toMap(track);
+    event.put("event", "trackChanged");
+    event.put("automatic", pendingIndex >= 0 && pendingAuto);
+    if (pendingIndex >= 0) {
+      event.put("latency", now - pendingSince);
+    }
+    if (error != null) {
+      event.put("error", error);
+    } else {
+      if (track != null && isVideo(track)) {
+        currentIndex = track.getIndex();
+      }
+      switchCount++;
+      event.put("switchCount", switchCount);
+    }
+    event.put("kbps", kbps);
+    pendingIndex = -1;
+    lastSwitchTime = now;
+    resetProbe();
+    return event;
+  }
+
+  static Map<String, Object> toMap(TrackInfo info) {
+    Map<String, Object> map = new HashMap<>();
+    if (info == null) {
+      return map;
+    }
+    map.put("index", info.getIndex());
+    map.put("type", info.getType() != null ? info.getType().ordinal() : -1);
+    map.put("definition", info.getVodDefinition());
+    map.put("bitrate", info.getVideoBitrate());
+    map.put("width", info.getVideoWidth());
+    map.put("height", info.getVideoHeight());
+    map.put("description", info.getDescription());
+    return map;
+  }
+}
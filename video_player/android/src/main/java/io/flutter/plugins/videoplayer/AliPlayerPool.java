@@ -0,0 +1,220 @@
+package io.flutter.plugins.videoplayer;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.os.Handler;
+import android.util.Log;
+
+import com.aliyun.player.AliPlayer;
+import com.aliyun.player.AliPlayerFactory;
+import com.aliyun.player.IPlayer;
+import com.aliyun.player.nativeclass.PlayerConfig;
+
+import java.util.ArrayDeque;
+
+/**
+ * A bounded pool of pre-created and pre-configured {@link AliPlayer} instances.
+ *
+ * <p>{@link VideoPlayer} takes its native player from here instead of calling {@link
+ * AliPlayerFactory#createAliPlayer} and gives it back on dispose, so scrolling through a feed does
+ * not pay the create/release cost for every item.
+ *
+ * <p>Idle players are dropped when the system reports memory pressure.
+ */
+final class AliPlayerPool implements ComponentCallbacks2 {
+  private static final String TAG = "AliPlayerPool";
+
+  static final int DEFAULT_MAX_SIZE = 2;
+
+  private final Context context;
+  // 与VideoPlayer和PreloadManager共用的创建线程
+  private final Handler createHandler;
+  private final ArrayDeque<AliPlayer> idlePlayers = new ArrayDeque<>();
+  private int maxSize = DEFAULT_MAX_SIZE;
+
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+
+  AliPlayerPool(Context context, Handler createHandler) {
+    this.context = context.getApplicationContext();
+    this.createHandler = createHandler;
+  }
+
+  /** Returns an idle player, or creates a new one when the pool is empty. */
+  AliPlayer acquire() {
+    synchronized (this) {
+      AliPlayer player = idlePlayers.pollFirst();
+      if (player != null) {
+        hitCount++;
+        return player;
+      }
+      missCount++;
+    }
+    return createPlayer();
+  }
+
+  /**
+   * Gives a player back to the pool.
+   *
+   * <p>The player is stopped, detached from its surface and listeners, and reset to the default
+   * configuration. It is released when the pool is already full.
+   */
+  void release(AliPlayer player) {
+    if (player == null) {
+      return;
+    }
+    player.stop();
+    player.setSurface(null);
+    clearListeners(player);
+    resetPlayer(player);
+
+    synchronized (this) {
+      if (idlePlayers.size() < maxSize) {
+        idlePlayers.addLast(player);
+        return;
+      }
+      evictionCount++;
+    }
+    player.release();
+  }
+
+  /**
+   * Creates players on the create thread until {@code count} of them are idle.
+   *
+   * <p>Each player is created in its own message, so that a create() queued meanwhile on the same
+   * thread waits for at most one of them; the platform thread is never involved.
+   */
+  void prewarm(int count) {
+    final int target;
+    synchronized (this) {
+      target = Math.min(count, maxSize);
+      if (idlePlayers.size() >= target) {
+        return;
+      }
+    }
+    createHandler.post(new Runnable() {
+      @Override
+      public void run() {
+        AliPlayer player;
+        synchronized (AliPlayerPool.this) {
+          if (idlePlayers.size() >= target || idlePlayers.size() >= maxSize) {
+            return;
+          }
+        }
+        player = createPlayer();
+        synchronized (AliPlayerPool.this) {
+          if (idlePlayers.size() < maxSize) {
+            idlePlayers.addLast(player);
+            player = null;
+          }
+        }
+        if (player != null) {
+          player.release();
+          return;
+        }
+        prewarm(target);
+      }
+    });
+  }
+
+  void setMaxSize(int maxSize) {
+    synchronized (this) {
+      this.maxSize = Math.max(0, maxSize);
+    }
+    trimToSize(this.maxSize);
+  }
+
+  /** Releases every idle player. */
+  void clear() {
+    trimToSize(0);
+  }
+
+  private void trimToSize(int size) {
+    while (true) {
+      AliPlayer player;
+      synchronized (this) {
+        if (idlePlayers.size() <= size) {
+          return;
+        }
+        player = idlePlayers.pollLast();
+        evictionCount++;
+      }
+      player.release();
+    }
+  }
+
+  synchronized Messages.PlayerPoolMessage getStats() {
+    Messages.PlayerPoolMessage result = new Messages.PlayerPoolMessage();
+    result.setMaxSize((long) maxSize);
+    result.setIdleCount((long) idlePlayers.size());
+    result.setHitCount(hitCount);
+    result.setMissCount(missCount);
+    result.setEvictionCount(evictionCount);
+    return result;
+  }
+
+  @Override
+  public void onTrimMemory(int level) {
+    if (level >= TRIM_MEMORY_RUNNING_CRITICAL) {
+      // 内存紧张或已进入后台，空闲的播放器全部释放
+      Log.d(TAG, "onTrimMemory " + level + ", releasing idle players");
+      clear();
+    } else if (level >= TRIM_MEMORY_RUNNING_LOW) {
+      int size;
+      synchronized (this) {
+        size = idlePlayers.size() / 2;
+      }
+      trimToSize(size);
+    }
+  }
+
+  @Override
+  public void onLowMemory() {
+    clear();
+  }
+
+  @Override
+  public void onConfigurationChanged(Configuration newConfig) {}
+
+  private AliPlayer createPlayer() {
+    AliPlayer player = AliPlayerFactory.createAliPlayer(context);
+    configure(player);
+    return player;
+  }
+
+  /** Applies the configuration shared by every stream. */
+  private static void configure(AliPlayer player) {
+    //设置播放器参数
+    PlayerConfig config = player.getConfig();
+    //停止之后清空画面。防止画面残留（建议设置）
+    config.mClearFrameWhenStop = true;
+    //缓冲和网络参数，会话中由BufferController按profile和网络状况调整，归还时恢复
+    BufferController.applyDefault(config);
+    player.setConfig(config);
+  }
+
+  private static void resetPlayer(AliPlayer player) {
+    player.setLoop(false);
+    player.setSpeed(1.0f);
+    player.setVolume(1.0f);
+    player.setScaleMode(IPlayer.ScaleMode.SCALE_ASPECT_FIT);
+    player.setMirrorMode(IPlayer.MirrorMode.MIRROR_MODE_NONE);
+    configure(player);
+  }
+
+  private static void clearListeners(AliPlayer player) {
+    player.setOnVideoSizeChangedListener(null);
+    player.setOnPreparedListener(null);
+    player.setOnCompletionListener(null);
+    player.setOnStateChangedListener(null);
+    player.setOnLoadingStatusListener(null);
+    player.setOnErrorListener(null);
+    player.setOnInfoListener(null);
+    player.setOnSnapShotListener(null);
+    player.setOnRenderingStartListener(null);
+    player.setOnTrackChangedListener(null);
+    player.setOnSeekCompleteListener(null);
+  }
+}
@@ -0,0 +1,252 @@
+package io.flutter.plugins.videoplayer;
+
+import android.os.SystemClock;
+
+import com.aliyun.player.AliPlayer;
+import com.aliyun.player.nativeclass.PlayerConfig;
+
+/**
+ * Chooses the buffer durations of one {@link VideoPlayer} session.
+ *
+ * <p>A static {@link Profile} gives the base durations for the kind of content. When adaptation is
+ * on, they are multiplied by a scale that follows the network: a session starts from the
+ * throughput observed by the previous sessions, shrinks its buffers while downloads are fast and
+ * playback is smooth, so that starting and leaving a loading state is quicker, and grows them
+ * after each rebuffer or while downloads are slow, so that there is more margin before the next
+ * stall.
+ *
+ * <p>The start duration only matters before {@code prepare}; the high and max durations also apply
+ * to a session in progress.
+ */
+final class BufferController {
+  static final int PROFILE_DEFAULT = 0;
+  static final int PROFILE_LIVE = 1;
+  static final int PROFILE_FEED = 2;
+  static final int PROFILE_VOD = 3;
+
+  /** Throughput above which the network is considered good, in kbps. */
+  static final double GOOD_KBPS = 4000;
+  /** Throughput below which the network is considered poor, in kbps. */
+  static final double POOR_KBPS = 800;
+
+  static final float MIN_SCALE = 0.5f;
+  static final float MAX_SCALE = 3f;
+  /** Minimum time between two adjustments that are not caused by a rebuffer. */
+  static final long MIN_ADJUST_INTERVAL_MS = 5000;
+  /** How long playback has to be free of rebuffers before the buffers shrink. */
+  static final long STABLE_PERIOD_MS = 30000;
+
+  private static final float SHRINK = 0.8f;
+  private static final float GROW_SLOW = 1.25f;
+  private static final float GROW_REBUFFER = 1.5f;
+  private static final double KBPS_WEIGHT = 0.3;
+
+  /** Base buffer and network settings, all durations in ms. */
+  static final class Profile {
+    final int startBuffer;
+    final int highBuffer;
+    final int maxBuffer;
+    final int maxDelay;
+    final int networkTimeout;
+    final int networkRetryCount;
+
+    Profile(
+        int startBuffer,
+        int highBuffer,
+        int maxBuffer,
+        int maxDelay,
+        int networkTimeout,
+        int networkRetryCount) {
+      this.startBuffer = startBuffer;
+      this.highBuffer = highBuffer;
+      this.maxBuffer = maxBuffer;
+      this.maxDelay = maxDelay;
+      this.networkTimeout = networkTimeout;
+      this.networkRetryCount = networkRetryCount;
+    }
+  }
+
+  private static final Profile[] PROFILES = {
+    // 原先固定的配置，未指定profile时使用
+    new Profile(500, 1000, 50000, 5000, 10000, 2),
+    // 低延迟直播：缓冲少，最大延迟小，断流后尽快重试
+    new Profile(300, 500, 3000, 1500, 5000, 4),
+    // 短视频信息流：尽快起播，不为划走的视频缓冲太多
+    new Profile(200, 600, 10000, 5000, 8000, 2),
+    // 长视频点播：起播稍慢，缓冲更多以减少卡顿
+    new Profile(800, 3000, 120000, 5000, 15000, 3),
+  };
+
+  // 所有会话共享的吞吐量估计，新会话据此选择初始缩放
+  private static final Object ESTIMATE_LOCK = new Object();
+  private static double sharedKbps;
+
+  private final int profileIndex;
+  private final Profile profile;
+  private final boolean adaptive;
+
+  private float scale = 1f;
+  private double kbps;
+  private long lastRebufferTime;
+  private long lastAdjustTime;
+  private long adjustCount;
+  // 应用在后台时只保留高缓冲时长，不再继续下载
+  private boolean background;
+
+  BufferController(Long profile, Boolean adaptive) {
+    int index = profile != null ? profile.intValue() : PROFILE_DEFAULT;
+    this.profileIndex = index >= 0 && index < PROFILES.length ? index : PROFILE_DEFAULT;
+    this.profile = PROFILES[profileIndex];
+    this.adaptive = adaptive == null || adaptive;
+    long now = SystemClock.uptimeMillis();
+    lastRebufferTime = now;
+    lastAdjustTime = now;
+    if (this.adaptive) {
+      double estimate;
+      synchronized (ESTIMATE_LOCK) {
+        estimate = sharedKbps;
+      }
+      if (estimate >= GOOD_KBPS) {
+        scale = 0.6f;
+      } else if (estimate > 0 && estimate < POOR_KBPS) {
+        scale = 1.5f;
+      }
+      kbps = estimate;
+    }
+  }
+
+  /** Writes the current settings into {@code player}, on any thread. */
+  synchronized void apply(AliPlayer player) {
+    PlayerConfig config = player.getConfig();
+    write(config, profile, getStartBuffer(), getHighBuffer(), getMaxBuffer());
+    player.setConfig(config);
+  }
+
+  /** Writes the unscaled {@link #PROFILE_DEFAULT} settings, used by players outside a session. */
+  static void applyDefault(PlayerConfig config) {
+    Profile profile = PROFILES[PROFILE_DEFAULT];
+    write(config, profile, profile.startBuffer, profile.highBuffer, profile.maxBuffer);
+  }
+
+  private static void write(
+      PlayerConfig config, Profile profile, int startBuffer, int highBuffer, int maxBuffer) {
+    config.mNetworkTimeout = profile.networkTimeout;
+    config.mNetworkRetryCount = profile.networkRetryCount;
+    //起播缓冲时长，缓冲到这个时长后开始播放
+    config.mStartBufferDuration = startBuffer;
+    //高缓冲时长。当网络不好导致加载数据时，如果加载的缓冲时长到达这个值，结束加载状态
+    config.mHighBufferDuration = highBuffer;
+    //最大缓冲时长，缓冲到这个时长后暂停下载
+    config.mMaxBufferDuration = maxBuffer;
+    //直播的最大延迟
+    config.mMaxDelayTime = profile.maxDelay;
+  }
+
+  /**
+   * Records a bandwidth sample from {@code onLoadingProgress}.
+   *
+   * @return true when the durations changed and should be applied again
+   */
+  synchronized boolean onThroughput(float sample) {
+    if (sample <= 0) {
+      return false;
+    }
+    kbps = kbps > 0 ? kbps + KBPS_WEIGHT * (sample - kbps) : sample;
+    synchronized (ESTIMATE_LOCK) {
+      sharedKbps = sharedKbps > 0 ? sharedKbps + KBPS_WEIGHT * (sample - sharedKbps) : sample;
+    }
+    if (!adaptive || SystemClock.uptimeMillis() - lastAdjustTime < MIN_ADJUST_INTERVAL_MS) {
+      return false;
+    }
+    if (kbps < POOR_KBPS) {
+      return rescale(scale * GROW_SLOW);
+    }
+    return shrinkIfStable();
+  }
+
+  /**
+   * Records a loading that started after the first frame and outside a seek.
+   *
+   * @return true when the durations changed and should be applied again
+   */
+  synchronized boolean onRebuffer() {
+    lastRebufferTime = SystemClock.uptimeMillis();
+    // 卡顿后立即放大，不受调整间隔限制
+    return adaptive && rescale(scale * GROW_REBUFFER);
+  }
+
+  /**
+   * Called when a loading ends.
+   *
+   * @return true when the durations changed and should be applied again
+   */
+  synchronized boolean onLoadingEnd() {
+    if (!adaptive || SystemClock.uptimeMillis() - lastAdjustTime < MIN_ADJUST_INTERVAL_MS) {
+      return false;
+    }
+    return shrinkIfStable();
+  }
+
+  private boolean shrinkIfStable() {
+    if (kbps >= GOOD_KBPS && SystemClock.uptimeMillis() - lastRebufferTime >= STABLE_PERIOD_MS) {
+      return rescale(scale * SHRINK);
+    }
+    return false;
+  }
+
+  private boolean rescale(float target) {
+    float clamped = Math.max(MIN_SCALE, Math.min(MAX_SCALE, target));
+    lastAdjustTime = SystemClock.uptimeMillis();
+    if (Math.abs(clamped - scale) < 0.01f) {
+      return false;
+    }
+    scale = clamped;
+    adjustCount++;
+    return true;
+  }
+
+  /**
+   * Caps the max duration at the high duration while the app is in the background. The player
+   * keeps what it already buffered and stops downloading more.
+   *
+   * @return true when the durations changed and should be applied again
+   */
+  synchronized boolean setBackground(boolean background) {
+    if (this.background == background) {
+      return false;
+    }
+    this.background = background;
+    return true;
+  }
+
+  /** The session throughput in kbps, or that of earlier sessions until the first sample. */
+  synchronized double getKbps() {
+    return kbps;
+  }
+
+  synchronized int getStartBuffer() {
+    return Math.max(100, Math.round(profile.startBuffer * scale));
+  }
+
+  synchronized int getHighBuffer() {
+    return Math.max(getStartBuffer(), Math.round(profile.highBuffer * scale));
+  }
+
+  synchronized int getMaxBuffer() {
+    if (background) {
+      return getHighBuffer();
+    }
+    // 最大缓冲只放大不缩小，最多到基准的两倍
+    float maxScale = Math.max(1f, Math.min(2f, scale));
+    return Math.max(getHighBuffer(), Math.round(profile.maxBuffer * maxScale));
+  }
+
+  /** Adds the current durations to the metrics of the session. */
+  synchronized void fill(Messages.MetricsMessage result) {
+    result.setBufferProfile((long) profileIndex);
+    result.setStartBufferDuration((long) getStartBuffer());
+    result.setHighBufferDuration((long) getHighBuffer());
+    result.setMaxBufferDuration((long) getMaxBuffer());
+    result.setBufferAdjustCount(adjustCount);
+  }
+}
@@ -0,0 +1,158 @@
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+
+import com.aliyun.player.AliPlayer;
+import com.aliyun.player.nativeclass.CacheConfig;
+
+import java.io.File;
+
+import io.flutter.plugins.videoplayer.utils.FileUtils;
+
+/**
+ * Owns the on-disk media cache shared by every {@link VideoPlayer} of the plugin.
+ *
+ * <p>The cache itself is written by AliPlayer. This class hands the configuration to each player,
+ * keeps the directory under its size limit through the {@link DirectoryMaintainer}, which deletes
+ * the least recently used files, and counts cache hits so that the bandwidth saved can be reported
+ * to Dart.
+ */
+final class CacheManager {
+  static final int DEFAULT_MAX_SIZE_MB = 200;
+  static final int DEFAULT_MAX_DURATION_S = 3600;
+
+  private final DirectoryMaintainer maintainer;
+  private final DirectoryMaintainer.Listener onReclaimed =
+      new DirectoryMaintainer.Listener() {
+        @Override
+        public void onReclaimed(long bytes, int files) {
+          synchronized (CacheManager.this) {
+            evictedBytes += bytes;
+          }
+        }
+      };
+
+  private volatile boolean enabled = false;
+  private volatile String dir;
+  private volatile int maxSizeMB = DEFAULT_MAX_SIZE_MB;
+  private volatile int maxDurationS = DEFAULT_MAX_DURATION_S;
+
+  private long hitCount;
+  private long missCount;
+  private long hitBytes;
+  private long cachedBytes;
+  private long evictedBytes;
+
+  CacheManager(Context context, DirectoryMaintainer maintainer) {
+    this.maintainer = maintainer;
+    //缓存目录的位置(/storage/emulated/0/Android/data/包名/files/Media/cache/)
+    dir = FileUtils.getDir(context) + "cache" + File.separator;
+    maintainer.track(DirectoryMaintainer.CACHE, new File(dir), onReclaimed);
+    maintainer.setMaxBytes(DirectoryMaintainer.CACHE, maxSizeMB * 1024L * 1024L);
+  }
+
+  void setConfig(Messages.CacheMessage arg) {
+    if (arg.getEnable() != null) {
+      enabled = arg.getEnable();
+    }
+    if (arg.getDir() != null) {
+      dir = arg.getDir().endsWith(File.separator) ? arg.getDir() : arg.getDir() + File.separator;
+    }
+    if (arg.getMaxSizeMB() != null) {
+      maxSizeMB = arg.getMaxSizeMB().intValue();
+    }
+    if (arg.getMaxDurationS() != null) {
+      maxDurationS = arg.getMaxDurationS().intValue();
+    }
+    maintainer.track(DirectoryMaintainer.CACHE, new File(dir), onReclaimed);
+    maintainer.setMaxBytes(DirectoryMaintainer.CACHE, maxSizeMB * 1024L * 1024L);
+    trim();
+  }
+
+  boolean isEnabled() {
+    return enabled;
+  }
+
+  /** Applies the current cache configuration to a player before its data source is set. */
+  void apply(AliPlayer player) {
+    CacheConfig cacheConfig = new CacheConfig();
+    //开启缓存功能
+    cacheConfig.mEnable = enabled;
+    //能够缓存的单个文件最大时长。超过此长度则不缓存
+    cacheConfig.mMaxDurationS = maxDurationS;
+    cacheConfig.mDir = dir;
+    //缓存目录的最大大小。超过此大小，将会删除最旧的缓存文件
+    cacheConfig.mMaxSizeMB = maxSizeMB;
+    player.setCacheConfig(cacheConfig);
+  }
+
+  /**
+   * Records whether {@code uri} is about to be played from the cache.
+   *
+   * <p>A hit marks the cached file as recently used so that {@link #trim} keeps it.
+   */
+  void onSourceOpened(AliPlayer player, String uri) {
+    if (!enabled || !isNetworkUri(uri)) {
+      return;
+    }
+    File file = cacheFile(player, uri);
+    synchronized (this) {
+      if (file != null && file.length() > 0) {
+        hitCount++;
+        hitBytes += file.length();
+      } else {
+        missCount++;
+      }
+    }
+    if (file != null && file.exists()) {
+      //noinspection ResultOfMethodCallIgnored
+      file.setLastModified(System.currentTimeMillis());
+      maintainer.notifyChanged(DirectoryMaintainer.CACHE, file);
+    }
+  }
+
+  /** Called when AliPlayer reports that {@code uri} has been fully written to the cache. */
+  void onCacheSuccess(AliPlayer player, String uri) {
+    File file = cacheFile(player, uri);
+    if (file != null) {
+      synchronized (this) {
+        cachedBytes += file.length();
+      }
+      maintainer.notifyChanged(DirectoryMaintainer.CACHE, file);
+    }
+    trim();
+  }
+
+  /** Deletes every cached file. */
+  void clear() {
+    maintainer.clear(DirectoryMaintainer.CACHE);
+  }
+
+  synchronized Messages.CacheMessage getStats() {
+    Messages.CacheMessage result = new Messages.CacheMessage();
+    result.setEnable(enabled);
+    result.setDir(dir);
+    result.setMaxSizeMB((long) maxSizeMB);
+    result.setMaxDurationS((long) maxDurationS);
+    result.setHitCount(hitCount);
+    result.setMissCount(missCount);
+    result.setHitBytes(hitBytes);
+    result.setCachedBytes(cachedBytes);
+    result.setEvictedBytes(evictedBytes);
+    return result;
+  }
+
+  /** Deletes the least recently used entries until the cache fits in {@code maxSizeMB}. */
+  void trim() {
+    maintainer.schedule();
+  }
+
+  private static File cacheFile(AliPlayer player, String uri) {
+    String path = player.getCacheFilePath(uri);
+    return path == null || path.isEmpty() ? null : new File(path);
+  }
+
+  private static boolean isNetworkUri(String uri) {
+    return uri != null && (uri.startsWith("http://") || uri.startsWith("https://"));
+  }
+}
@@ -0,0 +1,202 @@
+package io.flutter.plugins.videoplayer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+
+import io.flutter.plugin.common.BasicMessageChannel;
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugin.common.MessageCodec;
+import io.flutter.plugins.videoplayer.Messages.PositionMessage;
+import io.flutter.plugins.videoplayer.Messages.SeekMessage;
+import io.flutter.plugins.videoplayer.Messages.TextureMessage;
+import io.flutter.plugins.videoplayer.Messages.VolumeMessage;
+import io.flutter.plugins.videoplayer.Messages.VideoPlayerApi;
+
+/**
+ * A compact transport for the high frequency {@link VideoPlayerApi} calls.
+ *
+ * <p>The Pigeon channels wrap every message in a {@code HashMap} with string keys and box each
+ * number through {@code StandardMessageCodec}. The channels registered here carry the same calls as
+ * fixed-layout little-endian records instead:
+ *
+ * <pre>
+ *   TextureMessage   tag(1) textureId(int64)
+ *   PositionMessage  tag(2) textureId(int64) position(int64)
+ *   VolumeMessage    tag(3) textureId(int64) volume(float64)
+ *   SeekMessage      tag(4) textureId(int64) position(int64) mode(int8) dragging(int8)
+ *   void reply       tag(0)
+ *   error reply      tag(0x7F) utf8 "ExceptionName: message"
+ * </pre>
+ *
+ * <p>Both transports are always registered; the Dart side picks one when it creates its
+ * MethodChannelVideoPlayer.
+ */
+final class CompactMessages {
+  static final String CHANNEL_PREFIX = "dev.flutter.pigeon.VideoPlayerApi.compact.";
+
+  static final byte TAG_VOID = 0;
+  static final byte TAG_TEXTURE = 1;
+  static final byte TAG_POSITION = 2;
+  static final byte TAG_VOLUME = 3;
+  static final byte TAG_SEEK = 4;
+  static final byte TAG_ERROR = 0x7F;
+
+  private CompactMessages() {}
+
+  /** Wraps the failure of a call so that it can be encoded as an error reply. */
+  static final class ErrorReply {
+    final String message;
+
+    ErrorReply(Exception exception) {
+      this.message = exception.getClass().getSimpleName() + ": " + exception.getMessage();
+    }
+  }
+
+  /**
+   * Encodes the message classes above into fixed-layout buffers.
+   *
+   * <p>Not thread-safe: encoding reuses one direct buffer, which the engine copies before {@code
+   * reply} returns. All platform channel handlers run on the main thread.
+   */
+  static final class Codec implements MessageCodec<Object> {
+    static final Codec INSTANCE = new Codec();
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private final ByteBuffer buffer =
+        ByteBuffer.allocateDirect(1 + 8 + 8 + 2).order(ByteOrder.LITTLE_ENDIAN);
+
+    @Override
+    public ByteBuffer encodeMessage(Object message) {
+      if (message instanceof ErrorReply) {
+        byte[] bytes = ((ErrorReply) message).message.getBytes(UTF8);
+        ByteBuffer result = ByteBuffer.allocateDirect(1 + bytes.length);
+        result.put(TAG_ERROR).put(bytes);
+        return result;
+      }
+      buffer.clear();
+      if (message == null) {
+        buffer.put(TAG_VOID);
+      } else if (message instanceof TextureMessage) {
+        buffer.put(TAG_TEXTURE).putLong(((TextureMessage) message).getTextureId());
+      } else if (message instanceof PositionMessage) {
+        PositionMessage positionMessage = (PositionMessage) message;
+        buffer.put(TAG_POSITION)
+            .putLong(positionMessage.getTextureId())
+            .putLong(positionMessage.getPosition());
+      } else if (message instanceof VolumeMessage) {
+        VolumeMessage volumeMessage = (VolumeMessage) message;
+        buffer.put(TAG_VOLUME)
+            .putLong(volumeMessage.getTextureId())
+            .putDouble(volumeMessage.getVolume());
+      } else if (message instanceof SeekMessage) {
+        SeekMessage seekMessage = (SeekMessage) message;
+        buffer.put(TAG_SEEK)
+            .putLong(seekMessage.getTextureId())
+            .putLong(seekMessage.getPosition())
+            .put(seekMessage.getMode().byteValue())
+            .put((byte) (seekMessage.getDragging() ? 1 : 0));
+      } else {
+        throw new IllegalArgumentException("Unsupported message: " + message.getClass());
+      }
+      return buffer;
+    }
+
+    @Override
+    public Object decodeMessage(ByteBuffer message) {
+      if (message == null) {
+        return null;
+      }
+      message.order(ByteOrder.LITTLE_ENDIAN);
+      byte tag = message.get();
+      switch (tag) {
+        case TAG_VOID:
+          return null;
+        case TAG_TEXTURE:
+          TextureMessage textureMessage = new TextureMessage();
+          textureMessage.setTextureId(message.getLong());
+          return textureMessage;
+        case TAG_POSITION:
+          PositionMessage positionMessage = new PositionMessage();
+          positionMessage.setTextureId(message.getLong());
+          positionMessage.setPosition(message.getLong());
+          return positionMessage;
+        case TAG_VOLUME:
+          VolumeMessage volumeMessage = new VolumeMessage();
+          volumeMessage.setTextureId(message.getLong());
+          volumeMessage.setVolume(message.getDouble());
+          return volumeMessage;
+        case TAG_SEEK:
+          SeekMessage seekMessage = new SeekMessage();
+          seekMessage.setTextureId(message.getLong());
+          seekMessage.setPosition(message.getLong());
+          seekMessage.setMode((long) message.get());
+          seekMessage.setDragging(message.get() != 0);
+          return seekMessage;
+        default:
+          throw new IllegalArgumentException("Unknown tag: " + tag);
+      }
+    }
+  }
+
+  private interface Handler {
+    Object handle(Object input);
+  }
+
+  private static final String[] CHANNELS = {
+    "position", "seekTo", "seekWithMode", "setVolume", "setSpeed", "play", "pause"
+  };
+
+  /** Sets up the compact channels of {@code api}, or removes them when {@code api} is null. */
+  static void setup(BinaryMessenger binaryMessenger, VideoPlayerApi api) {
+    if (api == null) {
+      for (String name : CHANNELS) {
+        register(binaryMessenger, name, null);
+      }
+      return;
+    }
+    register(binaryMessenger, "position", input -> api.position((TextureMessage) input));
+    register(binaryMessenger, "seekTo", input -> {
+      api.seekTo((PositionMessage) input);
+      return null;
+    });
+    register(binaryMessenger, "seekWithMode", input -> {
+      api.seekWithMode((SeekMessage) input);
+      return null;
+    });
+    register(binaryMessenger, "setVolume", input -> {
+      api.setVolume((VolumeMessage) input);
+      return null;
+    });
+    register(binaryMessenger, "setSpeed", input -> {
+      api.setSpeed((VolumeMessage) input);
+      return null;
+    });
+    register(binaryMessenger, "play", input -> {
+      api.play((TextureMessage) input);
+      return null;
+    });
+    register(binaryMessenger, "pause", input -> {
+      api.pause((TextureMessage) input);
+      return null;
+    });
+  }
+
+  private static void register(BinaryMessenger binaryMessenger, String name, Handler handler) {
+    BasicMessageChannel<Object> channel =
+        new BasicMessageChannel<>(binaryMessenger, CHANNEL_PREFIX + name, Codec.INSTANCE);
+    if (handler == null) {
+      channel.setMessageHandler(null);
+      return;
+    }
+    channel.setMessageHandler((message, reply) -> {
+      Object output;
+      try {
+        output = handler.handle(message);
+      } catch (Exception exception) {
+        output = new ErrorReply(exception);
+      }
+      reply.reply(output);
+    });
+  }
+}
@@ -0,0 +1,560 @@
+package io.flutter.plugins.videoplayer;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.flutter.plugins.videoplayer.utils.FileUtils;
+import io.flutter.plugins.videoplayer.utils.LaneExecutor;
+import io.flutter.plugins.videoplayer.utils.ThreadUtils;
+
+/**
+ * Keeps the directories written by the plugin, the media cache, the snapshots and the scrub-bar
+ * thumbnails, under their size and age quotas.
+ *
+ * <p>Maintenance runs on the background lane of {@link ThreadUtils} in slices of at most {@link
+ * #SLICE_NANOS}: after each slice the pass yields the thread and re-queues itself, so snapshots
+ * and other user-visible tasks are never stuck behind a large deletion. Directories are measured
+ * and deleted file by file rather than recursively in one call.
+ *
+ * <p>The size of each top-level entry is kept in an index. A pass only lists a directory again
+ * when its modification time changed, only measures the entries it has not seen, and trusts the
+ * index for the rest until {@link #INDEX_TTL_MS} elapses or the entry is reported through {@link
+ * #notifyChanged}.
+ */
+final class DirectoryMaintainer {
+  private static final String TAG = "DirectoryMaintainer";
+
+  static final String CACHE = "cache";
+  static final String SNAPSHOT = "snapshot";
+  static final String THUMBNAIL = "thumbnail";
+
+  static final long SLICE_NANOS = 4_000_000L;
+  static final long DEFAULT_INTERVAL_MS = 10 * 60 * 1000L;
+  static final long INDEX_TTL_MS = 60 * 60 * 1000L;
+
+  /** Told how much a pass deleted from a directory, on the maintenance thread. */
+  interface Listener {
+    void onReclaimed(long bytes, int files);
+  }
+
+  /** An indexed top-level entry of a directory. */
+  private static final class Entry {
+    final File file;
+    long size;
+    long lastModified;
+
+    Entry(File file) {
+      this.file = file;
+    }
+  }
+
+  /** A maintained directory, its quotas and its size index. */
+  private static final class Quota {
+    final File dir;
+    final Listener listener;
+    // 0表示不限制
+    volatile long maxBytes;
+    volatile long maxAgeMs;
+    volatile boolean clearRequested;
+
+    // 以下只在维护线程访问
+    final Map<String, Entry> index = new HashMap<>();
+    volatile long indexedBytes;
+    long dirModified = -1;
+    long indexTime;
+
+    // 由notifyChanged写入，维护线程读取
+    final Set<String> dirty = new HashSet<>();
+
+    Quota(File dir, Listener listener) {
+      this.dir = dir;
+      this.listener = listener;
+    }
+  }
+
+  private final Map<String, Quota> quotas = new LinkedHashMap<>();
+  private final Handler handler = new Handler(Looper.getMainLooper());
+
+  private volatile long minFreeBytes;
+  private volatile long intervalMs = DEFAULT_INTERVAL_MS;
+
+  private boolean started;
+  private boolean running;
+  private boolean rerun;
+
+  private long reclaimedBytes;
+  private long deletedFiles;
+  private long passCount;
+  private long sliceCount;
+  private long lastPassMs;
+
+  private final Runnable periodic =
+      new Runnable() {
+        @Override
+        public void run() {
+          schedule();
+          handler.postDelayed(this, intervalMs);
+        }
+      };
+
+  private final LaneExecutor.RejectionHandler onRejected =
+      new LaneExecutor.RejectionHandler() {
+        @Override
+        public void onRejected(Runnable task, LaneExecutor.Lane lane, String reason) {
+          Log.w(TAG, "maintenance postponed: " + reason);
+          synchronized (DirectoryMaintainer.this) {
+            running = false;
+          }
+        }
+      };
+
+  /** Starts the periodic passes. */
+  void start() {
+    if (!started) {
+      started = true;
+      handler.postDelayed(periodic, intervalMs);
+    }
+  }
+
+  /** Stops the periodic passes. A pass in progress finishes its current directory. */
+  void stop() {
+    started = false;
+    handler.removeCallbacks(periodic);
+  }
+
+  /**
+   * Maintains {@code dir} under {@code name}, replacing the directory previously registered under
+   * that name. The quotas carry over; the index is rebuilt if the directory changed.
+   */
+  synchronized void track(String name, File dir, Listener listener) {
+    Quota old = quotas.get(name);
+    if (old != null && old.dir.equals(dir)) {
+      return;
+    }
+    Quota quota = new Quota(dir, listener);
+    if (old != null) {
+      quota.maxBytes = old.maxBytes;
+      quota.maxAgeMs = old.maxAgeMs;
+    }
+    quotas.put(name, quota);
+  }
+
+  synchronized void setMaxBytes(String name, long maxBytes) {
+    Quota quota = quotas.get(name);
+    if (quota != null) {
+      quota.maxBytes = Math.max(0, maxBytes);
+    }
+  }
+
+  synchronized void setMaxAge(String name, long maxAgeMs) {
+    Quota quota = quotas.get(name);
+    if (quota != null) {
+      quota.maxAgeMs = Math.max(0, maxAgeMs);
+    }
+  }
+
+  void setConfig(Messages.MaintenanceMessage arg) {
+    if (arg.getSnapshotMaxBytes() != null) {
+      setMaxBytes(SNAPSHOT, arg.getSnapshotMaxBytes());
+    }
+    if (arg.getSnapshotMaxAgeS() != null) {
+      setMaxAge(SNAPSHOT, arg.getSnapshotMaxAgeS() * 1000);
+    }
+    if (arg.getCacheMaxAgeS() != null) {
+      setMaxAge(CACHE, arg.getCacheMaxAgeS() * 1000);
+    }
+    if (arg.getMinFreeBytes() != null) {
+      minFreeBytes = Math.max(0, arg.getMinFreeBytes());
+    }
+    if (arg.getIntervalS() != null && arg.getIntervalS() > 0) {
+      intervalMs = arg.getIntervalS() * 1000;
+      if (started) {
+        handler.removeCallbacks(periodic);
+        handler.postDelayed(periodic, intervalMs);
+      }
+    }
+    schedule();
+  }
+
+  /** Reports that {@code file} inside the directory {@code name} was written or grew. */
+  void notifyChanged(String name, File file) {
+    Quota quota;
+    synchronized (this) {
+      quota = quotas.get(name);
+    }
+    if (quota == null || file == null) {
+      return;
+    }
+    // 缓存文件可能在子目录中，记录它所在的顶层条目
+    File top = file;
+    while (top.getParentFile() != null && !quota.dir.equals(top.getParentFile())) {
+      top = top.getParentFile();
+    }
+    if (top.getParentFile() == null) {
+      return;
+    }
+    synchronized (quota.dirty) {
+      quota.dirty.add(top.getName());
+    }
+  }
+
+  /** Deletes everything in the directory {@code name} on the next pass. */
+  void clear(String name) {
+    synchronized (this) {
+      Quota quota = quotas.get(name);
+      if (quota == null) {
+        return;
+      }
+      quota.clearRequested = true;
+    }
+    schedule();
+  }
+
+  /** Runs a pass soon, or right after the one in progress. */
+  void schedule() {
+    Pass pass;
+    synchronized (this) {
+      if (running) {
+        rerun = true;
+        return;
+      }
+      running = true;
+      rerun = false;
+      pass = new Pass(new ArrayList<>(quotas.values()));
+    }
+    pass.post();
+  }
+
+  synchronized Messages.MaintenanceMessage getStats() {
+    Messages.MaintenanceMessage result = new Messages.MaintenanceMessage();
+    Quota snapshot = quotas.get(SNAPSHOT);
+    Quota cache = quotas.get(CACHE);
+    if (snapshot != null) {
+      result.setSnapshotMaxBytes(snapshot.maxBytes);
+      result.setSnapshotMaxAgeS(snapshot.maxAgeMs / 1000);
+      result.setSnapshotBytes(snapshot.indexedBytes);
+    }
+    if (cache != null) {
+      result.setCacheMaxAgeS(cache.maxAgeMs / 1000);
+      result.setCacheBytes(cache.indexedBytes);
+      result.setAvailableBytes(FileUtils.getAvailableBytes(cache.dir));
+      result.setTotalBytes(FileUtils.getTotalBytes(cache.dir));
+    }
+    Quota thumbnail = quotas.get(THUMBNAIL);
+    if (thumbnail != null) {
+      result.setThumbnailBytes(thumbnail.indexedBytes);
+    }
+    result.setMinFreeBytes(minFreeBytes);
+    result.setIntervalS(intervalMs / 1000);
+    result.setReclaimedBytes(reclaimedBytes);
+    result.setDeletedFiles(deletedFiles);
+    result.setPassCount(passCount);
+    result.setSliceCount(sliceCount);
+    result.setLastPassTime(lastPassMs);
+    return result;
+  }
+
+  /**
+   * One maintenance pass over every directory, resumable between slices.
+   *
+   * <p>For each directory it refreshes the index, picks the victims, then deletes them; each step
+   * is small enough to be checked against the slice deadline.
+   */
+  private final class Pass implements Runnable {
+    private static final int REFRESH = 0;
+    private static final int MEASURE = 1;
+    private static final int SELECT = 2;
+    private static final int DELETE = 3;
+
+    private final List<Quota> quotas;
+    private final long startTime = SystemClock.uptimeMillis();
+    private int quotaIndex;
+    private int phase = REFRESH;
+
+    private final ArrayDeque<Entry> toMeasure = new ArrayDeque<>();
+    // 正在测量的条目和还没有遍历的文件
+    private Entry measuring;
+    private final ArrayDeque<File> toWalk = new ArrayDeque<>();
+    private long measured;
+    private final ArrayDeque<Entry> victims = new ArrayDeque<>();
+    // 正在删除的条目，目录先压入自身再压入子文件
+    private final ArrayDeque<File> toDelete = new ArrayDeque<>();
+    private final Set<File> expanded = new HashSet<>();
+    private Entry deleting;
+    // 当前条目已删除的字节数
+    private long deletingReclaimed;
+    private long reclaimed;
+    private int files;
+
+    Pass(List<Quota> quotas) {
+      this.quotas = quotas;
+    }
+
+    void post() {
+      ThreadUtils.runOnSubThread(LaneExecutor.Lane.BACKGROUND, this, onRejected);
+    }
+
+    @Override
+    public void run() {
+      long deadline = System.nanoTime() + SLICE_NANOS;
+      boolean more;
+      do {
+        more = step();
+      } while (more && System.nanoTime() < deadline);
+      synchronized (DirectoryMaintainer.this) {
+        sliceCount++;
+      }
+      if (more) {
+        // 让出线程，排在其他任务之后继续
+        post();
+      } else {
+        finish();
+      }
+    }
+
+    /** Does one small unit of work, returns false once every directory is done. */
+    private boolean step() {
+      if (quotaIndex >= quotas.size()) {
+        return false;
+      }
+      Quota quota = quotas.get(quotaIndex);
+      switch (phase) {
+        case REFRESH:
+          refresh(quota);
+          phase = MEASURE;
+          break;
+        case MEASURE:
+          if (!measureNext(quota)) {
+            phase = SELECT;
+          }
+          break;
+        case SELECT:
+          select(quota);
+          phase = DELETE;
+          break;
+        default:
+          if (!deleteNext(quota)) {
+            endQuota(quota);
+          }
+          break;
+      }
+      return true;
+    }
+
+    /** Lists the directory again if it changed, and queues the entries to measure. */
+    private void refresh(Quota quota) {
+      long now = System.currentTimeMillis();
+      long modified = quota.dir.lastModified();
+      boolean stale = now - quota.indexTime > INDEX_TTL_MS;
+      if (modified != quota.dirModified || stale) {
+        File[] children = quota.dir.listFiles();
+        Set<String> names = new HashSet<>();
+        if (children != null) {
+          for (File child : children) {
+            names.add(child.getName());
+            Entry entry = quota.index.get(child.getName());
+            if (entry == null) {
+              entry = new Entry(child);
+              quota.index.put(child.getName(), entry);
+              toMeasure.add(entry);
+            } else if (stale) {
+              toMeasure.add(entry);
+            }
+          }
+        }
+        Iterator<Entry> it = quota.index.values().iterator();
+        while (it.hasNext()) {
+          Entry entry = it.next();
+          if (!names.contains(entry.file.getName())) {
+            quota.indexedBytes -= entry.size;
+            it.remove();
+          }
+        }
+        quota.dirModified = modified;
+        if (stale) {
+          quota.indexTime = now;
+        }
+      }
+      synchronized (quota.dirty) {
+        for (String name : quota.dirty) {
+          Entry entry = quota.index.get(name);
+          if (entry != null && !toMeasure.contains(entry)) {
+            toMeasure.add(entry);
+          }
+        }
+        quota.dirty.clear();
+      }
+    }
+
+    /** Measures one file of the current entry, returns false when there is nothing to measure. */
+    private boolean measureNext(Quota quota) {
+      if (measuring == null) {
+        measuring = toMeasure.poll();
+        if (measuring == null) {
+          return false;
+        }
+        measured = 0;
+        toWalk.push(measuring.file);
+        return true;
+      }
+      File file = toWalk.poll();
+      if (file != null) {
+        if (file.isDirectory()) {
+          File[] children = file.listFiles();
+          if (children != null) {
+            for (File child : children) {
+              toWalk.push(child);
+            }
+          }
+        } else {
+          measured += file.length();
+        }
+        return true;
+      }
+      quota.indexedBytes += measured - measuring.size;
+      measuring.size = measured;
+      measuring.lastModified = measuring.file.lastModified();
+      measuring = null;
+      return true;
+    }
+
+    /**
+     * Picks the expired entries, then the least recently used ones until the quota fits.
+     *
+     * <p>When the free space is below {@code minFreeBytes}, directories with a size quota give up
+     * the difference as well. Directories without one, such as the snapshots by default, are only
+     * trimmed by age.
+     */
+    private void select(Quota quota) {
+      List<Entry> entries = new ArrayList<>(quota.index.values());
+      if (quota.clearRequested) {
+        quota.clearRequested = false;
+        victims.addAll(entries);
+        return;
+      }
+      long maxBytes = quota.maxBytes > 0 ? quota.maxBytes : Long.MAX_VALUE;
+      if (quota.maxBytes > 0 && minFreeBytes > 0) {
+        long available = FileUtils.getAvailableBytes(quota.dir);
+        if (available >= 0 && available < minFreeBytes) {
+          long target = Math.max(0, quota.indexedBytes - (minFreeBytes - available));
+          maxBytes = Math.min(maxBytes, target);
+        }
+      }
+      long maxAgeMs = quota.maxAgeMs;
+      if (quota.indexedBytes <= maxBytes && maxAgeMs <= 0) {
+        return;
+      }
+      Collections.sort(
+          entries,
+          new Comparator<Entry>() {
+            @Override
+            public int compare(Entry a, Entry b) {
+              return Long.compare(a.lastModified, b.lastModified);
+            }
+          });
+      long expiry = maxAgeMs > 0 ? System.currentTimeMillis() - maxAgeMs : Long.MIN_VALUE;
+      long remaining = quota.indexedBytes;
+      for (Entry entry : entries) {
+        if (entry.lastModified >= expiry && remaining <= maxBytes) {
+          break;
+        }
+        victims.add(entry);
+        remaining -= entry.size;
+      }
+    }
+
+    /** Deletes one file of the current victim, returns false when there are no victims left. */
+    private boolean deleteNext(Quota quota) {
+      if (toDelete.isEmpty()) {
+        if (deleting != null) {
+          if (deleting.file.exists()) {
+            // 没删干净，保留条目并在下一次维护时重新测量
+            long size = Math.max(0, deleting.size - deletingReclaimed);
+            quota.indexedBytes -= deleting.size - size;
+            deleting.size = size;
+            synchronized (quota.dirty) {
+              quota.dirty.add(deleting.file.getName());
+            }
+          } else {
+            quota.index.remove(deleting.file.getName());
+            quota.indexedBytes -= deleting.size;
+          }
+          deleting = null;
+        }
+        deletingReclaimed = 0;
+        deleting = victims.poll();
+        if (deleting == null) {
+          return false;
+        }
+        toDelete.push(deleting.file);
+        return true;
+      }
+      File file = toDelete.peek();
+      if (file.isDirectory() && expanded.add(file)) {
+        File[] children = file.listFiles();
+        if (children != null && children.length > 0) {
+          for (File child : children) {
+            toDelete.push(child);
+          }
+          return true;
+        }
+      }
+      toDelete.pop();
+      expanded.remove(file);
+      long length = file.isDirectory() ? 0 : file.length();
+      if (file.delete()) {
+        reclaimed += length;
+        deletingReclaimed += length;
+        files++;
+      } else if (file.exists()) {
+        Log.w(TAG, "failed to delete " + file);
+      }
+      return true;
+    }
+
+    private void endQuota(Quota quota) {
+      if (reclaimed > 0 || files > 0) {
+        if (quota.listener != null) {
+          quota.listener.onReclaimed(reclaimed, files);
+        }
+        synchronized (DirectoryMaintainer.this) {
+          reclaimedBytes += reclaimed;
+          deletedFiles += files;
+        }
+        Log.d(TAG, "reclaimed " + reclaimed + " bytes in " + files + " files from " + quota.dir);
+      }
+      reclaimed = 0;
+      files = 0;
+      phase = REFRESH;
+      quotaIndex++;
+    }
+
+    private void finish() {
+      boolean again;
+      synchronized (DirectoryMaintainer.this) {
+        passCount++;
+        lastPassMs = SystemClock.uptimeMillis() - startTime;
+        running = false;
+        again = rerun;
+      }
+      if (again) {
+        schedule();
+      }
+    }
+  }
+}
@@ -0,0 +1,993 @@
+package io.flutter.plugins.videoplayer;
+
+import android.os.Build;
+import android.os.SystemClock;
+import android.system.ErrnoException;
+import android.system.Os;
+import android.util.Log;
+
+import java.io.DataInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.flutter.plugins.videoplayer.utils.FileUtils;
+
+/**
+ * Downloads videos for offline playback.
+ *
+ * <p>A download is identified by the MD5 of its URL. When the server supports ranges the file is
+ * split into {@link #SEGMENT_SIZE} segments that up to {@code connections} workers fetch in
+ * parallel, each writing at its own offset through one shared {@link FileChannel}. The file is
+ * preallocated to its full length first, so a download never runs out of space halfway.
+ *
+ * <p>The progress of each segment is saved in a small journal next to the file at most every
+ * {@link #JOURNAL_INTERVAL_MS}, and on pause. After the process dies the downloads come back
+ * paused, and {@link #start} continues each segment where its journal left it. A server without
+ * range support is downloaded by a single connection and starts over. The journal is encoded
+ * under the task lock and written outside it, and the file is always closed on a download
+ * thread.
+ *
+ * <p>All downloads share one bandwidth cap. Progress and state changes are sent on {@link
+ * #EVENT_CHANNEL}. {@link #localUriFor} lets {@code create} play a finished download from disk.
+ *
+ * <p>The journals are read on a download thread after construction, and no method waits for it.
+ * Until then {@link #localUriFor} knows only the downloads already read, {@link #getDownloads}
+ * reports that it is restoring, and the other calls are queued and run once it is done. A {@code
+ * restored} event is sent then. The methods may be called from any thread.
+ */
+final class DownloadManager {
+  private static final String TAG = "DownloadManager";
+
+  static final String EVENT_CHANNEL = "flutter.io/videoPlayer/downloadEvents";
+
+  static final int STATE_PENDING = 0;
+  static final int STATE_RUNNING = 1;
+  static final int STATE_PAUSED = 2;
+  static final int STATE_COMPLETED = 3;
+  static final int STATE_FAILED = 4;
+
+  static final int DEFAULT_CONNECTIONS = 3;
+  static final int MAX_CONNECTIONS = 8;
+  static final long SEGMENT_SIZE = 4 * 1024 * 1024;
+  static final long JOURNAL_INTERVAL_MS = 1000;
+  static final long PROGRESS_INTERVAL_MS = 500;
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final int MAX_RETRIES = 3;
+  private static final int CONNECT_TIMEOUT_MS = 10000;
+  private static final int READ_TIMEOUT_MS = 15000;
+  // 所有下载共用的线程数上限
+  private static final int MAX_THREADS = 8;
+  private static final int JOURNAL_VERSION = 1;
+  private static final String JOURNAL_SUFFIX = ".journal";
+  private static final String PART_SUFFIX = ".part";
+
+  private final File dir;
+  private final QueuingEventSink events;
+  private final Throttle throttle = new Throttle();
+  private final ThreadPoolExecutor executor;
+  private volatile int maxConnections = DEFAULT_CONNECTIONS;
+
+  // 按id，保持添加顺序
+  private final Map<String, Task> tasks = new LinkedHashMap<>();
+  // 读取日志期间收到的操作，读完后按顺序执行
+  private final List<Runnable> afterRestore = new ArrayList<>();
+  private boolean restoring = true;
+
+  DownloadManager(File dir, QueuingEventSink events) {
+    this.dir = dir;
+    this.events = events;
+    final AtomicInteger count = new AtomicInteger();
+    executor =
+        new ThreadPoolExecutor(
+            MAX_THREADS,
+            MAX_THREADS,
+            30,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(),
+            new ThreadFactory() {
+              @Override
+              public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "VideoDownload-" + count.incrementAndGet());
+                thread.setPriority(Thread.NORM_PRIORITY - 1);
+                return thread;
+              }
+            });
+    executor.allowCoreThreadTimeOut(true);
+    // 构造在主线程，目录和日志的读取放到下载线程
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          restore();
+        } finally {
+          onRestored();
+        }
+      }
+    });
+  }
+
+  private void onRestored() {
+    while (true) {
+      List<Runnable> queued;
+      synchronized (this) {
+        // 排队的操作都执行完才放开，之后的调用不会抢在它们前面
+        if (afterRestore.isEmpty()) {
+          restoring = false;
+          break;
+        }
+        queued = new ArrayList<>(afterRestore);
+        afterRestore.clear();
+      }
+      for (Runnable operation : queued) {
+        operation.run();
+      }
+    }
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", "restored");
+    send(event);
+  }
+
+  /** Queues {@code operation} while the journals are read. Returns false when it can run now. */
+  private synchronized boolean deferWhileRestoring(Runnable operation) {
+    if (!restoring) {
+      return false;
+    }
+    afterRestore.add(operation);
+    return true;
+  }
+
+  /** Loads the journals left by a previous process. Each one is a few hundred bytes. */
+  private void restore() {
+    dir.mkdirs();
+    File[] files = dir.listFiles();
+    if (files == null) {
+      return;
+    }
+    for (File file : files) {
+      if (!file.getName().endsWith(JOURNAL_SUFFIX)) {
+        continue;
+      }
+      try {
+        Task task = Task.read(this, file);
+        if (task.state == STATE_COMPLETED && !task.file.exists()) {
+          file.delete();
+          continue;
+        }
+        if (task.state != STATE_COMPLETED && task.state != STATE_FAILED) {
+          task.state = STATE_PAUSED;
+        }
+        synchronized (this) {
+          tasks.put(task.id, task);
+        }
+      } catch (IOException e) {
+        Log.w(TAG, "dropping unreadable journal " + file, e);
+        file.delete();
+      }
+    }
+  }
+
+  void setConfig(Messages.DownloadConfigMessage arg) {
+    if (arg.getMaxConnections() != null) {
+      maxConnections = clampConnections(arg.getMaxConnections());
+    }
+    if (arg.getMaxBytesPerSecond() != null) {
+      throttle.setRate(arg.getMaxBytesPerSecond());
+    }
+  }
+
+  private static int clampConnections(long connections) {
+    return (int) Math.max(1, Math.min(MAX_CONNECTIONS, connections));
+  }
+
+  /**
+   * Starts or resumes the download of {@code url}. A finished download is left as it is.
+   *
+   * <p>While the journals are read it answers a pending download, and the state the download
+   * really has follows as an event.
+   */
+  Messages.DownloadMessage start(final String url, final Long connections) {
+    final String id = FileUtils.md5(url);
+    final int count = connections != null ? clampConnections(connections) : maxConnections;
+    Runnable operation = new Runnable() {
+      @Override
+      public void run() {
+        Task task = startNow(id, url, count);
+        // 之前已经下载完成时start不会发事件，补发一次
+        task.sendState();
+      }
+    };
+    if (deferWhileRestoring(operation)) {
+      Messages.DownloadMessage result = new Messages.DownloadMessage();
+      result.setId(id);
+      result.setUrl(url);
+      result.setConnections((long) count);
+      result.setState((long) STATE_PENDING);
+      result.setDownloadedBytes(0L);
+      result.setTotalBytes(-1L);
+      return result;
+    }
+    return startNow(id, url, count).toMessage();
+  }
+
+  private Task startNow(String id, String url, int connections) {
+    Task task;
+    synchronized (this) {
+      task = tasks.get(id);
+      if (task == null) {
+        task = new Task(this, id, url);
+        tasks.put(id, task);
+      }
+    }
+    task.start(connections);
+    return task;
+  }
+
+  void pause(final String id) {
+    Runnable operation = new Runnable() {
+      @Override
+      public void run() {
+        pauseNow(id);
+      }
+    };
+    if (!deferWhileRestoring(operation)) {
+      operation.run();
+    }
+  }
+
+  private void pauseNow(String id) {
+    Task task = find(id);
+    if (task != null) {
+      task.stop(false);
+    }
+  }
+
+  /** Stops the download and deletes its files. */
+  void remove(final String id) {
+    Runnable operation = new Runnable() {
+      @Override
+      public void run() {
+        removeNow(id);
+      }
+    };
+    if (!deferWhileRestoring(operation)) {
+      operation.run();
+    }
+  }
+
+  private void removeNow(String id) {
+    Task task;
+    synchronized (this) {
+      task = tasks.remove(id);
+    }
+    if (task != null) {
+      task.stop(true);
+    }
+  }
+
+  /** Every download, or none with {@code restoring} set while the journals are read. */
+  synchronized Messages.DownloadListMessage getDownloads() {
+    Messages.DownloadListMessage result = new Messages.DownloadListMessage();
+    ArrayList<Object> downloads = new ArrayList<>();
+    if (!restoring) {
+      for (Task task : tasks.values()) {
+        downloads.add(task.toMessage().toMap());
+      }
+    }
+    result.setDownloads(downloads);
+    result.setRestoring(restoring);
+    return result;
+  }
+
+  /** The path of the finished download of {@code url}, or {@code url} itself. */
+  String localUriFor(String url) {
+    if (url == null) {
+      return null;
+    }
+    Task task = find(FileUtils.md5(url));
+    String localUri = task != null ? task.getLocalUri() : null;
+    return localUri != null ? localUri : url;
+  }
+
+  private synchronized Task find(String id) {
+    return tasks.get(id);
+  }
+
+  /** Pauses every download, keeping the journals, and stops the threads. */
+  void stop() {
+    Runnable operation = new Runnable() {
+      @Override
+      public void run() {
+        stopNow();
+      }
+    };
+    if (!deferWhileRestoring(operation)) {
+      operation.run();
+    }
+  }
+
+  private void stopNow() {
+    List<Task> running;
+    synchronized (this) {
+      running = new ArrayList<>(tasks.values());
+    }
+    for (Task task : running) {
+      task.stop(false);
+    }
+    executor.shutdown();
+  }
+
+  private void send(Map<String, Object> event) {
+    events.success(event);
+  }
+
+  /** A token bucket shared by every download, refilled continuously. */
+  static final class Throttle {
+    private long rate;
+    private long available;
+    private long lastRefill;
+
+    synchronized void setRate(long bytesPerSecond) {
+      rate = Math.max(0, bytesPerSecond);
+      available = 0;
+      lastRefill = SystemClock.uptimeMillis();
+    }
+
+    /** Blocks until {@code bytes} fit under the cap. */
+    void acquire(int bytes) throws InterruptedIOException {
+      long wait;
+      synchronized (this) {
+        if (rate <= 0) {
+          return;
+        }
+        long now = SystemClock.uptimeMillis();
+        // 最多积攒一秒的额度，空闲后不会突发
+        available = Math.min(rate, available + (now - lastRefill) * rate / 1000);
+        lastRefill = now;
+        available -= bytes;
+        wait = available < 0 ? -available * 1000 / rate : 0;
+      }
+      if (wait > 0) {
+        try {
+          Thread.sleep(wait);
+        } catch (InterruptedException e) {
+          throw new InterruptedIOException();
+        }
+      }
+    }
+  }
+
+  /**
+   * One download. Its fields are guarded by the task itself, except the file, which only the
+   * workers and then {@link #finish} use.
+   */
+  private static final class Task {
+    final DownloadManager manager;
+    final String id;
+    final String url;
+    final File file;
+    final File part;
+    final File journal;
+
+    int state = STATE_PENDING;
+    String error;
+    int connections = DEFAULT_CONNECTIONS;
+    // -1表示长度未知
+    long totalBytes = -1;
+    boolean ranged;
+    // 每个分段已下载的字节数，null表示还没有探测过源站
+    long[] segments;
+    private boolean[] claimed;
+    private long downloadedBytes;
+
+    private boolean stopping;
+    private boolean removed;
+    // 正在运行的探测、下载和收尾任务数
+    private int workers;
+    private final List<HttpURLConnection> open = new ArrayList<>();
+    private RandomAccessFile raf;
+    private FileChannel channel;
+
+    private long lastJournal;
+    // 最新编码好还没写出的日志。写文件时持有journalLock，旧的内容不会覆盖新的
+    private volatile byte[] pendingJournal;
+    private final Object journalLock = new Object();
+    private long lastProgress;
+    private long progressBytes;
+
+    Task(DownloadManager manager, String id, String url) {
+      this.manager = manager;
+      this.id = id;
+      this.url = url;
+      this.file = new File(manager.dir, id + extensionOf(url));
+      this.part = new File(manager.dir, file.getName() + PART_SUFFIX);
+      this.journal = new File(manager.dir, id + JOURNAL_SUFFIX);
+    }
+
+    private static String extensionOf(String url) {
+      String path = url.split("[?#]", 2)[0];
+      int dot = path.lastIndexOf('.');
+      String extension =
+          dot > path.lastIndexOf('/') ? path.substring(dot).toLowerCase(Locale.US) : "";
+      return extension.matches("\\.[a-z0-9]{1,5}") ? extension : ".mp4";
+    }
+
+    static Task read(DownloadManager manager, File journal) throws IOException {
+      DataInputStream in = new DataInputStream(new FileInputStream(journal));
+      try {
+        if (in.readInt() != JOURNAL_VERSION) {
+          throw new IOException("unknown journal version");
+        }
+        String url = in.readUTF();
+        Task task = new Task(manager, journal.getName().replace(JOURNAL_SUFFIX, ""), url);
+        task.state = in.readInt();
+        task.connections = in.readInt();
+        task.totalBytes = in.readLong();
+        task.ranged = in.readBoolean();
+        int count = in.readInt();
+        if (count >= 0) {
+          task.segments = new long[count];
+          task.claimed = new boolean[count];
+          for (int i = 0; i < count; i++) {
+            task.segments[i] = in.readLong();
+            task.downloadedBytes += task.segments[i];
+          }
+        }
+        return task;
+      } finally {
+        in.close();
+      }
+    }
+
+    /** Encodes the journal for the next {@link #flushJournal}. Called holding the task lock. */
+    private void markJournal() {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(bytes);
+      try {
+        out.writeInt(JOURNAL_VERSION);
+        out.writeUTF(url);
+        out.writeInt(state);
+        out.writeInt(connections);
+        out.writeLong(totalBytes);
+        out.writeBoolean(ranged);
+        out.writeInt(segments != null ? segments.length : -1);
+        if (segments != null) {
+          for (long done : segments) {
+            out.writeLong(done);
+          }
+        }
+      } catch (IOException e) {
+        // 写内存不会失败
+        throw new IllegalStateException(e);
+      }
+      pendingJournal = bytes.toByteArray();
+      lastJournal = SystemClock.uptimeMillis();
+    }
+
+    /**
+     * Writes the journal marked last through a temporary file, so that a crash keeps the previous
+     * one. Called without the task lock.
+     */
+    private void flushJournal() {
+      if (pendingJournal == null) {
+        return;
+      }
+      synchronized (journalLock) {
+        byte[] bytes;
+        synchronized (this) {
+          bytes = pendingJournal;
+          pendingJournal = null;
+        }
+        if (bytes == null) {
+          return;
+        }
+        File temp = new File(journal.getPath() + ".tmp");
+        try {
+          FileOutputStream out = new FileOutputStream(temp);
+          try {
+            out.write(bytes);
+          } finally {
+            out.close();
+          }
+          if (!temp.renameTo(journal)) {
+            throw new IOException("rename failed");
+          }
+        } catch (IOException e) {
+          Log.w(TAG, "failed to write " + journal, e);
+        }
+      }
+    }
+
+    synchronized Messages.DownloadMessage toMessage() {
+      Messages.DownloadMessage result = new Messages.DownloadMessage();
+      result.setId(id);
+      result.setUrl(url);
+      result.setConnections((long) connections);
+      result.setState((long) state);
+      result.setDownloadedBytes(downloadedBytes);
+      result.setTotalBytes(totalBytes);
+      result.setLocalUri(getLocalUri());
+      result.setError(error);
+      return result;
+    }
+
+    synchronized void sendState() {
+      setState(state);
+    }
+
+    synchronized String getLocalUri() {
+      return state == STATE_COMPLETED && file.exists() ? file.getAbsolutePath() : null;
+    }
+
+    void start(int connections) {
+      synchronized (this) {
+        if (state == STATE_COMPLETED && file.exists()) {
+          return;
+        }
+        if (workers > 0) {
+          // 还在运行，或者暂停后的连接还没退出
+          return;
+        }
+        if (state == STATE_COMPLETED) {
+          // 文件被删掉了，重新下载
+          segments = null;
+          totalBytes = -1;
+          downloadedBytes = 0;
+        }
+        if (segments != null) {
+          claimed = new boolean[segments.length];
+        }
+        this.connections = connections;
+        stopping = false;
+        error = null;
+        workers = 1;
+        setState(STATE_PENDING);
+      }
+      manager.executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          prepare();
+        }
+      });
+    }
+
+    void stop(boolean remove) {
+      List<HttpURLConnection> connections;
+      boolean idle;
+      synchronized (this) {
+        stopping = true;
+        removed |= remove;
+        connections = new ArrayList<>(open);
+        idle = workers == 0;
+        if (idle) {
+          // 收尾要写文件，不在调用线程上做
+          workers = 1;
+        }
+      }
+      if (idle) {
+        manager.executor.execute(new Runnable() {
+          @Override
+          public void run() {
+            onWorkerExit();
+          }
+        });
+      }
+      // 断开连接让阻塞在读取上的线程尽快退出
+      for (HttpURLConnection connection : connections) {
+        connection.disconnect();
+      }
+    }
+
+    private void prepare() {
+      try {
+        synchronized (this) {
+          if (stopping) {
+            return;
+          }
+        }
+        if (segments == null) {
+          probe();
+        }
+        long needed;
+        synchronized (this) {
+          needed = totalBytes > 0 ? totalBytes - downloadedBytes : 0;
+        }
+        long available = FileUtils.getAvailableBytes(manager.dir);
+        if (available >= 0 && available < needed) {
+          throw new IOException("not enough space: " + needed + " bytes needed");
+        }
+        openFile();
+        int count;
+        synchronized (this) {
+          if (stopping) {
+            return;
+          }
+          setState(STATE_RUNNING);
+          markJournal();
+          count = ranged ? Math.min(connections, remainingSegments()) : 1;
+          workers += count;
+        }
+        flushJournal();
+        for (int i = 0; i < count; i++) {
+          manager.executor.execute(new Runnable() {
+            @Override
+            public void run() {
+              work();
+            }
+          });
+        }
+      } catch (IOException e) {
+        fail(e);
+      } finally {
+        onWorkerExit();
+      }
+    }
+
+    /** Asks for the first byte to learn the length and whether ranges are supported. */
+    private void probe() throws IOException {
+      HttpURLConnection connection = connect("bytes=0-0");
+      try {
+        int code = connection.getResponseCode();
+        long total;
+        boolean supportsRanges;
+        if (code == HttpURLConnection.HTTP_PARTIAL) {
+          String range = connection.getHeaderField("Content-Range");
+          int slash = range != null ? range.lastIndexOf('/') : -1;
+          String value = slash >= 0 ? range.substring(slash + 1).trim() : "*";
+          total = "*".equals(value) ? -1 : Long.parseLong(value);
+          supportsRanges = total > 0;
+        } else if (code == HttpURLConnection.HTTP_OK) {
+          String value = connection.getHeaderField("Content-Length");
+          total = value != null ? Long.parseLong(value.trim()) : -1;
+          supportsRanges = false;
+        } else {
+          throw new IOException("HTTP " + code);
+        }
+        synchronized (this) {
+          totalBytes = total;
+          ranged = supportsRanges;
+          int count = ranged ? (int) ((total + SEGMENT_SIZE - 1) / SEGMENT_SIZE) : 1;
+          segments = new long[count];
+          claimed = new boolean[count];
+          downloadedBytes = 0;
+        }
+      } catch (NumberFormatException e) {
+        throw new IOException(e);
+      } finally {
+        release(connection);
+      }
+    }
+
+    private void openFile() throws IOException {
+      boolean restart;
+      synchronized (this) {
+        // 不支持范围请求时无法续传
+        restart = !ranged;
+        if (restart) {
+          segments[0] = 0;
+          downloadedBytes = 0;
+        }
+      }
+      raf = new RandomAccessFile(part, "rw");
+      channel = raf.getChannel();
+      if (totalBytes > 0 && raf.length() != totalBytes) {
+        preallocate(raf, totalBytes);
+      } else if (restart) {
+        raf.setLength(Math.max(totalBytes, 0));
+      }
+    }
+
+    private static void preallocate(RandomAccessFile raf, long length) throws IOException {
+      if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+        try {
+          Os.posix_fallocate(raf.getFD(), 0, length);
+        } catch (ErrnoException e) {
+          // 部分文件系统不支持，退回到稀疏文件，剩余空间已经提前检查过
+          Log.w(TAG, "fallocate failed, errno " + e.errno);
+        }
+      }
+      raf.setLength(length);
+    }
+
+    private int remainingSegments() {
+      int count = 0;
+      for (int i = 0; i < segments.length; i++) {
+        if (segments[i] < segmentLength(i)) {
+          count++;
+        }
+      }
+      return count;
+    }
+
+    private long segmentLength(int index) {
+      if (totalBytes < 0) {
+        return Long.MAX_VALUE;
+      }
+      if (!ranged) {
+        return totalBytes;
+      }
+      return Math.min(SEGMENT_SIZE, totalBytes - index * SEGMENT_SIZE);
+    }
+
+    private synchronized int claim() {
+      if (stopping) {
+        return -1;
+      }
+      for (int i = 0; i < segments.length; i++) {
+        if (!claimed[i] && segments[i] < segmentLength(i)) {
+          claimed[i] = true;
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private void work() {
+      int retries = 0;
+      try {
+        int segment;
+        while ((segment = claim()) >= 0) {
+          try {
+            fetch(segment);
+            retries = 0;
+          } catch (IOException e) {
+            synchronized (this) {
+              claimed[segment] = false;
+              if (stopping) {
+                return;
+              }
+            }
+            if (++retries > MAX_RETRIES) {
+              fail(e);
+              return;
+            }
+            try {
+              Thread.sleep(1000L * retries);
+            } catch (InterruptedException interrupted) {
+              return;
+            }
+          }
+        }
+      } finally {
+        onWorkerExit();
+      }
+    }
+
+    private void fetch(int segment) throws IOException {
+      long start;
+      long end;
+      synchronized (this) {
+        start = segment * SEGMENT_SIZE + segments[segment];
+        end = segment * SEGMENT_SIZE + segmentLength(segment) - 1;
+      }
+      HttpURLConnection connection = connect(ranged ? "bytes=" + start + "-" + end : null);
+      try {
+        int code = connection.getResponseCode();
+        if (code != (ranged ? HttpURLConnection.HTTP_PARTIAL : HttpURLConnection.HTTP_OK)) {
+          throw new IOException("HTTP " + code);
+        }
+        InputStream in = connection.getInputStream();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long position = start;
+        while (position <= end) {
+          int read = in.read(buffer, 0, (int) Math.min(buffer.length, end - position + 1));
+          if (read < 0) {
+            break;
+          }
+          manager.throttle.acquire(read);
+          ByteBuffer source = ByteBuffer.wrap(buffer, 0, read);
+          while (source.hasRemaining()) {
+            channel.write(source, position + source.position());
+          }
+          position += read;
+          boolean running = onBytes(segment, read);
+          flushJournal();
+          if (!running) {
+            return;
+          }
+        }
+        synchronized (this) {
+          if (totalBytes < 0) {
+            // 长度未知时以连接结束为准
+            totalBytes = segments[0];
+          } else if (segments[segment] < segmentLength(segment)) {
+            throw new IOException("connection closed at " + position);
+          }
+          claimed[segment] = false;
+        }
+      } finally {
+        release(connection);
+      }
+    }
+
+    /** @return false when the download is stopping */
+    private synchronized boolean onBytes(int segment, int count) {
+      segments[segment] += count;
+      downloadedBytes += count;
+      progressBytes += count;
+      long now = SystemClock.uptimeMillis();
+      if (now - lastJournal >= JOURNAL_INTERVAL_MS) {
+        markJournal();
+      }
+      if (now - lastProgress >= PROGRESS_INTERVAL_MS) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("event", "progress");
+        event.put("id", id);
+        event.put("downloadedBytes", downloadedBytes);
+        event.put("totalBytes", totalBytes);
+        long rate = lastProgress > 0 ? progressBytes * 1000 / (now - lastProgress) : 0;
+        event.put("bytesPerSecond", rate);
+        manager.send(event);
+        lastProgress = now;
+        progressBytes = 0;
+      }
+      return !stopping;
+    }
+
+    private HttpURLConnection connect(String range) throws IOException {
+      HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+      connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+      connection.setReadTimeout(READ_TIMEOUT_MS);
+      // 需要原始字节才能按偏移量写入
+      connection.setRequestProperty("Accept-Encoding", "identity");
+      if (range != null) {
+        connection.setRequestProperty("Range", range);
+      }
+      synchronized (this) {
+        if (stopping) {
+          throw new InterruptedIOException("stopped");
+        }
+        open.add(connection);
+      }
+      return connection;
+    }
+
+    private void release(HttpURLConnection connection) {
+      synchronized (this) {
+        open.remove(connection);
+      }
+      connection.disconnect();
+    }
+
+    private void fail(IOException e) {
+      synchronized (this) {
+        if (stopping) {
+          return;
+        }
+        Log.w(TAG, "download of " + url + " failed", e);
+        error = e.toString();
+        stopping = true;
+        setState(STATE_FAILED);
+      }
+      stop(false);
+    }
+
+    private void onWorkerExit() {
+      synchronized (this) {
+        if (workers > 1) {
+          workers--;
+          return;
+        }
+      }
+      // 收尾期间workers保持为1，start()会等它结束
+      boolean removedWhileFinishing;
+      try {
+        removedWhileFinishing = finish();
+      } finally {
+        synchronized (this) {
+          workers = 0;
+        }
+      }
+      if (removedWhileFinishing) {
+        delete();
+      }
+    }
+
+    /**
+     * Runs on a download thread once the last worker exited, or after a stop when none was
+     * running. Only the state changes hold the task lock.
+     *
+     * @return true when the task was removed after this started to keep it
+     */
+    private boolean finish() {
+      boolean remove;
+      boolean complete;
+      synchronized (this) {
+        remove = removed;
+        complete = !removed && !stopping && state != STATE_FAILED
+            && segments != null && remainingSegments() == 0;
+      }
+      closeFile(complete);
+      if (remove) {
+        delete();
+        return false;
+      }
+      boolean renamed = complete && part.renameTo(file);
+      synchronized (this) {
+        if (complete) {
+          if (renamed) {
+            setState(STATE_COMPLETED);
+          } else {
+            error = "rename failed";
+            setState(STATE_FAILED);
+          }
+        } else if (state != STATE_COMPLETED && state != STATE_FAILED) {
+          setState(STATE_PAUSED);
+        }
+        markJournal();
+      }
+      flushJournal();
+      synchronized (this) {
+        return removed;
+      }
+    }
+
+    private void delete() {
+      synchronized (journalLock) {
+        pendingJournal = null;
+        part.delete();
+        file.delete();
+        journal.delete();
+      }
+      Map<String, Object> event = new HashMap<>();
+      event.put("event", "removed");
+      event.put("id", id);
+      manager.send(event);
+    }
+
+    private void closeFile(boolean force) {
+      if (raf == null) {
+        return;
+      }
+      try {
+        if (force) {
+          channel.force(true);
+        }
+        raf.close();
+      } catch (IOException e) {
+        Log.w(TAG, "failed to close " + part, e);
+      }
+      raf = null;
+      channel = null;
+    }
+
+    private void setState(int state) {
+      this.state = state;
+      Map<String, Object> event = new HashMap<>();
+      event.put("event", "state");
+      event.put("id", id);
+      event.put("state", state);
+      event.put("downloadedBytes", downloadedBytes);
+      event.put("totalBytes", totalBytes);
+      if (state == STATE_COMPLETED) {
+        event.put("localUri", file.getAbsolutePath());
+      }
+      if (error != null) {
+        event.put("error", error);
+      }
+      manager.send(event);
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package io.flutter.plugins.videoplayer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import io.flutter.plugin.common.MethodCall;
+import io.flutter.plugin.common.MethodCodec;
+import io.flutter.plugin.common.StandardMethodCodec;
+
+/**
+ * The codec of the player event channels.
+ *
+ * <p>{@link EventFrame}s are written as fixed-layout little-endian records; everything else,
+ * including errors, goes through {@link StandardMethodCodec}:
+ *
+ * <pre>
+ *   position          marker(1) type(1) position(int64)
+ *   bufferingUpdate   marker(1) type(1) bufferedPosition(int64)
+ *   loadingProgress   marker(1) type(1) percent(int64) kbps(float64)
+ *   stateChanged      marker(1) type(1) state(int64)
+ * </pre>
+ *
+ * <p>The marker is {@link #FRAME_MARKER}; a standard envelope starts with 0 or 1.
+ *
+ * <p>Not thread-safe: encoding reuses one direct buffer, which the engine copies before {@code
+ * success} returns. Event sinks deliver on the main thread only.
+ */
+final class EventCodec implements MethodCodec {
+  static final EventCodec INSTANCE = new EventCodec();
+
+  static final byte FRAME_MARKER = 0x7E;
+
+  private final ByteBuffer buffer =
+      ByteBuffer.allocateDirect(1 + 1 + 8 + 8).order(ByteOrder.LITTLE_ENDIAN);
+
+  private EventCodec() {}
+
+  @Override
+  public ByteBuffer encodeSuccessEnvelope(Object result) {
+    if (!(result instanceof EventFrame)) {
+      return StandardMethodCodec.INSTANCE.encodeSuccessEnvelope(result);
+    }
+    EventFrame frame = (EventFrame) result;
+    buffer.clear();
+    buffer.put(FRAME_MARKER).put(frame.getType()).putLong(frame.getValue());
+    if (frame.getType() == EventFrame.TYPE_LOADING_PROGRESS) {
+      buffer.putDouble(frame.getKbps());
+    }
+    // 与CompactMessages一样不flip，引擎按position作为消息长度
+    return buffer;
+  }
+
+  @Override
+  public ByteBuffer encodeErrorEnvelope(String errorCode, String errorMessage, Object errorDetails) {
+    return StandardMethodCodec.INSTANCE.encodeErrorEnvelope(errorCode, errorMessage, errorDetails);
+  }
+
+  @Override
+  public ByteBuffer encodeMethodCall(MethodCall methodCall) {
+    return StandardMethodCodec.INSTANCE.encodeMethodCall(methodCall);
+  }
+
+  @Override
+  public MethodCall decodeMethodCall(ByteBuffer methodCall) {
+    return StandardMethodCodec.INSTANCE.decodeMethodCall(methodCall);
+  }
+
+  @Override
+  public Object decodeEnvelope(ByteBuffer envelope) {
+    return StandardMethodCodec.INSTANCE.decodeEnvelope(envelope);
+  }
+}
@@ -0,0 +1,91 @@
+package io.flutter.plugins.videoplayer;
+
+/**
+ * A high frequency event of the event channel, held as primitives.
+ *
+ * <p>The listeners of {@link VideoPlayer} keep one frame per type and overwrite it for every
+ * event, so a position or buffering tick allocates no map, no boxed number and no list. {@link
+ * EventCodec} writes the frame straight into the channel payload and the Dart side decodes it into
+ * the same map the {@code StandardMethodCodec} would have produced.
+ *
+ * <p>A frame passed to {@link QueuingEventSink#success} may be overwritten as soon as the call
+ * returns; the sink copies the frames it has to hold.
+ */
+final class EventFrame {
+  static final byte TYPE_POSITION = 1;
+  static final byte TYPE_BUFFERING_UPDATE = 2;
+  static final byte TYPE_LOADING_PROGRESS = 3;
+  static final byte TYPE_STATE_CHANGED = 4;
+
+  private byte type;
+  // position、缓冲位置、加载百分比或播放器状态
+  private long value;
+  private double kbps;
+
+  EventFrame() {}
+
+  EventFrame(byte type) {
+    this.type = type;
+  }
+
+  byte getType() {
+    return type;
+  }
+
+  long getValue() {
+    return value;
+  }
+
+  double getKbps() {
+    return kbps;
+  }
+
+  /** The {@code event} key of the map this frame stands for. */
+  String getName() {
+    switch (type) {
+      case TYPE_POSITION:
+        return "position";
+      case TYPE_BUFFERING_UPDATE:
+        return "bufferingUpdate";
+      case TYPE_LOADING_PROGRESS:
+        return "loadingProgress";
+      case TYPE_STATE_CHANGED:
+        return "stateChanged";
+      default:
+        return null;
+    }
+  }
+
+  EventFrame position(long position) {
+    this.value = position;
+    return this;
+  }
+
+  EventFrame bufferingUpdate(long bufferedPosition) {
+    this.value = bufferedPosition;
+    return this;
+  }
+
+  EventFrame loadingProgress(int percent, double kbps) {
+    this.value = percent;
+    this.kbps = kbps;
+    return this;
+  }
+
+  EventFrame stateChanged(int state) {
+    this.value = state;
+    return this;
+  }
+
+  void set(EventFrame other) {
+    type = other.type;
+    value = other.value;
+    kbps = other.kbps;
+  }
+
+  EventFrame copy() {
+    EventFrame copy = new EventFrame();
+    copy.set(this);
+    return copy;
+  }
+}
@@ -0,0 +1,181 @@
+package io.flutter.plugins.videoplayer;
+
+import android.app.Activity;
+import android.app.Application;
+import android.os.Bundle;
+import android.os.Debug;
+import android.os.Handler;
+import android.os.Looper;
+
+/**
+ * Pauses the players while the activity is in the background, and gives back their surfaces when
+ * it stays there.
+ *
+ * <p>When the activity stops, the playing players are paused at once. After {@link
+ * #DEFAULT_GRACE_PERIOD_MS}, every player that still holds a decoder releases its {@code Surface}
+ * and caps its buffer so that it stops downloading. Neither step stops the player or drops what is
+ * buffered. When the activity starts again, the surfaces are recreated and the last frame is
+ * redrawn at the same position. The players paused here resume without a prepare.
+ *
+ * <p>The policy is off until {@link #setConfig} enables it, so that apps playing audio in the
+ * background keep doing so.
+ *
+ * <p>The memory reclaimed is reported two ways. One is an estimate of the surface buffers
+ * released. The other is the drop of the native heap measured {@link #HEAP_SETTLE_MS} after the
+ * release.
+ *
+ * <p>All methods must be called on the platform thread.
+ */
+final class LifecyclePolicy implements Application.ActivityLifecycleCallbacks {
+  static final long DEFAULT_GRACE_PERIOD_MS = 10000;
+  // 释放Surface后等待这么久再测量native堆，让BufferQueue的缓冲真正释放
+  static final long HEAP_SETTLE_MS = 1000;
+
+  private final PlayerRegistry<VideoPlayer> players;
+  private final Handler handler = new Handler(Looper.getMainLooper());
+
+  private Activity activity;
+  private boolean enabled = false;
+  private long gracePeriod = DEFAULT_GRACE_PERIOD_MS;
+  private boolean resumePlayback = true;
+  private boolean background;
+
+  private long backgroundCount;
+  private long resumeCount;
+  private long surfaceReleaseCount;
+  private long reclaimedSurfaceBytes;
+  private long reclaimedHeapBytes;
+  private long heapBeforeRelease;
+
+  private final Runnable releaseSurfaces = new Runnable() {
+    @Override
+    public void run() {
+      heapBeforeRelease = Debug.getNativeHeapAllocatedSize();
+      long released = 0;
+      for (VideoPlayer player : players.values()) {
+        released += player.releaseSurfaceForBackground();
+      }
+      if (released > 0) {
+        surfaceReleaseCount++;
+        reclaimedSurfaceBytes += released;
+        handler.postDelayed(measureHeap, HEAP_SETTLE_MS);
+      }
+    }
+  };
+
+  private final Runnable measureHeap = new Runnable() {
+    @Override
+    public void run() {
+      reclaimedHeapBytes += Math.max(0, heapBeforeRelease - Debug.getNativeHeapAllocatedSize());
+    }
+  };
+
+  LifecyclePolicy(PlayerRegistry<VideoPlayer> players) {
+    this.players = players;
+  }
+
+  /** Follows the lifecycle of {@code activity} until {@link #detach}. */
+  void attach(Activity activity) {
+    detach();
+    this.activity = activity;
+    activity.getApplication().registerActivityLifecycleCallbacks(this);
+  }
+
+  void detach() {
+    if (activity == null) {
+      return;
+    }
+    activity.getApplication().unregisterActivityLifecycleCallbacks(this);
+    activity = null;
+  }
+
+  void setConfig(Messages.LifecycleMessage arg) {
+    if (arg.getEnable() != null) {
+      enabled = arg.getEnable();
+      if (!enabled) {
+        // 仍在后台时不能恢复播放，只取消还没执行的释放；回到前台时由onForeground恢复
+        handler.removeCallbacks(releaseSurfaces);
+      }
+    }
+    if (arg.getGracePeriod() != null) {
+      gracePeriod = Math.max(0, arg.getGracePeriod());
+    }
+    if (arg.getResumePlayback() != null) {
+      resumePlayback = arg.getResumePlayback();
+    }
+  }
+
+  Messages.LifecycleMessage getStats() {
+    Messages.LifecycleMessage result = new Messages.LifecycleMessage();
+    result.setEnable(enabled);
+    result.setGracePeriod(gracePeriod);
+    result.setResumePlayback(resumePlayback);
+    result.setBackgroundCount(backgroundCount);
+    result.setResumeCount(resumeCount);
+    result.setSurfaceReleaseCount(surfaceReleaseCount);
+    result.setReclaimedSurfaceBytes(reclaimedSurfaceBytes);
+    result.setReclaimedHeapBytes(reclaimedHeapBytes);
+    return result;
+  }
+
+  void clear() {
+    handler.removeCallbacks(releaseSurfaces);
+    handler.removeCallbacks(measureHeap);
+    background = false;
+    detach();
+  }
+
+  private void onBackground() {
+    if (background || !enabled) {
+      return;
+    }
+    background = true;
+    backgroundCount++;
+    for (VideoPlayer player : players.values()) {
+      player.pauseForBackground();
+    }
+    handler.postDelayed(releaseSurfaces, gracePeriod);
+  }
+
+  private void onForeground() {
+    if (!background) {
+      return;
+    }
+    background = false;
+    handler.removeCallbacks(releaseSurfaces);
+    resumeCount++;
+    for (VideoPlayer player : players.values()) {
+      player.resumeFromBackground(resumePlayback);
+    }
+  }
+
+  @Override
+  public void onActivityStarted(Activity activity) {
+    if (activity == this.activity) {
+      onForeground();
+    }
+  }
+
+  @Override
+  public void onActivityStopped(Activity activity) {
+    // 旋转屏幕等配置变化不算进入后台
+    if (activity == this.activity && !activity.isChangingConfigurations()) {
+      onBackground();
+    }
+  }
+
+  @Override
+  public void onActivityCreated(Activity activity, Bundle savedInstanceState) {}
+
+  @Override
+  public void onActivityResumed(Activity activity) {}
+
+  @Override
+  public void onActivityPaused(Activity activity) {}
+
+  @Override
+  public void onActivitySaveInstanceState(Activity activity, Bundle outState) {}
+
+  @Override
+  public void onActivityDestroyed(Activity activity) {}
+}
@@ -0,0 +1,894 @@
+package io.flutter.plugins.videoplayer;
+
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.flutter.plugins.videoplayer.utils.FileUtils;
+
+/**
+ * An HTTP proxy on 127.0.0.1 that shares one upstream download between the players of a URL.
+ *
+ * <p>{@link #route} maps a progressive http(s) URL to a local one. Every request for that URL,
+ * from any number of players, is served from one {@link Resource}: a sparse backing file of the
+ * full length, memory-mapped in {@link #REGION} windows, filled by a single download thread and
+ * read by the connections without copying. At most {@link #MAX_MAPPED_REGIONS} windows of a
+ * resource stay mapped; the least recently used one is dropped to map another, so a long file does
+ * not use up the address space of a 32-bit process. Range requests are answered from the bytes
+ * already downloaded. When a reader asks for bytes that are missing the download moves there, and
+ * it stops {@link #DEFAULT_READ_AHEAD} ahead of the readers, as the players' own buffers do.
+ *
+ * <p>Only the last {@link #MAX_ROUTES} URLs routed or requested are known to the proxy, so that a
+ * feed scrolled for hours does not grow the table without bound.
+ *
+ * <p>The local side is one selector thread. Connections that wait for data are parked until the
+ * download thread wakes the selector up. A resource is closed, and its file deleted, {@link
+ * #LINGER_MS} after its last connection closed, so that a detail page opened right after its feed
+ * cell still finds the bytes.
+ *
+ * <p>HLS and DASH are not routed: their playlists reference segments relative to the origin. When
+ * the upstream fails before the length is known, or does not report one, the players are redirected
+ * to the origin.
+ *
+ * <p>{@link #setConfig}, {@link #route} and {@link #stop} are called on the platform thread.
+ */
+final class LocalProxy {
+  private static final String TAG = "LocalProxy";
+
+  static final long DEFAULT_READ_AHEAD = 8 * 1024 * 1024;
+  // 下载进度和可读范围的粒度
+  static final int CHUNK = 64 * 1024;
+  // 每次映射的文件窗口，必须是CHUNK的整数倍
+  static final int REGION = 8 * 1024 * 1024;
+  // 每个资源同时映射的窗口数上限
+  static final int MAX_MAPPED_REGIONS = 8;
+  static final long LINGER_MS = 30000;
+  // 登记的地址数上限，超出时丢掉最久没有请求过的
+  static final int MAX_ROUTES = 256;
+  // 请求的位置离正在下载的位置不超过这么远时继续当前下载，不重新发起请求
+  private static final long RETARGET_GAP = 1024 * 1024;
+  private static final int MAX_RETRIES = 3;
+  private static final int MAX_REQUEST_BYTES = 8 * 1024;
+  private static final int CONNECT_TIMEOUT_MS = 10000;
+  private static final int READ_TIMEOUT_MS = 15000;
+  private static final long SELECT_TIMEOUT_MS = 1000;
+
+  private static final Charset ASCII = Charset.forName("ISO-8859-1");
+
+  private final File dir;
+  private volatile boolean enabled;
+  private volatile long readAhead = DEFAULT_READ_AHEAD;
+
+  // 本地路径到源地址，只代理通过route登记过的地址。按访问顺序，由自身加锁
+  private final Map<String, String> routes =
+      new LinkedHashMap<String, String>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+          return size() > MAX_ROUTES;
+        }
+      };
+
+  private Selector selector;
+  private ServerSocketChannel server;
+  private Thread thread;
+  private volatile int port;
+  private volatile boolean stopped;
+
+  // 以下只在选择器线程访问
+  private final HashMap<String, Resource> resources = new HashMap<>();
+  private final ArrayList<Connection> waiting = new ArrayList<>();
+
+  private final AtomicLong requestCount = new AtomicLong();
+  private final AtomicLong sharedRequestCount = new AtomicLong();
+  private final AtomicLong upstreamBytes = new AtomicLong();
+  private final AtomicLong servedBytes = new AtomicLong();
+
+  LocalProxy(File dir) {
+    this.dir = dir;
+  }
+
+  void setConfig(Messages.ProxyMessage arg) {
+    if (arg.getReadAhead() != null) {
+      readAhead = Math.max(2 * CHUNK, arg.getReadAhead());
+    }
+    if (arg.getEnable() != null) {
+      enabled = arg.getEnable();
+      // 关闭只影响之后创建的播放器，正在使用代理地址的播放器继续由它服务
+      if (enabled && thread == null) {
+        start();
+      }
+    }
+  }
+
+  Messages.ProxyMessage getStats() {
+    Messages.ProxyMessage result = new Messages.ProxyMessage();
+    result.setEnable(enabled && port != 0);
+    result.setReadAhead(readAhead);
+    result.setRequestCount(requestCount.get());
+    result.setSharedRequestCount(sharedRequestCount.get());
+    result.setUpstreamBytes(upstreamBytes.get());
+    result.setServedBytes(servedBytes.get());
+    return result;
+  }
+
+  /**
+   * Returns the URL a player should open for {@code uri}: a local one when the proxy is on and
+   * can serve it, {@code uri} itself otherwise.
+   */
+  String route(String uri, String formatHint) {
+    if (!enabled || port == 0 || uri == null) {
+      return uri;
+    }
+    String lower = uri.toLowerCase(Locale.US);
+    if (!lower.startsWith("http://") && !lower.startsWith("https://")) {
+      return uri;
+    }
+    String path = lower.split("[?#]", 2)[0];
+    if ("hls".equals(formatHint)
+        || "dash".equals(formatHint)
+        || "ss".equals(formatHint)
+        || path.endsWith(".m3u8")
+        || path.endsWith(".mpd")) {
+      return uri;
+    }
+    String key = FileUtils.md5(uri);
+    synchronized (routes) {
+      routes.put(key, uri);
+    }
+    return "http://127.0.0.1:" + port + "/" + key;
+  }
+
+  private void start() {
+    try {
+      selector = Selector.open();
+      server = ServerSocketChannel.open();
+      server.socket().bind(new InetSocketAddress(InetAddress.getByName("127.0.0.1"), 0));
+      server.configureBlocking(false);
+      server.register(selector, SelectionKey.OP_ACCEPT);
+      port = server.socket().getLocalPort();
+    } catch (IOException e) {
+      Log.w(TAG, "failed to start", e);
+      closeQuietly();
+      return;
+    }
+    thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        loop();
+      }
+    }, "VideoProxy");
+    thread.start();
+  }
+
+  /** Closes every connection and resource and stops the server. */
+  void stop() {
+    if (thread == null) {
+      return;
+    }
+    stopped = true;
+    port = 0;
+    selector.wakeup();
+    thread = null;
+  }
+
+  private void loop() {
+    // 上次运行留下的文件
+    FileUtils.clearDirectory(dir);
+    dir.mkdirs();
+    while (!stopped) {
+      try {
+        selector.select(SELECT_TIMEOUT_MS);
+      } catch (IOException e) {
+        Log.w(TAG, "select failed", e);
+        break;
+      }
+      Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+      while (keys.hasNext()) {
+        SelectionKey key = keys.next();
+        keys.remove();
+        if (!key.isValid()) {
+          continue;
+        }
+        if (key.isAcceptable()) {
+          accept();
+        } else {
+          Connection connection = (Connection) key.attachment();
+          try {
+            if (key.isReadable()) {
+              connection.onReadable();
+            } else if (key.isWritable()) {
+              connection.onWritable();
+            }
+          } catch (IOException e) {
+            // 播放器seek或释放时会直接断开连接
+            connection.close();
+          }
+        }
+      }
+      resumeWaiting();
+      expireResources();
+    }
+    for (SelectionKey key : selector.keys()) {
+      if (key.attachment() instanceof Connection) {
+        ((Connection) key.attachment()).close();
+      }
+    }
+    for (Resource resource : resources.values()) {
+      resource.close();
+    }
+    resources.clear();
+    closeQuietly();
+  }
+
+  private void closeQuietly() {
+    try {
+      if (server != null) {
+        server.close();
+      }
+      if (selector != null) {
+        selector.close();
+      }
+    } catch (IOException e) {
+      Log.w(TAG, "failed to close", e);
+    }
+  }
+
+  private void accept() {
+    try {
+      SocketChannel channel = server.accept();
+      if (channel == null) {
+        return;
+      }
+      channel.configureBlocking(false);
+      Connection connection = new Connection(channel);
+      connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+    } catch (IOException e) {
+      Log.w(TAG, "accept failed", e);
+    }
+  }
+
+  private void resumeWaiting() {
+    for (int i = waiting.size() - 1; i >= 0; i--) {
+      Connection connection = waiting.get(i);
+      if (connection.isReady()) {
+        waiting.remove(i);
+        connection.key.interestOps(SelectionKey.OP_WRITE);
+      }
+    }
+  }
+
+  private void expireResources() {
+    long now = System.currentTimeMillis();
+    Iterator<Resource> iterator = resources.values().iterator();
+    while (iterator.hasNext()) {
+      Resource resource = iterator.next();
+      if (resource.isIdleSince(now - LINGER_MS)) {
+        iterator.remove();
+        resource.close();
+      }
+    }
+  }
+
+  /** One request from a player, served on the selector thread. */
+  private final class Connection {
+    final SocketChannel channel;
+    SelectionKey key;
+    private final ByteBuffer request = ByteBuffer.allocate(MAX_REQUEST_BYTES);
+
+    Resource resource;
+    private boolean head;
+    private boolean ranged;
+    // 请求的范围，suffix>0表示最后suffix个字节，要等长度已知后才能确定
+    private long rangeStart;
+    private long rangeEnd = Long.MAX_VALUE;
+    private long suffix;
+
+    // 下载线程读取，用来决定下载哪里
+    volatile long position;
+    volatile long end = Long.MAX_VALUE;
+    private long lastSignaled;
+
+    private ByteBuffer header;
+    // 只发送响应头，例如HEAD、重定向和错误
+    private boolean headerOnly;
+
+    Connection(SocketChannel channel) {
+      this.channel = channel;
+    }
+
+    void onReadable() throws IOException {
+      if (resource != null) {
+        // 请求已经解析，只关心播放器是否断开
+        request.clear();
+        if (channel.read(request) < 0) {
+          close();
+        }
+        return;
+      }
+      if (channel.read(request) < 0) {
+        close();
+        return;
+      }
+      String text = new String(request.array(), 0, request.position(), ASCII);
+      int headerEnd = text.indexOf("\r\n\r\n");
+      if (headerEnd < 0) {
+        if (!request.hasRemaining()) {
+          respond("400 Bad Request", null);
+        }
+        return;
+      }
+      String[] lines = text.substring(0, headerEnd).split("\r\n");
+      String[] requestLine = lines[0].split(" ");
+      if (requestLine.length < 2
+          || !("GET".equals(requestLine[0]) || "HEAD".equals(requestLine[0]))) {
+        respond("400 Bad Request", null);
+        return;
+      }
+      head = "HEAD".equals(requestLine[0]);
+      String url;
+      synchronized (routes) {
+        url = routes.get(requestLine[1].substring(1).split("[?#/]", 2)[0]);
+      }
+      if (url == null) {
+        respond("404 Not Found", null);
+        return;
+      }
+      for (int i = 1; i < lines.length; i++) {
+        String line = lines[i];
+        if (line.regionMatches(true, 0, "Range:", 0, 6) && !parseRange(line.substring(6))) {
+          respond("416 Range Not Satisfiable", null);
+          return;
+        }
+      }
+      requestCount.incrementAndGet();
+      resource = resources.get(url);
+      if (resource == null) {
+        resource = new Resource(url, new File(dir, FileUtils.md5(url)));
+        resources.put(url, resource);
+      }
+      position = suffix > 0 ? 0 : rangeStart;
+      end = rangeEnd;
+      if (resource.addReader(this)) {
+        sharedRequestCount.incrementAndGet();
+      }
+      park();
+    }
+
+    private boolean parseRange(String value) {
+      String spec = value.trim();
+      if (!spec.startsWith("bytes=") || spec.indexOf(',') >= 0) {
+        // 不支持多段范围，按整个文件返回
+        return true;
+      }
+      String[] bounds = spec.substring(6).split("-", -1);
+      try {
+        if (bounds[0].isEmpty()) {
+          suffix = Long.parseLong(bounds[1].trim());
+          ranged = suffix > 0;
+          return suffix > 0;
+        }
+        rangeStart = Long.parseLong(bounds[0].trim());
+        if (bounds.length > 1 && !bounds[1].trim().isEmpty()) {
+          rangeEnd = Long.parseLong(bounds[1].trim());
+        }
+        ranged = true;
+        return rangeEnd >= rangeStart;
+      } catch (NumberFormatException e) {
+        return false;
+      }
+    }
+
+    /** Waits on the selector thread until {@link #isReady} holds. */
+    private void park() {
+      key.interestOps(SelectionKey.OP_READ);
+      if (isReady()) {
+        key.interestOps(SelectionKey.OP_WRITE);
+      } else {
+        waiting.add(this);
+        resource.signal();
+      }
+    }
+
+    /** Whether something can be written, building the response header once the length is known. */
+    boolean isReady() {
+      if (header != null) {
+        return header.hasRemaining() || headerOnly || resource.available(position) > 0
+            || resource.isFailed();
+      }
+      long length = resource.getLength();
+      if (resource.isFailed() && length < 0) {
+        // 源站的响应没法代理，让播放器直接访问源站
+        respondLater("302 Found", "Location: " + resource.url + "\r\n");
+        return true;
+      }
+      if (length < 0) {
+        return false;
+      }
+      if (suffix > 0) {
+        rangeStart = Math.max(0, length - suffix);
+        position = rangeStart;
+      }
+      if (rangeStart >= length) {
+        respondLater("416 Range Not Satisfiable", "Content-Range: bytes */" + length + "\r\n");
+        return true;
+      }
+      long last = Math.min(rangeEnd, length - 1);
+      end = last;
+      StringBuilder builder = new StringBuilder();
+      builder.append(ranged ? "HTTP/1.1 206 Partial Content\r\n" : "HTTP/1.1 200 OK\r\n");
+      builder.append("Content-Type: ").append(resource.getContentType()).append("\r\n");
+      builder.append("Accept-Ranges: bytes\r\n");
+      builder.append("Content-Length: ").append(last - rangeStart + 1).append("\r\n");
+      if (ranged) {
+        builder.append("Content-Range: bytes ").append(rangeStart).append('-').append(last)
+            .append('/').append(length).append("\r\n");
+      }
+      builder.append("Connection: close\r\n\r\n");
+      header = ByteBuffer.wrap(builder.toString().getBytes(ASCII));
+      headerOnly = head;
+      return true;
+    }
+
+    private void respond(String status, String headers) {
+      respondLater(status, headers);
+      key.interestOps(SelectionKey.OP_WRITE);
+    }
+
+    private void respondLater(String status, String headers) {
+      String text = "HTTP/1.1 " + status + "\r\n" + (headers != null ? headers : "")
+          + "Content-Length: 0\r\nConnection: close\r\n\r\n";
+      header = ByteBuffer.wrap(text.getBytes(ASCII));
+      headerOnly = true;
+    }
+
+    void onWritable() throws IOException {
+      if (header.hasRemaining()) {
+        channel.write(header);
+        if (header.hasRemaining()) {
+          return;
+        }
+      }
+      if (headerOnly) {
+        close();
+        return;
+      }
+      while (position <= end) {
+        ByteBuffer slice = resource.slice(position, end - position + 1);
+        if (slice == null) {
+          if (resource.isFailed()) {
+            // 已经发送了响应头，只能断开，播放器重连时会被重定向到源站
+            close();
+          } else {
+            park();
+          }
+          return;
+        }
+        int written = channel.write(slice);
+        position += written;
+        servedBytes.addAndGet(written);
+        if (position - lastSignaled >= RETARGET_GAP) {
+          // 读取位置前进后，下载线程可能要继续预读
+          lastSignaled = position;
+          resource.signal();
+        }
+        if (slice.hasRemaining()) {
+          return;
+        }
+      }
+      close();
+    }
+
+    void close() {
+      if (key != null) {
+        key.cancel();
+      }
+      try {
+        channel.close();
+      } catch (IOException e) {
+        // ignore
+      }
+      waiting.remove(this);
+      if (resource != null) {
+        resource.removeReader(this);
+        resource = null;
+      }
+    }
+  }
+
+  /** One upstream URL, its backing file and its download thread. */
+  private final class Resource implements Runnable {
+    final String url;
+    private final File file;
+
+    // 以下由this保护
+    private final ArrayList<Connection> readers = new ArrayList<>();
+    private final BitSet done = new BitSet();
+    private long length = -1;
+    private String contentType = "application/octet-stream";
+    private boolean failed;
+    private boolean closed;
+    private long idleSince;
+    private RandomAccessFile raf;
+    private MappedByteBuffer[] regions;
+    // 已映射窗口的下标，最近使用的在末尾
+    private final ArrayDeque<Integer> mapped = new ArrayDeque<>();
+    // 正在下载的范围[activeStart, writePosition)，没有下载时为-1
+    private long activeStart = -1;
+    private long writePosition = -1;
+    private HttpURLConnection upstream;
+
+    Resource(String url, File file) {
+      this.url = url;
+      this.file = file;
+      Thread downloader = new Thread(this, "VideoProxyDownload");
+      downloader.setPriority(Thread.NORM_PRIORITY - 1);
+      downloader.start();
+    }
+
+    synchronized long getLength() {
+      return length;
+    }
+
+    synchronized String getContentType() {
+      return contentType;
+    }
+
+    synchronized boolean isFailed() {
+      return failed;
+    }
+
+    /** @return whether another connection was already reading this resource */
+    synchronized boolean addReader(Connection connection) {
+      boolean shared = !readers.isEmpty();
+      readers.add(connection);
+      notifyAll();
+      return shared;
+    }
+
+    synchronized void removeReader(Connection connection) {
+      readers.remove(connection);
+      if (readers.isEmpty()) {
+        idleSince = System.currentTimeMillis();
+      }
+      notifyAll();
+    }
+
+    synchronized boolean isIdleSince(long time) {
+      return readers.isEmpty() && idleSince <= time;
+    }
+
+    synchronized void signal() {
+      notifyAll();
+    }
+
+    /** The number of bytes readable from {@code position} without waiting. */
+    synchronized long available(long position) {
+      if (length < 0 || position >= length) {
+        return 0;
+      }
+      long end = position;
+      while (end < length) {
+        int chunk = (int) (end / CHUNK);
+        if (done.get(chunk)) {
+          end = Math.min(length, (chunk + 1L) * CHUNK);
+        } else if (activeStart >= 0 && end >= activeStart && end < writePosition) {
+          end = writePosition;
+        } else {
+          break;
+        }
+      }
+      return end - position;
+    }
+
+    /** A view of the mapped bytes from {@code position}, or null when none is downloaded yet. */
+    synchronized ByteBuffer slice(long position, long max) {
+      long count = Math.min(available(position), max);
+      int offset = (int) (position % REGION);
+      count = Math.min(count, REGION - offset);
+      if (count <= 0) {
+        return null;
+      }
+      MappedByteBuffer region = region((int) (position / REGION));
+      if (region == null) {
+        return null;
+      }
+      ByteBuffer slice = region.duplicate();
+      slice.limit(offset + (int) count);
+      slice.position(offset);
+      return slice;
+    }
+
+    private synchronized MappedByteBuffer region(int index) {
+      if (closed || regions == null) {
+        return null;
+      }
+      if (regions[index] != null) {
+        if (mapped.peekLast() != index) {
+          mapped.remove(index);
+          mapped.addLast(index);
+        }
+        return regions[index];
+      }
+      if (failed) {
+        return null;
+      }
+      while (mapped.size() >= MAX_MAPPED_REGIONS) {
+        unmapOldest();
+      }
+      try {
+        regions[index] = map(index);
+      } catch (IOException e) {
+        // 地址空间不足时释放其余窗口再试一次
+        while (!mapped.isEmpty()) {
+          unmapOldest();
+        }
+        try {
+          regions[index] = map(index);
+        } catch (IOException retry) {
+          Log.w(TAG, "failed to map " + file, retry);
+          fail();
+          return null;
+        }
+      }
+      mapped.addLast(index);
+      return regions[index];
+    }
+
+    private MappedByteBuffer map(int index) throws IOException {
+      long start = (long) index * REGION;
+      return raf.getChannel()
+          .map(FileChannel.MapMode.READ_WRITE, start, Math.min(REGION, length - start));
+    }
+
+    /**
+     * Forgets the least recently used window. Java cannot unmap explicitly: the mapping goes away
+     * once the slices still being written to sockets are collected.
+     */
+    private void unmapOldest() {
+      regions[mapped.pollFirst()] = null;
+    }
+
+    private void fail() {
+      failed = true;
+      notifyAll();
+      selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+      int retries = 0;
+      while (true) {
+        long start = -1;
+        synchronized (this) {
+          while (!closed && !failed && (start = nextStart()) < 0) {
+            try {
+              wait();
+            } catch (InterruptedException e) {
+              return;
+            }
+          }
+          if (closed || failed) {
+            return;
+          }
+        }
+        try {
+          download(start);
+          retries = 0;
+        } catch (IOException e) {
+          synchronized (this) {
+            if (closed) {
+              return;
+            }
+            if (length < 0 || ++retries > MAX_RETRIES) {
+              Log.w(TAG, "giving up on " + url, e);
+              fail();
+              return;
+            }
+          }
+        }
+      }
+    }
+
+    /** Where the download should continue, chunk aligned, or -1 when no reader needs anything. */
+    private long nextStart() {
+      if (readers.isEmpty()) {
+        return -1;
+      }
+      if (length < 0) {
+        // 先从第一个连接请求的位置开始，响应里带有总长度
+        return readers.get(0).position / CHUNK * CHUNK;
+      }
+      long best = -1;
+      long bestGap = Long.MAX_VALUE;
+      for (Connection reader : readers) {
+        long position = reader.position;
+        long limit = Math.min(Math.min(reader.end, length - 1) + 1, position + readAhead / 2);
+        if (position >= limit) {
+          continue;
+        }
+        long missing = (long) done.nextClearBit((int) (position / CHUNK)) * CHUNK;
+        if (missing < limit && missing - position < bestGap) {
+          best = missing;
+          bestGap = missing - position;
+        }
+      }
+      return best;
+    }
+
+    /** Whether the download running at {@code position} still serves a reader. */
+    private boolean shouldContinue(long position) {
+      if (closed || position >= length || done.get((int) (position / CHUNK))) {
+        return false;
+      }
+      for (Connection reader : readers) {
+        if (reader.position <= position + RETARGET_GAP
+            && position <= reader.end
+            && position < reader.position + readAhead) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private void download(long start) throws IOException {
+      HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+      connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+      connection.setReadTimeout(READ_TIMEOUT_MS);
+      connection.setRequestProperty("Range", "bytes=" + start + "-");
+      // 需要原始字节才能按偏移量提供范围请求
+      connection.setRequestProperty("Accept-Encoding", "identity");
+      synchronized (this) {
+        if (closed) {
+          return;
+        }
+        upstream = connection;
+      }
+      try {
+        int code = connection.getResponseCode();
+        long total;
+        long skip = 0;
+        if (code == HttpURLConnection.HTTP_PARTIAL) {
+          String range = connection.getHeaderField("Content-Range");
+          int slash = range != null ? range.lastIndexOf('/') : -1;
+          String value = slash >= 0 ? range.substring(slash + 1).trim() : "*";
+          total = "*".equals(value) ? -1 : Long.parseLong(value);
+        } else if (code == HttpURLConnection.HTTP_OK) {
+          // 源站不支持范围请求，只能从头下载
+          String value = connection.getHeaderField("Content-Length");
+          total = value != null ? Long.parseLong(value.trim()) : -1;
+          skip = start;
+        } else {
+          throw new IOException("HTTP " + code);
+        }
+        synchronized (this) {
+          if (length < 0) {
+            if (total <= 0) {
+              throw new IOException("unknown length");
+            }
+            open(total, connection.getContentType());
+          } else if (total != length) {
+            throw new IOException("length changed from " + length + " to " + total);
+          }
+          activeStart = start;
+          writePosition = start;
+        }
+        InputStream in = connection.getInputStream();
+        while (skip > 0) {
+          long skipped = in.skip(skip);
+          if (skipped <= 0) {
+            throw new IOException("unexpected end of stream");
+          }
+          upstreamBytes.addAndGet(skipped);
+          skip -= skipped;
+        }
+        copy(in, start);
+      } catch (NumberFormatException e) {
+        throw new IOException(e);
+      } finally {
+        synchronized (this) {
+          upstream = null;
+          activeStart = -1;
+          writePosition = -1;
+        }
+        connection.disconnect();
+      }
+    }
+
+    private void open(long total, String type) throws IOException {
+      length = total;
+      if (type != null) {
+        contentType = type;
+      }
+      raf = new RandomAccessFile(file, "rw");
+      // 稀疏文件，未下载的部分不占空间
+      raf.setLength(total);
+      regions = new MappedByteBuffer[(int) ((total + REGION - 1) / REGION)];
+      selector.wakeup();
+    }
+
+    private void copy(InputStream in, long start) throws IOException {
+      byte[] buffer = new byte[CHUNK];
+      long position = start;
+      while (true) {
+        int read = in.read(buffer);
+        if (read < 0) {
+          return;
+        }
+        long limit = getLength() - position;
+        int count = (int) Math.min(read, limit);
+        int offset = 0;
+        while (offset < count) {
+          long at = position + offset;
+          MappedByteBuffer region = region((int) (at / REGION));
+          if (region == null) {
+            return;
+          }
+          ByteBuffer target = region.duplicate();
+          target.position((int) (at % REGION));
+          int n = Math.min(count - offset, target.remaining());
+          target.put(buffer, offset, n);
+          offset += n;
+        }
+        position += count;
+        upstreamBytes.addAndGet(count);
+        synchronized (this) {
+          writePosition = position;
+          int first = (int) (activeStart / CHUNK);
+          int last =
+              position == length ? (int) ((length - 1) / CHUNK) : (int) (position / CHUNK) - 1;
+          if (last >= first) {
+            done.set(first, last + 1);
+          }
+          selector.wakeup();
+          if (!shouldContinue(position)) {
+            return;
+          }
+        }
+      }
+    }
+
+    void close() {
+      synchronized (this) {
+        closed = true;
+        notifyAll();
+        if (upstream != null) {
+          upstream.disconnect();
+        }
+        try {
+          if (raf != null) {
+            raf.close();
+          }
+        } catch (IOException e) {
+          Log.w(TAG, "failed to close " + file, e);
+        }
+        regions = null;
+        mapped.clear();
+      }
+      file.delete();
+    }
+  }
+}
@@ -50,12 +50,32 @@ public class Messages {
     public String getFormatHint() { return formatHint; }
     public void setFormatHint(String setterArg) { this.formatHint = setterArg; }
 
+    private Long preloadHandle;
+    public Long getPreloadHandle() { return preloadHandle; }
+    public void setPreloadHandle(Long setterArg) { this.preloadHandle = setterArg; }
+
+    private Long eventCoalesceWindow;
+    public Long getEventCoalesceWindow() { return eventCoalesceWindow; }
+    public void setEventCoalesceWindow(Long setterArg) { this.eventCoalesceWindow = setterArg; }
+
+    private Long bufferProfile;
+    public Long getBufferProfile() { return bufferProfile; }
+    public void setBufferProfile(Long setterArg) { this.bufferProfile = setterArg; }
+
+    private Boolean adaptiveBuffer;
+    public Boolean getAdaptiveBuffer() { return adaptiveBuffer; }
+    public void setAdaptiveBuffer(Boolean setterArg) { this.adaptiveBuffer = setterArg; }
+
     HashMap toMap() {
       HashMap<String, Object> toMapResult = new HashMap<>();
       toMapResult.put("asset", asset);
       toMapResult.put("uri", uri);
       toMapResult.put("packageName", packageName);
       toMapResult.put("formatHint", formatHint);
+      toMapResult.put("preloadHandle", preloadHandle);
+      toMapResult.put("eventCoalesceWindow", eventCoalesceWindow);
+      toMapResult.put("bufferProfile", bufferProfile);
+      toMapResult.put("adaptiveBuffer", adaptiveBuffer);
       return toMapResult;
     }
     static CreateMessage fromMap(HashMap map) {
@@ -68,6 +88,14 @@ public class Messages {
       fromMapResult.packageName = (String)packageName;
       Object formatHint = map.get("formatHint");
       fromMapResult.formatHint = (String)formatHint;
+      Object preloadHandle = map.get("preloadHandle");
+      fromMapResult.preloadHandle = (preloadHandle == null) ? null : ((preloadHandle instanceof Integer) ? (Integer)preloadHandle : (Long)preloadHandle);
+      Object eventCoalesceWindow = map.get("eventCoalesceWindow");
+      fromMapResult.eventCoalesceWindow = (eventCoalesceWindow == null) ? null : ((eventCoalesceWindow instanceof Integer) ? (Integer)eventCoalesceWindow : (Long)eventCoalesceWindow);
+      Object bufferProfile = map.get("bufferProfile");
+      fromMapResult.bufferProfile = (bufferProfile == null) ? null : ((bufferProfile instanceof Integer) ? (Integer)bufferProfile : (Long)bufferProfile);
+      Object adaptiveBuffer = map.get("adaptiveBuffer");
+      fromMapResult.adaptiveBuffer = (Boolean)adaptiveBuffer;
       return fromMapResult;
     }
   }
@@ -176,39 +204,1579 @@ public class Messages {
     }
   }
 
-  /** Generated interface from Pigeon that represents a handler of messages from Flutter.*/
-  public interface VideoPlayerApi {
-    void initialize();
-    TextureMessage create(CreateMessage arg);
-    void dispose(TextureMessage arg);
-    void setLooping(LoopingMessage arg);
-    void setVolume(VolumeMessage arg);
-    void setBrightness(VolumeMessage arg);
-    void setSpeed(VolumeMessage arg);
-    BrightnessMessage getBrightness(TextureMessage arg);
-    void play(TextureMessage arg);
-    void prepare(TextureMessage arg);
-    void stop(TextureMessage arg);
-    void reload(TextureMessage arg);
-    void snapshot(TextureMessage arg);
-    void setScaleMode(PositionMessage arg);
-    void setMirrorMode(PositionMessage arg);
-    void selectTrack(PositionMessage arg);
-    PositionMessage position(TextureMessage arg);
-    void seekTo(PositionMessage arg);
-    void pause(TextureMessage arg);
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class PlayerPoolMessage {
+    private Long maxSize;
+    public Long getMaxSize() { return maxSize; }
+    public void setMaxSize(Long setterArg) { this.maxSize = setterArg; }
 
-    /** Sets up an instance of `VideoPlayerApi` to handle messages through the `binaryMessenger` */
-    static void setup(BinaryMessenger binaryMessenger, VideoPlayerApi api) {
+    private Long prewarmCount;
+    public Long getPrewarmCount() { return prewarmCount; }
+    public void setPrewarmCount(Long setterArg) { this.prewarmCount = setterArg; }
+
+    private Long idleCount;
+    public Long getIdleCount() { return idleCount; }
+    public void setIdleCount(Long setterArg) { this.idleCount = setterArg; }
+
+    private Long hitCount;
+    public Long getHitCount() { return hitCount; }
+    public void setHitCount(Long setterArg) { this.hitCount = setterArg; }
+
+    private Long missCount;
+    public Long getMissCount() { return missCount; }
+    public void setMissCount(Long setterArg) { this.missCount = setterArg; }
+
+    private Long evictionCount;
+    public Long getEvictionCount() { return evictionCount; }
+    public void setEvictionCount(Long setterArg) { this.evictionCount = setterArg; }
+
+    HashMap toMap() {
+      HashMap<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("maxSize", maxSize);
+      toMapResult.put("prewarmCount", prewarmCount);
+      toMapResult.put("idleCount", idleCount);
+      toMapResult.put("hitCount", hitCount);
+      toMapResult.put("missCount", missCount);
+      toMapResult.put("evictionCount", evictionCount);
+      return toMapResult;
+    }
+    static PlayerPoolMessage fromMap(HashMap map) {
+      PlayerPoolMessage fromMapResult = new PlayerPoolMessage();
+      Object maxSize = map.get("maxSize");
+      fromMapResult.maxSize = (maxSize == null) ? null : ((maxSize instanceof Integer) ? (Integer)maxSize : (Long)maxSize);
+      Object prewarmCount = map.get("prewarmCount");
+      fromMapResult.prewarmCount = (prewarmCount == null) ? null : ((prewarmCount instanceof Integer) ? (Integer)prewarmCount : (Long)prewarmCount);
+      Object idleCount = map.get("idleCount");
+      fromMapResult.idleCount = (idleCount == null) ? null : ((idleCount instanceof Integer) ? (Integer)idleCount : (Long)idleCount);
+      Object hitCount = map.get("hitCount");
+      fromMapResult.hitCount = (hitCount == null) ? null : ((hitCount instanceof Integer) ? (Integer)hitCount : (Long)hitCount);
+      Object missCount = map.get("missCount");
+      fromMapResult.missCount = (missCount == null) ? null : ((missCount instanceof Integer) ? (Integer)missCount : (Long)missCount);
+      Object evictionCount = map.get("evictionCount");
+      fromMapResult.evictionCount = (evictionCount == null) ? null : ((evictionCount instanceof Integer) ? (Integer)evictionCount : (Long)evictionCount);
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class PreloadMessage {
+    private ArrayList uris;
+    public ArrayList getUris() { return uris; }
+    public void setUris(ArrayList setterArg) { this.uris = setterArg; }
+
+    private Long window;
+    public Long getWindow() { return window; }
+    public void setWindow(Long setterArg) { this.window = setterArg; }
+
+    private Long bufferDuration;
+    public Long getBufferDuration() { return bufferDuration; }
+    public void setBufferDuration(Long setterArg) { this.bufferDuration = setterArg; }
+
+    private ArrayList handles;
+    public ArrayList getHandles() { return handles; }
+    public void setHandles(ArrayList setterArg) { this.handles = setterArg; }
+
+    private Long bufferBytes;
+    public Long getBufferBytes() { return bufferBytes; }
+    public void setBufferBytes(Long setterArg) { this.bufferBytes = setterArg; }
+
+    HashMap toMap() {
+      HashMap<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("uris", uris);
+      toMapResult.put("window", window);
+      toMapResult.put("bufferDuration", bufferDuration);
+      toMapResult.put("handles", handles);
+      toMapResult.put("bufferBytes", bufferBytes);
+      return toMapResult;
+    }
+    static PreloadMessage fromMap(HashMap map) {
+      PreloadMessage fromMapResult = new PreloadMessage();
+      Object uris = map.get("uris");
+      fromMapResult.uris = (ArrayList)uris;
+      Object window = map.get("window");
+      fromMapResult.window = (window == null) ? null : ((window instanceof Integer) ? (Integer)window : (Long)window);
+      Object bufferDuration = map.get("bufferDuration");
+      fromMapResult.bufferDuration = (bufferDuration == null) ? null : ((bufferDuration instanceof Integer) ? (Integer)bufferDuration : (Long)bufferDuration);
+      Object handles = map.get("handles");
+      fromMapResult.handles = (ArrayList)handles;
+      Object bufferBytes = map.get("bufferBytes");
+      fromMapResult.bufferBytes = (bufferBytes == null) ? null : ((bufferBytes instanceof Integer) ? (Integer)bufferBytes : (Long)bufferBytes);
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class CacheMessage {
+    private Boolean enable;
+    public Boolean getEnable() { return enable; }
+    public void setEnable(Boolean setterArg) { this.enable = setterArg; }
+
+    private String dir;
+    public String getDir() { return dir; }
+    public void setDir(String setterArg) { this.dir = setterArg; }
+
+    private Long maxSizeMB;
+    public Long getMaxSizeMB() { return maxSizeMB; }
+    public void setMaxSizeMB(Long setterArg) { this.maxSizeMB = setterArg; }
+
+    private Long maxDurationS;
+    public Long getMaxDurationS() { return maxDurationS; }
+    public void setMaxDurationS(Long setterArg) { this.maxDurationS = setterArg; }
+
+    private Long hitCount;
+    public Long getHitCount() { return hitCount; }
+    public void setHitCount(Long setterArg) { this.hitCount = setterArg; }
+
+    private Long missCount;
+    public Long getMissCount() { return missCount; }
+    public void setMissCount(Long setterArg) { this.missCount = setterArg; }
+
+    private Long hitBytes;
+    public Long getHitBytes() { return hitBytes; }
+    public void setHitBytes(Long setterArg) { this.hitBytes = setterArg; }
+
+    private Long cachedBytes;
+    public Long getCachedBytes() { return cachedBytes; }
+    public void setCachedBytes(Long setterArg) { this.cachedBytes = setterArg; }
+
+    private Long evictedBytes;
+    public Long getEvictedBytes() { return evictedBytes; }
+    public void setEvictedBytes(Long setterArg) { this.evictedBytes = setterArg; }
+
+    HashMap toMap() {
+      HashMap<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("enable", enable);
+      toMapResult.put("dir", dir);
+      toMapResult.put("maxSizeMB", maxSizeMB);
+      toMapResult.put("maxDurationS", maxDurationS);
+      toMapResult.put("hitCount", hitCount);
+      toMapResult.put("missCount", missCount);
+      toMapResult.put("hitBytes", hitBytes);
+      toMapResult.put("cachedBytes", cachedBytes);
+      toMapResult.put("evictedBytes", evictedBytes);
+      return toMapResult;
+    }
+    static CacheMessage fromMap(HashMap map) {
+      CacheMessage fromMapResult = new CacheMessage();
+      Object enable = map.get("enable");
+      fromMapResult.enable = (Boolean)enable;
+      Object dir = map.get("dir");
+      fromMapResult.dir = (String)dir;
+      Object maxSizeMB = map.get("maxSizeMB");
+      fromMapResult.maxSizeMB = (maxSizeMB == null) ? null : ((maxSizeMB instanceof Integer) ? (Integer)maxSizeMB : (Long)maxSizeMB);
+      Object maxDurationS = map.get("maxDurationS");
+      fromMapResult.maxDurationS = (maxDurationS == null) ? null : ((maxDurationS instanceof Integer) ? (Integer)maxDurationS : (Long)maxDurationS);
+      Object hitCount = map.get("hitCount");
+      fromMapResult.hitCount = (hitCount == null) ? null : ((hitCount instanceof Integer) ? (Integer)hitCount : (Long)hitCount);
+      Object missCount = map.get("missCount");
+      fromMapResult.missCount = (missCount == null) ? null : ((missCount instanceof Integer) ? (Integer)missCount : (Long)missCount);
+      Object hitBytes = map.get("hitBytes");
+      fromMapResult.hitBytes = (hitBytes == null) ? null : ((hitBytes instanceof Integer) ? (Integer)hitBytes : (Long)hitBytes);
+      Object cachedBytes = map.get("cachedBytes");
+      fromMapResult.cachedBytes = (cachedBytes == null) ? null : ((cachedBytes instanceof Integer) ? (Integer)cachedBytes : (Long)cachedBytes);
+      Object evictedBytes = map.get("evictedBytes");
+      fromMapResult.evictedBytes = (evictedBytes == null) ? null : ((evictedBytes instanceof Integer) ? (Integer)evictedBytes : (Long)evictedBytes);
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class MetricsMessage {
+    private Long textureId;
+    public Long getTextureId() { return textureId; }
+    public void setTextureId(Long setterArg) { this.textureId = setterArg; }
+
+    private Long timeToPrepared;
+    public Long getTimeToPrepared() { return timeToPrepared; }
+    public void setTimeToPrepared(Long setterArg) { this.timeToPrepared = setterArg; }
+
+    private Long timeToFirstFrame;
+    public Long getTimeToFirstFrame() { return timeToFirstFrame; }
+    public void setTimeToFirstFrame(Long setterArg) { this.timeToFirstFrame = setterArg; }
+
+    private Long timeToFirstLoadingEnd;
+    public Long getTimeToFirstLoadingEnd() { return timeToFirstLoadingEnd; }
+    public void setTimeToFirstLoadingEnd(Long setterArg) { this.timeToFirstLoadingEnd = setterArg; }
+
+    private Boolean preloaded;
+    public Boolean getPreloaded() { return preloaded; }
+    public void setPreloaded(Boolean setterArg) { this.preloaded = setterArg; }
+
+    private Long playingDuration;
+    public Long getPlayingDuration() { return playingDuration; }
+    public void setPlayingDuration(Long setterArg) { this.playingDuration = setterArg; }
+
+    private Long rebufferCount;
+    public Long getRebufferCount() { return rebufferCount; }
+    public void setRebufferCount(Long setterArg) { this.rebufferCount = setterArg; }
+
+    private Long rebufferDuration;
+    public Long getRebufferDuration() { return rebufferDuration; }
+    public void setRebufferDuration(Long setterArg) { this.rebufferDuration = setterArg; }
+
+    private Long networkRetryCount;
+    public Long getNetworkRetryCount() { return networkRetryCount; }
+    public void setNetworkRetryCount(Long setterArg) { this.networkRetryCount = setterArg; }
+
+    private Long seekCount;
+    public Long getSeekCount() { return seekCount; }
+    public void setSeekCount(Long setterArg) { this.seekCount = setterArg; }
+
+    private Long lastSeekLatency;
+    public Long getLastSeekLatency() { return lastSeekLatency; }
+    public void setLastSeekLatency(Long setterArg) { this.lastSeekLatency = setterArg; }
+
+    private Long totalSeekLatency;
+    public Long getTotalSeekLatency() { return totalSeekLatency; }
+    public void setTotalSeekLatency(Long setterArg) { this.totalSeekLatency = setterArg; }
+
+    private ArrayList kbpsSamples;
+    public ArrayList getKbpsSamples() { return kbpsSamples; }
+    public void setKbpsSamples(ArrayList setterArg) { this.kbpsSamples = setterArg; }
+
+    private Double averageKbps;
+    public Double getAverageKbps() { return averageKbps; }
+    public void setAverageKbps(Double setterArg) { this.averageKbps = setterArg; }
+
+    private Long eventsDelivered;
+    public Long getEventsDelivered() { return eventsDelivered; }
+    public void setEventsDelivered(Long setterArg) { this.eventsDelivered = setterArg; }
+
+    private Long eventsCoalesced;
+    public Long getEventsCoalesced() { return eventsCoalesced; }
+    public void setEventsCoalesced(Long setterArg) { this.eventsCoalesced = setterArg; }
+
+    private Long bufferProfile;
+    public Long getBufferProfile() { return bufferProfile; }
+    public void setBufferProfile(Long setterArg) { this.bufferProfile = setterArg; }
+
+    private Long startBufferDuration;
+    public Long getStartBufferDuration() { return startBufferDuration; }
+    public void setStartBufferDuration(Long setterArg) { this.startBufferDuration = setterArg; }
+
+    private Long highBufferDuration;
+    public Long getHighBufferDuration() { return highBufferDuration; }
+    public void setHighBufferDuration(Long setterArg) { this.highBufferDuration = setterArg; }
+
+    private Long maxBufferDuration;
+    public Long getMaxBufferDuration() { return maxBufferDuration; }
+    public void setMaxBufferDuration(Long setterArg) { this.maxBufferDuration = setterArg; }
+
+    private Long bufferAdjustCount;
+    public Long getBufferAdjustCount() { return bufferAdjustCount; }
+    public void setBufferAdjustCount(Long setterArg) { this.bufferAdjustCount = setterArg; }
+
+    private Long seekCompletedCount;
+    public Long getSeekCompletedCount() { return seekCompletedCount; }
+    public void setSeekCompletedCount(Long setterArg) { this.seekCompletedCount = setterArg; }
+
+    private Long seekCoalescedCount;
+    public Long getSeekCoalescedCount() { return seekCoalescedCount; }
+    public void setSeekCoalescedCount(Long setterArg) { this.seekCoalescedCount = setterArg; }
+
+    HashMap toMap() {
+      HashMap<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("textureId", textureId);
+      toMapResult.put("timeToPrepared", timeToPrepared);
+      toMapResult.put("timeToFirstFrame", timeToFirstFrame);
+      toMapResult.put("timeToFirstLoadingEnd", timeToFirstLoadingEnd);
+      toMapResult.put("preloaded", preloaded);
+      toMapResult.put("playingDuration", playingDuration);
+      toMapResult.put("rebufferCount", rebufferCount);
+      toMapResult.put("rebufferDuration", rebufferDuration);
+      toMapResult.put("networkRetryCount", networkRetryCount);
+      toMapResult.put("seekCount", seekCount);
+      toMapResult.put("lastSeekLatency", lastSeekLatency);
+      toMapResult.put("totalSeekLatency", totalSeekLatency);
+      toMapResult.put("kbpsSamples", kbpsSamples);
+      toMapResult.put("averageKbps", averageKbps);
+      toMapResult.put("eventsDelivered", eventsDelivered);
+      toMapResult.put("eventsCoalesced", eventsCoalesced);
+      toMapResult.put("bufferProfile", bufferProfile);
+      toMapResult.put("startBufferDuration", startBufferDuration);
+      toMapResult.put("highBufferDuration", highBufferDuration);
+      toMapResult.put("maxBufferDuration", maxBufferDuration);
+      toMapResult.put("bufferAdjustCount", bufferAdjustCount);
+      toMapResult.put("seekCompletedCount", seekCompletedCount);
+      toMapResult.put("seekCoalescedCount", seekCoalescedCount);
+      return toMapResult;
+    }
+    static MetricsMessage fromMap(HashMap map) {
+      MetricsMessage fromMapResult = new MetricsMessage();
+      Object textureId = map.get("textureId");
+      fromMapResult.textureId = (textureId == null) ? null : ((textureId instanceof Integer) ? (Integer)textureId : (Long)textureId);
+      Object timeToPrepared = map.get("timeToPrepared");
+      fromMapResult.timeToPrepared = (timeToPrepared == null) ? null : ((timeToPrepared instanceof Integer) ? (Integer)timeToPrepared : (Long)timeToPrepared);
+      Object timeToFirstFrame = map.get("timeToFirstFrame");
+      fromMapResult.timeToFirstFrame = (timeToFirstFrame == null) ? null : ((timeToFirstFrame instanceof Integer) ? (Integer)timeToFirstFrame : (Long)timeToFirstFrame);
+      Object timeToFirstLoadingEnd = map.get("timeToFirstLoadingEnd");
+      fromMapResult.timeToFirstLoadingEnd = (timeToFirstLoadingEnd == null) ? null : ((timeToFirstLoadingEnd instanceof Integer) ? (Integer)timeToFirstLoadingEnd : (Long)timeToFirstLoadingEnd);
+      Object preloaded = map.get("preloaded");
+      fromMapResult.preloaded = (Boolean)preloaded;
+      Object playingDuration = map.get("playingDuration");
+      fromMapResult.playingDuration = (playingDuration == null) ? null : ((playingDuration instanceof Integer) ? (Integer)playingDuration : (Long)playingDuration);
+      Object rebufferCount = map.get("rebufferCount");
+      fromMapResult.rebufferCount = (rebufferCount == null) ? null : ((rebufferCount instanceof Integer) ? (Integer)rebufferCount : (Long)rebufferCount);
+      Object rebufferDuration = map.get("rebufferDuration");
+      fromMapResult.rebufferDuration = (rebufferDuration == null) ? null : ((rebufferDuration instanceof Integer) ? (Integer)rebufferDuration : (Long)rebufferDuration);
+      Object networkRetryCount = map.get("networkRetryCount");
+      fromMapResult.networkRetryCount = (networkRetryCount == null) ? null : ((networkRetryCount instanceof Integer) ? (Integer)networkRetryCount : (Long)networkRetryCount);
+      Object seekCount = map.get("seekCount");
+      fromMapResult.seekCount = (seekCount == null) ? null : ((seekCount instanceof Integer) ? (Integer)seekCount : (Long)seekCount);
+      Object lastSeekLatency = map.get("lastSeekLatency");
+      fromMapResult.lastSeekLatency = (lastSeekLatency == null) ? null : ((lastSeekLatency instanceof Integer) ? (Integer)lastSeekLatency : (Long)lastSeekLatency);
+      Object totalSeekLatency = map.get("totalSeekLatency");
+      fromMapResult.totalSeekLatency = (totalSeekLatency == null) ? null : ((totalSeekLatency instanceof Integer) ? (Integer)totalSeekLatency : (Long)totalSeekLatency);
+      Object kbpsSamples = map.get("kbpsSamples");
+      fromMapResult.kbpsSamples = (ArrayList)kbpsSamples;
+      Object averageKbps = map.get("averageKbps");
+      fromMapResult.averageKbps = (Double)averageKbps;
+      Object eventsDelivered = map.get("eventsDelivered");
+      fromMapResult.eventsDelivered = (eventsDelivered == null) ? null : ((eventsDelivered instanceof Integer) ? (Integer)eventsDelivered : (Long)eventsDelivered);
+      Object eventsCoalesced = map.get("eventsCoalesced");
+      fromMapResult.eventsCoalesced = (eventsCoalesced == null) ? null : ((eventsCoalesced instanceof Integer) ? (Integer)eventsCoalesced : (Long)eventsCoalesced);
+      Object bufferProfile = map.get("bufferProfile");
+      fromMapResult.bufferProfile = (bufferProfile == null) ? null : ((bufferProfile instanceof Integer) ? (Integer)bufferProfile : (Long)bufferProfile);
+      Object startBufferDuration = map.get("startBufferDuration");
+      fromMapResult.startBufferDuration = (startBufferDuration == null) ? null : ((startBufferDuration instanceof Integer) ? (Integer)startBufferDuration : (Long)startBufferDuration);
+      Object highBufferDuration = map.get("highBufferDuration");
+      fromMapResult.highBufferDuration = (highBufferDuration == null) ? null : ((highBufferDuration instanceof Integer) ? (Integer)highBufferDuration : (Long)highBufferDuration);
+      Object maxBufferDuration = map.get("maxBufferDuration");
+      fromMapResult.maxBufferDuration = (maxBufferDuration == null) ? null : ((maxBufferDuration instanceof Integer) ? (Integer)maxBufferDuration : (Long)maxBufferDuration);
+      Object bufferAdjustCount = map.get("bufferAdjustCount");
+      fromMapResult.bufferAdjustCount = (bufferAdjustCount == null) ? null : ((bufferAdjustCount instanceof Integer) ? (Integer)bufferAdjustCount : (Long)bufferAdjustCount);
+      Object seekCompletedCount = map.get("seekCompletedCount");
+      fromMapResult.seekCompletedCount = (seekCompletedCount == null) ? null : ((seekCompletedCount instanceof Integer) ? (Integer)seekCompletedCount : (Long)seekCompletedCount);
+      Object seekCoalescedCount = map.get("seekCoalescedCount");
+      fromMapResult.seekCoalescedCount = (seekCoalescedCount == null) ? null : ((seekCoalescedCount instanceof Integer) ? (Integer)seekCoalescedCount : (Long)seekCoalescedCount);
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class BatchMessage {
+    private Long textureId;
+    public Long getTextureId() { return textureId; }
+    public void setTextureId(Long setterArg) { this.textureId = setterArg; }
+
+    private ArrayList textureIds;
+    public ArrayList getTextureIds() { return textureIds; }
+    public void setTextureIds(ArrayList setterArg) { this.textureIds = setterArg; }
+
+    private Long exceptTextureId;
+    public Long getExceptTextureId() { return exceptTextureId; }
+    public void setExceptTextureId(Long setterArg) { this.exceptTextureId = setterArg; }
+
+    private ArrayList commands;
+    public ArrayList getCommands() { return commands; }
+    public void setCommands(ArrayList setterArg) { this.commands = setterArg; }
+
+    private ArrayList results;
+    public ArrayList getResults() { return results; }
+    public void setResults(ArrayList setterArg) { this.results = setterArg; }
+
+    HashMap toMap() {
+      HashMap<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("textureId", textureId);
+      toMapResult.put("textureIds", textureIds);
+      toMapResult.put("exceptTextureId", exceptTextureId);
+      toMapResult.put("commands", commands);
+      toMapResult.put("results", results);
+      return toMapResult;
+    }
+    static BatchMessage fromMap(HashMap map) {
+      BatchMessage fromMapResult = new BatchMessage();
+      Object textureId = map.get("textureId");
+      fromMapResult.textureId = (textureId == null) ? null : ((textureId instanceof Integer) ? (Integer)textureId : (Long)textureId);
+      Object textureIds = map.get("textureIds");
+      fromMapResult.textureIds = (ArrayList)textureIds;
+      Object exceptTextureId = map.get("exceptTextureId");
+      fromMapResult.exceptTextureId = (exceptTextureId == null) ? null : ((exceptTextureId instanceof Integer) ? (Integer)exceptTextureId : (Long)exceptTextureId);
+      Object commands = map.get("commands");
+      fromMapResult.commands = (ArrayList)commands;
+      Object results = map.get("results");
+      fromMapResult.results = (ArrayList)results;
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class GovernorMessage {
+    private Boolean enable;
+    public Boolean getEnable() { return enable; }
+    public void setEnable(Boolean setterArg) { this.enable = setterArg; }
+
+    private Long maxActiveDecoders;
+    public Long getMaxActiveDecoders() { return maxActiveDecoders; }
+    public void setMaxActiveDecoders(Long setterArg) { this.maxActiveDecoders = setterArg; }
+
+    private Long maxSurfaces;
+    public Long getMaxSurfaces() { return maxSurfaces; }
+    public void setMaxSurfaces(Long setterArg) { this.maxSurfaces = setterArg; }
+
+    private Long maxPlayers;
+    public Long getMaxPlayers() { return maxPlayers; }
+    public void setMaxPlayers(Long setterArg) { this.maxPlayers = setterArg; }
+
+    private Long maxBufferedBytes;
+    public Long getMaxBufferedBytes() { return maxBufferedBytes; }
+    public void setMaxBufferedBytes(Long setterArg) { this.maxBufferedBytes = setterArg; }
+
+    private Long activeDecoders;
+    public Long getActiveDecoders() { return activeDecoders; }
+    public void setActiveDecoders(Long setterArg) { this.activeDecoders = setterArg; }
+
+    private Long bufferedBytes;
+    public Long getBufferedBytes() { return bufferedBytes; }
+    public void setBufferedBytes(Long setterArg) { this.bufferedBytes = setterArg; }
+
+    private Long demotionCount;
+    public Long getDemotionCount() { return demotionCount; }
+    public void setDemotionCount(Long setterArg) { this.demotionCount = setterArg; }
+
+    private Long restoreCount;
+    public Long getRestoreCount() { return restoreCount; }
+    public void setRestoreCount(Long setterArg) { this.restoreCount = setterArg; }
+
+    HashMap toMap() {
+      HashMap<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("enable", enable);
+      toMapResult.put("maxActiveDecoders", maxActiveDecoders);
+      toMapResult.put("maxSurfaces", maxSurfaces);
+      toMapResult.put("maxPlayers", maxPlayers);
+      toMapResult.put("maxBufferedBytes", maxBufferedBytes);
+      toMapResult.put("activeDecoders", activeDecoders);
+      toMapResult.put("bufferedBytes", bufferedBytes);
+      toMapResult.put("demotionCount", demotionCount);
+      toMapResult.put("restoreCount", restoreCount);
+      return toMapResult;
+    }
+    static GovernorMessage fromMap(HashMap map) {
+      GovernorMessage fromMapResult = new GovernorMessage();
+      Object enable = map.get("enable");
+      fromMapResult.enable = (Boolean)enable;
+      Object maxActiveDecoders = map.get("maxActiveDecoders");
+      fromMapResult.maxActiveDecoders = (maxActiveDecoders == null) ? null : ((maxActiveDecoders instanceof Integer) ? (Integer)maxActiveDecoders : (Long)maxActiveDecoders);
+      Object maxSurfaces = map.get("maxSurfaces");
+      fromMapResult.maxSurfaces = (maxSurfaces == null) ? null : ((maxSurfaces instanceof Integer) ? (Integer)maxSurfaces : (Long)maxSurfaces);
+      Object maxPlayers = map.get("maxPlayers");
+      fromMapResult.maxPlayers = (maxPlayers == null) ? null : ((maxPlayers instanceof Integer) ? (Integer)maxPlayers : (Long)maxPlayers);
+      Object maxBufferedBytes = map.get("maxBufferedBytes");
+      fromMapResult.maxBufferedBytes = (maxBufferedBytes == null) ? null : ((maxBufferedBytes instanceof Integer) ? (Integer)maxBufferedBytes : (Long)maxBufferedBytes);
+      Object activeDecoders = map.get("activeDecoders");
+      fromMapResult.activeDecoders = (activeDecoders == null) ? null : ((activeDecoders instanceof Integer) ? (Integer)activeDecoders : (Long)activeDecoders);
+      Object bufferedBytes = map.get("bufferedBytes");
+      fromMapResult.bufferedBytes = (bufferedBytes == null) ? null : ((bufferedBytes instanceof Integer) ? (Integer)bufferedBytes : (Long)bufferedBytes);
+      Object demotionCount = map.get("demotionCount");
+      fromMapResult.demotionCount = (demotionCount == null) ? null : ((demotionCount instanceof Integer) ? (Integer)demotionCount : (Long)demotionCount);
+      Object restoreCount = map.get("restoreCount");
+      fromMapResult.restoreCount = (restoreCount == null) ? null : ((restoreCount instanceof Integer) ? (Integer)restoreCount : (Long)restoreCount);
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class SnapshotMessage {
+    private Long textureId;
+    public Long getTextureId() { return textureId; }
+    public void setTextureId(Long setterArg) { this.textureId = setterArg; }
+
+    private Long format;
+    public Long getFormat() { return format; }
+    public void setFormat(Long setterArg) { this.format = setterArg; }
+
+    private Long quality;
+    public Long getQuality() { return quality; }
+    public void setQuality(Long setterArg) { this.quality = setterArg; }
+
+    private Long maxWidth;
+    public Long getMaxWidth() { return maxWidth; }
+    public void setMaxWidth(Long setterArg) { this.maxWidth = setterArg; }
+
+    private Long maxHeight;
+    public Long getMaxHeight() { return maxHeight; }
+    public void setMaxHeight(Long setterArg) { this.maxHeight = setterArg; }
+
+    private Boolean inMemory;
+    public Boolean getInMemory() { return inMemory; }
+    public void setInMemory(Boolean setterArg) { this.inMemory = setterArg; }
+
+    HashMap toMap() {
+      HashMap<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("textureId", textureId);
+      toMapResult.put("format", format);
+      toMapResult.put("quality", quality);
+      toMapResult.put("maxWidth", maxWidth);
+      toMapResult.put("maxHeight", maxHeight);
+      toMapResult.put("inMemory", inMemory);
+      return toMapResult;
+    }
+    static SnapshotMessage fromMap(HashMap map) {
+      SnapshotMessage fromMapResult = new SnapshotMessage();
+      Object textureId = map.get("textureId");
+      fromMapResult.textureId = (textureId == null) ? null : ((textureId instanceof Integer) ? (Integer)textureId : (Long)textureId);
+      Object format = map.get("format");
+      fromMapResult.format = (format == null) ? null : ((format instanceof Integer) ? (Integer)format : (Long)format);
+      Object quality = map.get("quality");
+      fromMapResult.quality = (quality == null) ? null : ((quality instanceof Integer) ? (Integer)quality : (Long)quality);
+      Object maxWidth = map.get("maxWidth");
+      fromMapResult.maxWidth = (maxWidth == null) ? null : ((maxWidth instanceof Integer) ? (Integer)maxWidth : (Long)maxWidth);
+      Object maxHeight = map.get("maxHeight");
+      fromMapResult.maxHeight = (maxHeight == null) ? null : ((maxHeight instanceof Integer) ? (Integer)maxHeight : (Long)maxHeight);
+      Object inMemory = map.get("inMemory");
+      fromMapResult.inMemory = (Boolean)inMemory;
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class ExecutorStatsMessage {
+    private ArrayList lanes;
+    public ArrayList getLanes() { return lanes; }
+    public void setLanes(ArrayList setterArg) { this.lanes = setterArg; }
+
+    HashMap toMap() {
+      HashMap<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("lanes", lanes);
+      return toMapResult;
+    }
+    static ExecutorStatsMessage fromMap(HashMap map) {
+      ExecutorStatsMessage fromMapResult = new ExecutorStatsMessage();
+      Object lanes = map.get("lanes");
+      fromMapResult.lanes = (ArrayList)lanes;
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class MaintenanceMessage {
+    private Long snapshotMaxBytes;
+    public Long getSnapshotMaxBytes() { return snapshotMaxBytes; }
+    public void setSnapshotMaxBytes(Long setterArg) { this.snapshotMaxBytes = setterArg; }
+
+    private Long snapshotMaxAgeS;
+    public Long getSnapshotMaxAgeS() { return snapshotMaxAgeS; }
+    public void setSnapshotMaxAgeS(Long setterArg) { this.snapshotMaxAgeS = setterArg; }
+
+    private Long cacheMaxAgeS;
+    public Long getCacheMaxAgeS() { return cacheMaxAgeS; }
+    public void setCacheMaxAgeS(Long setterArg) { this.cacheMaxAgeS = setterArg; }
+
+    private Long minFreeBytes;
+    public Long getMinFreeBytes() { return minFreeBytes; }
+    public void setMinFreeBytes(Long setterArg) { this.minFreeBytes = setterArg; }
+
+    private Long intervalS;
+    public Long getIntervalS() { return intervalS; }
+    public void setIntervalS(Long setterArg) { this.intervalS = setterArg; }
+
+    private Long snapshotBytes;
+    public Long getSnapshotBytes() { return snapshotBytes; }
+    public void setSnapshotBytes(Long setterArg) { this.snapshotBytes = setterArg; }
+
+    private Long cacheBytes;
+    public Long getCacheBytes() { return cacheBytes; }
+    public void setCacheBytes(Long setterArg) { this.cacheBytes = setterArg; }
+
+    private Long availableBytes;
+    public Long getAvailableBytes() { return availableBytes; }
+    public void setAvailableBytes(Long setterArg) { this.availableBytes = setterArg; }
+
+    private Long totalBytes;
+    public Long getTotalBytes() { return totalBytes; }
+    public void setTotalBytes(Long setterArg) { this.totalBytes = setterArg; }
+
+    private Long reclaimedBytes;
+    public Long getReclaimedBytes() { return reclaimedBytes; }
+    public void setReclaimedBytes(Long setterArg) { this.reclaimedBytes = setterArg; }
+
+    private Long deletedFiles;
+    public Long getDeletedFiles() { return deletedFiles; }
+    public void setDeletedFiles(Long setterArg) { this.deletedFiles = setterArg; }
+
+    private Long passCount;
+    public Long getPassCount() { return passCount; }
+    public void setPassCount(Long setterArg) { this.passCount = setterArg; }
+
+    private Long sliceCount;
+    public Long getSliceCount() { return sliceCount; }
+    public void setSliceCount(Long setterArg) { this.sliceCount = setterArg; }
+
+    private Long lastPassTime;
+    public Long getLastPassTime() { return lastPassTime; }
+    public void setLastPassTime(Long setterArg) { this.lastPassTime = setterArg; }
+
+    private Long thumbnailBytes;
+    public Long getThumbnailBytes() { return thumbnailBytes; }
+    public void setThumbnailBytes(Long setterArg) { this.thumbnailBytes = setterArg; }
+
+    HashMap toMap() {
+      HashMap<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("snapshotMaxBytes", snapshotMaxBytes);
+      toMapResult.put("snapshotMaxAgeS", snapshotMaxAgeS);
+      toMapResult.put("cacheMaxAgeS", cacheMaxAgeS);
+      toMapResult.put("minFreeBytes", minFreeBytes);
+      toMapResult.put("intervalS", intervalS);
+      toMapResult.put("snapshotBytes", snapshotBytes);
+      toMapResult.put("cacheBytes", cacheBytes);
+      toMapResult.put("availableBytes", availableBytes);
+      toMapResult.put("totalBytes", totalBytes);
+      toMapResult.put("reclaimedBytes", reclaimedBytes);
+      toMapResult.put("deletedFiles", deletedFiles);
+      toMapResult.put("passCount", passCount);
+      toMapResult.put("sliceCount", sliceCount);
+      toMapResult.put("lastPassTime", lastPassTime);
+      toMapResult.put("thumbnailBytes", thumbnailBytes);
+      return toMapResult;
+    }
+    static MaintenanceMessage fromMap(HashMap map) {
+      MaintenanceMessage fromMapResult = new MaintenanceMessage();
+      Object snapshotMaxBytes = map.get("snapshotMaxBytes");
+      fromMapResult.snapshotMaxBytes = (snapshotMaxBytes == null) ? null : ((snapshotMaxBytes instanceof Integer) ? (Integer)snapshotMaxBytes : (Long)snapshotMaxBytes);
+      Object snapshotMaxAgeS = map.get("snapshotMaxAgeS");
+      fromMapResult.snapshotMaxAgeS = (snapshotMaxAgeS == null) ? null : ((snapshotMaxAgeS instanceof Integer) ? (Integer)snapshotMaxAgeS : (Long)snapshotMaxAgeS);
+      Object cacheMaxAgeS = map.get("cacheMaxAgeS");
+      fromMapResult.cacheMaxAgeS = (cacheMaxAgeS == null) ? null : ((cacheMaxAgeS instanceof Integer) ? (Integer)cacheMaxAgeS : (Long)cacheMaxAgeS);
+      Object minFreeBytes = map.get("minFreeBytes");
+      fromMapResult.minFreeBytes = (minFreeBytes == null) ? null : ((minFreeBytes instanceof Integer) ? (Integer)minFreeBytes : (Long)minFreeBytes);
+      Object intervalS = map.get("intervalS");
+      fromMapResult.intervalS = (intervalS == null) ? null : ((intervalS instanceof Integer) ? (Integer)intervalS : (Long)intervalS);
+      Object snapshotBytes = map.get("snapshotBytes");
+      fromMapResult.snapshotBytes = (snapshotBytes == null) ? null : ((snapshotBytes instanceof Integer) ? (Integer)snapshotBytes : (Long)snapshotBytes);
+      Object cacheBytes = map.get("cacheBytes");
+      fromMapResult.cacheBytes = (cacheBytes == null) ? null : ((cacheBytes instanceof Integer) ? (Integer)cacheBytes : (Long)cacheBytes);
+      Object availableBytes = map.get("availableBytes");
+      fromMapResult.availableBytes = (availableBytes == null) ? null : ((availableBytes instanceof Integer) ? (Integer)availableBytes : (Long)availableBytes);
+      Object totalBytes = map.get("totalBytes");
+      fromMapResult.totalBytes = (totalBytes == null) ? null : ((totalBytes instanceof Integer) ? (Integer)totalBytes : (Long)totalBytes);
+      Object reclaimedBytes = map.get("reclaimedBytes");
+      fromMapResult.reclaimedBytes = (reclaimedBytes == null) ? null : ((reclaimedBytes instanceof Integer) ? (Integer)reclaimedBytes : (Long)reclaimedBytes);
+      Object deletedFiles = map.get("deletedFiles");
+      fromMapResult.deletedFiles = (deletedFiles == null) ? null : ((deletedFiles instanceof Integer) ? (Integer)deletedFiles : (Long)deletedFiles);
+      Object passCount = map.get("passCount");
+      fromMapResult.passCount = (passCount == null) ? null : ((passCount instanceof Integer) ? (Integer)passCount : (Long)passCount);
+      Object sliceCount = map.get("sliceCount");
+      fromMapResult.sliceCount = (sliceCount == null) ? null : ((sliceCount instanceof Integer) ? (Integer)sliceCount : (Long)sliceCount);
+      Object lastPassTime = map.get("lastPassTime");
+      fromMapResult.lastPassTime = (lastPassTime == null) ? null : ((lastPassTime instanceof Integer) ? (Integer)lastPassTime : (Long)lastPassTime);
+      Object thumbnailBytes = map.get("thumbnailBytes");
+      fromMapResult.thumbnailBytes = (thumbnailBytes == null) ? null : ((thumbnailBytes instanceof Integer) ? (Integer)thumbnailBytes : (Long)thumbnailBytes);
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class AbrMessage {
+    private Long textureId;
+    public Long getTextureId() { return textureId; }
+    public void setTextureId(Long setterArg) { this.textureId = setterArg; }
+
+    private Boolean enable;
+    public Boolean getEnable() { return enable; }
+    public void setEnable(Boolean setterArg) { this.enable = setterArg; }
+
+    private Long maxWidth;
+    public Long getMaxWidth() { return maxWidth; }
+    public void setMaxWidth(Long setterArg) { this.maxWidth = setterArg; }
+
+    private Long maxHeight;
+    public Long getMaxHeight() { return maxHeight; }
+    public void setMaxHeight(Long setterArg) { this.maxHeight = setterArg; }
+
+    private Long maxBitrate;
+    public Long getMaxBitrate() { return maxBitrate; }
+    public void setMaxBitrate(Long setterArg) { this.maxBitrate = setterArg; }
+
+    HashMap toMap() {
+      HashMap<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("textureId", textureId);
+      toMapResult.put("enable", enable);
+      toMapResult.put("maxWidth", maxWidth);
+      toMapResult.put("maxHeight", maxHeight);
+      toMapResult.put("maxBitrate", maxBitrate);
+      return toMapResult;
+    }
+    static AbrMessage fromMap(HashMap map) {
+      AbrMessage fromMapResult = new AbrMessage();
+      Object textureId = map.get("textureId");
+      fromMapResult.textureId = (textureId == null) ? null : ((textureId instanceof Integer) ? (Integer)textureId : (Long)textureId);
+      Object enable = map.get("enable");
+      fromMapResult.enable = (Boolean)enable;
+      Object maxWidth = map.get("maxWidth");
+      fromMapResult.maxWidth = (maxWidth == null) ? null : ((maxWidth instanceof Integer) ? (Integer)maxWidth : (Long)maxWidth);
+      Object maxHeight = map.get("maxHeight");
+      fromMapResult.maxHeight = (maxHeight == null) ? null : ((maxHeight instanceof Integer) ? (Integer)maxHeight : (Long)maxHeight);
+      Object maxBitrate = map.get("maxBitrate");
+      fromMapResult.maxBitrate = (maxBitrate == null) ? null : ((maxBitrate instanceof Integer) ? (Integer)maxBitrate : (Long)maxBitrate);
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class SeekMessage {
+    private Long textureId;
+    public Long getTextureId() { return textureId; }
+    public void setTextureId(Long setterArg) { this.textureId = setterArg; }
+
+    private Long position;
+    public Long getPosition() { return position; }
+    public void setPosition(Long setterArg) { this.position = setterArg; }
+
+    private Long mode;
+    public Long getMode() { return mode; }
+    public void setMode(Long setterArg) { this.mode = setterArg; }
+
+    private Boolean dragging;
+    public Boolean getDragging() { return dragging; }
+    public void setDragging(Boolean setterArg) { this.dragging = setterArg; }
+
+    HashMap toMap() {
+      HashMap<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("textureId", textureId);
+      toMapResult.put("position", position);
+      toMapResult.put("mode", mode);
+      toMapResult.put("dragging", dragging);
+      return toMapResult;
+    }
+    static SeekMessage fromMap(HashMap map) {
+      SeekMessage fromMapResult = new SeekMessage();
+      Object textureId = map.get("textureId");
+      fromMapResult.textureId = (textureId == null) ? null : ((textureId instanceof Integer) ? (Integer)textureId : (Long)textureId);
+      Object position = map.get("position");
+      fromMapResult.position = (position == null) ? null : ((position instanceof Integer) ? (Integer)position : (Long)position);
+      Object mode = map.get("mode");
+      fromMapResult.mode = (mode == null) ? null : ((mode instanceof Integer) ? (Integer)mode : (Long)mode);
+      Object dragging = map.get("dragging");
+      fromMapResult.dragging = (Boolean)dragging;
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class ThumbnailConfigMessage {
+    private Long textureId;
+    public Long getTextureId() { return textureId; }
+    public void setTextureId(Long setterArg) { this.textureId = setterArg; }
+
+    private Boolean enable;
+    public Boolean getEnable() { return enable; }
+    public void setEnable(Boolean setterArg) { this.enable = setterArg; }
+
+    private Long interval;
+    public Long getInterval() { return interval; }
+    public void setInterval(Long setterArg) { this.interval = setterArg; }
+
+    private Long maxWidth;
+    public Long getMaxWidth() { return maxWidth; }
+    public void setMaxWidth(Long setterArg) { this.maxWidth = setterArg; }
+
+    private Long maxHeight;
+    public Long getMaxHeight() { return maxHeight; }
+    public void setMaxHeight(Long setterArg) { this.maxHeight = setterArg; }
+
+    private Long quality;
+    public Long getQuality() { return quality; }
+    public void setQuality(Long setterArg) { this.quality = setterArg; }
+
+    HashMap toMap() {
+      HashMap<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("textureId", textureId);
+      toMapResult.put("enable", enable);
+      toMapResult.put("interval", interval);
+      toMapResult.put("maxWidth", maxWidth);
+      toMapResult.put("maxHeight", maxHeight);
+      toMapResult.put("quality", quality);
+      return toMapResult;
+    }
+    static ThumbnailConfigMessage fromMap(HashMap map) {
+      ThumbnailConfigMessage fromMapResult = new ThumbnailConfigMessage();
+      Object textureId = map.get("textureId");
+      fromMapResult.textureId = (textureId == null) ? null : ((textureId instanceof Integer) ? (Integer)textureId : (Long)textureId);
+      Object enable = map.get("enable");
+      fromMapResult.enable = (Boolean)enable;
+      Object interval = map.get("interval");
+      fromMapResult.interval = (interval == null) ? null : ((interval instanceof Integer) ? (Integer)interval : (Long)interval);
+      Object maxWidth = map.get("maxWidth");
+      fromMapResult.maxWidth = (maxWidth == null) ? null : ((maxWidth instanceof Integer) ? (Integer)maxWidth : (Long)maxWidth);
+      Object maxHeight = map.get("maxHeight");
+      fromMapResult.maxHeight = (maxHeight == null) ? null : ((maxHeight instanceof Integer) ? (Integer)maxHeight : (Long)maxHeight);
+      Object quality = map.get("quality");
+      fromMapResult.quality = (quality == null) ? null : ((quality instanceof Integer) ? (Integer)quality : (Long)quality);
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class ThumbnailMessage {
+    private Long textureId;
+    public Long getTextureId() { return textureId; }
+    public void setTextureId(Long setterArg) { this.textureId = setterArg; }
+
+    private Long position;
+    public Long getPosition() { return position; }
+    public void setPosition(Long setterArg) { this.position = setterArg; }
+
+    private byte[] bytes;
+    public byte[] getBytes() { return bytes; }
+    public void setBytes(byte[] setterArg) { this.bytes = setterArg; }
+
+    private Boolean exact;
+    public Boolean getExact() { return exact; }
+    public void setExact(Boolean setterArg) { this.exact = setterArg; }
+
+    private Double progress;
+    public Double getProgress() { return progress; }
+    public void setProgress(Double setterArg) { this.progress = setterArg; }
+
+    HashMap toMap() {
+      HashMap<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("textureId", textureId);
+      toMapResult.put("position", position);
+      toMapResult.put("bytes", bytes);
+      toMapResult.put("exact", exact);
+      toMapResult.put("progress", progress);
+      return toMapResult;
+    }
+    static ThumbnailMessage fromMap(HashMap map) {
+      ThumbnailMessage fromMapResult = new ThumbnailMessage();
+      Object textureId = map.get("textureId");
+      fromMapResult.textureId = (textureId == null) ? null : ((textureId instanceof Integer) ? (Integer)textureId : (Long)textureId);
+      Object position = map.get("position");
+      fromMapResult.position = (position == null) ? null : ((position instanceof Integer) ? (Integer)position : (Long)position);
+      Object bytes = map.get("bytes");
+      fromMapResult.bytes = (byte[])bytes;
+      Object exact = map.get("exact");
+      fromMapResult.exact = (Boolean)exact;
+      Object progress = map.get("progress");
+      fromMapResult.progress = (Double)progress;
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class LifecycleMessage {
+    private Boolean enable;
+    public Boolean getEnable() { return enable; }
+    public void setEnable(Boolean setterArg) { this.enable = setterArg; }
+
+    private Long gracePeriod;
+    public Long getGracePeriod() { return gracePeriod; }
+    public void setGracePeriod(Long setterArg) { this.gracePeriod = setterArg; }
+
+    private Boolean resumePlayback;
+    public Boolean getResumePlayback() { return resumePlayback; }
+    public void setResumePlayback(Boolean setterArg) { this.resumePlayback = setterArg; }
+
+    private Long backgroundCount;
+    public Long getBackgroundCount() { return backgroundCount; }
+    public void setBackgroundCount(Long setterArg) { this.backgroundCount = setterArg; }
+
+    private Long resumeCount;
+    public Long getResumeCount() { return resumeCount; }
+    public void setResumeCount(Long setterArg) { this.resumeCount = setterArg; }
+
+    private Long surfaceReleaseCount;
+    public Long getSurfaceReleaseCount() { return surfaceReleaseCount; }
+    public void setSurfaceReleaseCount(Long setterArg) { this.surfaceReleaseCount = setterArg; }
+
+    private Long reclaimedSurfaceBytes;
+    public Long getReclaimedSurfaceBytes() { return reclaimedSurfaceBytes; }
+    public void setReclaimedSurfaceBytes(Long setterArg) { this.reclaimedSurfaceBytes = setterArg; }
+
+    private Long reclaimedHeapBytes;
+    public Long getReclaimedHeapBytes() { return reclaimedHeapBytes; }
+    public void setReclaimedHeapBytes(Long setterArg) { this.reclaimedHeapBytes = setterArg; }
+
+    HashMap toMap() {
+      HashMap<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("enable", enable);
+      toMapResult.put("gracePeriod", gracePeriod);
+      toMapResult.put("resumePlayback", resumePlayback);
+      toMapResult.put("backgroundCount", backgroundCount);
+      toMapResult.put("resumeCount", resumeCount);
+      toMapResult.put("surfaceReleaseCount", surfaceReleaseCount);
+      toMapResult.put("reclaimedSurfaceBytes", reclaimedSurfaceBytes);
+      toMapResult.put("reclaimedHeapBytes", reclaimedHeapBytes);
+      return toMapResult;
+    }
+    static LifecycleMessage fromMap(HashMap map) {
+      LifecycleMessage fromMapResult = new LifecycleMessage();
+      Object enable = map.get("enable");
+      fromMapResult.enable = (Boolean)enable;
+      Object gracePeriod = map.get("gracePeriod");
+      fromMapResult.gracePeriod = (gracePeriod == null) ? null : ((gracePeriod instanceof Integer) ? (Integer)gracePeriod : (Long)gracePeriod);
+      Object resumePlayback = map.get("resumePlayback");
+      fromMapResult.resumePlayback = (Boolean)resumePlayback;
+      Object backgroundCount = map.get("backgroundCount");
+      fromMapResult.backgroundCount = (backgroundCount == null) ? null : ((backgroundCount instanceof Integer) ? (Integer)backgroundCount : (Long)backgroundCount);
+      Object resumeCount = map.get("resumeCount");
+      fromMapResult.resumeCount = (resumeCount == null) ? null : ((resumeCount instanceof Integer) ? (Integer)resumeCount : (Long)resumeCount);
+      Object surfaceReleaseCount = map.get("surfaceReleaseCount");
+      fromMapResult.surfaceReleaseCount = (surfaceReleaseCount == null) ? null : ((surfaceReleaseCount instanceof Integer) ? (Integer)surfaceReleaseCount : (Long)surfaceReleaseCount);
+      Object reclaimedSurfaceBytes = map.get("reclaimedSurfaceBytes");
+      fromMapResult.reclaimedSurfaceBytes = (reclaimedSurfaceBytes == null) ? null : ((reclaimedSurfaceBytes instanceof Integer) ? (Integer)reclaimedSurfaceBytes : (Long)reclaimedSurfaceBytes);
+      Object reclaimedHeapBytes = map.get("reclaimedHeapBytes");
+      fromMapResult.reclaimedHeapBytes = (reclaimedHeapBytes == null) ? null : ((reclaimedHeapBytes instanceof Integer) ? (Integer)reclaimedHeapBytes : (Long)reclaimedHeapBytes);
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class ProxyMessage {
+    private Boolean enable;
+    public Boolean getEnable() { return enable; }
+    public void setEnable(Boolean setterArg) { this.enable = setterArg; }
+
+    private Long readAhead;
+    public Long getReadAhead() { return readAhead; }
+    public void setReadAhead(Long setterArg) { this.readAhead = setterArg; }
+
+    private Long requestCount;
+    public Long getRequestCount() { return requestCount; }
+    public void setRequestCount(Long setterArg) { this.requestCount = setterArg; }
+
+    private Long sharedRequestCount;
+    public Long getSharedRequestCount() { return sharedRequestCount; }
+    public void setSharedRequestCount(Long setterArg) { this.sharedRequestCount = setterArg; }
+
+    private Long upstreamBytes;
+    public Long getUpstreamBytes() { return upstreamBytes; }
+    public void setUpstreamBytes(Long setterArg) { this.upstreamBytes = setterArg; }
+
+    private Long servedBytes;
+    public Long getServedBytes() { return servedBytes; }
+    public void setServedBytes(Long setterArg) { this.servedBytes = setterArg; }
+
+    HashMap toMap() {
+      HashMap<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("enable", enable);
+      toMapResult.put("readAhead", readAhead);
+      toMapResult.put("requestCount", requestCount);
+      toMapResult.put("sharedRequestCount", sharedRequestCount);
+      toMapResult.put("upstreamBytes", upstreamBytes);
+      toMapResult.put("servedBytes", servedBytes);
+      return toMapResult;
+    }
+    static ProxyMessage fromMap(HashMap map) {
+      ProxyMessage fromMapResult = new ProxyMessage();
+      Object enable = map.get("enable");
+      fromMapResult.enable = (Boolean)enable;
+      Object readAhead = map.get("readAhead");
+      fromMapResult.readAhead = (readAhead == null) ? null : ((readAhead instanceof Integer) ? (Integer)readAhead : (Long)readAhead);
+      Object requestCount = map.get("requestCount");
+      fromMapResult.requestCount = (requestCount == null) ? null : ((requestCount instanceof Integer) ? (Integer)requestCount : (Long)requestCount);
+      Object sharedRequestCount = map.get("sharedRequestCount");
+      fromMapResult.sharedRequestCount = (sharedRequestCount == null) ? null : ((sharedRequestCount instanceof Integer) ? (Integer)sharedRequestCount : (Long)sharedRequestCount);
+      Object upstreamBytes = map.get("upstreamBytes");
+      fromMapResult.upstreamBytes = (upstreamBytes == null) ? null : ((upstreamBytes instanceof Integer) ? (Integer)upstreamBytes : (Long)upstreamBytes);
+      Object servedBytes = map.get("servedBytes");
+      fromMapResult.servedBytes = (servedBytes == null) ? null : ((servedBytes instanceof Integer) ? (Integer)servedBytes : (Long)servedBytes);
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class DownloadMessage {
+    private String id;
+    public String getId() { return id; }
+    public void setId(String setterArg) { this.id = setterArg; }
+
+    private String url;
+    public String getUrl() { return url; }
+    public void setUrl(String setterArg) { this.url = setterArg; }
+
+    private Long connections;
+    public Long getConnections() { return connections; }
+    public void setConnections(Long setterArg) { this.connections = setterArg; }
+
+    private Long state;
+    public Long getState() { return state; }
+    public void setState(Long setterArg) { this.state = setterArg; }
+
+    private Long downloadedBytes;
+    public Long getDownloadedBytes() { return downloadedBytes; }
+    public void setDownloadedBytes(Long setterArg) { this.downloadedBytes = setterArg; }
+
+    private Long totalBytes;
+    public Long getTotalBytes() { return totalBytes; }
+    public void setTotalBytes(Long setterArg) { this.totalBytes = setterArg; }
+
+    private String localUri;
+    public String getLocalUri() { return localUri; }
+    public void setLocalUri(String setterArg) { this.localUri = setterArg; }
+
+    private String error;
+    public String getError() { return error; }
+    public void setError(String setterArg) { this.error = setterArg; }
+
+    HashMap toMap() {
+      HashMap<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("id", id);
+      toMapResult.put("url", url);
+      toMapResult.put("connections", connections);
+      toMapResult.put("state", state);
+      toMapResult.put("downloadedBytes", downloadedBytes);
+      toMapResult.put("totalBytes", totalBytes);
+      toMapResult.put("localUri", localUri);
+      toMapResult.put("error", error);
+      return toMapResult;
+    }
+    static DownloadMessage fromMap(HashMap map) {
+      DownloadMessage fromMapResult = new DownloadMessage();
+      Object id = map.get("id");
+      fromMapResult.id = (String)id;
+      Object url = map.get("url");
+      fromMapResult.url = (String)url;
+      Object connections = map.get("connections");
+      fromMapResult.connections = (connections == null) ? null : ((connections instanceof Integer) ? (Integer)connections : (Long)connections);
+      Object state = map.get("state");
+      fromMapResult.state = (state == null) ? null : ((state instanceof Integer) ? (Integer)state : (Long)state);
+      Object downloadedBytes = map.get("downloadedBytes");
+      fromMapResult.downloadedBytes = (downloadedBytes == null) ? null : ((downloadedBytes instanceof Integer) ? (Integer)downloadedBytes : (Long)downloadedBytes);
+      Object totalBytes = map.get("totalBytes");
+      fromMapResult.totalBytes = (totalBytes == null) ? null : ((totalBytes instanceof Integer) ? (Integer)totalBytes : (Long)totalBytes);
+      Object localUri = map.get("localUri");
+      fromMapResult.localUri = (String)localUri;
+      Object error = map.get("error");
+      fromMapResult.error = (String)error;
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class DownloadConfigMessage {
+    private Long maxConnections;
+    public Long getMaxConnections() { return maxConnections; }
+    public void setMaxConnections(Long setterArg) { this.maxConnections = setterArg; }
+
+    private Long maxBytesPerSecond;
+    public Long getMaxBytesPerSecond() { return maxBytesPerSecond; }
+    public void setMaxBytesPerSecond(Long setterArg) { this.maxBytesPerSecond = setterArg; }
+
+    HashMap toMap() {
+      HashMap<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("maxConnections", maxConnections);
+      toMapResult.put("maxBytesPerSecond", maxBytesPerSecond);
+      return toMapResult;
+    }
+    static DownloadConfigMessage fromMap(HashMap map) {
+      DownloadConfigMessage fromMapResult = new DownloadConfigMessage();
+      Object maxConnections = map.get("maxConnections");
+      fromMapResult.maxConnections = (maxConnections == null) ? null : ((maxConnections instanceof Integer) ? (Integer)maxConnections : (Long)maxConnections);
+      Object maxBytesPerSecond = map.get("maxBytesPerSecond");
+      fromMapResult.maxBytesPerSecond = (maxBytesPerSecond == null) ? null : ((maxBytesPerSecond instanceof Integer) ? (Integer)maxBytesPerSecond : (Long)maxBytesPerSecond);
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class DownloadListMessage {
+    private ArrayList downloads;
+    public ArrayList getDownloads() { return downloads; }
+    public void setDownloads(ArrayList setterArg) { this.downloads = setterArg; }
+
+    private Boolean restoring;
+    public Boolean getRestoring() { return restoring; }
+    public void setRestoring(Boolean setterArg) { this.restoring = setterArg; }
+
+    HashMap toMap() {
+      HashMap<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("downloads", downloads);
+      toMapResult.put("restoring", restoring);
+      return toMapResult;
+    }
+    static DownloadListMessage fromMap(HashMap map) {
+      DownloadListMessage fromMapResult = new DownloadListMessage();
+      Object downloads = map.get("downloads");
+      fromMapResult.downloads = (ArrayList)downloads;
+      Object restoring = map.get("restoring");
+      fromMapResult.restoring = (Boolean)restoring;
+      return fromMapResult;
+    }
+  }
+
+  /** Generated interface from Pigeon that represents a handler of messages from Flutter.*/
+  public interface VideoPlayerApi {
+    void initialize();
+    TextureMessage create(CreateMessage arg);
+    void dispose(TextureMessage arg);
+    void setLooping(LoopingMessage arg);
+    void setVolume(VolumeMessage arg);
+    void setBrightness(VolumeMessage arg);
+    void setSpeed(VolumeMessage arg);
+    BrightnessMessage getBrightness(TextureMessage arg);
+    void play(TextureMessage arg);
+    void prepare(TextureMessage arg);
+    void stop(TextureMessage arg);
+    void reload(TextureMessage arg);
+    void snapshot(TextureMessage arg);
+    void setScaleMode(PositionMessage arg);
+    void setMirrorMode(PositionMessage arg);
+    void selectTrack(PositionMessage arg);
+    PositionMessage position(TextureMessage arg);
+    void seekTo(PositionMessage arg);
+    void pause(TextureMessage arg);
+    void setPlayerPool(PlayerPoolMessage arg);
+    PlayerPoolMessage getPlayerPool();
+    PreloadMessage preload(PreloadMessage arg);
+    void setCacheConfig(CacheMessage arg);
+    CacheMessage getCacheStats();
+    void clearCache();
+    void setPositionUpdateInterval(PositionMessage arg);
+    MetricsMessage getMetrics(TextureMessage arg);
+    void setMetricsInterval(PositionMessage arg);
+    BatchMessage batch(BatchMessage arg);
+    void setGovernor(GovernorMessage arg);
+    GovernorMessage getGovernorStats();
+    void setPriority(PositionMessage arg);
+    void snapshotWithOptions(SnapshotMessage arg);
+    ExecutorStatsMessage getExecutorStats();
+    void setMaintenance(MaintenanceMessage arg);
+    MaintenanceMessage getMaintenanceStats();
+    void runMaintenance();
+    void setAbr(AbrMessage arg);
+    void seekWithMode(SeekMessage arg);
+    void setThumbnails(ThumbnailConfigMessage arg);
+    ThumbnailMessage getThumbnail(PositionMessage arg);
+    void setLifecyclePolicy(LifecycleMessage arg);
+    LifecycleMessage getLifecycleStats();
+    void setProxy(ProxyMessage arg);
+    ProxyMessage getProxyStats();
+    void setDownloadConfig(DownloadConfigMessage arg);
+    DownloadMessage startDownload(DownloadMessage arg);
+    void pauseDownload(DownloadMessage arg);
+    void removeDownload(DownloadMessage arg);
+    DownloadListMessage getDownloads();
+
+    /** Sets up an instance of `VideoPlayerApi` to handle messages through the `binaryMessenger` */
+    static void setup(BinaryMessenger binaryMessenger, VideoPlayerApi api) {
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.initialize", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              api.initialize();
+              wrapped.put("result", null);
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.create", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              CreateMessage input = CreateMessage.fromMap((HashMap)message);
+              TextureMessage output = api.create(input);
+              wrapped.put("result", output.toMap());
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.dispose", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              TextureMessage input = TextureMessage.fromMap((HashMap)message);
+              api.dispose(input);
+              wrapped.put("result", null);
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setLooping", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              LoopingMessage input = LoopingMessage.fromMap((HashMap)message);
+              api.setLooping(input);
+              wrapped.put("result", null);
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setVolume", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              VolumeMessage input = VolumeMessage.fromMap((HashMap)message);
+              api.setVolume(input);
+              wrapped.put("result", null);
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setBrightness", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              VolumeMessage input = VolumeMessage.fromMap((HashMap)message);
+              api.setBrightness(input);
+              wrapped.put("result", null);
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setSpeed", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              VolumeMessage input = VolumeMessage.fromMap((HashMap)message);
+              api.setSpeed(input);
+              wrapped.put("result", null);
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.getBrightness", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              TextureMessage input = TextureMessage.fromMap((HashMap)message);
+              BrightnessMessage output = api.getBrightness(input);
+              wrapped.put("result", output.toMap());
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.play", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              TextureMessage input = TextureMessage.fromMap((HashMap)message);
+              api.play(input);
+              wrapped.put("result", null);
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.prepare", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              TextureMessage input = TextureMessage.fromMap((HashMap)message);
+              api.prepare(input);
+              wrapped.put("result", null);
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.stop", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              TextureMessage input = TextureMessage.fromMap((HashMap)message);
+              api.stop(input);
+              wrapped.put("result", null);
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.reload", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              TextureMessage input = TextureMessage.fromMap((HashMap)message);
+              api.reload(input);
+              wrapped.put("result", null);
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.snapshot", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              TextureMessage input = TextureMessage.fromMap((HashMap)message);
+              api.snapshot(input);
+              wrapped.put("result", null);
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setScaleMode", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              PositionMessage input = PositionMessage.fromMap((HashMap)message);
+              api.setScaleMode(input);
+              wrapped.put("result", null);
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setMirrorMode", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              PositionMessage input = PositionMessage.fromMap((HashMap)message);
+              api.setMirrorMode(input);
+              wrapped.put("result", null);
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.selectTrack", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              PositionMessage input = PositionMessage.fromMap((HashMap)message);
+              api.selectTrack(input);
+              wrapped.put("result", null);
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.position", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              TextureMessage input = TextureMessage.fromMap((HashMap)message);
+              PositionMessage output = api.position(input);
+              wrapped.put("result", output.toMap());
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.seekTo", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              PositionMessage input = PositionMessage.fromMap((HashMap)message);
+              api.seekTo(input);
+              wrapped.put("result", null);
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.pause", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              TextureMessage input = TextureMessage.fromMap((HashMap)message);
+              api.pause(input);
+              wrapped.put("result", null);
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setPlayerPool", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              PlayerPoolMessage input = PlayerPoolMessage.fromMap((HashMap)message);
+              api.setPlayerPool(input);
+              wrapped.put("result", null);
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.initialize", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.getPlayerPool", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             HashMap<String, HashMap> wrapped = new HashMap<>();
             try {
-              api.initialize();
-              wrapped.put("result", null);
+              PlayerPoolMessage output = api.getPlayerPool();
+              wrapped.put("result", output.toMap());
             }
             catch (Exception exception) {
               wrapped.put("error", wrapError(exception));
@@ -221,14 +1789,14 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.create", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.preload", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             HashMap<String, HashMap> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              CreateMessage input = CreateMessage.fromMap((HashMap)message);
-              TextureMessage output = api.create(input);
+              PreloadMessage input = PreloadMessage.fromMap((HashMap)message);
+              PreloadMessage output = api.preload(input);
               wrapped.put("result", output.toMap());
             }
             catch (Exception exception) {
@@ -242,14 +1810,14 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.dispose", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setCacheConfig", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             HashMap<String, HashMap> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              TextureMessage input = TextureMessage.fromMap((HashMap)message);
-              api.dispose(input);
+              CacheMessage input = CacheMessage.fromMap((HashMap)message);
+              api.setCacheConfig(input);
               wrapped.put("result", null);
             }
             catch (Exception exception) {
@@ -263,14 +1831,52 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setLooping", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.getCacheStats", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              CacheMessage output = api.getCacheStats();
+              wrapped.put("result", output.toMap());
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.clearCache", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              api.clearCache();
+              wrapped.put("result", null);
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setPositionUpdateInterval", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             HashMap<String, HashMap> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              LoopingMessage input = LoopingMessage.fromMap((HashMap)message);
-              api.setLooping(input);
+              PositionMessage input = PositionMessage.fromMap((HashMap)message);
+              api.setPositionUpdateInterval(input);
               wrapped.put("result", null);
             }
             catch (Exception exception) {
@@ -284,14 +1890,35 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setVolume", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.getMetrics", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             HashMap<String, HashMap> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              VolumeMessage input = VolumeMessage.fromMap((HashMap)message);
-              api.setVolume(input);
+              TextureMessage input = TextureMessage.fromMap((HashMap)message);
+              MetricsMessage output = api.getMetrics(input);
+              wrapped.put("result", output.toMap());
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setMetricsInterval", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              PositionMessage input = PositionMessage.fromMap((HashMap)message);
+              api.setMetricsInterval(input);
               wrapped.put("result", null);
             }
             catch (Exception exception) {
@@ -305,14 +1932,35 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setBrightness", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.batch", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             HashMap<String, HashMap> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              VolumeMessage input = VolumeMessage.fromMap((HashMap)message);
-              api.setBrightness(input);
+              BatchMessage input = BatchMessage.fromMap((HashMap)message);
+              BatchMessage output = api.batch(input);
+              wrapped.put("result", output.toMap());
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setGovernor", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              GovernorMessage input = GovernorMessage.fromMap((HashMap)message);
+              api.setGovernor(input);
               wrapped.put("result", null);
             }
             catch (Exception exception) {
@@ -326,14 +1974,33 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setSpeed", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.getGovernorStats", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              GovernorMessage output = api.getGovernorStats();
+              wrapped.put("result", output.toMap());
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setPriority", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             HashMap<String, HashMap> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              VolumeMessage input = VolumeMessage.fromMap((HashMap)message);
-              api.setSpeed(input);
+              PositionMessage input = PositionMessage.fromMap((HashMap)message);
+              api.setPriority(input);
               wrapped.put("result", null);
             }
             catch (Exception exception) {
@@ -347,14 +2014,33 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.getBrightness", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.snapshotWithOptions", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             HashMap<String, HashMap> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              TextureMessage input = TextureMessage.fromMap((HashMap)message);
-              BrightnessMessage output = api.getBrightness(input);
+              SnapshotMessage input = SnapshotMessage.fromMap((HashMap)message);
+              api.snapshotWithOptions(input);
+              wrapped.put("result", null);
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.getExecutorStats", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              ExecutorStatsMessage output = api.getExecutorStats();
               wrapped.put("result", output.toMap());
             }
             catch (Exception exception) {
@@ -368,14 +2054,14 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.play", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setMaintenance", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             HashMap<String, HashMap> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              TextureMessage input = TextureMessage.fromMap((HashMap)message);
-              api.play(input);
+              MaintenanceMessage input = MaintenanceMessage.fromMap((HashMap)message);
+              api.setMaintenance(input);
               wrapped.put("result", null);
             }
             catch (Exception exception) {
@@ -389,14 +2075,31 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.prepare", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.getMaintenanceStats", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             HashMap<String, HashMap> wrapped = new HashMap<>();
             try {
-              @SuppressWarnings("ConstantConditions")
-              TextureMessage input = TextureMessage.fromMap((HashMap)message);
-              api.prepare(input);
+              MaintenanceMessage output = api.getMaintenanceStats();
+              wrapped.put("result", output.toMap());
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.runMaintenance", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              api.runMaintenance();
               wrapped.put("result", null);
             }
             catch (Exception exception) {
@@ -410,14 +2113,14 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.stop", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setAbr", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             HashMap<String, HashMap> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              TextureMessage input = TextureMessage.fromMap((HashMap)message);
-              api.stop(input);
+              AbrMessage input = AbrMessage.fromMap((HashMap)message);
+              api.setAbr(input);
               wrapped.put("result", null);
             }
             catch (Exception exception) {
@@ -431,14 +2134,14 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.reload", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.seekWithMode", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             HashMap<String, HashMap> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              TextureMessage input = TextureMessage.fromMap((HashMap)message);
-              api.reload(input);
+              SeekMessage input = SeekMessage.fromMap((HashMap)message);
+              api.seekWithMode(input);
               wrapped.put("result", null);
             }
             catch (Exception exception) {
@@ -452,14 +2155,14 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.snapshot", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setThumbnails", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             HashMap<String, HashMap> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              TextureMessage input = TextureMessage.fromMap((HashMap)message);
-              api.snapshot(input);
+              ThumbnailConfigMessage input = ThumbnailConfigMessage.fromMap((HashMap)message);
+              api.setThumbnails(input);
               wrapped.put("result", null);
             }
             catch (Exception exception) {
@@ -473,14 +2176,35 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setScaleMode", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.getThumbnail", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             HashMap<String, HashMap> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
               PositionMessage input = PositionMessage.fromMap((HashMap)message);
-              api.setScaleMode(input);
+              ThumbnailMessage output = api.getThumbnail(input);
+              wrapped.put("result", output.toMap());
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setLifecyclePolicy", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              LifecycleMessage input = LifecycleMessage.fromMap((HashMap)message);
+              api.setLifecyclePolicy(input);
               wrapped.put("result", null);
             }
             catch (Exception exception) {
@@ -494,14 +2218,33 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setMirrorMode", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.getLifecycleStats", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              LifecycleMessage output = api.getLifecycleStats();
+              wrapped.put("result", output.toMap());
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setProxy", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             HashMap<String, HashMap> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              PositionMessage input = PositionMessage.fromMap((HashMap)message);
-              api.setMirrorMode(input);
+              ProxyMessage input = ProxyMessage.fromMap((HashMap)message);
+              api.setProxy(input);
               wrapped.put("result", null);
             }
             catch (Exception exception) {
@@ -515,14 +2258,33 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.selectTrack", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.getProxyStats", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              ProxyMessage output = api.getProxyStats();
+              wrapped.put("result", output.toMap());
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setDownloadConfig", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             HashMap<String, HashMap> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              PositionMessage input = PositionMessage.fromMap((HashMap)message);
-              api.selectTrack(input);
+              DownloadConfigMessage input = DownloadConfigMessage.fromMap((HashMap)message);
+              api.setDownloadConfig(input);
               wrapped.put("result", null);
             }
             catch (Exception exception) {
@@ -536,14 +2298,14 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.position", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.startDownload", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             HashMap<String, HashMap> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              TextureMessage input = TextureMessage.fromMap((HashMap)message);
-              PositionMessage output = api.position(input);
+              DownloadMessage input = DownloadMessage.fromMap((HashMap)message);
+              DownloadMessage output = api.startDownload(input);
               wrapped.put("result", output.toMap());
             }
             catch (Exception exception) {
@@ -557,14 +2319,14 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.seekTo", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.pauseDownload", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             HashMap<String, HashMap> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              PositionMessage input = PositionMessage.fromMap((HashMap)message);
-              api.seekTo(input);
+              DownloadMessage input = DownloadMessage.fromMap((HashMap)message);
+              api.pauseDownload(input);
               wrapped.put("result", null);
             }
             catch (Exception exception) {
@@ -578,14 +2340,14 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.pause", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.removeDownload", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             HashMap<String, HashMap> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              TextureMessage input = TextureMessage.fromMap((HashMap)message);
-              api.pause(input);
+              DownloadMessage input = DownloadMessage.fromMap((HashMap)message);
+              api.removeDownload(input);
               wrapped.put("result", null);
             }
             catch (Exception exception) {
@@ -597,6 +2359,25 @@ public class Messages {
           channel.setMessageHandler(null);
         }
       }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.getDownloads", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            HashMap<String, HashMap> wrapped = new HashMap<>();
+            try {
+              DownloadListMessage output = api.getDownloads();
+              wrapped.put("result", output.toMap());
+            }
+            catch (Exception exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
     }
   }
   private static HashMap wrapError(Exception exception) {
@@ -0,0 +1,224 @@
+package io.flutter.plugins.videoplayer;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+
+/**
+ * Keeps the native resources of concurrent {@link VideoPlayer}s within a budget.
+ *
+ * <p>Every player has a priority set from Dart, usually from its visibility: {@link
+ * #PRIORITY_HIDDEN} for players scrolled off screen and higher values for the ones the user can
+ * see. Players are ranked by priority, the most recently raised first, and each one is demoted
+ * along a ladder where every step frees one more resource:
+ *
+ * <pre>
+ *   LEVEL_PAUSED            playback            hidden players
+ *   LEVEL_STOPPED           decoder, buffer     rank >= maxActiveDecoders, or over maxBufferedBytes
+ *   LEVEL_SURFACE_RELEASED  Surface             rank >= maxSurfaces
+ *   LEVEL_RELEASED          AliPlayer           rank >= maxPlayers
+ * </pre>
+ *
+ * <p>Demoted players are restored lazily: a visible player that fits the budget again is brought
+ * back to {@link #LEVEL_PAUSED}, and any player is restored when it receives a command that needs
+ * the decoder, see {@link VideoPlayer#restore}.
+ *
+ * <p>The governor is off until {@link #setConfig} enables it. All methods must be called on the
+ * platform thread.
+ */
+final class PlayerGovernor {
+  static final int LEVEL_ACTIVE = 0;
+  static final int LEVEL_PAUSED = 1;
+  static final int LEVEL_STOPPED = 2;
+  static final int LEVEL_SURFACE_RELEASED = 3;
+  static final int LEVEL_RELEASED = 4;
+
+  static final int PRIORITY_HIDDEN = 0;
+  static final int DEFAULT_PRIORITY = 1;
+
+  static final int DEFAULT_MAX_ACTIVE_DECODERS = 3;
+  static final int DEFAULT_MAX_SURFACES = 6;
+  static final int DEFAULT_MAX_PLAYERS = 8;
+  static final long DEFAULT_MAX_BUFFERED_BYTES = 64L * 1024 * 1024;
+
+  // 缓冲变化引起的重新计算最多每秒一次
+  private static final long INVALIDATE_DELAY = 1000;
+
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final ArrayList<Entry> entries = new ArrayList<>();
+  private long nextSequence;
+
+  private boolean enabled = false;
+  private int maxActiveDecoders = DEFAULT_MAX_ACTIVE_DECODERS;
+  private int maxSurfaces = DEFAULT_MAX_SURFACES;
+  private int maxPlayers = DEFAULT_MAX_PLAYERS;
+  private long maxBufferedBytes = DEFAULT_MAX_BUFFERED_BYTES;
+
+  private long demotionCount;
+  private long restoreCount;
+  private boolean enforceScheduled;
+
+  private final Runnable enforceRunnable = new Runnable() {
+    @Override
+    public void run() {
+      enforce();
+    }
+  };
+
+  private static final Comparator<Entry> RANK = new Comparator<Entry>() {
+    @Override
+    public int compare(Entry a, Entry b) {
+      if (a.priority != b.priority) {
+        return Integer.compare(b.priority, a.priority);
+      }
+      return Long.compare(b.sequence, a.sequence);
+    }
+  };
+
+  void setConfig(Messages.GovernorMessage arg) {
+    if (arg.getEnable() != null) {
+      enabled = arg.getEnable();
+    }
+    if (arg.getMaxActiveDecoders() != null) {
+      maxActiveDecoders = Math.max(1, arg.getMaxActiveDecoders().intValue());
+    }
+    if (arg.getMaxSurfaces() != null) {
+      maxSurfaces = Math.max(1, arg.getMaxSurfaces().intValue());
+    }
+    if (arg.getMaxPlayers() != null) {
+      maxPlayers = Math.max(1, arg.getMaxPlayers().intValue());
+    }
+    if (arg.getMaxBufferedBytes() != null) {
+      maxBufferedBytes = arg.getMaxBufferedBytes();
+    }
+    enforce();
+  }
+
+  Messages.GovernorMessage getStats() {
+    long activeDecoders = 0;
+    long bufferedBytes = 0;
+    for (Entry entry : entries) {
+      if (entry.player.getLevel() < LEVEL_STOPPED) {
+        activeDecoders++;
+        bufferedBytes += entry.player.getBufferedBytes();
+      }
+    }
+    Messages.GovernorMessage result = new Messages.GovernorMessage();
+    result.setEnable(enabled);
+    result.setMaxActiveDecoders((long) maxActiveDecoders);
+    result.setMaxSurfaces((long) maxSurfaces);
+    result.setMaxPlayers((long) maxPlayers);
+    result.setMaxBufferedBytes(maxBufferedBytes);
+    result.setActiveDecoders(activeDecoders);
+    result.setBufferedBytes(bufferedBytes);
+    result.setDemotionCount(demotionCount);
+    result.setRestoreCount(restoreCount);
+    return result;
+  }
+
+  void register(VideoPlayer player) {
+    entries.add(new Entry(player, DEFAULT_PRIORITY, nextSequence++));
+    enforce();
+  }
+
+  void unregister(VideoPlayer player) {
+    Entry entry = find(player);
+    if (entry != null) {
+      entries.remove(entry);
+      enforce();
+    }
+  }
+
+  /** Sets the priority of {@code player}; a raised priority also ranks it above its peers. */
+  void setPriority(VideoPlayer player, int priority) {
+    Entry entry = find(player);
+    if (entry == null) {
+      return;
+    }
+    if (priority > entry.priority) {
+      entry.sequence = nextSequence++;
+    }
+    entry.priority = priority;
+    enforce();
+  }
+
+  /** Schedules a new pass after the buffers or the state of a player changed. */
+  void invalidate() {
+    if (enabled && !enforceScheduled) {
+      enforceScheduled = true;
+      handler.postDelayed(enforceRunnable, INVALIDATE_DELAY);
+    }
+  }
+
+  void clear() {
+    enforceScheduled = false;
+    handler.removeCallbacks(enforceRunnable);
+    entries.clear();
+  }
+
+  /** Demotes the players over the budget and restores the visible ones that fit again. */
+  private void enforce() {
+    enforceScheduled = false;
+    handler.removeCallbacks(enforceRunnable);
+    if (!enabled) {
+      return;
+    }
+    ArrayList<Entry> ranked = new ArrayList<>(entries);
+    Collections.sort(ranked, RANK);
+    long bufferedBytes = 0;
+    for (int rank = 0; rank < ranked.size(); rank++) {
+      Entry entry = ranked.get(rank);
+      VideoPlayer player = entry.player;
+      int level = entry.priority <= PRIORITY_HIDDEN ? LEVEL_PAUSED : LEVEL_ACTIVE;
+      bufferedBytes += player.getBufferedBytes();
+      // 排名第一的播放器总是保留缓冲
+      if (rank >= maxActiveDecoders || (rank > 0 && bufferedBytes > maxBufferedBytes)) {
+        level = LEVEL_STOPPED;
+      }
+      if (rank >= maxSurfaces) {
+        level = LEVEL_SURFACE_RELEASED;
+      }
+      if (rank >= maxPlayers) {
+        level = LEVEL_RELEASED;
+      }
+
+      int current = player.getLevel();
+      if (level > current) {
+        if (player.demoteTo(level)) {
+          demotionCount++;
+        }
+      } else if (level <= LEVEL_PAUSED
+          && current > LEVEL_PAUSED
+          && entry.priority > PRIORITY_HIDDEN) {
+        if (player.restore()) {
+          restoreCount++;
+        }
+      }
+    }
+  }
+
+  private Entry find(VideoPlayer player) {
+    for (Entry entry : entries) {
+      if (entry.player == player) {
+        return entry;
+      }
+    }
+    return null;
+  }
+
+  private static final class Entry {
+    final VideoPlayer player;
+    int priority;
+    // 优先级提升的先后，越大越新
+    long sequence;
+
+    Entry(VideoPlayer player, int priority, long sequence) {
+      this.player = player;
+      this.priority = priority;
+      this.sequence = sequence;
+    }
+  }
+}
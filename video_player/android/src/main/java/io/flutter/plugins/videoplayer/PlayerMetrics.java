@@ -0,0 +1,168 @@
+package io.flutter.plugins.videoplayer;
+
+import android.os.SystemClock;
+
+import com.aliyun.player.IPlayer;
+
+import java.util.ArrayList;
+
+/**
+ * Quality of experience counters of one {@link VideoPlayer} session.
+ *
+ * <p>Lifecycle stages are recorded as {@link SystemClock#uptimeMillis} timestamps and reported
+ * relative to the creation of the player. A loading that starts after the first frame and outside a
+ * seek counts as a rebuffer.
+ *
+ * <p>All methods must be called on the platform thread, where AliPlayer delivers its callbacks.
+ */
+final class PlayerMetrics {
+  /** Number of recent bandwidth samples kept. */
+  static final int KBPS_SAMPLE_COUNT = 32;
+
+  private final long createTime;
+  private boolean preloaded;
+  private long preparedTime = -1;
+  private long firstFrameTime = -1;
+  private long firstLoadingEndTime = -1;
+
+  private long playingDuration;
+  private long playingSince = -1;
+
+  private long rebufferCount;
+  private long rebufferDuration;
+  private long rebufferSince = -1;
+
+  private long networkRetryCount;
+
+  private long seekCount;
+  private long seekSince = -1;
+  private long lastSeekLatency = -1;
+  private long totalSeekLatency;
+
+  private final float[] kbpsSamples = new float[KBPS_SAMPLE_COUNT];
+  private int kbpsSampleCount;
+  private int kbpsSampleNext;
+  private double kbpsSum;
+  private long kbpsTotalCount;
+
+  PlayerMetrics() {
+    createTime = SystemClock.uptimeMillis();
+  }
+
+  void onPrepared(boolean preloaded) {
+    if (preparedTime < 0) {
+      this.preloaded = preloaded;
+      preparedTime = SystemClock.uptimeMillis();
+    }
+  }
+
+  void onFirstFrame() {
+    if (firstFrameTime < 0) {
+      firstFrameTime = SystemClock.uptimeMillis();
+    }
+  }
+
+  void onStateChanged(int state) {
+    long now = SystemClock.uptimeMillis();
+    if (state == IPlayer.started) {
+      if (playingSince < 0) {
+        playingSince = now;
+      }
+    } else if (playingSince >= 0) {
+      playingDuration += now - playingSince;
+      playingSince = -1;
+    }
+  }
+
+  void onLoadingBegin() {
+    if (firstFrameTime >= 0 && seekSince < 0 && rebufferSince < 0) {
+      rebufferCount++;
+      rebufferSince = SystemClock.uptimeMillis();
+    }
+  }
+
+  /** Whether the loading in progress counts as a rebuffer. */
+  boolean isRebuffering() {
+    return rebufferSince >= 0;
+  }
+
+  void onLoadingProgress(float kbps) {
+    if (kbps <= 0) {
+      return;
+    }
+    kbpsSamples[kbpsSampleNext] = kbps;
+    kbpsSampleNext = (kbpsSampleNext + 1) % KBPS_SAMPLE_COUNT;
+    kbpsSampleCount = Math.min(kbpsSampleCount + 1, KBPS_SAMPLE_COUNT);
+    kbpsSum += kbps;
+    kbpsTotalCount++;
+  }
+
+  void onLoadingEnd() {
+    long now = SystemClock.uptimeMillis();
+    if (firstLoadingEndTime < 0) {
+      firstLoadingEndTime = now;
+    }
+    if (rebufferSince >= 0) {
+      rebufferDuration += now - rebufferSince;
+      rebufferSince = -1;
+    }
+  }
+
+  void onNetworkRetry() {
+    networkRetryCount++;
+  }
+
+  void onSeekStart() {
+    seekCount++;
+    // 连续拖动时以第一次seek的时间为准
+    if (seekSince < 0) {
+      seekSince = SystemClock.uptimeMillis();
+    }
+  }
+
+  void onSeekComplete() {
+    if (seekSince < 0) {
+      return;
+    }
+    lastSeekLatency = SystemClock.uptimeMillis() - seekSince;
+    totalSeekLatency += lastSeekLatency;
+    seekSince = -1;
+  }
+
+  /** Average of every bandwidth sample in kbps, or 0 before the first one. */
+  double getAverageKbps() {
+    return kbpsTotalCount > 0 ? kbpsSum / kbpsTotalCount : 0;
+  }
+
+  /** Returns the counters so far, including the stages still in progress. */
+  Messages.MetricsMessage toMessage(long textureId, QueuingEventSink eventSink) {
+    long now = SystemClock.uptimeMillis();
+    Messages.MetricsMessage result = new Messages.MetricsMessage();
+    result.setTextureId(textureId);
+    result.setTimeToPrepared(sinceCreate(preparedTime));
+    result.setTimeToFirstFrame(sinceCreate(firstFrameTime));
+    result.setTimeToFirstLoadingEnd(sinceCreate(firstLoadingEndTime));
+    result.setPreloaded(preloaded);
+    result.setPlayingDuration(playingDuration + (playingSince >= 0 ? now - playingSince : 0));
+    result.setRebufferCount(rebufferCount);
+    result.setRebufferDuration(rebufferDuration + (rebufferSince >= 0 ? now - rebufferSince : 0));
+    result.setNetworkRetryCount(networkRetryCount);
+    result.setSeekCount(seekCount);
+    result.setLastSeekLatency(lastSeekLatency >= 0 ? lastSeekLatency : null);
+    result.setTotalSeekLatency(totalSeekLatency);
+    ArrayList<Double> samples = new ArrayList<>(kbpsSampleCount);
+    int first = (kbpsSampleNext - kbpsSampleCount + KBPS_SAMPLE_COUNT) % KBPS_SAMPLE_COUNT;
+    for (int i = 0; i < kbpsSampleCount; i++) {
+      samples.add((double) kbpsSamples[(first + i) % KBPS_SAMPLE_COUNT]);
+    }
+    result.setKbpsSamples(samples);
+    result.setAverageKbps(kbpsTotalCount > 0 ? kbpsSum / kbpsTotalCount : null);
+    result.setEventsDelivered(eventSink.getDeliveredCount());
+    result.setEventsCoalesced(eventSink.getCoalescedCount());
+    return result;
+  }
+
+  private Long sinceCreate(long time) {
+    return time >= 0 ? time - createTime : null;
+  }
+}
@@ -0,0 +1,176 @@
+package io.flutter.plugins.videoplayer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The players of the plugin by texture id.
+ *
+ * <p>Lookups read an immutable open-addressing table through one volatile field, so {@link #get}
+ * is a hash and usually a single probe, takes no lock and may be called from any thread. Writes
+ * build a new table under the registry lock and publish it; they only happen on create and
+ * dispose.
+ *
+ * <p>{@link #remove} and {@link #removeAll} hand each value to exactly one caller, which is then
+ * the only one that disposes it. A player that is being disposed is no longer returned by {@link
+ * #get}, so a worker that looks a player up after the dispose started finds nothing rather than a
+ * released player.
+ */
+final class PlayerRegistry<T> {
+  private static final int MIN_CAPACITY = 8;
+
+  private static final class Table {
+    static final Table EMPTY = new Table(new long[MIN_CAPACITY], new Object[MIN_CAPACITY], 0);
+
+    final long[] keys;
+    // null表示空槽位
+    final Object[] values;
+    final int size;
+
+    Table(long[] keys, Object[] values, int size) {
+      this.keys = keys;
+      this.values = values;
+      this.size = size;
+    }
+  }
+
+  private volatile Table table = Table.EMPTY;
+
+  private static int slot(long key, int mask) {
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+
+  private static int indexOf(Table table, long key) {
+    int mask = table.keys.length - 1;
+    for (int i = slot(key, mask); table.values[i] != null; i = (i + 1) & mask) {
+      if (table.keys[i] == key) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @SuppressWarnings("unchecked")
+  T get(long textureId) {
+    Table current = table;
+    int index = indexOf(current, textureId);
+    return index >= 0 ? (T) current.values[index] : null;
+  }
+
+  int size() {
+    return table.size;
+  }
+
+  boolean isEmpty() {
+    return table.size == 0;
+  }
+
+  /** Adds or replaces the value of {@code textureId}. */
+  synchronized void put(long textureId, T value) {
+    if (value == null) {
+      throw new NullPointerException("value");
+    }
+    Table current = table;
+    int index = indexOf(current, textureId);
+    if (index >= 0) {
+      Object[] values = Arrays.copyOf(current.values, current.values.length);
+      values[index] = value;
+      table = new Table(current.keys, values, current.size);
+      return;
+    }
+    int capacity = current.keys.length;
+    // 装载因子不超过1/2，保证探测序列很短
+    while ((current.size + 1) * 2 > capacity) {
+      capacity *= 2;
+    }
+    Table next = rehash(current, capacity, -1);
+    insert(next.keys, next.values, textureId, value);
+    table = new Table(next.keys, next.values, current.size + 1);
+  }
+
+  /**
+   * Removes {@code textureId}.
+   *
+   * @return the removed value, or null when it was not registered or another caller removed it
+   *     first
+   */
+  @SuppressWarnings("unchecked")
+  synchronized T remove(long textureId) {
+    Table current = table;
+    int index = indexOf(current, textureId);
+    if (index < 0) {
+      return null;
+    }
+    int capacity = current.keys.length;
+    while (capacity > MIN_CAPACITY && (current.size - 1) * 8 < capacity) {
+      capacity /= 2;
+    }
+    // 线性探测不能直接清空槽位，重建整张表
+    Table next = rehash(current, capacity, index);
+    table = new Table(next.keys, next.values, current.size - 1);
+    return (T) current.values[index];
+  }
+
+  /** Removes every value and returns them, for the caller to dispose. */
+  @SuppressWarnings("unchecked")
+  synchronized List<T> removeAll() {
+    Table current = table;
+    table = Table.EMPTY;
+    List<T> result = new ArrayList<>(current.size);
+    for (Object value : current.values) {
+      if (value != null) {
+        result.add((T) value);
+      }
+    }
+    return result;
+  }
+
+  /** The registered texture ids, at the time of the call. */
+  long[] keys() {
+    Table current = table;
+    long[] result = new long[current.size];
+    int count = 0;
+    for (int i = 0; i < current.values.length; i++) {
+      if (current.values[i] != null) {
+        result[count++] = current.keys[i];
+      }
+    }
+    return result;
+  }
+
+  /** The registered values, at the time of the call. */
+  @SuppressWarnings("unchecked")
+  List<T> values() {
+    Table current = table;
+    List<T> result = new ArrayList<>(current.size);
+    for (Object value : current.values) {
+      if (value != null) {
+        result.add((T) value);
+      }
+    }
+    return result;
+  }
+
+  private static Table rehash(Table current, int capacity, int skip) {
+    long[] keys = new long[capacity];
+    Object[] values = new Object[capacity];
+    for (int i = 0; i < current.values.length; i++) {
+      if (i != skip && current.values[i] != null) {
+        insert(keys, values, current.keys[i], current.values[i]);
+      }
+    }
+    return new Table(keys, values, 0);
+  }
+
+  private static void insert(long[] keys, Object[] values, long key, Object value) {
+    int mask = keys.length - 1;
+    int i = slot(key, mask);
+    while (values[i] != null) {
+      i = (i + 1) & mask;
+    }
+    keys[i] = key;
+    values[i] = value;
+  }
+}
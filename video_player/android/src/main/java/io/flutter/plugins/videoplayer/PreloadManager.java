@@ -0,0 +1,230 @@
+package io.flutter.plugins.videoplayer;
+
+import android.os.Handler;
+
+import com.aliyun.player.AliPlayer;
+import com.aliyun.player.IPlayer;
+import com.aliyun.player.nativeclass.MediaInfo;
+import com.aliyun.player.nativeclass.PlayerConfig;
+import com.aliyun.player.nativeclass.TrackInfo;
+import com.aliyun.player.source.UrlSource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import io.flutter.plugins.videoplayer.utils.ThreadUtils;
+
+/**
+ * Keeps the upcoming items of a feed prepared ahead of playback.
+ *
+ * <p>Every call to {@link #preload} describes the whole window: sources in the window that are not
+ * loaded yet are prepared on a pooled {@link AliPlayer}, and sources that left the window are
+ * cancelled and their players given back to the {@link AliPlayerPool}. A later create can {@link
+ * #adopt} a preloaded player by its handle instead of preparing the source again.
+ *
+ * <p>Like {@code VideoPlayer}, the player is taken from the pool and configured on the create
+ * thread, since the pool may have to build a new one, and prepared once it is back on the platform
+ * thread. A source adopted before its player arrived is cancelled and created normally.
+ *
+ * <p>All methods must be called on the platform thread.
+ */
+final class PreloadManager {
+  /** Buffer kept by a preloaded player when the caller does not set a budget, in ms. */
+  static final int DEFAULT_BUFFER_DURATION = 5000;
+
+  private final AliPlayerPool playerPool;
+  private final CacheManager cacheManager;
+  private final LocalProxy proxy;
+  private final Handler createHandler;
+  private final Map<String, Preloaded> entries = new HashMap<>();
+  private long nextHandle = 1;
+
+  PreloadManager(
+      AliPlayerPool playerPool, CacheManager cacheManager, LocalProxy proxy, Handler createHandler) {
+    this.playerPool = playerPool;
+    this.cacheManager = cacheManager;
+    this.proxy = proxy;
+    this.createHandler = createHandler;
+  }
+
+  /**
+   * Prepares the first {@code window} sources of {@code uris} and cancels everything else.
+   *
+   * @param uris sources ordered by priority, usually the current item's neighbours
+   * @param window the maximum number of sources kept prepared
+   * @param bufferDuration how much media each preloaded player may buffer, in ms
+   * @param bufferBytes how many bytes each preloaded player may buffer once the bitrate is known,
+   *     0 for no byte limit
+   * @return the handles of the preloaded sources, in the order of {@code uris}; null for the
+   *     sources outside the window
+   */
+  List<Long> preload(List<String> uris, int window, int bufferDuration, long bufferBytes) {
+    Map<String, Preloaded> kept = new HashMap<>();
+    List<Long> handles = new ArrayList<>(uris.size());
+    for (int i = 0; i < uris.size(); i++) {
+      String uri = uris.get(i);
+      if (i >= window || uri == null) {
+        handles.add(null);
+        continue;
+      }
+      Preloaded entry = entries.remove(uri);
+      if (entry == null) {
+        entry = kept.get(uri);
+      }
+      if (entry == null) {
+        entry = start(uri, bufferDuration, bufferBytes);
+      }
+      kept.put(uri, entry);
+      handles.add(entry.handle);
+    }
+    cancelAll();
+    entries.putAll(kept);
+    return handles;
+  }
+
+  /**
+   * Hands a preloaded player over to a {@link VideoPlayer}.
+   *
+   * @return the preloaded source, or null when the handle is unknown or belongs to another uri
+   */
+  Preloaded adopt(long handle, String uri) {
+    Iterator<Preloaded> iterator = entries.values().iterator();
+    while (iterator.hasNext()) {
+      Preloaded entry = iterator.next();
+      if (entry.handle == handle) {
+        if (!entry.uri.equals(uri)) {
+          return null;
+        }
+        iterator.remove();
+        if (entry.player == null) {
+          // 播放器还在创建线程上，放弃预加载，由create正常创建
+          entry.cancelled = true;
+          return null;
+        }
+        entry.detach();
+        return entry;
+      }
+    }
+    return null;
+  }
+
+  /** Cancels every preloaded source. */
+  void clear() {
+    cancelAll();
+  }
+
+  private Preloaded start(final String uri, final int bufferDuration, final long bufferBytes) {
+    final Preloaded entry = new Preloaded(nextHandle++, uri);
+    // 与VideoPlayer一致，预加载和之后接管它的播放器共用代理的下载
+    final String playbackUri = cacheManager.isEnabled() ? uri : proxy.route(uri, null);
+    createHandler.post(new Runnable() {
+      @Override
+      public void run() {
+        // 池为空时会新建播放器，不能放在主线程
+        final AliPlayer player = playerPool.acquire();
+        PlayerConfig config = player.getConfig();
+        entry.maxBufferDuration = config.mMaxBufferDuration;
+        //预加载只缓冲有限的时长，避免占用过多带宽
+        config.mMaxBufferDuration = Math.max(config.mHighBufferDuration, bufferDuration);
+        player.setConfig(config);
+        player.setAutoPlay(false);
+
+        cacheManager.apply(player);
+        cacheManager.onSourceOpened(player, uri);
+        UrlSource urlSource = new UrlSource();
+        urlSource.setUri(playbackUri);
+        player.setDataSource(urlSource);
+
+        ThreadUtils.runOnUiThread(new Runnable() {
+          @Override
+          public void run() {
+            if (entry.cancelled) {
+              playerPool.release(player);
+              return;
+            }
+            entry.player = player;
+            player.setOnPreparedListener(new IPlayer.OnPreparedListener() {
+              @Override
+              public void onPrepared() {
+                entry.prepared = true;
+                if (bufferBytes > 0) {
+                  limitBytes(player, bufferBytes);
+                }
+              }
+            });
+            player.prepare();
+          }
+        });
+      }
+    });
+    return entry;
+  }
+
+  /**
+   * Lowers the buffer limit of a prepared player so that it holds about {@code bytes}, using the
+   * highest video bitrate of the source. Does nothing when the bitrate is not reported.
+   */
+  private static void limitBytes(AliPlayer player, long bytes) {
+    MediaInfo mediaInfo = player.getMediaInfo();
+    int bitrate = 0;
+    if (mediaInfo != null && mediaInfo.getTrackInfos() != null) {
+      for (TrackInfo info : mediaInfo.getTrackInfos()) {
+        if (info.getType() == TrackInfo.Type.TYPE_VIDEO) {
+          bitrate = Math.max(bitrate, info.getVideoBitrate());
+        }
+      }
+    }
+    if (bitrate <= 0) {
+      return;
+    }
+    long duration = bytes * 8 * 1000 / bitrate;
+    PlayerConfig config = player.getConfig();
+    if (duration < config.mMaxBufferDuration) {
+      config.mMaxBufferDuration = (int) Math.max(config.mHighBufferDuration, duration);
+      player.setConfig(config);
+    }
+  }
+
+  private void cancelAll() {
+    for (Preloaded entry : entries.values()) {
+      entry.cancelled = true;
+      if (entry.player != null) {
+        playerPool.release(entry.player);
+      }
+    }
+    entries.clear();
+  }
+
+  /** A source prepared ahead of playback. */
+  static final class Preloaded {
+    final long handle;
+    final String uri;
+    // 在创建线程上获取，回到主线程后才赋值
+    AliPlayer player;
+    private boolean prepared;
+    private boolean cancelled;
+    // 只在创建线程上写入，主线程在player赋值之后才读取
+    private volatile int maxBufferDuration;
+
+    private Preloaded(long handle, String uri) {
+      this.handle = handle;
+      this.uri = uri;
+    }
+
+    /** Whether the player has already reported {@code onPrepared}. */
+    boolean isPrepared() {
+      return prepared;
+    }
+
+    /** Removes the preload listener and restores the buffer limit for normal playback. */
+    private void detach() {
+      player.setOnPreparedListener(null);
+      PlayerConfig config = player.getConfig();
+      config.mMaxBufferDuration = maxBufferDuration;
+      player.setConfig(config);
+    }
+  }
+}
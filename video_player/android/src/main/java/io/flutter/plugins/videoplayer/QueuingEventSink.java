@@ -4,8 +4,18 @@
 
 package io.flutter.plugins.videoplayer;
 
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
 import io.flutter.plugin.common.EventChannel;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * And implementation of {@link EventChannel.EventSink} which can wrap an underlying sink.
@@ -13,62 +23,280 @@ import java.util.ArrayList;
  * <p>It delivers messages immediately when downstream is available, but it queues messages before
  * the delegate event sink is set with setDelegate.
  *
- * <p>This class is not thread-safe. All calls must be done on the same thread or synchronized
- * externally.
+ * <p>When a coalesce window is set with {@link #setCoalesceWindow}, high frequency events of the
+ * same type are held for up to one window and only the latest one is delivered. Any other event,
+ * errors and end of stream flush the held events first so that ordering is kept.
+ *
+ * <p>{@link #success}, {@link #error} and {@link #endOfStream} may be called from any thread.
+ * Events are pushed onto a lock-free queue and drained in batches on the main thread, with at most
+ * one pending post to the main looper at a time. Events sent from the main thread skip that queue
+ * and, when nothing is held, go straight to the delegate. {@link #setDelegate} and {@link
+ * #setCoalesceWindow} must be called on the main thread.
+ *
+ * <p>An {@link EventFrame} belongs to its producer once {@code success} returns. Frames that have
+ * to be held are copied, into recycled frames on the main thread, and a coalesced frame is
+ * overwritten in place, so that a steady stream of frames allocates nothing.
  */
 final class QueuingEventSink implements EventChannel.EventSink {
+  /** Coalescing is disabled, every event is delivered as soon as possible. */
+  static final long COALESCE_DISABLED = -1;
+  /** Held events are delivered on the next vsync. */
+  static final long COALESCE_VSYNC = 0;
+
+  // 回收的EventFrame数量上限，每种高频事件最多同时持有一个
+  private static final int MAX_SPARE_FRAMES = 8;
+
+  /** Event types that only matter for their latest value. */
+  private static final Set<String> COALESCIBLE_EVENTS =
+      new HashSet<>(
+          Arrays.asList("loadingProgress", "stateChanged", "bufferingUpdate", "position"));
+
+  // Written by any producer thread, drained on the main thread only.
+  private final ConcurrentLinkedQueue<Object> incoming = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private volatile boolean done = false;
+
+  // Main thread only.
   private EventChannel.EventSink delegate;
-  private ArrayList<Object> eventQueue = new ArrayList<>();
-  private boolean done = false;
+  private final ArrayList<Object> eventQueue = new ArrayList<>();
+  private boolean endOfStreamQueued = false;
+  private long coalesceWindow = COALESCE_DISABLED;
+  private boolean flushScheduled = false;
+  private final ArrayList<EventFrame> spareFrames = new ArrayList<>();
+
+  private volatile long deliveredCount;
+  private volatile long coalescedCount;
+
+  private final Runnable drainRunnable =
+      new Runnable() {
+        @Override
+        public void run() {
+          drainScheduled.set(false);
+          drain();
+        }
+      };
+
+  private final Runnable flushRunnable =
+      new Runnable() {
+        @Override
+        public void run() {
+          flushScheduled = false;
+          maybeFlush();
+        }
+      };
+
+  private final Choreographer.FrameCallback frameCallback =
+      new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+          flushScheduled = false;
+          maybeFlush();
+        }
+      };
 
   public void setDelegate(EventChannel.EventSink delegate) {
     this.delegate = delegate;
-    maybeFlush();
+    drain();
+  }
+
+  /**
+   * Sets how long high frequency events are held before delivery, in milliseconds.
+   *
+   * <p>Use {@link #COALESCE_VSYNC} to deliver them once per frame and {@link #COALESCE_DISABLED}
+   * to turn coalescing off.
+   */
+  void setCoalesceWindow(long windowMs) {
+    coalesceWindow = windowMs < 0 ? COALESCE_DISABLED : windowMs;
+    if (coalesceWindow == COALESCE_DISABLED) {
+      cancelScheduledFlush();
+      maybeFlush();
+    }
+  }
+
+  long getDeliveredCount() {
+    return deliveredCount;
+  }
+
+  long getCoalescedCount() {
+    return coalescedCount;
   }
 
   @Override
   public void endOfStream() {
     enqueue(new EndOfStreamEvent());
-    maybeFlush();
-    done = true;
   }
 
   @Override
   public void error(String code, String message, Object details) {
     enqueue(new ErrorEvent(code, message, details));
-    maybeFlush();
   }
 
   @Override
   public void success(Object event) {
     enqueue(event);
-    maybeFlush();
   }
 
   private void enqueue(Object event) {
     if (done) {
       return;
     }
-    eventQueue.add(event);
+    if (Looper.myLooper() != Looper.getMainLooper()) {
+      incoming.offer(event instanceof EventFrame ? ((EventFrame) event).copy() : event);
+      if (drainScheduled.compareAndSet(false, true)) {
+        handler.post(drainRunnable);
+      }
+      return;
+    }
+    if (!incoming.isEmpty()) {
+      // 先处理其他线程排队的事件，保持顺序
+      drain();
+    }
+    if (delegate != null
+        && coalesceWindow == COALESCE_DISABLED
+        && eventQueue.isEmpty()
+        && !endOfStreamQueued) {
+      deliver(event);
+      deliveredCount++;
+      return;
+    }
+    finish(accept(event, true));
+  }
+
+  /** Moves every incoming event to the main thread queue, then delivers what is due. */
+  private void drain() {
+    boolean flushNow = false;
+    Object event;
+    while ((event = incoming.poll()) != null) {
+      flushNow |= accept(event, false);
+    }
+    finish(flushNow);
+  }
+
+  /**
+   * Adds one event to the main thread queue, replacing the held event of the same type.
+   *
+   * @param borrowed whether the event is a frame the producer still owns
+   * @return whether the queue has to be flushed right away
+   */
+  private boolean accept(Object event, boolean borrowed) {
+    if (endOfStreamQueued) {
+      return false;
+    }
+    String type = coalesceWindow == COALESCE_DISABLED ? null : coalescibleType(event);
+    if (type == null) {
+      if (event instanceof EndOfStreamEvent) {
+        endOfStreamQueued = true;
+        done = true;
+      }
+      eventQueue.add(borrowed ? own(event) : event);
+      return true;
+    }
+    for (int i = eventQueue.size() - 1; i >= 0; i--) {
+      Object held = eventQueue.get(i);
+      if (type.equals(coalescibleType(held))) {
+        eventQueue.remove(i);
+        coalescedCount++;
+        if (held instanceof EventFrame && event instanceof EventFrame) {
+          // 直接覆盖已持有的副本，不再分配
+          ((EventFrame) held).set((EventFrame) event);
+          recycle(event, borrowed);
+          event = held;
+          borrowed = false;
+        } else {
+          recycle(held, false);
+        }
+        break;
+      }
+    }
+    eventQueue.add(borrowed ? own(event) : event);
+    return false;
+  }
+
+  private void finish(boolean flushNow) {
+    if (flushNow || coalesceWindow == COALESCE_DISABLED) {
+      maybeFlush();
+    } else if (!eventQueue.isEmpty()) {
+      scheduleFlush();
+    }
+  }
+
+  /** Returns a copy of {@code event} owned by this sink if it is a frame. */
+  private Object own(Object event) {
+    if (!(event instanceof EventFrame)) {
+      return event;
+    }
+    EventFrame copy =
+        spareFrames.isEmpty() ? new EventFrame() : spareFrames.remove(spareFrames.size() - 1);
+    copy.set((EventFrame) event);
+    return copy;
+  }
+
+  private void recycle(Object event, boolean borrowed) {
+    if (!borrowed && event instanceof EventFrame && spareFrames.size() < MAX_SPARE_FRAMES) {
+      spareFrames.add((EventFrame) event);
+    }
   }
 
   private void maybeFlush() {
     if (delegate == null) {
       return;
     }
-    for (Object event : eventQueue) {
-      if (event instanceof EndOfStreamEvent) {
-        delegate.endOfStream();
-      } else if (event instanceof ErrorEvent) {
-        ErrorEvent errorEvent = (ErrorEvent) event;
-        delegate.error(errorEvent.code, errorEvent.message, errorEvent.details);
-      } else {
-        delegate.success(event);
-      }
+    cancelScheduledFlush();
+    for (int i = 0; i < eventQueue.size(); i++) {
+      Object event = eventQueue.get(i);
+      deliver(event);
+      recycle(event, false);
     }
+    deliveredCount += eventQueue.size();
     eventQueue.clear();
   }
 
+  private void deliver(Object event) {
+    if (event instanceof EndOfStreamEvent) {
+      endOfStreamQueued = true;
+      done = true;
+      delegate.endOfStream();
+    } else if (event instanceof ErrorEvent) {
+      ErrorEvent errorEvent = (ErrorEvent) event;
+      delegate.error(errorEvent.code, errorEvent.message, errorEvent.details);
+    } else {
+      delegate.success(event);
+    }
+  }
+
+  private void scheduleFlush() {
+    if (flushScheduled || delegate == null) {
+      return;
+    }
+    flushScheduled = true;
+    if (coalesceWindow == COALESCE_VSYNC) {
+      Choreographer.getInstance().postFrameCallback(frameCallback);
+    } else {
+      handler.postDelayed(flushRunnable, coalesceWindow);
+    }
+  }
+
+  private void cancelScheduledFlush() {
+    if (!flushScheduled) {
+      return;
+    }
+    flushScheduled = false;
+    handler.removeCallbacks(flushRunnable);
+    Choreographer.getInstance().removeFrameCallback(frameCallback);
+  }
+
+  private static String coalescibleType(Object event) {
+    if (event instanceof EventFrame) {
+      return ((EventFrame) event).getName();
+    }
+    if (!(event instanceof Map)) {
+      return null;
+    }
+    Object type = ((Map<?, ?>) event).get("event");
+    return COALESCIBLE_EVENTS.contains(type) ? (String) type : null;
+  }
+
   private static class EndOfStreamEvent {}
 
   private static class ErrorEvent {
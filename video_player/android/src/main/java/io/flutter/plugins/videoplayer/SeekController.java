@@ -0,0 +1,175 @@
+package io.flutter.plugins.videoplayer;
+
+import android.os.SystemClock;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Chooses the seek mode and coalesces the seeks of one {@link VideoPlayer} session.
+ *
+ * <p>An accurate seek decodes from the previous keyframe up to the exact target, which on a long
+ * GOP takes much longer than jumping to the keyframe itself. In {@link #MODE_AUTO} the seeks sent
+ * while a scrub bar is being dragged go to the nearest keyframe and the seek sent on release is
+ * accurate.
+ *
+ * <p>Only one seek is handed to the player at a time. Seeks requested while it runs replace each
+ * other, and only the latest one is issued once the player reports the running one complete. A
+ * running seek whose completion has not been reported after {@link #STALE_SEEK_MS} no longer holds
+ * back new ones.
+ *
+ * <p>The player reports completions in the order the seeks were issued, without saying which seek
+ * completed. Every issued seek gets the next generation and every completion counts one, so the
+ * late completion of a stale seek is ignored instead of being taken for the seek that replaced it.
+ * Only the completion of the last stale seek is waited for; older ones are assumed lost.
+ *
+ * <p>All methods must be called on the platform thread.
+ */
+final class SeekController {
+  static final int MODE_ACCURATE = 0;
+  static final int MODE_INACCURATE = 1;
+  static final int MODE_AUTO = 2;
+
+  static final long STALE_SEEK_MS = 3000;
+
+  // 正在执行的seek，-1表示没有
+  private long runningPosition = -1;
+  private boolean runningAccurate;
+  private long runningRequestTime;
+  private long runningStartTime;
+  private long runningGeneration;
+
+  // 发给播放器的seek数和收到的完成回调数
+  private long issuedGeneration;
+  private long completedGeneration;
+
+  // 等待中的seek，只保留最新的目标
+  private long pendingPosition = -1;
+  private boolean pendingAccurate;
+  private long pendingRequestTime;
+
+  // 上一次完成之后被合并掉的目标数
+  private int coalesced;
+  private long completedCount;
+  private long coalescedCount;
+
+  /** Whether a seek requested with {@code mode} should be accurate. */
+  static boolean isAccurate(Long mode, Boolean dragging) {
+    int value = mode != null ? mode.intValue() : MODE_ACCURATE;
+    if (value == MODE_INACCURATE) {
+      return false;
+    }
+    if (value == MODE_AUTO) {
+      return dragging == null || !dragging;
+    }
+    return true;
+  }
+
+  /**
+   * Records a seek request.
+   *
+   * @return true when the seek should be issued now, false when it waits for the running one
+   */
+  boolean request(long position, boolean accurate) {
+    long now = SystemClock.uptimeMillis();
+    if (runningPosition >= 0 && now - runningStartTime < STALE_SEEK_MS) {
+      if (pendingPosition >= 0) {
+        coalesced++;
+        coalescedCount++;
+      }
+      pendingPosition = position;
+      pendingAccurate = accurate;
+      pendingRequestTime = now;
+      return false;
+    }
+    if (pendingPosition >= 0) {
+      // 卡住的seek之后等待的目标已经过时，不能在下一次完成后再回跳过去
+      pendingPosition = -1;
+      coalesced++;
+      coalescedCount++;
+    }
+    if (runningPosition >= 0) {
+      // 卡住的seek的回调可能还会来，更早的不再等
+      completedGeneration = Math.max(completedGeneration, runningGeneration - 1);
+    }
+    start(position, accurate, now, now);
+    return true;
+  }
+
+  private void start(long position, boolean accurate, long requestTime, long now) {
+    runningPosition = position;
+    runningAccurate = accurate;
+    runningRequestTime = requestTime;
+    runningStartTime = now;
+    runningGeneration = ++issuedGeneration;
+  }
+
+  /** Counts a seek issued on the player without {@link #request}, whose completion is ignored. */
+  void onUntrackedSeek() {
+    issuedGeneration++;
+  }
+
+  /**
+   * Called from the player's seek-end callback.
+   *
+   * @return the {@code seekCompleted} event, or null when the completion is not the one of the
+   *     running seek
+   */
+  Map<String, Object> onSeekComplete() {
+    completedGeneration++;
+    if (runningPosition < 0 || completedGeneration < runningGeneration) {
+      // 被替换掉的seek或者不经过这里的seek的回调
+      return null;
+    }
+    completedGeneration = runningGeneration;
+    long now = SystemClock.uptimeMillis();
+    completedCount++;
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", "seekCompleted");
+    event.put("position", runningPosition);
+    event.put("accurate", runningAccurate);
+    // 从请求到完成，包含排在前一个seek之后等待的时间
+    event.put("latency", now - runningRequestTime);
+    // 播放器执行这一次seek的耗时
+    event.put("seekLatency", now - runningStartTime);
+    event.put("coalesced", coalesced);
+    event.put("pending", pendingPosition >= 0);
+    coalesced = 0;
+    runningPosition = -1;
+    return event;
+  }
+
+  /**
+   * Starts the pending seek, if any, after the running one completed.
+   *
+   * @return the position to seek to, or -1 when nothing is pending
+   */
+  long next() {
+    if (pendingPosition < 0 || runningPosition >= 0) {
+      return -1;
+    }
+    start(pendingPosition, pendingAccurate, pendingRequestTime, SystemClock.uptimeMillis());
+    pendingPosition = -1;
+    return runningPosition;
+  }
+
+  /** Whether the seek returned by the last {@link #request} or {@link #next} is accurate. */
+  boolean isRunningAccurate() {
+    return runningAccurate;
+  }
+
+  /** Forgets the running and pending seeks, e.g. when the player is prepared again. */
+  void reset() {
+    runningPosition = -1;
+    pendingPosition = -1;
+    coalesced = 0;
+    // 之前的seek不会再有回调
+    completedGeneration = issuedGeneration;
+  }
+
+  /** Adds the seek counters to the metrics of the session. */
+  void fill(Messages.MetricsMessage result) {
+    result.setSeekCompletedCount(completedCount);
+    result.setSeekCoalescedCount(coalescedCount);
+  }
+}
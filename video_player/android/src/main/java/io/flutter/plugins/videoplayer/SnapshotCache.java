@@ -0,0 +1,67 @@
+package io.flutter.plugins.videoplayer;
+
+import android.util.LruCache;
+
+/**
+ * Recently encoded in-memory snapshots of every {@link VideoPlayer}, bounded by their total size.
+ *
+ * <p>Entries are keyed by texture, position and encoding options, so asking again for the frame of
+ * a paused player is answered without capturing or encoding anything. Thread-safe.
+ */
+final class SnapshotCache {
+  static final int DEFAULT_MAX_BYTES = 4 * 1024 * 1024;
+
+  /** An encoded frame. */
+  static final class Entry {
+    final byte[] bytes;
+    final String mimeType;
+    final int width;
+    final int height;
+
+    Entry(byte[] bytes, String mimeType, int width, int height) {
+      this.bytes = bytes;
+      this.mimeType = mimeType;
+      this.width = width;
+      this.height = height;
+    }
+  }
+
+  private final LruCache<String, Entry> entries =
+      new LruCache<String, Entry>(DEFAULT_MAX_BYTES) {
+        @Override
+        protected int sizeOf(String key, Entry value) {
+          return value.bytes.length;
+        }
+      };
+
+  static String key(long textureId, long position, SnapshotEncoder.Options options) {
+    return textureId
+        + "/" + position
+        + "/" + options.format
+        + "/" + options.quality
+        + "/" + options.maxWidth
+        + "x" + options.maxHeight;
+  }
+
+  Entry get(String key) {
+    return entries.get(key);
+  }
+
+  void put(String key, Entry entry) {
+    entries.put(key, entry);
+  }
+
+  /** Drops the snapshots of a disposed texture. */
+  void remove(long textureId) {
+    String prefix = textureId + "/";
+    for (String key : entries.snapshot().keySet()) {
+      if (key.startsWith(prefix)) {
+        entries.remove(key);
+      }
+    }
+  }
+
+  void clear() {
+    entries.evictAll();
+  }
+}
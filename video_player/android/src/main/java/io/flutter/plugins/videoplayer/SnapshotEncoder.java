@@ -0,0 +1,281 @@
+package io.flutter.plugins.videoplayer;
+
+import android.content.ContentResolver;
+import android.content.ContentValues;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.media.MediaScannerConnection;
+import android.net.Uri;
+import android.os.Build;
+import android.os.ParcelFileDescriptor;
+import android.os.SystemClock;
+import android.provider.MediaStore;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.flutter.plugins.videoplayer.utils.FileUtils;
+
+/**
+ * Encodes the frames captured by {@code AliPlayer.snapshot} and saves them to the gallery.
+ *
+ * <p>The bitmap is compressed straight into its destination in one pass: a pending MediaStore
+ * entry on Android Q and above, or a file under {@link FileUtils#getDir} that is handed to the
+ * media scanner on older versions. There is no temporary file and no second copy.
+ *
+ * <p>In-memory snapshots skip the disk altogether: see {@link #encode}.
+ */
+final class SnapshotEncoder {
+  static final int FORMAT_PNG = 0;
+  static final int FORMAT_JPEG = 1;
+  static final int FORMAT_WEBP = 2;
+
+  /** How a snapshot is encoded, see {@link Messages.SnapshotMessage}. */
+  static final class Options {
+    int format = FORMAT_PNG;
+    int quality = 100;
+    // 0表示不限制，超出时等比缩小
+    int maxWidth;
+    int maxHeight;
+    // 只返回编码后的数据，不写文件也不通知媒体库
+    boolean inMemory;
+    // 截图请求时的播放位置和缓存key，由VideoPlayer填写
+    long position;
+    String cacheKey;
+
+    static Options from(Messages.SnapshotMessage arg) {
+      Options options = new Options();
+      if (arg.getFormat() != null) {
+        options.format = arg.getFormat().intValue();
+      }
+      if (arg.getQuality() != null) {
+        options.quality = (int) Math.max(0, Math.min(100, arg.getQuality()));
+      }
+      if (arg.getMaxWidth() != null) {
+        options.maxWidth = arg.getMaxWidth().intValue();
+      }
+      if (arg.getMaxHeight() != null) {
+        options.maxHeight = arg.getMaxHeight().intValue();
+      }
+      if (arg.getInMemory() != null) {
+        options.inMemory = arg.getInMemory();
+      }
+      return options;
+    }
+  }
+
+  private SnapshotEncoder() {}
+
+  /**
+   * Encodes {@code bitmap} and saves it, off the platform thread.
+   *
+   * @return the {@code snapshot} event: where the image went, its size, and the time spent in
+   *     scaling, in encoding (including the writes it streams), and in closing and publishing it
+   */
+  static Map<String, Object> save(Context context, Bitmap bitmap, Options options)
+      throws IOException {
+    long start = SystemClock.uptimeMillis();
+    Bitmap scaled = scale(bitmap, options.maxWidth, options.maxHeight);
+    long scaleTime = SystemClock.uptimeMillis() - start;
+    int width = scaled.getWidth();
+    int height = scaled.getHeight();
+
+    String mimeType = mimeType(options.format);
+    String fileName = "snapShot_" + System.currentTimeMillis() + extension(options.format);
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", "snapshot");
+    long encodeTime;
+    long size;
+    long writeStart;
+    try {
+      if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+        ContentResolver resolver = context.getContentResolver();
+        ContentValues values = new ContentValues();
+        values.put(MediaStore.Images.Media.DISPLAY_NAME, fileName);
+        values.put(MediaStore.Images.Media.MIME_TYPE, mimeType);
+        values.put(MediaStore.Images.Media.IS_PENDING, 1);
+        Uri collection = MediaStore.Images.Media.getContentUri(MediaStore.VOLUME_EXTERNAL_PRIMARY);
+        Uri item = resolver.insert(collection, values);
+        if (item == null) {
+          throw new IOException("Failed to insert " + fileName + " into MediaStore");
+        }
+        try {
+          ParcelFileDescriptor pfd = resolver.openFileDescriptor(item, "w", null);
+          if (pfd == null) {
+            throw new IOException("Failed to open " + item);
+          }
+          try (FileOutputStream out = new ParcelFileDescriptor.AutoCloseOutputStream(pfd)) {
+            long encodeStart = SystemClock.uptimeMillis();
+            compress(scaled, options, out);
+            size = out.getChannel().position();
+            writeStart = SystemClock.uptimeMillis();
+            encodeTime = writeStart - encodeStart;
+          }
+        } catch (IOException e) {
+          resolver.delete(item, null, null);
+          throw e;
+        }
+        // 写入完成后取消pending状态，其他应用才能看到这张图片
+        values.clear();
+        values.put(MediaStore.Images.Media.IS_PENDING, 0);
+        resolver.update(item, values, null, null);
+        event.put("uri", item.toString());
+      } else {
+        File dir = snapshotDir(context);
+        if (!dir.exists()) {
+          //noinspection ResultOfMethodCallIgnored
+          dir.mkdirs();
+        }
+        File file = new File(dir, fileName);
+        try (FileOutputStream out = new FileOutputStream(file)) {
+          long encodeStart = SystemClock.uptimeMillis();
+          compress(scaled, options, out);
+          size = out.getChannel().position();
+          writeStart = SystemClock.uptimeMillis();
+          encodeTime = writeStart - encodeStart;
+        }
+        MediaScannerConnection.scanFile(context.getApplicationContext(),
+            new String[] {file.getAbsolutePath()},
+            new String[] {mimeType}, null);
+        event.put("filePath", file.getAbsolutePath());
+      }
+    } finally {
+      if (scaled != bitmap) {
+        scaled.recycle();
+      }
+    }
+    event.put("mimeType", mimeType);
+    event.put("width", width);
+    event.put("height", height);
+    event.put("size", size);
+    event.put("scaleTime", scaleTime);
+    event.put("encodeTime", encodeTime);
+    event.put("writeTime", SystemClock.uptimeMillis() - writeStart);
+    return event;
+  }
+
+  /** The directory snapshots are saved to below Android Q. */
+  static File snapshotDir(Context context) {
+    return new File(FileUtils.getDir(context) + "snapShot" + File.separator);
+  }
+
+  /**
+   * Encodes {@code bitmap} into memory and stores it in {@code cache} under {@code
+   * options.cacheKey}, off the platform thread.
+   *
+   * @return the {@code snapshot} event carrying the encoded {@code bytes}
+   */
+  static Map<String, Object> encode(Bitmap bitmap, Options options, SnapshotCache cache)
+      throws IOException {
+    long start = SystemClock.uptimeMillis();
+    Bitmap scaled = scale(bitmap, options.maxWidth, options.maxHeight);
+    long scaleTime = SystemClock.uptimeMillis() - start;
+    int width = scaled.getWidth();
+    int height = scaled.getHeight();
+
+    long encodeStart = SystemClock.uptimeMillis();
+    // 预估压缩后的大小，减少扩容时的拷贝
+    ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(16 * 1024, width * height / 4));
+    try {
+      compress(scaled, options, out);
+    } finally {
+      if (scaled != bitmap) {
+        scaled.recycle();
+      }
+    }
+    SnapshotCache.Entry entry =
+        new SnapshotCache.Entry(out.toByteArray(), mimeType(options.format), width, height);
+    long encodeTime = SystemClock.uptimeMillis() - encodeStart;
+    if (options.cacheKey != null) {
+      cache.put(options.cacheKey, entry);
+    }
+
+    Map<String, Object> event = toEvent(entry, options.position, false);
+    event.put("scaleTime", scaleTime);
+    event.put("encodeTime", encodeTime);
+    return event;
+  }
+
+  /** Returns the {@code snapshot} event of an in-memory snapshot. */
+  static Map<String, Object> toEvent(SnapshotCache.Entry entry, long position, boolean cached) {
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", "snapshot");
+    event.put("bytes", entry.bytes);
+    event.put("mimeType", entry.mimeType);
+    event.put("width", entry.width);
+    event.put("height", entry.height);
+    event.put("size", entry.bytes.length);
+    event.put("position", position);
+    event.put("cached", cached);
+    return event;
+  }
+
+  /** Returns {@code bitmap} shrunk to fit in {@code maxWidth} x {@code maxHeight}. */
+  static Bitmap scale(Bitmap bitmap, int maxWidth, int maxHeight) {
+    int width = bitmap.getWidth();
+    int height = bitmap.getHeight();
+    float ratio = 1f;
+    if (maxWidth > 0 && width > maxWidth) {
+      ratio = Math.min(ratio, (float) maxWidth / width);
+    }
+    if (maxHeight > 0 && height > maxHeight) {
+      ratio = Math.min(ratio, (float) maxHeight / height);
+    }
+    if (ratio >= 1f) {
+      return bitmap;
+    }
+    int scaledWidth = Math.max(1, Math.round(width * ratio));
+    int scaledHeight = Math.max(1, Math.round(height * ratio));
+    return Bitmap.createScaledBitmap(bitmap, scaledWidth, scaledHeight, true);
+  }
+
+  static void compress(Bitmap bitmap, Options options, OutputStream out) throws IOException {
+    if (!bitmap.compress(compressFormat(options), options.quality, out)) {
+      throw new IOException("Failed to encode the snapshot as " + mimeType(options.format));
+    }
+  }
+
+  @SuppressWarnings("deprecation")
+  private static Bitmap.CompressFormat compressFormat(Options options) {
+    switch (options.format) {
+      case FORMAT_JPEG:
+        return Bitmap.CompressFormat.JPEG;
+      case FORMAT_WEBP:
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+          return options.quality >= 100
+              ? Bitmap.CompressFormat.WEBP_LOSSLESS
+              : Bitmap.CompressFormat.WEBP_LOSSY;
+        }
+        return Bitmap.CompressFormat.WEBP;
+      default:
+        return Bitmap.CompressFormat.PNG;
+    }
+  }
+
+  static String mimeType(int format) {
+    switch (format) {
+      case FORMAT_JPEG:
+        return "image/jpeg";
+      case FORMAT_WEBP:
+        return "image/webp";
+      default:
+        return "image/png";
+    }
+  }
+
+  private static String extension(int format) {
+    switch (format) {
+      case FORMAT_JPEG:
+        return ".jpg";
+      case FORMAT_WEBP:
+        return ".webp";
+      default:
+        return ".png";
+    }
+  }
+}
@@ -0,0 +1,519 @@
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.graphics.Bitmap;
+import android.media.MediaMetadataRetriever;
+import android.os.Build;
+import android.util.Log;
+import android.util.LruCache;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import io.flutter.plugins.videoplayer.utils.FileUtils;
+import io.flutter.plugins.videoplayer.utils.LaneExecutor;
+import io.flutter.plugins.videoplayer.utils.ThreadUtils;
+
+/**
+ * Builds the preview frames shown while a scrub bar is dragged.
+ *
+ * <p>A {@link Job} extracts one frame every {@link Config#interval} of a source with {@code
+ * MediaMetadataRetriever}. It takes the keyframe nearest each position, which needs no decoding
+ * beyond that frame, shrinks it and stores it as a JPEG in a directory per source and {@link
+ * Config}. Later jobs for the same source reuse the frames on disk, and the {@link
+ * DirectoryMaintainer} trims the directories like the cache. Frames that were served recently stay
+ * in a memory LRU bounded by size.
+ *
+ * <p>A job extracts one frame per task on the background lane and then resubmits itself, so a long
+ * build never holds a thread against other work. It starts with the frames nearest the last
+ * requested position.
+ *
+ * <p>{@link #getThumbnail} never waits for an extraction nor for the disk. It answers from memory
+ * with the frame asked for, then with the nearest frame built so far, and otherwise with nothing,
+ * so it fits in a frame on the platform thread. A built frame missing from memory is read back on
+ * the background lane and is there for the next request.
+ */
+final class ThumbnailEngine {
+  private static final String TAG = "ThumbnailEngine";
+
+  static final long DEFAULT_INTERVAL_MS = 10000;
+  static final long MIN_INTERVAL_MS = 1000;
+  static final int DEFAULT_MAX_WIDTH = 240;
+  static final int DEFAULT_QUALITY = 70;
+  static final int MEMORY_BYTES = 2 * 1024 * 1024;
+  static final long DISK_BYTES = 64L * 1024 * 1024;
+
+  private static final String ASSET_PREFIX = "asset:///";
+
+  /** How the frames of a source are built, see {@link Messages.ThumbnailConfigMessage}. */
+  static final class Config {
+    long interval = DEFAULT_INTERVAL_MS;
+    int maxWidth = DEFAULT_MAX_WIDTH;
+    // 0表示只按宽度等比缩小
+    int maxHeight;
+    int quality = DEFAULT_QUALITY;
+
+    static Config from(Messages.ThumbnailConfigMessage arg) {
+      Config config = new Config();
+      if (arg.getInterval() != null) {
+        config.interval = Math.max(MIN_INTERVAL_MS, arg.getInterval());
+      }
+      if (arg.getMaxWidth() != null) {
+        config.maxWidth = Math.max(0, arg.getMaxWidth().intValue());
+      }
+      if (arg.getMaxHeight() != null) {
+        config.maxHeight = Math.max(0, arg.getMaxHeight().intValue());
+      }
+      if (arg.getQuality() != null) {
+        config.quality = (int) Math.max(0, Math.min(100, arg.getQuality()));
+      }
+      return config;
+    }
+
+    /** Names the directory of a source built with this config. */
+    String key(String source) {
+      return FileUtils.md5(source)
+          + "_" + interval
+          + "_" + maxWidth
+          + "x" + maxHeight
+          + "_" + quality;
+    }
+  }
+
+  private final Context context;
+  private final DirectoryMaintainer maintainer;
+  private final File root;
+  private final LruCache<String, byte[]> memory =
+      new LruCache<String, byte[]>(MEMORY_BYTES) {
+        @Override
+        protected int sizeOf(String key, byte[] value) {
+          return value.length;
+        }
+      };
+  // 同一源同一配置的纹理共享一个Job
+  private final Map<String, Job> jobs = new HashMap<>();
+  private final Map<Long, Job> textures = new HashMap<>();
+  // 正在从磁盘读回内存的帧，避免拖动时重复提交
+  private final Set<String> loading = new HashSet<>();
+
+  ThumbnailEngine(Context context, DirectoryMaintainer maintainer) {
+    this.context = context.getApplicationContext();
+    this.maintainer = maintainer;
+    this.root = new File(context.getCacheDir(), "thumbnails");
+    maintainer.track(DirectoryMaintainer.THUMBNAIL, root, null);
+    maintainer.setMaxBytes(DirectoryMaintainer.THUMBNAIL, DISK_BYTES);
+  }
+
+  /** Starts building the frames of {@code source} for {@code textureId}, replacing its old job. */
+  synchronized void start(long textureId, String source, Config config) {
+    String key = config.key(source);
+    Job old = textures.get(textureId);
+    if (old != null && old.key.equals(key)) {
+      return;
+    }
+    stop(textureId);
+    Job job = jobs.get(key);
+    if (job == null) {
+      job = new Job(key, source, config);
+      jobs.put(key, job);
+      job.scheduled = true;
+      job.submit();
+    }
+    job.users++;
+    textures.put(textureId, job);
+  }
+
+  /** Stops the job of {@code textureId} once no other texture uses it. */
+  synchronized void stop(long textureId) {
+    Job job = textures.remove(textureId);
+    if (job == null || --job.users > 0) {
+      return;
+    }
+    jobs.remove(job.key);
+    job.cancelled = true;
+  }
+
+  /**
+   * Returns the frame nearest {@code position} that is in memory, on the platform thread.
+   *
+   * <p>{@code exact} tells whether it is the frame of {@code position} or the nearest one built so
+   * far. The request also moves the job to the frames around {@code position}.
+   */
+  Messages.ThumbnailMessage getThumbnail(long textureId, long position) {
+    Messages.ThumbnailMessage result = new Messages.ThumbnailMessage();
+    result.setTextureId(textureId);
+    result.setExact(false);
+    Job job;
+    synchronized (this) {
+      job = textures.get(textureId);
+    }
+    if (job == null) {
+      result.setProgress(0.0);
+      return result;
+    }
+    int index = job.indexOf(position);
+    job.hint = index;
+    byte[] bytes = fromMemory(job, index);
+    int found = index;
+    if (bytes == null) {
+      found = job.nearestDone(index);
+      bytes = fromMemory(job, found);
+    }
+    if (bytes != null) {
+      result.setBytes(bytes);
+      result.setPosition(found * job.config.interval);
+      result.setExact(found == index);
+    }
+    result.setProgress(job.progress());
+    return result;
+  }
+
+  /** The frame {@code index} if it is in memory. A built frame missing there is read back. */
+  private byte[] fromMemory(Job job, int index) {
+    if (index < 0) {
+      return null;
+    }
+    String key = job.key + "/" + index;
+    byte[] bytes = memory.get(key);
+    if (bytes == null && job.isDone(index)) {
+      load(job, index, key);
+    }
+    return bytes;
+  }
+
+  private void load(final Job job, final int index, final String key) {
+    synchronized (this) {
+      if (!loading.add(key)) {
+        return;
+      }
+    }
+    Runnable task = new Runnable() {
+      @Override
+      public void run() {
+        try {
+          memory.put(key, readFile(job.file(index)));
+        } catch (IOException e) {
+          // 被DirectoryMaintainer清理掉了，重新生成
+          job.markMissing(index);
+        } finally {
+          synchronized (ThumbnailEngine.this) {
+            loading.remove(key);
+          }
+        }
+      }
+    };
+    ThreadUtils.runOnSubThread(LaneExecutor.Lane.BACKGROUND, task,
+        new LaneExecutor.RejectionHandler() {
+          @Override
+          public void onRejected(Runnable task, LaneExecutor.Lane lane, String reason) {
+            LaneExecutor.LOG_REJECTION.onRejected(task, lane, reason);
+            // 下一次请求时再读
+            synchronized (ThumbnailEngine.this) {
+              loading.remove(key);
+            }
+          }
+        });
+  }
+
+  private static byte[] readFile(File file) throws IOException {
+    InputStream in = new FileInputStream(file);
+    try {
+      byte[] bytes = new byte[(int) file.length()];
+      int offset = 0;
+      while (offset < bytes.length) {
+        int read = in.read(bytes, offset, bytes.length - offset);
+        if (read < 0) {
+          throw new IOException("Truncated " + file);
+        }
+        offset += read;
+      }
+      return bytes;
+    } finally {
+      in.close();
+    }
+  }
+
+  synchronized void clear() {
+    for (Job job : jobs.values()) {
+      job.cancelled = true;
+    }
+    jobs.clear();
+    textures.clear();
+    loading.clear();
+    memory.evictAll();
+  }
+
+  /** The frames of one source and config, extracted one per background task. */
+  private final class Job implements Runnable {
+    final String key;
+    final String source;
+    final Config config;
+    final File dir;
+
+    // 以下字段由ThumbnailEngine加锁访问
+    int users;
+    // 已经在磁盘上的帧
+    private final BitSet done = new BitSet();
+    // 已经尝试过的帧，包括取不到的
+    private final BitSet attempted = new BitSet();
+    private int count = -1;
+    // 已有任务在排队或执行
+    private boolean scheduled;
+    private boolean failed;
+
+    volatile boolean cancelled;
+    // 最近一次请求的帧，优先生成它附近的帧
+    volatile int hint;
+
+    // 只在后台任务中访问，任务串行执行
+    private MediaMetadataRetriever retriever;
+    private AssetFileDescriptor asset;
+    private final SnapshotEncoder.Options options = new SnapshotEncoder.Options();
+
+    Job(String key, String source, Config config) {
+      this.key = key;
+      this.source = source;
+      this.config = config;
+      this.dir = new File(root, key);
+      options.format = SnapshotEncoder.FORMAT_JPEG;
+      options.quality = config.quality;
+    }
+
+    void submit() {
+      ThreadUtils.runOnSubThread(LaneExecutor.Lane.BACKGROUND, this, onRejected);
+    }
+
+    private final LaneExecutor.RejectionHandler onRejected =
+        new LaneExecutor.RejectionHandler() {
+          @Override
+          public void onRejected(Runnable task, LaneExecutor.Lane lane, String reason) {
+            LaneExecutor.LOG_REJECTION.onRejected(task, lane, reason);
+            // 下一次请求到缺失的帧时再提交
+            synchronized (ThumbnailEngine.this) {
+              scheduled = false;
+            }
+            // retriever只能在持有Job锁时释放，否则会和已经开始的run竞争。
+            // start()持有ThumbnailEngine锁提交的是新建的Job，它的锁不会被占用
+            synchronized (Job.this) {
+              synchronized (ThumbnailEngine.this) {
+                if (scheduled) {
+                  // 已经重新提交，由之后的run继续使用
+                  return;
+                }
+              }
+              close();
+            }
+          }
+        };
+
+    @Override
+    public void run() {
+      // 同一Job的任务串行执行，retriever只在这里使用
+      synchronized (this) {
+        boolean error = false;
+        try {
+          if (!cancelled) {
+            if (retriever == null) {
+              open();
+            }
+            int index = nextIndex();
+            if (index >= 0) {
+              extract(index);
+            }
+          }
+        } catch (IOException | RuntimeException e) {
+          // 源无法解析时不再重试，已生成的帧仍然可用
+          Log.w(TAG, "Stopped building thumbnails of " + source, e);
+          error = true;
+        }
+        boolean more;
+        synchronized (ThumbnailEngine.this) {
+          failed |= error;
+          more = !failed && !cancelled && nextIndex() >= 0;
+          scheduled = more;
+        }
+        if (more) {
+          submit();
+        } else {
+          close();
+        }
+      }
+    }
+
+    private void open() throws IOException {
+      retriever = new MediaMetadataRetriever();
+      if (source.startsWith(ASSET_PREFIX)) {
+        asset = context.getAssets().openFd(source.substring(ASSET_PREFIX.length()));
+        retriever.setDataSource(
+            asset.getFileDescriptor(), asset.getStartOffset(), asset.getLength());
+      } else if (source.startsWith("http://") || source.startsWith("https://")) {
+        retriever.setDataSource(source, new HashMap<String, String>());
+      } else {
+        retriever.setDataSource(source.startsWith("file://") ? source.substring(7) : source);
+      }
+      String duration = retriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_DURATION);
+      if (duration == null) {
+        throw new IOException("Unknown duration");
+      }
+      int frames = (int) (Long.parseLong(duration) / config.interval) + 1;
+      // 之前生成过的帧直接复用
+      String[] names = dir.list();
+      synchronized (ThumbnailEngine.this) {
+        count = frames;
+        if (names != null) {
+          for (String name : names) {
+            if (name.endsWith(".jpg")) {
+              try {
+                int index = Integer.parseInt(name.substring(0, name.length() - 4));
+                if (index < frames) {
+                  done.set(index);
+                  attempted.set(index);
+                }
+              } catch (NumberFormatException ignored) {
+                // 不是帧文件
+              }
+            }
+          }
+        }
+      }
+    }
+
+    private void extract(int index) throws IOException {
+      long timeUs = index * config.interval * 1000;
+      Bitmap frame;
+      if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O_MR1 && config.maxWidth > 0) {
+        int maxHeight = config.maxHeight > 0 ? config.maxHeight : Integer.MAX_VALUE / 2;
+        frame = retriever.getScaledFrameAtTime(
+            timeUs, MediaMetadataRetriever.OPTION_CLOSEST_SYNC, config.maxWidth, maxHeight);
+      } else {
+        Bitmap full = retriever.getFrameAtTime(timeUs, MediaMetadataRetriever.OPTION_CLOSEST_SYNC);
+        frame = null;
+        if (full != null) {
+          frame = SnapshotEncoder.scale(full, config.maxWidth, config.maxHeight);
+          if (frame != full) {
+            full.recycle();
+          }
+        }
+      }
+      if (frame == null) {
+        // 取不到的帧不再尝试
+        synchronized (ThumbnailEngine.this) {
+          attempted.set(index);
+        }
+        return;
+      }
+      if (!dir.isDirectory() && !dir.mkdirs()) {
+        frame.recycle();
+        throw new IOException("Cannot create " + dir);
+      }
+      // 先写临时文件再改名，读取时不会读到写了一半的帧
+      File temp = new File(dir, index + ".tmp");
+      OutputStream out = new FileOutputStream(temp);
+      try {
+        SnapshotEncoder.compress(frame, options, out);
+      } finally {
+        out.close();
+        frame.recycle();
+      }
+      File file = file(index);
+      if (!temp.renameTo(file)) {
+        temp.delete();
+        throw new IOException("Cannot rename " + temp);
+      }
+      synchronized (ThumbnailEngine.this) {
+        done.set(index);
+        attempted.set(index);
+      }
+      maintainer.notifyChanged(DirectoryMaintainer.THUMBNAIL, file);
+    }
+
+    private void close() {
+      if (retriever != null) {
+        retriever.release();
+        retriever = null;
+      }
+      if (asset != null) {
+        try {
+          asset.close();
+        } catch (IOException ignored) {
+          // 已经不再使用
+        }
+        asset = null;
+      }
+    }
+
+    File file(int index) {
+      return new File(dir, index + ".jpg");
+    }
+
+    int indexOf(long position) {
+      int index = (int) ((Math.max(0, position) + config.interval / 2) / config.interval);
+      synchronized (ThumbnailEngine.this) {
+        return count > 0 ? Math.min(index, count - 1) : index;
+      }
+    }
+
+    /** The missing frame nearest {@link #hint}, or -1 when all were attempted. */
+    private int nextIndex() {
+      synchronized (ThumbnailEngine.this) {
+        if (count <= 0) {
+          return -1;
+        }
+        int from = Math.max(0, Math.min(hint, count - 1));
+        int after = attempted.nextClearBit(from);
+        int before = attempted.previousClearBit(from);
+        if (after >= count) {
+          return before;
+        }
+        return before >= 0 && from - before < after - from ? before : after;
+      }
+    }
+
+    /** The built frame nearest {@code index}, or -1. */
+    int nearestDone(int index) {
+      synchronized (ThumbnailEngine.this) {
+        int after = done.nextSetBit(index);
+        int before = index > 0 ? done.previousSetBit(index - 1) : -1;
+        if (after < 0) {
+          return before;
+        }
+        return before >= 0 && index - before < after - index ? before : after;
+      }
+    }
+
+    boolean isDone(int index) {
+      synchronized (ThumbnailEngine.this) {
+        return done.get(index);
+      }
+    }
+
+    void markMissing(int index) {
+      synchronized (ThumbnailEngine.this) {
+        done.clear(index);
+        attempted.clear(index);
+        if (cancelled || failed || scheduled) {
+          return;
+        }
+        // 任务已经结束，补一个任务重新生成
+        scheduled = true;
+      }
+      submit();
+    }
+
+    double progress() {
+      synchronized (ThumbnailEngine.this) {
+        return count > 0 ? (double) done.cardinality() / count : 0.0;
+      }
+    }
+  }
+}
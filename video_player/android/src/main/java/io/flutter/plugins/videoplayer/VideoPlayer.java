@@ -2,96 +2,275 @@ package io.flutter.plugins.videoplayer;
 
 import android.content.Context;
 import android.graphics.Bitmap;
-import android.graphics.SurfaceTexture;
-import android.media.MediaScannerConnection;
-import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import android.view.Surface;
 
 import com.aliyun.player.AliPlayer;
-import com.aliyun.player.AliPlayerFactory;
 import com.aliyun.player.IPlayer;
 import com.aliyun.player.bean.ErrorCode;
 import com.aliyun.player.bean.ErrorInfo;
 import com.aliyun.player.bean.InfoBean;
 import com.aliyun.player.bean.InfoCode;
 import com.aliyun.player.nativeclass.MediaInfo;
-import com.aliyun.player.nativeclass.PlayerConfig;
 import com.aliyun.player.nativeclass.TrackInfo;
 import com.aliyun.player.source.UrlSource;
 
-import java.io.File;
-import java.util.Arrays;
-import java.util.Collections;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import io.flutter.Log;
 import io.flutter.plugin.common.EventChannel;
-import io.flutter.plugins.videoplayer.utils.FileUtils;
+import io.flutter.plugins.videoplayer.utils.LaneExecutor;
 import io.flutter.plugins.videoplayer.utils.ThreadUtils;
 import io.flutter.view.TextureRegistry;
 
 final class VideoPlayer {
+  // 等待截图回调的最长时间
+  static final long SNAPSHOT_TIMEOUT_MS = 3000;
 
+  // 播放器在后台线程创建完成前为null，期间的操作先缓存在pendingOps中
   private AliPlayer aliyunVodPlayer;
 
   private Surface surface;
 
+  private final Context context;
+  private final ArrayList<Runnable> pendingOps = new ArrayList<>();
+  // 截图回调不带请求信息，一次只交给播放器一个，其余按请求顺序等待
+  private final ArrayDeque<SnapshotEncoder.Options> snapshotRequests = new ArrayDeque<>();
+  // 播放器正在截的图，null表示没有
+  private SnapshotEncoder.Options snapshotInFlight;
+  private boolean disposed = false;
+
   private final TextureRegistry.SurfaceTextureEntry textureEntry;
 
   private QueuingEventSink eventSink = new QueuingEventSink();
+  // 高频事件每种复用一个帧，见EventFrame
+  private final EventFrame positionFrame = new EventFrame(EventFrame.TYPE_POSITION);
+  private final EventFrame bufferingFrame = new EventFrame(EventFrame.TYPE_BUFFERING_UPDATE);
+  private final EventFrame loadingFrame = new EventFrame(EventFrame.TYPE_LOADING_PROGRESS);
+  private final EventFrame stateFrame = new EventFrame(EventFrame.TYPE_STATE_CHANGED);
 
   private final EventChannel eventChannel;
+  private final AliPlayerPool playerPool;
+  private final CacheManager cacheManager;
+  private final SnapshotCache snapshotCache;
+  private final BufferController bufferController;
+  private final AbrController abr;
+  private final String dataSource;
+  // 交给播放器打开的地址，开启LocalProxy时是本地代理地址
+  private final String playbackUri;
+  private final Handler createHandler;
+  private final PlayerGovernor governor;
   private long mCurrentPosition;
   private long mVideoBufferedPosition;
   private boolean isInitialized = false;
+  private int mState = IPlayer.idle;
+  // 主动推送播放进度的间隔，0表示不推送（由Dart端轮询position）
+  private long mPositionUpdateInterval = 0;
+  private long mLastPositionUpdateTime;
+  private long mLastSentPosition = -1;
+  private final PlayerMetrics metrics = new PlayerMetrics();
+  private final SeekController seeks = new SeekController();
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private boolean mPreloaded;
+  // 定时推送播放指标的间隔，0表示不推送
+  private long mMetricsInterval = 0;
+  // 由PlayerGovernor降级后的资源等级，见PlayerGovernor.LEVEL_*
+  private int mLevel = PlayerGovernor.LEVEL_ACTIVE;
+  // 播放器正在后台线程创建，首次创建或从LEVEL_RELEASED恢复
+  private boolean mCreating;
+  // 降级后重新prepare中，onPrepared后seek到mRestorePosition再执行缓存的操作
+  private boolean mRestoring;
+  private long mRestorePosition;
+  // 应用进入后台时由LifecyclePolicy暂停，回到前台时恢复播放
+  private boolean mPausedInBackground;
+  // 在后台释放了Surface，解码器和缓冲仍然保留
+  private boolean mSurfaceDetached;
+  // 播放器归还到池中时会被重置，恢复时重新应用这些设置
+  private boolean mLooping;
+  private float mSpeed = 1.0f;
+  private float mVolume = 1.0f;
+  private IPlayer.ScaleMode mScaleMode = IPlayer.ScaleMode.SCALE_ASPECT_FIT;
+  private IPlayer.MirrorMode mMirrorMode = IPlayer.MirrorMode.MIRROR_MODE_NONE;
+
+  // 超时没有回调的截图放弃，继续下一个
+  private final Runnable snapshotTimeout = new Runnable() {
+    @Override
+    public void run() {
+      Log.w("java:", "snapshot timed out");
+      snapshotInFlight = null;
+      issueSnapshot();
+    }
+  };
+
+  private final Runnable sendMetrics = new Runnable() {
+    @Override
+    @SuppressWarnings("unchecked")
+    public void run() {
+      Map<String, Object> event = getMetrics().toMap();
+      event.put("event", "metrics");
+      eventSink.success(event);
+      handler.postDelayed(this, mMetricsInterval);
+    }
+  };
 
   VideoPlayer(
       Context context,
       EventChannel eventChannel,
       TextureRegistry.SurfaceTextureEntry textureEntry,
       String dataSource,
-      String formatHint) {
+      String formatHint,
+      AliPlayerPool playerPool,
+      CacheManager cacheManager,
+      LocalProxy proxy,
+      PreloadManager.Preloaded preloaded,
+      Handler createHandler,
+      PlayerGovernor governor,
+      SnapshotCache snapshotCache,
+      BufferController bufferController) {
+    this.context = context;
     this.eventChannel = eventChannel;
     this.textureEntry = textureEntry;
     mCurrentPosition = 0;
     mVideoBufferedPosition = 0;
-    aliyunVodPlayer = AliPlayerFactory.createAliPlayer(context.getApplicationContext());
-    
-    //设置播放器参数
-    PlayerConfig config = aliyunVodPlayer.getConfig();
-    //停止之后清空画面。防止画面残留（建议设置）
-    config.mClearFrameWhenStop = true;
-    config.mNetworkTimeout = 10000;
-    config.mNetworkRetryCount = 2;
-    //高缓冲时长。单位ms。当网络不好导致加载数据时，如果加载的缓冲时长到达这个值，结束加载状态。
-    config.mHighBufferDuration = 1000;
-    aliyunVodPlayer.setConfig(config);
-
-//    CacheConfig cacheConfig = new CacheConfig();
-//    //开启缓存功能
-//    cacheConfig.mEnable = true;
-//    //能够缓存的单个文件最大时长。超过此长度则不缓存
-//    cacheConfig.mMaxDurationS = 3600;
-//    //缓存目录的位置(/storage/emulated/0/Android/data/包名/files/Media/cache/)
-//    cacheConfig.mDir = getDir(context) + "cache" + File.separator;
-//    //缓存目录的最大大小。超过此大小，将会删除最旧的缓存文件
-//    cacheConfig.mMaxSizeMB = 200;
-//    //设置缓存配置给到播放器
-//    aliyunVodPlayer.setCacheConfig(cacheConfig);
-
-    UrlSource urlSource = new UrlSource();
-    urlSource.setUri(dataSource);
-    aliyunVodPlayer.setDataSource(urlSource);
-
-    setupVideoPlayer(eventChannel, textureEntry, context);
-    //准备播放
-    prepare();
-  }
-
-  private void setupVideoPlayer(EventChannel eventChannel, TextureRegistry.SurfaceTextureEntry textureEntry, Context context) {
+    this.playerPool = playerPool;
+    this.cacheManager = cacheManager;
+    this.dataSource = dataSource;
+    // AliPlayer按打开的地址命名缓存文件，开启缓存时不能换成端口会变的代理地址
+    this.playbackUri =
+        cacheManager.isEnabled() ? dataSource : proxy.route(dataSource, formatHint);
+    this.createHandler = createHandler;
+    this.governor = governor;
+    this.snapshotCache = snapshotCache;
+    this.bufferController = bufferController;
+    this.abr = new AbrController(context, bufferController.getKbps());
+    setupEventChannel();
+    surface = new Surface(textureEntry.surfaceTexture());
+    if (preloaded != null) {
+      // 直接接管预加载好的播放器，无需再次prepare
+      mPreloaded = true;
+      bufferController.apply(preloaded.player);
+      preloaded.player.setSurface(surface);
+      onPlayerCreated(preloaded.player);
+      if (preloaded.isPrepared()) {
+        metrics.onPrepared(true);
+        isInitialized = true;
+        sendInitialized();
+      }
+      return;
+    }
+    createPlayer();
+  }
+
+  /**
+   * Builds the native player off the platform thread and prepares it once it is handed back.
+   *
+   * <p>While a restore is in progress the pending ops wait for {@code onPrepared} instead.
+   */
+  private void createPlayer() {
+    mCreating = true;
+    final Surface target = surface;
+    // 播放器的创建、配置和设置数据源放到后台线程，避免阻塞主线程
+    createHandler.post(new Runnable() {
+      @Override
+      public void run() {
+        // 从播放器池中获取已配置好的播放器，避免每次都重新创建
+        final AliPlayer player = playerPool.acquire();
+
+        cacheManager.apply(player);
+        cacheManager.onSourceOpened(player, dataSource);
+        bufferController.apply(player);
+
+        UrlSource urlSource = new UrlSource();
+        urlSource.setUri(playbackUri);
+        player.setDataSource(urlSource);
+        player.setSurface(target);
+
+        ThreadUtils.runOnUiThread(new Runnable() {
+          @Override
+          public void run() {
+            onPlayerCreated(player);
+            if (aliyunVodPlayer != null) {
+              //准备播放
+              aliyunVodPlayer.prepare();
+              if (!mRestoring) {
+                runPendingOps();
+              }
+            }
+          }
+        });
+      }
+    });
+  }
+
+  /**
+   * Takes ownership of a player built off the platform thread.
+   *
+   * <p>When {@link #dispose} came first, the player goes straight back to the pool together with
+   * the texture it was bound to.
+   */
+  private void onPlayerCreated(AliPlayer player) {
+    mCreating = false;
+    if (disposed) {
+      pendingOps.clear();
+      playerPool.release(player);
+      releaseSurface();
+      return;
+    }
+    aliyunVodPlayer = player;
+    setupVideoPlayer();
+    applySettings();
+    governor.invalidate();
+  }
 
+  private void applyBufferConfig() {
+    if (aliyunVodPlayer != null) {
+      bufferController.apply(aliyunVodPlayer);
+    }
+  }
+
+  private void applySettings() {
+    aliyunVodPlayer.setLoop(mLooping);
+    aliyunVodPlayer.setSpeed(mSpeed);
+    aliyunVodPlayer.setVolume(mVolume);
+    aliyunVodPlayer.setScaleMode(mScaleMode);
+    aliyunVodPlayer.setMirrorMode(mMirrorMode);
+  }
+
+  /**
+   * Runs {@code op} now if the player is ready, or once it has been created or restored.
+   *
+   * <p>A player demoted to {@link PlayerGovernor#LEVEL_STOPPED} or below is restored first.
+   *
+   * @return true when the call was deferred
+   */
+  private boolean deferUntilReady(Runnable op) {
+    if (disposed) {
+      return false;
+    }
+    restore();
+    if (aliyunVodPlayer != null && !mRestoring) {
+      return false;
+    }
+    pendingOps.add(op);
+    return true;
+  }
+
+  private void runPendingOps() {
+    ArrayList<Runnable> ops = new ArrayList<>(pendingOps);
+    pendingOps.clear();
+    for (Runnable op : ops) {
+      op.run();
+    }
+  }
+
+  private void setupEventChannel() {
     eventChannel.setStreamHandler(
         new EventChannel.StreamHandler() {
           @Override
@@ -104,9 +283,9 @@ final class VideoPlayer {
             eventSink.setDelegate(null);
           }
         });
-    SurfaceTexture surfaceTexture = textureEntry.surfaceTexture();
-    surface = new Surface(surfaceTexture);
-    aliyunVodPlayer.setSurface(surface);
+  }
+
+  private void setupVideoPlayer() {
     aliyunVodPlayer.setOnVideoSizeChangedListener(new IPlayer.OnVideoSizeChangedListener() {
       @Override
       public void onVideoSizeChanged(int width, int height) {
@@ -123,10 +302,59 @@ final class VideoPlayer {
       @Override
       public void onPrepared() {
         //准备成功事件
+        metrics.onPrepared(mPreloaded);
         if (!isInitialized) {
           isInitialized = true;
           sendInitialized();
         }
+        if (mRestoring) {
+          mRestoring = false;
+          // 恢复后播放器回到默认轨道
+          abr.onPrepared(currentVideoTrack());
+          // 降级前未完成的seek不会再有回调，目标已记录在mRestorePosition
+          seeks.reset();
+          if (mRestorePosition > 0) {
+            seeks.onUntrackedSeek();
+            aliyunVodPlayer.seekTo(mRestorePosition, IPlayer.SeekMode.Accurate);
+          }
+          runPendingOps();
+        }
+      }
+    });
+    aliyunVodPlayer.setOnRenderingStartListener(new IPlayer.OnRenderingStartListener() {
+      @Override
+      public void onRenderingStart() {
+        //首帧渲染
+        metrics.onFirstFrame();
+      }
+    });
+    aliyunVodPlayer.setOnTrackChangedListener(new IPlayer.OnTrackChangedListener() {
+      @Override
+      public void onChangedSuccess(TrackInfo trackInfo) {
+        //切换轨道成功，附带从请求到完成的耗时
+        eventSink.success(abr.onSwitchEnded(trackInfo, null));
+      }
+
+      @Override
+      public void onChangedFail(TrackInfo trackInfo, ErrorInfo errorInfo) {
+        String error = errorInfo != null ? errorInfo.getMsg() : "unknown";
+        eventSink.success(abr.onSwitchEnded(trackInfo, error));
+      }
+    });
+    aliyunVodPlayer.setOnSeekCompleteListener(new IPlayer.OnSeekCompleteListener() {
+      @Override
+      public void onSeekComplete() {
+        metrics.onSeekComplete();
+        abr.resetProbe();
+        Map<String, Object> event = seeks.onSeekComplete();
+        if (event != null) {
+          eventSink.success(event);
+        }
+        // 执行期间被合并的seek只执行最新的目标
+        long next = seeks.next();
+        if (next >= 0) {
+          startSeek(next);
+        }
       }
     });
     aliyunVodPlayer.setOnCompletionListener(new IPlayer.OnCompletionListener() {
@@ -142,15 +370,22 @@ final class VideoPlayer {
       @Override
       public void onStateChanged(int newState) {
         //播放器状态改变事件
-        Map<String, Object> event = new HashMap<>();
-        event.put("event", "stateChanged");
-        event.put("state", newState);
-        eventSink.success(event);
+        mState = newState;
+        metrics.onStateChanged(newState);
+        eventSink.success(stateFrame.stateChanged(newState));
       }
     });
     aliyunVodPlayer.setOnLoadingStatusListener(new IPlayer.OnLoadingStatusListener() {
       @Override
       public void onLoadingBegin() {
+        boolean wasRebuffering = metrics.isRebuffering();
+        metrics.onLoadingBegin();
+        if (!wasRebuffering && metrics.isRebuffering()) {
+          if (bufferController.onRebuffer()) {
+            applyBufferConfig();
+          }
+          switchTrack(abr.onRebuffer());
+        }
         Map<String, Object> event = new HashMap<>();
         event.put("event", "loadingBegin");
         eventSink.success(event);
@@ -158,15 +393,20 @@ final class VideoPlayer {
 
       @Override
       public void onLoadingProgress(int percent, float kbps) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("event", "loadingProgress");
-        event.put("percent", percent);
-        event.put("kbps", kbps);
-        eventSink.success(event);
+        metrics.onLoadingProgress(kbps);
+        if (bufferController.onThroughput(kbps)) {
+          applyBufferConfig();
+        }
+        abr.onThroughput(kbps);
+        eventSink.success(loadingFrame.loadingProgress(percent, kbps));
       }
 
       @Override
       public void onLoadingEnd() {
+        metrics.onLoadingEnd();
+        if (bufferController.onLoadingEnd()) {
+          applyBufferConfig();
+        }
         Map<String, Object> event = new HashMap<>();
         event.put("event", "loadingEnd");
         eventSink.success(event);
@@ -192,6 +432,8 @@ final class VideoPlayer {
           
           eventSink.error(errorInfo.getCode().getValue() + "", errorMsg, errorInfo.getExtra());
         }
+        // 出错后不会再有截图回调
+        dropSnapshots();
       }
     });
     aliyunVodPlayer.setOnInfoListener(new IPlayer.OnInfoListener() {
@@ -202,11 +444,18 @@ final class VideoPlayer {
           if (mVideoBufferedPosition != (int) infoBean.getExtraValue()) {
             mVideoBufferedPosition = (int) infoBean.getExtraValue();
             sendBufferingUpdate();
+            governor.invalidate();
+            abr.onBufferedPosition(mVideoBufferedPosition);
+            switchTrack(abr.decide(Math.max(0, mVideoBufferedPosition - mCurrentPosition)));
           }
         } else if (infoBean.getCode() == InfoCode.CurrentPosition) {
           //更新currentPosition
           mCurrentPosition = infoBean.getExtraValue();
+          maybeSendPositionUpdate();
+        } else if (infoBean.getCode() == InfoCode.CacheSuccess) {
+          cacheManager.onCacheSuccess(aliyunVodPlayer, dataSource);
         } else if (infoBean.getCode() == InfoCode.NetworkRetry) {
+          metrics.onNetworkRetry();
           eventSink.error(infoBean.getCode() + "", "加载超时", infoBean.getExtraMsg());
         }
       }
@@ -217,101 +466,122 @@ final class VideoPlayer {
       @Override
       public void onSnapShot(Bitmap bitmap, int with, int height){
         //获取到的bitmap。以及图片的宽高。
-        ThreadUtils.runOnSubThread(new Runnable() {
+        final SnapshotEncoder.Options options = snapshotInFlight;
+        if (options == null) {
+          // 已经超时放弃的截图
+          return;
+        }
+        handler.removeCallbacks(snapshotTimeout);
+        snapshotInFlight = null;
+        issueSnapshot();
+        // 截图是用户在等的结果，优先于缓存清理等后台任务
+        ThreadUtils.runOnSubThread(LaneExecutor.Lane.USER_VISIBLE, new Runnable() {
           @Override
           public void run() {
-            String videoPath = FileUtils.getDir(context) + "snapShot" + File.separator;
-            String bitmapPath = FileUtils.saveBitmap(bitmap, videoPath);
-
-            if(Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
-              FileUtils.saveImgToMediaStore(context.getApplicationContext(), bitmapPath,"image/png");
-            } else {
-              MediaScannerConnection.scanFile(context.getApplicationContext(),
-                      new String[] {bitmapPath},
-                      new String[] {"image/png"}, null);
-            }
-
-            ThreadUtils.runOnUiThread(new Runnable() {
-              @Override
-              public void run() {
-                Map<String, Object> event = new HashMap<>();
-                event.put("event", "snapshot");
-                event.put("filePath", bitmapPath);
-                eventSink.success(event);
+            try {
+              // eventSink可在任意线程调用，由其统一切换到主线程发送
+              if (options.inMemory) {
+                eventSink.success(SnapshotEncoder.encode(bitmap, options, snapshotCache));
+              } else {
+                eventSink.success(SnapshotEncoder.save(context, bitmap, options));
               }
-            });
+            } catch (IOException e) {
+              Log.e("java:", "snapshot failed", e);
+            }
           }
-        });
+        }, LaneExecutor.LOG_REJECTION);
       }
     });
     
   }
 
+  /**
+   * Sends the current position on the event channel when push mode is on.
+   *
+   * <p>Updates are rate limited to {@link #mPositionUpdateInterval} and skipped while the player
+   * is not playing or the position did not change.
+   */
+  private void maybeSendPositionUpdate() {
+    if (mPositionUpdateInterval <= 0 || mState != IPlayer.started) {
+      return;
+    }
+    long now = SystemClock.uptimeMillis();
+    if (mCurrentPosition == mLastSentPosition
+        || now - mLastPositionUpdateTime < mPositionUpdateInterval) {
+      return;
+    }
+    mLastPositionUpdateTime = now;
+    mLastSentPosition = mCurrentPosition;
+    eventSink.success(positionFrame.position(mCurrentPosition));
+  }
+
   void sendBufferingUpdate() {
-    Map<String, Object> event = new HashMap<>();
-    event.put("event", "bufferingUpdate");
-    List<? extends Number> range = Arrays.asList(0, mVideoBufferedPosition);
-    // iOS supports a list of buffered ranges, so here is a list with a single range.
-    event.put("values", Collections.singletonList(range));
-    eventSink.success(event);
+    // The Dart side decodes the frame into a list with a single buffered range, as iOS sends.
+    eventSink.success(bufferingFrame.bufferingUpdate(mVideoBufferedPosition));
   }
   
   void prepare() {
-    if (aliyunVodPlayer == null) {
+    if (deferUntilReady(this::prepare) || aliyunVodPlayer == null) {
       return;
     }
     aliyunVodPlayer.prepare();
   }
 
   void play() {
-    if (aliyunVodPlayer == null) {
+    if (deferUntilReady(this::play) || aliyunVodPlayer == null) {
       return;
     }
+    setLevel(PlayerGovernor.LEVEL_ACTIVE);
+    mPausedInBackground = false;
     aliyunVodPlayer.start();
   }
 
   void pause() {
-    if (aliyunVodPlayer == null) {
+    // 在后台被应用主动暂停的，回到前台时不再恢复
+    mPausedInBackground = false;
+    // 已被停止或释放的播放器不需要为了暂停而恢复
+    if (mLevel >= PlayerGovernor.LEVEL_STOPPED) {
+      return;
+    }
+    if (deferUntilReady(this::pause) || aliyunVodPlayer == null) {
       return;
     }
     aliyunVodPlayer.pause();
   }
 
   void stop() {
-    if (aliyunVodPlayer == null) {
+    if (mLevel >= PlayerGovernor.LEVEL_STOPPED) {
+      return;
+    }
+    if (deferUntilReady(this::stop) || aliyunVodPlayer == null) {
       return;
     }
     aliyunVodPlayer.stop();
   }
 
   void reload() {
-    if (aliyunVodPlayer == null) {
+    if (deferUntilReady(this::reload) || aliyunVodPlayer == null) {
       return;
     }
     aliyunVodPlayer.reload();
   }
 
   void setLooping(boolean value) {
-    if (aliyunVodPlayer == null) {
-      return;
+    mLooping = value;
+    if (aliyunVodPlayer != null) {
+      aliyunVodPlayer.setLoop(value);
     }
-    aliyunVodPlayer.setLoop(value);
   }
   
   //设置倍速播放:支持0.5~2倍速的播放
   void setSpeed(double value) {
-    if (aliyunVodPlayer == null) {
-      return;
+    mSpeed = (float) Math.max(0.5, Math.min(2.0, value));
+    if (aliyunVodPlayer != null) {
+      aliyunVodPlayer.setSpeed(mSpeed);
     }
-    float bracketedValue = (float) Math.max(0.5, Math.min(2.0, value));
-    aliyunVodPlayer.setSpeed(bracketedValue);;
   }
 
   void setScaleMode(int value) {
-    if (aliyunVodPlayer == null) {
-      return;
-    }
-    
     IPlayer.ScaleMode scaleMode;
     if (value == 1) {
       // 填充（将按照视频宽高比等比放大，充满view，不会有画面变形）
@@ -323,14 +593,13 @@ final class VideoPlayer {
       // 宽高比适应（将按照视频宽高比等比缩小到view内部，不会有画面变形）
       scaleMode = IPlayer.ScaleMode.SCALE_ASPECT_FIT;
     }
-    aliyunVodPlayer.setScaleMode(scaleMode);
+    mScaleMode = scaleMode;
+    if (aliyunVodPlayer != null) {
+      aliyunVodPlayer.setScaleMode(scaleMode);
+    }
   }
 
   void setMirrorMode(int value) {
-    if (aliyunVodPlayer == null) {
-      return;
-    }
-
     IPlayer.MirrorMode mirrorMode;
     if (value == 1) {
       // 水平镜像
@@ -342,60 +611,349 @@ final class VideoPlayer {
       // 无镜像
       mirrorMode = IPlayer.MirrorMode.MIRROR_MODE_NONE;
     }
-    
-    aliyunVodPlayer.setMirrorMode(mirrorMode);
+    mMirrorMode = mirrorMode;
+    if (aliyunVodPlayer != null) {
+      aliyunVodPlayer.setMirrorMode(mirrorMode);
+    }
   }
 
   void selectTrack(int value) {
-    if (aliyunVodPlayer == null) {
+    if (deferUntilReady(() -> selectTrack(value)) || aliyunVodPlayer == null) {
       return;
     }
+    abr.onSwitchStarted(value, false);
     aliyunVodPlayer.selectTrack(value);
   }
 
-  void setVolume(double value) {
-    if (aliyunVodPlayer == null) {
+  /**
+   * Turns the automatic track selection on or off and sets its caps.
+   *
+   * @see AbrController#configure
+   */
+  void setAbr(Messages.AbrMessage arg) {
+    abr.configure(arg.getEnable(), arg.getMaxWidth(), arg.getMaxHeight(), arg.getMaxBitrate());
+    if (aliyunVodPlayer != null && !mRestoring && isInitialized) {
+      switchTrack(abr.decide(Math.max(0, mVideoBufferedPosition - mCurrentPosition)));
+    }
+  }
+
+  private void switchTrack(TrackInfo track) {
+    if (track == null || aliyunVodPlayer == null) {
       return;
     }
-    float bracketedValue = (float) Math.max(0.0, Math.min(1.0, value));
-    aliyunVodPlayer.setVolume(bracketedValue);
+    abr.onSwitchStarted(track.getIndex(), true);
+    aliyunVodPlayer.selectTrack(track.getIndex());
+  }
+
+  private TrackInfo currentVideoTrack() {
+    return aliyunVodPlayer.currentTrack(TrackInfo.Type.TYPE_VIDEO.ordinal());
+  }
+
+  void setVolume(double value) {
+    mVolume = (float) Math.max(0.0, Math.min(1.0, value));
+    if (aliyunVodPlayer != null) {
+      aliyunVodPlayer.setVolume(mVolume);
+    }
   }
 
   void seekTo(int location) {
-    if (aliyunVodPlayer == null) {
+    seekTo(location, true);
+  }
+
+  /**
+   * Seeks to {@code location}; an inaccurate seek stops at the nearest keyframe.
+   *
+   * <p>A seek requested while another one runs waits for it and replaces any seek already waiting.
+   */
+  void seekTo(int location, boolean accurate) {
+    if (mLevel >= PlayerGovernor.LEVEL_STOPPED && !mRestoring) {
+      // 降级后不为seek恢复播放器，只记录位置，恢复时再seek
+      mCurrentPosition = location;
+      mRestorePosition = location;
+      return;
+    }
+    if (deferUntilReady(() -> seekTo(location, accurate)) || aliyunVodPlayer == null) {
       return;
     }
     mCurrentPosition = location;
-    aliyunVodPlayer.seekTo(location, IPlayer.SeekMode.Accurate);
+    if (seeks.request(location, accurate)) {
+      startSeek(location);
+    }
+  }
+
+  private void startSeek(long location) {
+    metrics.onSeekStart();
+    IPlayer.SeekMode mode =
+        seeks.isRunningAccurate() ? IPlayer.SeekMode.Accurate : IPlayer.SeekMode.Inaccurate;
+    aliyunVodPlayer.seekTo(location, mode);
   }
 
   void snapshot() {
-    if (aliyunVodPlayer == null) {
+    snapshot(new SnapshotEncoder.Options());
+  }
+
+  /**
+   * Captures the current frame with {@code options}.
+   *
+   * <p>The player's callback does not tell which capture it answers, so only one runs at a time
+   * and the others wait in order. A capture left unanswered for {@link #SNAPSHOT_TIMEOUT_MS}, or
+   * after an error, a stop by the governor or dispose, is dropped.
+   */
+  void snapshot(SnapshotEncoder.Options options) {
+    if (options.inMemory) {
+      // 同一位置同样参数的截图直接从缓存返回，例如暂停时重复截图
+      options.position = mCurrentPosition;
+      options.cacheKey = SnapshotCache.key(textureEntry.id(), mCurrentPosition, options);
+      SnapshotCache.Entry cached = snapshotCache.get(options.cacheKey);
+      if (cached != null) {
+        eventSink.success(SnapshotEncoder.toEvent(cached, mCurrentPosition, true));
+        return;
+      }
+    }
+    if (deferUntilReady(() -> snapshot(options)) || aliyunVodPlayer == null) {
       return;
     }
+    snapshotRequests.add(options);
+    if (snapshotInFlight == null) {
+      issueSnapshot();
+    }
+  }
+
+  /** Hands the next waiting snapshot to the player, at most one at a time. */
+  private void issueSnapshot() {
+    if (snapshotInFlight != null || snapshotRequests.isEmpty()) {
+      return;
+    }
+    if (aliyunVodPlayer == null || mLevel >= PlayerGovernor.LEVEL_STOPPED) {
+      dropSnapshots();
+      return;
+    }
+    snapshotInFlight = snapshotRequests.poll();
+    handler.postDelayed(snapshotTimeout, SNAPSHOT_TIMEOUT_MS);
     aliyunVodPlayer.snapshot();
   }
+
+  /** Forgets the running and waiting snapshots once the player can no longer answer them. */
+  private void dropSnapshots() {
+    handler.removeCallbacks(snapshotTimeout);
+    snapshotInFlight = null;
+    snapshotRequests.clear();
+  }
   
+  /** See {@link QueuingEventSink#setCoalesceWindow}. */
+  void setEventCoalesceWindow(long windowMs) {
+    eventSink.setCoalesceWindow(windowMs);
+  }
+
+  /** Pushes position updates at most every {@code intervalMs}; 0 turns push mode off. */
+  void setPositionUpdateInterval(long intervalMs) {
+    mPositionUpdateInterval = Math.max(0, intervalMs);
+    mLastSentPosition = -1;
+    mLastPositionUpdateTime = 0;
+  }
+
+  /** Sends the metrics on the event channel every {@code intervalMs}; 0 turns it off. */
+  void setMetricsInterval(long intervalMs) {
+    mMetricsInterval = Math.max(0, intervalMs);
+    handler.removeCallbacks(sendMetrics);
+    if (mMetricsInterval > 0) {
+      handler.postDelayed(sendMetrics, mMetricsInterval);
+    }
+  }
+
+  Messages.MetricsMessage getMetrics() {
+    Messages.MetricsMessage result = metrics.toMessage(textureEntry.id(), eventSink);
+    bufferController.fill(result);
+    seeks.fill(result);
+    return result;
+  }
+
+  String getDataSource() {
+    return dataSource;
+  }
+
   long getPosition() {
     return mCurrentPosition;
   }
 
+  int getLevel() {
+    return mLevel;
+  }
+
+  /**
+   * Estimates the bytes held in the buffer from the buffered duration and the average bandwidth
+   * seen while loading.
+   */
+  long getBufferedBytes() {
+    if (aliyunVodPlayer == null || mLevel >= PlayerGovernor.LEVEL_STOPPED) {
+      return 0;
+    }
+    long bufferedMs = Math.max(0, mVideoBufferedPosition - mCurrentPosition);
+    // kbps * ms / 8 = bytes
+    return (long) (metrics.getAverageKbps() * bufferedMs / 8);
+  }
+
+  /**
+   * Steps down the ladder of {@link PlayerGovernor} until {@code level}, reporting every step.
+   *
+   * @return false when the player is being created or restored and cannot be demoted yet
+   */
+  boolean demoteTo(int level) {
+    if (disposed || mCreating || mRestoring || aliyunVodPlayer == null) {
+      return false;
+    }
+    while (mLevel < level) {
+      int next = mLevel + 1;
+      switch (next) {
+        case PlayerGovernor.LEVEL_PAUSED:
+          aliyunVodPlayer.pause();
+          break;
+        case PlayerGovernor.LEVEL_STOPPED:
+          // stop会释放解码器和缓冲，恢复时需要重新prepare
+          mRestorePosition = mCurrentPosition;
+          aliyunVodPlayer.stop();
+          dropSnapshots();
+          break;
+        case PlayerGovernor.LEVEL_SURFACE_RELEASED:
+          if (surface != null) {
+            aliyunVodPlayer.setSurface(null);
+            surface.release();
+            surface = null;
+          }
+          // 此后由restore重建Surface
+          mSurfaceDetached = false;
+          break;
+        case PlayerGovernor.LEVEL_RELEASED:
+          playerPool.release(aliyunVodPlayer);
+          aliyunVodPlayer = null;
+          break;
+        default:
+          return true;
+      }
+      setLevel(next);
+    }
+    return true;
+  }
+
+  /**
+   * Brings a player demoted to {@link PlayerGovernor#LEVEL_STOPPED} or below back to {@link
+   * PlayerGovernor#LEVEL_PAUSED}: prepared again at the position it was stopped at.
+   *
+   * @return false when there was nothing to restore
+   */
+  boolean restore() {
+    if (disposed || mLevel < PlayerGovernor.LEVEL_STOPPED) {
+      return false;
+    }
+    if (surface == null) {
+      surface = new Surface(textureEntry.surfaceTexture());
+      // 后台释放的surface在这里已经重建
+      mSurfaceDetached = false;
+      if (aliyunVodPlayer != null) {
+        aliyunVodPlayer.setSurface(surface);
+      }
+    }
+    mRestoring = true;
+    if (aliyunVodPlayer == null) {
+      createPlayer();
+    } else {
+      aliyunVodPlayer.prepare();
+    }
+    setLevel(PlayerGovernor.LEVEL_PAUSED);
+    return true;
+  }
+
+  /** Pauses a playing player when the app goes to the background, see {@link LifecyclePolicy}. */
+  void pauseForBackground() {
+    if (disposed || aliyunVodPlayer == null || mState != IPlayer.started) {
+      return;
+    }
+    aliyunVodPlayer.pause();
+    mPausedInBackground = true;
+  }
+
+  /**
+   * Releases the surface of a player that stayed in the background and caps its buffer so that it
+   * stops downloading. The decoder and the buffered data are kept.
+   *
+   * @return an estimate of the bytes held by the surface buffers, 0 when nothing was released
+   */
+  long releaseSurfaceForBackground() {
+    if (disposed
+        || mCreating
+        || mRestoring
+        || aliyunVodPlayer == null
+        || surface == null
+        || mLevel >= PlayerGovernor.LEVEL_STOPPED) {
+      return 0;
+    }
+    aliyunVodPlayer.setSurface(null);
+    surface.release();
+    surface = null;
+    mSurfaceDetached = true;
+    if (bufferController.setBackground(true)) {
+      bufferController.apply(aliyunVodPlayer);
+    }
+    // BufferQueue一般有3块RGBA缓冲
+    return 3L * 4 * aliyunVodPlayer.getVideoWidth() * aliyunVodPlayer.getVideoHeight();
+  }
+
+  /** Undoes {@link #pauseForBackground} and {@link #releaseSurfaceForBackground}. */
+  void resumeFromBackground(boolean resumePlayback) {
+    if (disposed) {
+      return;
+    }
+    if (bufferController.setBackground(false) && aliyunVodPlayer != null) {
+      bufferController.apply(aliyunVodPlayer);
+    }
+    if (mSurfaceDetached) {
+      mSurfaceDetached = false;
+      if (surface == null) {
+        surface = new Surface(textureEntry.surfaceTexture());
+      }
+      if (aliyunVodPlayer != null) {
+        aliyunVodPlayer.setSurface(surface);
+        // 暂停状态下重新绘制当前帧，位置不变
+        aliyunVodPlayer.redraw();
+      }
+    }
+    if (mPausedInBackground) {
+      mPausedInBackground = false;
+      if (resumePlayback) {
+        play();
+      }
+    }
+  }
+
+  private void setLevel(int level) {
+    if (mLevel == level) {
+      return;
+    }
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", "resourceLevelChanged");
+    event.put("from", mLevel);
+    event.put("level", level);
+    mLevel = level;
+    eventSink.success(event);
+  }
+
   private void sendInitialized() {
     if (isInitialized) {
       Map<String, Object> event = new HashMap<>();
       MediaInfo mediaInfo = aliyunVodPlayer.getMediaInfo();
-      if (mediaInfo != null) {
-        List<TrackInfo> trackInfos  = mediaInfo.getTrackInfos();
+      List<TrackInfo> trackInfos = mediaInfo != null ? mediaInfo.getTrackInfos() : null;
+      TrackInfo current = currentVideoTrack();
+      // 视频、音频、字幕轨道和清晰度，供Dart端选择
+      List<Map<String, Object>> tracks = new ArrayList<>();
+      if (trackInfos != null) {
         for (TrackInfo info : trackInfos) {
-          if (info.getType() == TrackInfo.Type.TYPE_VOD) {
-            /// 清晰度
-            // TODO 暂时未实现
-            Log.d("java:", "-----------" + info.getVodDefinition());
-            int index = info.getIndex();
-          }
+          tracks.add(AbrController.toMap(info));
         }
       }
-     
+      event.put("tracks", tracks);
+      event.put("trackIndex", current != null ? current.getIndex() : -1);
+      abr.setTracks(trackInfos, current);
+
       event.put("event", "initialized");
       event.put("duration", aliyunVodPlayer.getDuration());
 
@@ -410,22 +968,38 @@ final class VideoPlayer {
       event.put("width", width);
       event.put("height", height);
       eventSink.success(event);
+      switchTrack(abr.decide(Math.max(0, mVideoBufferedPosition - mCurrentPosition)));
     }
   }
 
   void dispose() {
+    disposed = true;
+    handler.removeCallbacks(sendMetrics);
+    dropSnapshots();
+    snapshotCache.remove(textureEntry.id());
+    eventChannel.setStreamHandler(null);
+    if (mCreating) {
+      // 播放器还在后台线程创建，由onPlayerCreated归还播放器并释放texture
+      pendingOps.clear();
+      return;
+    }
+    if (aliyunVodPlayer == null) {
+      // 已被PlayerGovernor释放
+      pendingOps.clear();
+      releaseSurface();
+      return;
+    }
     if (isInitialized) {
       aliyunVodPlayer.stop();
     }
+    // 停止并解绑surface后归还到播放器池，由池决定是否真正释放
+    playerPool.release(aliyunVodPlayer);
+    aliyunVodPlayer = null;
+    releaseSurface();
+  }
+
+  private void releaseSurface() {
     textureEntry.release();
-    eventChannel.setStreamHandler(null);
-    
-    if (aliyunVodPlayer != null) {
-      aliyunVodPlayer.stop();
-      aliyunVodPlayer.setSurface(null);
-      aliyunVodPlayer.release();
-      aliyunVodPlayer = null;
-    }
     if (surface != null) {
       surface.release();
       surface = null;
@@ -8,13 +8,22 @@ import android.app.Activity;
 import android.content.ContentResolver;
 import android.content.Context;
 import android.content.res.Resources;
+import android.os.Handler;
+import android.os.HandlerThread;
 import android.provider.Settings;
 import android.util.Log;
-import android.util.LongSparseArray;
 import android.view.Window;
 import android.view.WindowManager;
 
 import androidx.annotation.NonNull;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
 import io.flutter.embedding.engine.plugins.FlutterPlugin;
 import io.flutter.embedding.engine.plugins.activity.ActivityAware;
 import io.flutter.embedding.engine.plugins.activity.ActivityPluginBinding;
@@ -27,14 +36,30 @@ import io.flutter.plugins.videoplayer.Messages.PositionMessage;
 import io.flutter.plugins.videoplayer.Messages.TextureMessage;
 import io.flutter.plugins.videoplayer.Messages.VideoPlayerApi;
 import io.flutter.plugins.videoplayer.Messages.VolumeMessage;
+import io.flutter.plugins.videoplayer.utils.ThreadUtils;
 import io.flutter.view.FlutterMain;
 import io.flutter.view.TextureRegistry;
 
 /** Android platform implementation of the VideoPlayerPlugin. */
 public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi, ActivityAware {
   private static final String TAG = "VideoPlayerPlugin";
-  private final LongSparseArray<VideoPlayer> videoPlayers = new LongSparseArray<>();
+  private final PlayerRegistry<VideoPlayer> videoPlayers = new PlayerRegistry<>();
+  private final LifecyclePolicy lifecyclePolicy = new LifecyclePolicy(videoPlayers);
   private FlutterState flutterState;
+  private AliPlayerPool playerPool;
+  private PreloadManager preloadManager;
+  private DirectoryMaintainer maintainer;
+  private CacheManager cacheManager;
+  private PlayerGovernor governor;
+  private SnapshotCache snapshotCache;
+  private ThumbnailEngine thumbnailEngine;
+  private LocalProxy localProxy;
+  private DownloadManager downloadManager;
+  // 下载事件在插件重新挂载之间保留，没有监听者时排队
+  private final QueuingEventSink downloadEvents = new QueuingEventSink();
+  // 在后台线程创建和配置播放器，create可以立即返回textureId
+  private HandlerThread createThread;
+  private Handler createHandler;
 
   private FlutterPluginBinding pluginBinding;
   private ActivityPluginBinding activityBinding;
@@ -51,6 +76,7 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi, Activit
             registrar::lookupKeyForAsset,
             registrar.textures());
     flutterState.startListening(this, registrar.messenger());
+    attachServices(registrar.context());
   }
 
   /** Registers this with the stable v1 embedding. Will not respond to lifecycle events. */
@@ -66,6 +92,7 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi, Activit
   @Override
   public void onAttachedToEngine(FlutterPluginBinding binding) {
     pluginBinding = binding;
+    attachServices(binding.getApplicationContext());
   }
 
   @Override
@@ -76,13 +103,72 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi, Activit
     flutterState.stopListening(binding.getBinaryMessenger());
     flutterState = null;
     pluginBinding = null;
+    detachServices(binding.getApplicationContext());
+  }
+
+  /** Creates the services shared by the players: pool, caches, governor, proxy and downloads. */
+  private void attachServices(Context context) {
+    createThread = new HandlerThread("VideoPlayerCreate");
+    createThread.start();
+    createHandler = new Handler(createThread.getLooper());
+    playerPool = new AliPlayerPool(context, createHandler);
+    maintainer = new DirectoryMaintainer();
+    cacheManager = new CacheManager(context, maintainer);
+    maintainer.track(DirectoryMaintainer.SNAPSHOT, SnapshotEncoder.snapshotDir(context), null);
+    thumbnailEngine = new ThumbnailEngine(context, maintainer);
+    localProxy = new LocalProxy(new File(context.getCacheDir(), "video_proxy"));
+    // 离线文件不能被缓存清理删除，放在私有files目录
+    downloadManager =
+        new DownloadManager(new File(context.getFilesDir(), "video_downloads"), downloadEvents);
+    maintainer.start();
+    governor = new PlayerGovernor();
+    snapshotCache = new SnapshotCache();
+    context.getApplicationContext().registerComponentCallbacks(playerPool);
+    preloadManager = new PreloadManager(playerPool, cacheManager, localProxy, createHandler);
+  }
+
+  /** Stops and drops everything {@link #attachServices} created. */
+  private void detachServices(Context context) {
+    if (playerPool == null) {
+      return;
+    }
+    context.getApplicationContext().unregisterComponentCallbacks(playerPool);
+    lifecyclePolicy.clear();
+    // 创建线程上还没执行的预热不再放入池中
+    playerPool.setMaxSize(0);
+    createThread.quitSafely();
+    createThread = null;
+    createHandler = null;
+    governor.clear();
+    governor = null;
+    snapshotCache.clear();
+    snapshotCache = null;
+    thumbnailEngine.clear();
+    thumbnailEngine = null;
+    localProxy.stop();
+    localProxy = null;
+    downloadManager.stop();
+    downloadManager = null;
+    preloadManager.clear();
+    preloadManager = null;
+    cacheManager = null;
+    maintainer.stop();
+    maintainer = null;
+    playerPool.clear();
+    playerPool = null;
   }
 
   private void disposeAllPlayers() {
-    for (int i = 0; i < videoPlayers.size(); i++) {
-      videoPlayers.valueAt(i).dispose();
+    // 先整体移除，之后的调用和后台任务都查不到正在释放的播放器
+    for (VideoPlayer player : videoPlayers.removeAll()) {
+      player.dispose();
+    }
+    if (governor != null) {
+      governor.clear();
+    }
+    if (thumbnailEngine != null) {
+      thumbnailEngine.clear();
     }
-    videoPlayers.clear();
   }
 
   private void onDestroy() {
@@ -92,10 +178,17 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi, Activit
     // be replaced with just asserting that videoPlayers.isEmpty().
     // https://github.com/flutter/flutter/issues/20989 tracks this.
     disposeAllPlayers();
+    if (preloadManager != null) {
+      preloadManager.clear();
+    }
+    if (playerPool != null) {
+      playerPool.clear();
+    }
   }
 
   public void initialize() {
     disposeAllPlayers();
+    preloadManager.clear();
   }
 
   public TextureMessage create(CreateMessage arg) {
@@ -103,7 +196,9 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi, Activit
         flutterState.textureRegistry.createSurfaceTexture();
     EventChannel eventChannel =
         new EventChannel(
-            flutterState.binaryMessenger, "flutter.io/videoPlayer/videoEvents" + handle.id());
+            flutterState.binaryMessenger,
+            "flutter.io/videoPlayer/videoEvents" + handle.id(),
+            EventCodec.INSTANCE);
 
     VideoPlayer player;
     if (arg.getAsset() != null) {
@@ -120,17 +215,43 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi, Activit
               eventChannel,
               handle,
               "asset:///" + assetLookupKey,
-              null);
+              null,
+              playerPool,
+              cacheManager,
+              localProxy,
+              null,
+              createHandler,
+              governor,
+              snapshotCache,
+              new BufferController(arg.getBufferProfile(), arg.getAdaptiveBuffer()));
     } else {
+      String uri = downloadManager.localUriFor(arg.getUri());
+      PreloadManager.Preloaded preloaded = null;
+      // 已下载完成的源从本地文件播放，不接管从网络预加载的播放器
+      if (arg.getPreloadHandle() != null && uri != null && uri.equals(arg.getUri())) {
+        preloaded = preloadManager.adopt(arg.getPreloadHandle(), arg.getUri());
+      }
       player =
           new VideoPlayer(
               flutterState.applicationContext,
               eventChannel,
               handle,
-              arg.getUri(),
-              arg.getFormatHint());
+              uri,
+              arg.getFormatHint(),
+              playerPool,
+              cacheManager,
+              localProxy,
+              preloaded,
+              createHandler,
+              governor,
+              snapshotCache,
+              new BufferController(arg.getBufferProfile(), arg.getAdaptiveBuffer()));
+    }
+    if (arg.getEventCoalesceWindow() != null) {
+      player.setEventCoalesceWindow(arg.getEventCoalesceWindow());
     }
     videoPlayers.put(handle.id(), player);
+    governor.register(player);
 
     TextureMessage result = new TextureMessage();
     result.setTextureId(handle.id());
@@ -139,9 +260,14 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi, Activit
 
   @Override
   public void dispose(TextureMessage arg) {
-    VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    // 只有移除成功的调用方负责释放，重复的dispose不会释放两次
+    VideoPlayer player = videoPlayers.remove(arg.getTextureId());
+    if (player == null) {
+      return;
+    }
+    governor.unregister(player);
+    thumbnailEngine.stop(arg.getTextureId());
     player.dispose();
-    videoPlayers.remove(arg.getTextureId());
   }
 
   @Override
@@ -229,6 +355,12 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi, Activit
     player.snapshot();
   }
 
+  @Override
+  public void snapshotWithOptions(Messages.SnapshotMessage arg) {
+    VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    player.snapshot(SnapshotEncoder.Options.from(arg));
+  }
+
   @Override
   public void setScaleMode(PositionMessage arg) {
     VideoPlayer player = videoPlayers.get(arg.getTextureId());
@@ -247,6 +379,28 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi, Activit
     player.selectTrack(arg.getPosition().intValue());
   }
 
+  @Override
+  public void setAbr(Messages.AbrMessage arg) {
+    VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    player.setAbr(arg);
+  }
+
+  @Override
+  public void setThumbnails(Messages.ThumbnailConfigMessage arg) {
+    VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    if (arg.getEnable() != null && !arg.getEnable()) {
+      thumbnailEngine.stop(arg.getTextureId());
+      return;
+    }
+    thumbnailEngine.start(
+        arg.getTextureId(), player.getDataSource(), ThumbnailEngine.Config.from(arg));
+  }
+
+  @Override
+  public Messages.ThumbnailMessage getThumbnail(PositionMessage arg) {
+    return thumbnailEngine.getThumbnail(arg.getTextureId(), arg.getPosition());
+  }
+
   public PositionMessage position(TextureMessage arg) {
     VideoPlayer player = videoPlayers.get(arg.getTextureId());
     PositionMessage result = new PositionMessage();
@@ -255,16 +409,282 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi, Activit
     return result;
   }
 
+  @Override
+  public void setPositionUpdateInterval(PositionMessage arg) {
+    VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    player.setPositionUpdateInterval(arg.getPosition());
+  }
+
+  @Override
+  public Messages.MetricsMessage getMetrics(TextureMessage arg) {
+    VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    return player.getMetrics();
+  }
+
+  @Override
+  public void setMetricsInterval(PositionMessage arg) {
+    VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    player.setMetricsInterval(arg.getPosition());
+  }
+
+  /**
+   * Applies {@code arg.commands} in order to one player, to the players in {@code arg.textureIds},
+   * or to every player when neither is set, skipping {@code arg.exceptTextureId}.
+   *
+   * <p>Every command is a map with an {@code op} and an optional {@code value}. A failing command
+   * does not stop the ones after it; the reply holds one {@code {ok, value, error}} map per command
+   * and per player, under {@code {textureId, results}}.
+   */
+  @Override
+  public Messages.BatchMessage batch(Messages.BatchMessage arg) {
+    List<Long> textureIds = new ArrayList<>();
+    if (arg.getTextureId() != null) {
+      textureIds.add(arg.getTextureId());
+    } else if (arg.getTextureIds() != null) {
+      for (Object textureId : arg.getTextureIds()) {
+        textureIds.add(((Number) textureId).longValue());
+      }
+    } else {
+      for (long textureId : videoPlayers.keys()) {
+        textureIds.add(textureId);
+      }
+    }
+    List<?> commands = arg.getCommands() != null ? arg.getCommands() : new ArrayList<>();
+
+    ArrayList<Object> results = new ArrayList<>(textureIds.size());
+    for (Long textureId : textureIds) {
+      if (textureId.equals(arg.getExceptTextureId())) {
+        continue;
+      }
+      VideoPlayer player = videoPlayers.get(textureId);
+      ArrayList<Object> playerResults = new ArrayList<>(commands.size());
+      for (Object command : commands) {
+        Map<String, Object> result = new HashMap<>();
+        try {
+          if (player == null) {
+            throw new IllegalStateException("No player for texture " + textureId);
+          }
+          result.put("value", applyCommand(player, (Map<?, ?>) command));
+          result.put("ok", true);
+        } catch (Exception exception) {
+          result.put("ok", false);
+          result.put("error", exception.toString());
+        }
+        playerResults.add(result);
+      }
+      Map<String, Object> entry = new HashMap<>();
+      entry.put("textureId", textureId);
+      entry.put("results", playerResults);
+      results.add(entry);
+    }
+    Messages.BatchMessage result = new Messages.BatchMessage();
+    result.setResults(results);
+    return result;
+  }
+
+  private static Object applyCommand(VideoPlayer player, Map<?, ?> command) {
+    String op = (String) command.get("op");
+    Object value = command.get("value");
+    switch (op) {
+      case "play":
+        player.play();
+        return null;
+      case "pause":
+        player.pause();
+        return null;
+      case "stop":
+        player.stop();
+        return null;
+      case "prepare":
+        player.prepare();
+        return null;
+      case "reload":
+        player.reload();
+        return null;
+      case "snapshot":
+        player.snapshot();
+        return null;
+      case "position":
+        return player.getPosition();
+      case "setLooping":
+        player.setLooping((Boolean) value);
+        return null;
+      case "setVolume":
+        player.setVolume(((Number) value).doubleValue());
+        return null;
+      case "setSpeed":
+        player.setSpeed(((Number) value).doubleValue());
+        return null;
+      case "setScaleMode":
+        player.setScaleMode(((Number) value).intValue());
+        return null;
+      case "setMirrorMode":
+        player.setMirrorMode(((Number) value).intValue());
+        return null;
+      case "selectTrack":
+        player.selectTrack(((Number) value).intValue());
+        return null;
+      case "seekTo":
+        player.seekTo(((Number) value).intValue());
+        return null;
+      case "setPositionUpdateInterval":
+        player.setPositionUpdateInterval(((Number) value).longValue());
+        return null;
+      case "setMetricsInterval":
+        player.setMetricsInterval(((Number) value).longValue());
+        return null;
+      default:
+        throw new IllegalArgumentException("Unknown op: " + op);
+    }
+  }
+
   public void seekTo(PositionMessage arg) {
     VideoPlayer player = videoPlayers.get(arg.getTextureId());
     player.seekTo(arg.getPosition().intValue());
   }
 
+  @Override
+  public void seekWithMode(Messages.SeekMessage arg) {
+    VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    boolean accurate = SeekController.isAccurate(arg.getMode(), arg.getDragging());
+    player.seekTo(arg.getPosition().intValue(), accurate);
+  }
+
   public void pause(TextureMessage arg) {
     VideoPlayer player = videoPlayers.get(arg.getTextureId());
     player.pause();
   }
 
+  @Override
+  public void setPlayerPool(Messages.PlayerPoolMessage arg) {
+    if (arg.getMaxSize() != null) {
+      playerPool.setMaxSize(arg.getMaxSize().intValue());
+    }
+    if (arg.getPrewarmCount() != null) {
+      playerPool.prewarm(arg.getPrewarmCount().intValue());
+    }
+  }
+
+  @Override
+  public Messages.PlayerPoolMessage getPlayerPool() {
+    return playerPool.getStats();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Messages.PreloadMessage preload(Messages.PreloadMessage arg) {
+    int window = arg.getWindow() == null ? arg.getUris().size() : arg.getWindow().intValue();
+    int bufferDuration =
+        arg.getBufferDuration() == null
+            ? PreloadManager.DEFAULT_BUFFER_DURATION
+            : arg.getBufferDuration().intValue();
+    long bufferBytes = arg.getBufferBytes() == null ? 0 : arg.getBufferBytes();
+    List<Long> handles =
+        preloadManager.preload(arg.getUris(), window, bufferDuration, bufferBytes);
+
+    Messages.PreloadMessage result = new Messages.PreloadMessage();
+    result.setHandles(new ArrayList<>(handles));
+    return result;
+  }
+
+  @Override
+  public void setCacheConfig(Messages.CacheMessage arg) {
+    cacheManager.setConfig(arg);
+  }
+
+  @Override
+  public Messages.CacheMessage getCacheStats() {
+    return cacheManager.getStats();
+  }
+
+  @Override
+  public void clearCache() {
+    cacheManager.clear();
+  }
+
+  @Override
+  public void setMaintenance(Messages.MaintenanceMessage arg) {
+    maintainer.setConfig(arg);
+  }
+
+  @Override
+  public Messages.MaintenanceMessage getMaintenanceStats() {
+    return maintainer.getStats();
+  }
+
+  @Override
+  public void runMaintenance() {
+    maintainer.schedule();
+  }
+
+  @Override
+  public void setGovernor(Messages.GovernorMessage arg) {
+    governor.setConfig(arg);
+  }
+
+  @Override
+  public Messages.GovernorMessage getGovernorStats() {
+    return governor.getStats();
+  }
+
+  @Override
+  public void setLifecyclePolicy(Messages.LifecycleMessage arg) {
+    lifecyclePolicy.setConfig(arg);
+  }
+
+  @Override
+  public Messages.LifecycleMessage getLifecycleStats() {
+    return lifecyclePolicy.getStats();
+  }
+
+  @Override
+  public void setProxy(Messages.ProxyMessage arg) {
+    localProxy.setConfig(arg);
+  }
+
+  @Override
+  public Messages.ProxyMessage getProxyStats() {
+    return localProxy.getStats();
+  }
+
+  @Override
+  public void setDownloadConfig(Messages.DownloadConfigMessage arg) {
+    downloadManager.setConfig(arg);
+  }
+
+  @Override
+  public Messages.DownloadMessage startDownload(Messages.DownloadMessage arg) {
+    return downloadManager.start(arg.getUrl(), arg.getConnections());
+  }
+
+  @Override
+  public void pauseDownload(Messages.DownloadMessage arg) {
+    downloadManager.pause(arg.getId());
+  }
+
+  @Override
+  public void removeDownload(Messages.DownloadMessage arg) {
+    downloadManager.remove(arg.getId());
+  }
+
+  @Override
+  public Messages.DownloadListMessage getDownloads() {
+    return downloadManager.getDownloads();
+  }
+
+  @Override
+  public void setPriority(PositionMessage arg) {
+    VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    governor.setPriority(player, arg.getPosition().intValue());
+  }
+
+  @Override
+  public Messages.ExecutorStatsMessage getExecutorStats() {
+    Messages.ExecutorStatsMessage result = new Messages.ExecutorStatsMessage();
+    result.setLanes(new ArrayList<Object>(ThreadUtils.getSubThreadStats()));
+    return result;
+  }
+
   @Override
   public void onAttachedToActivity(@NonNull ActivityPluginBinding binding) {
     activityBinding = binding;
@@ -277,6 +697,7 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi, Activit
                     FlutterMain::getLookupKeyForAsset,
                     pluginBinding.getTextureRegistry());
     flutterState.startListening(this, pluginBinding.getBinaryMessenger());
+    lifecyclePolicy.attach(activityBinding.getActivity());
   }
 
   @Override
@@ -292,6 +713,7 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi, Activit
   @Override
   public void onDetachedFromActivity() {
     activityBinding = null;
+    lifecyclePolicy.detach();
   }
 
   private interface KeyForAssetFn {
@@ -327,10 +749,27 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi, Activit
 
     void startListening(VideoPlayerPlugin methodCallHandler, BinaryMessenger messenger) {
       VideoPlayerApi.setup(messenger, methodCallHandler);
+      CompactMessages.setup(messenger, methodCallHandler);
+      final QueuingEventSink downloadEvents = methodCallHandler.downloadEvents;
+      new EventChannel(messenger, DownloadManager.EVENT_CHANNEL)
+          .setStreamHandler(
+              new EventChannel.StreamHandler() {
+                @Override
+                public void onListen(Object o, EventChannel.EventSink sink) {
+                  downloadEvents.setDelegate(sink);
+                }
+
+                @Override
+                public void onCancel(Object o) {
+                  downloadEvents.setDelegate(null);
+                }
+              });
     }
 
     void stopListening(BinaryMessenger messenger) {
       VideoPlayerApi.setup(messenger, null);
+      CompactMessages.setup(messenger, null);
+      new EventChannel(messenger, DownloadManager.EVENT_CHANNEL).setStreamHandler(null);
     }
   }
 }
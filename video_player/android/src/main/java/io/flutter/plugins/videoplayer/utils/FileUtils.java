@@ -19,6 +19,11 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 import androidx.annotation.RequiresApi;
 
@@ -33,16 +38,7 @@ public class FileUtils {
      * @return 单位b
      */
     public static long getSdcardAvailableSize() {
-
-        File directory = Environment.getExternalStorageDirectory();
-
-        StatFs statFs = new StatFs(directory.getPath());
-        //获取可供程序使用的Block数量
-        long blockAvailable = statFs.getAvailableBlocks();
-        //获得Sdcard上每个block的size
-        long blockSize = statFs.getBlockSize();
-
-        return blockAvailable * blockSize;
+        return getAvailableBytes(Environment.getExternalStorageDirectory());
     }
 
     /**
@@ -50,16 +46,89 @@ public class FileUtils {
      * @return 单位b
      */
     public static long getSdcardTotalSize() {
+        return getTotalBytes(Environment.getExternalStorageDirectory());
+    }
 
-        File directory = Environment.getExternalStorageDirectory();
+    /**
+     * 获取{@code file}所在分区可供程序使用的大小，{@code file}不存在时取最近的已存在的上级目录
+     * @return 单位b，无法获取时返回-1
+     */
+    @SuppressWarnings("deprecation")
+    public static long getAvailableBytes(File file) {
+        StatFs statFs = statFs(file);
+        if (statFs == null) {
+            return -1;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            return statFs.getAvailableBytes();
+        }
+        // 先转为long再相乘，避免int溢出
+        return (long) statFs.getAvailableBlocks() * statFs.getBlockSize();
+    }
+
+    /**
+     * 获取{@code file}所在分区的总大小
+     * @return 单位b，无法获取时返回-1
+     */
+    @SuppressWarnings("deprecation")
+    public static long getTotalBytes(File file) {
+        StatFs statFs = statFs(file);
+        if (statFs == null) {
+            return -1;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            return statFs.getTotalBytes();
+        }
+        return (long) statFs.getBlockCount() * statFs.getBlockSize();
+    }
+
+    private static StatFs statFs(File file) {
+        while (file != null && !file.exists()) {
+            file = file.getParentFile();
+        }
+        if (file == null) {
+            return null;
+        }
+        try {
+            return new StatFs(file.getPath());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
 
-        StatFs statFs = new StatFs(directory.getPath());
-        //获得sdcard上 block的总数
-        long blockCount = statFs.getBlockCount();
-        //获得sdcard上每个block 的大小
-        long blockSize = statFs.getBlockSize();
+    /**
+     * 文件名用的MD5，32位小写十六进制
+     */
+    public static String md5(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(value.getBytes("UTF-8"));
+            StringBuilder builder = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16));
+                builder.append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException | UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 
-        return blockCount * blockSize;
+    /**
+     * 文件或目录占用的大小，目录会递归计算
+     * @return 单位b
+     */
+    public static long sizeOf(File file) {
+        if (!file.isDirectory()) {
+            return file.length();
+        }
+        long size = 0;
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                size += sizeOf(child);
+            }
+        }
+        return size;
     }
 
     public static File getApplicationSdcardPath(Context context) {
@@ -90,6 +159,9 @@ public class FileUtils {
         }
     }
 
+    /**
+     * 同步递归删除，目录较大时会阻塞调用线程
+     */
     public static boolean deleteDirectory(File dir) {
         clearDirectory(dir);
         return dir.delete();
@@ -147,6 +219,18 @@ public class FileUtils {
         return f.getAbsolutePath();
     }
 
+    /**
+     * 将输入流的内容写入输出流，不关闭两个流
+     */
+    public static void copy(InputStream in, OutputStream out) throws IOException {
+        byte[] bt = new byte[64 * 1024];
+        int len;
+        while ((len = in.read(bt)) >= 0) {
+            out.write(bt, 0, len);
+        }
+        out.flush();
+    }
+
     /**
      * android Q 版本默认路径
      * /storage/emulated/0/Android/data/包名/files/Media/
@@ -185,12 +269,7 @@ public class FileUtils {
             BufferedInputStream bin = new BufferedInputStream(new FileInputStream(fileName));
             ParcelFileDescriptor.AutoCloseOutputStream outputStream = new ParcelFileDescriptor.AutoCloseOutputStream(pfd);
             BufferedOutputStream bot = new BufferedOutputStream(outputStream);
-            byte[] bt = new byte[2048];
-            int len;
-            while ((len = bin.read(bt)) >= 0) {
-                bot.write(bt, 0, len);
-                bot.flush();
-            }
+            copy(bin, bot);
             bin.close();
             bot.close();
         } catch (IOException e) {
@@ -224,12 +303,7 @@ public class FileUtils {
             BufferedInputStream bin = new BufferedInputStream(new FileInputStream(fileName));
             ParcelFileDescriptor.AutoCloseOutputStream outputStream = new ParcelFileDescriptor.AutoCloseOutputStream(pfd);
             BufferedOutputStream bot = new BufferedOutputStream(outputStream);
-            byte[] bt = new byte[2048];
-            int len;
-            while ((len = bin.read(bt)) >= 0) {
-                bot.write(bt, 0, len);
-                bot.flush();
-            }
+            copy(bin, bot);
             bin.close();
             bot.close();
         } catch (IOException e) {
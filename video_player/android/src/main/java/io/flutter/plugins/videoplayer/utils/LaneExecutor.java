@@ -0,0 +1,221 @@
+package io.flutter.plugins.videoplayer.utils;
+
+import android.os.Process;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按优先级分道的子线程池
+ *
+ * 1.任务按{@link Lane}排队，线程空闲时先取优先级高的道，同一道内先进先出
+ * 2.每个道有独立的排队上限，超过上限或线程池关闭时不再静默丢弃，而是回调{@link RejectionHandler}
+ * 3.执行时按道调整线程优先级，后台任务不与截图等用户可见的任务争抢CPU
+ * 4.统计每个道的排队深度、等待时长和执行时长，见{@link #getStats()}
+ */
+public class LaneExecutor {
+
+    private static final String TAG = LaneExecutor.class.getName();
+
+    /**
+     * 任务的优先级，从高到低
+     */
+    public enum Lane {
+        /** 用户在等结果的任务，例如截图 */
+        USER_VISIBLE(Process.THREAD_PRIORITY_DEFAULT, 32),
+        /** 后台维护任务，例如缓存清理 */
+        BACKGROUND(Process.THREAD_PRIORITY_BACKGROUND, 128),
+        /** 统计上报等最不紧急的任务 */
+        METRICS(Process.THREAD_PRIORITY_BACKGROUND + Process.THREAD_PRIORITY_LESS_FAVORABLE, 64);
+
+        final int threadPriority;
+        final int capacity;
+
+        Lane(int threadPriority, int capacity) {
+            this.threadPriority = threadPriority;
+            this.capacity = capacity;
+        }
+    }
+
+    /**
+     * 任务被拒绝时的回调，在提交任务的线程上调用
+     */
+    public interface RejectionHandler {
+        void onRejected(Runnable task, Lane lane, String reason);
+    }
+
+    /** 默认只打印日志 */
+    public static final RejectionHandler LOG_REJECTION = new RejectionHandler() {
+        @Override
+        public void onRejected(Runnable task, Lane lane, String reason) {
+            Log.e(TAG, lane + " 任务被拒绝: " + reason);
+        }
+    };
+
+    private static final int CPU_COUNT = Runtime.getRuntime().availableProcessors();
+    private static final int POOL_SIZE = Math.max(2, Math.min(CPU_COUNT - 1, 4));
+    private static final int KEEP_ALIVE_SECONDS = 30;
+
+    private final ThreadPoolExecutor executor;
+    private final LaneStats[] stats = new LaneStats[Lane.values().length];
+    private final AtomicLong sequence = new AtomicLong();
+
+    public LaneExecutor(final String name) {
+        for (Lane lane : Lane.values()) {
+            stats[lane.ordinal()] = new LaneStats();
+        }
+        // 队列本身不限长度，由每个道的上限控制；线程数固定，空闲时回收
+        executor = new ThreadPoolExecutor(
+            POOL_SIZE, POOL_SIZE, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new PriorityBlockingQueue<Runnable>(), new ThreadFactory() {
+                private final AtomicInteger mCount = new AtomicInteger(1);
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    return new Thread(r, name + " #" + mCount.getAndIncrement());
+                }
+            });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 在{@code lane}上执行任务
+     * @return 任务是否被接受，被拒绝时已回调{@code onRejected}
+     */
+    public boolean execute(Lane lane, Runnable runnable, RejectionHandler onRejected) {
+        LaneStats laneStats = stats[lane.ordinal()];
+        laneStats.submitted.incrementAndGet();
+        int depth = laneStats.queued.incrementAndGet();
+        if (depth > lane.capacity) {
+            laneStats.queued.decrementAndGet();
+            reject(runnable, lane, "队列已满(" + lane.capacity + ")", onRejected);
+            return false;
+        }
+        laneStats.updateMaxDepth(depth);
+        try {
+            executor.execute(new LaneTask(lane, runnable, sequence.getAndIncrement()));
+        } catch (RejectedExecutionException e) {
+            laneStats.queued.decrementAndGet();
+            reject(runnable, lane, "线程池已关闭", onRejected);
+            return false;
+        }
+        return true;
+    }
+
+    private void reject(Runnable runnable, Lane lane, String reason, RejectionHandler onRejected) {
+        stats[lane.ordinal()].rejected.incrementAndGet();
+        if (onRejected != null) {
+            onRejected.onRejected(runnable, lane, reason);
+        }
+    }
+
+    /**
+     * 每个道的统计，时长单位为微秒
+     */
+    public List<Map<String, Object>> getStats() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Lane lane : Lane.values()) {
+            LaneStats laneStats = stats[lane.ordinal()];
+            Map<String, Object> map = new HashMap<>();
+            map.put("lane", lane.name());
+            map.put("queueDepth", (long) laneStats.queued.get());
+            map.put("maxQueueDepth", (long) laneStats.maxQueued.get());
+            map.put("submitted", laneStats.submitted.get());
+            map.put("rejected", laneStats.rejected.get());
+            map.put("completed", laneStats.completed.get());
+            map.put("failed", laneStats.failed.get());
+            map.put("totalWaitUs", laneStats.totalWaitUs.get());
+            map.put("maxWaitUs", laneStats.maxWaitUs.get());
+            map.put("totalRunUs", laneStats.totalRunUs.get());
+            map.put("maxRunUs", laneStats.maxRunUs.get());
+            result.add(map);
+        }
+        return result;
+    }
+
+    private final class LaneTask implements Runnable, Comparable<LaneTask> {
+        final Lane lane;
+        final Runnable runnable;
+        final long sequence;
+        final long enqueueTime = System.nanoTime();
+
+        LaneTask(Lane lane, Runnable runnable, long sequence) {
+            this.lane = lane;
+            this.runnable = runnable;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(LaneTask other) {
+            if (lane != other.lane) {
+                return lane.ordinal() - other.lane.ordinal();
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+
+        @Override
+        public void run() {
+            LaneStats laneStats = stats[lane.ordinal()];
+            laneStats.queued.decrementAndGet();
+            long start = System.nanoTime();
+            laneStats.onWait((start - enqueueTime) / 1000);
+            Process.setThreadPriority(lane.threadPriority);
+            try {
+                runnable.run();
+                laneStats.completed.incrementAndGet();
+            } catch (RuntimeException e) {
+                laneStats.failed.incrementAndGet();
+                Log.e(TAG, lane + " 任务执行失败", e);
+            } finally {
+                laneStats.onRun((System.nanoTime() - start) / 1000);
+            }
+        }
+    }
+
+    private static final class LaneStats {
+        final AtomicInteger queued = new AtomicInteger();
+        final AtomicInteger maxQueued = new AtomicInteger();
+        final AtomicLong submitted = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+        final AtomicLong completed = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final AtomicLong totalWaitUs = new AtomicLong();
+        final AtomicLong maxWaitUs = new AtomicLong();
+        final AtomicLong totalRunUs = new AtomicLong();
+        final AtomicLong maxRunUs = new AtomicLong();
+
+        void updateMaxDepth(int depth) {
+            int max;
+            while (depth > (max = maxQueued.get()) && !maxQueued.compareAndSet(max, depth)) {
+                // 重试
+            }
+        }
+
+        void onWait(long waitUs) {
+            totalWaitUs.addAndGet(waitUs);
+            updateMax(maxWaitUs, waitUs);
+        }
+
+        void onRun(long runUs) {
+            totalRunUs.addAndGet(runUs);
+            updateMax(maxRunUs, runUs);
+        }
+
+        private static void updateMax(AtomicLong max, long value) {
+            long current;
+            while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+                // 重试
+            }
+        }
+    }
+}
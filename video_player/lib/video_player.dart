@@ -12,7 +12,38 @@ import 'package:meta/meta.dart';
 
 import 'package:video_player_platform_interface/video_player_platform_interface.dart';
 export 'package:video_player_platform_interface/video_player_platform_interface.dart'
-    show DurationRange, DataSourceType, VideoFormat, VideoState;
+    show
+        DurationRange,
+        DataSourceType,
+        VideoFormat,
+        VideoState,
+        PlayerPoolStats,
+        CacheStats,
+        MaintenanceStats,
+        PlayerMetrics,
+        PlayerCommand,
+        PlayerCommandResult,
+        GovernorStats,
+        LifecycleStats,
+        ProxyStats,
+        DownloadState,
+        DownloadInfo,
+        DownloadEvent,
+        DownloadEventType,
+        VideoTrack,
+        VideoTrackType,
+        TrackSwitch,
+        SeekMode,
+        SeekResult,
+        Thumbnail,
+        BufferProfile,
+        ExecutorLaneStats,
+        SnapshotFormat,
+        SnapshotOptions,
+        SnapshotResult,
+        PlayerResourceLevel,
+        priorityHidden,
+        priorityDefault;
 
 final VideoPlayerPlatform _videoPlayerPlatform = VideoPlayerPlatform.instance
   // This will clear all open videos on the platform when a full restart is
@@ -43,6 +74,13 @@ class VideoPlayerValue {
     this.percent = 0,
     this.kbps = 0,
     this.filePath,
+    this.metrics,
+    this.resourceLevel = PlayerResourceLevel.active,
+    this.snapshot,
+    this.tracks = const <VideoTrack>[],
+    this.trackIndex = -1,
+    this.trackSwitch,
+    this.lastSeek,
     this.errorDescription,
   });
 
@@ -108,6 +146,29 @@ class VideoPlayerValue {
   
   final String filePath;
 
+  /// The last metrics pushed by the platform, see
+  /// [VideoPlayerController.setMetricsInterval].
+  final PlayerMetrics metrics;
+
+  /// The resources the player still holds, see
+  /// [VideoPlayerController.setGovernor].
+  final PlayerResourceLevel resourceLevel;
+
+  /// The last snapshot taken by [VideoPlayerController.snapshot].
+  final SnapshotResult snapshot;
+
+  /// The tracks of the source, see [VideoPlayerController.selectTrack].
+  final List<VideoTrack> tracks;
+
+  /// The index of the video track in use, or -1.
+  final int trackIndex;
+
+  /// The last track switch, see [VideoPlayerController.setAbr].
+  final TrackSwitch trackSwitch;
+
+  /// The last completed seek, see [VideoPlayerController.seekTo].
+  final SeekResult lastSeek;
+
   /// A description of the error if present.
   ///
   /// If [hasError] is false this is [null].
@@ -159,6 +220,13 @@ class VideoPlayerValue {
     int percent,
     double kbps,
     String filePath,
+    PlayerMetrics metrics,
+    PlayerResourceLevel resourceLevel,
+    SnapshotResult snapshot,
+    List<VideoTrack> tracks,
+    int trackIndex,
+    TrackSwitch trackSwitch,
+    SeekResult lastSeek,
     String errorDescription,
   }) {
     return VideoPlayerValue(
@@ -180,6 +248,13 @@ class VideoPlayerValue {
       percent: percent ?? this.percent,
       kbps: kbps ?? this.kbps,
       filePath: filePath ?? this.filePath,
+      metrics: metrics ?? this.metrics,
+      resourceLevel: resourceLevel ?? this.resourceLevel,
+      snapshot: snapshot ?? this.snapshot,
+      tracks: tracks ?? this.tracks,
+      trackIndex: trackIndex ?? this.trackIndex,
+      trackSwitch: trackSwitch ?? this.trackSwitch,
+      lastSeek: lastSeek ?? this.lastSeek,
       errorDescription: errorDescription,
     );
   }
@@ -201,6 +276,10 @@ class VideoPlayerValue {
         'percent: $percent, '
         'kbps: $kbps, '
         'filePath: $filePath, '
+        'metrics: $metrics, '
+        'resourceLevel: $resourceLevel, '
+        'snapshot: $snapshot, '
+        'trackIndex: $trackIndex, '
         'errorDescription: $errorDescription)';
   }
 }
@@ -222,9 +301,12 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
   /// null. The [package] argument must be non-null when the asset comes from a
   /// package and null otherwise.
   VideoPlayerController.asset(this.dataSource,
-      {this.package})
+      {this.package, this.eventCoalesceWindow})
       : dataSourceType = DataSourceType.asset,
         formatHint = null,
+        preloadHandle = null,
+        bufferProfile = null,
+        adaptiveBuffer = null,
         super(VideoPlayerValue(duration: null));
 
   /// Constructs a [VideoPlayerController] playing a video from obtained from
@@ -234,8 +316,16 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
   /// null.
   /// **Android only**: The [formatHint] option allows the caller to override
   /// the video format detection code.
+  /// **Android only**: The [preloadHandle] option adopts a player prepared by
+  /// [preload] for the same [dataSource].
+  /// **Android only**: The [bufferProfile] and [adaptiveBuffer] options tune
+  /// how much is buffered, see [DataSource.bufferProfile].
   VideoPlayerController.network(this.dataSource,
-      {this.formatHint})
+      {this.formatHint,
+      this.preloadHandle,
+      this.eventCoalesceWindow,
+      this.bufferProfile,
+      this.adaptiveBuffer})
       : dataSourceType = DataSourceType.network,
         package = null,
         super(VideoPlayerValue(duration: null));
@@ -244,15 +334,179 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
   ///
   /// This will load the file from the file-URI given by:
   /// `'file://${file.path}'`.
-  VideoPlayerController.file(File file)
+  VideoPlayerController.file(File file, {this.eventCoalesceWindow})
       : dataSource = 'file://${file.path}',
         dataSourceType = DataSourceType.file,
         package = null,
         formatHint = null,
+        preloadHandle = null,
+        bufferProfile = null,
+        adaptiveBuffer = null,
         super(VideoPlayerValue(duration: null));
 
   int _textureId;
 
+  /// **Android only**. Configures the pool of pre-created native players that
+  /// [initialize] takes from and [dispose] gives back to.
+  static Future<void> setPlayerPool({int maxSize, int prewarmCount}) {
+    return _videoPlayerPlatform.setPlayerPool(
+        maxSize: maxSize, prewarmCount: prewarmCount);
+  }
+
+  /// **Android only**. Returns the hit/miss counters of the native player pool.
+  static Future<PlayerPoolStats> getPlayerPoolStats() {
+    return _videoPlayerPlatform.getPlayerPoolStats();
+  }
+
+  /// **Android only**. Prepares the next feed items ahead of playback.
+  ///
+  /// See [VideoPlayerPlatform.preload]. Pass a returned handle as
+  /// [preloadHandle] to [VideoPlayerController.network].
+  static Future<List<int>> preload(List<String> uris,
+      {int window, Duration bufferDuration, int bufferBytes}) {
+    return _videoPlayerPlatform.preload(uris,
+        window: window,
+        bufferDuration: bufferDuration,
+        bufferBytes: bufferBytes);
+  }
+
+  /// **Android only**. Configures the on-disk cache used by network videos.
+  ///
+  /// See [VideoPlayerPlatform.setCacheConfig].
+  static Future<void> setCacheConfig(
+      {bool enable, String directory, int maxSizeMB, Duration maxDuration}) {
+    return _videoPlayerPlatform.setCacheConfig(
+        enable: enable,
+        directory: directory,
+        maxSizeMB: maxSizeMB,
+        maxDuration: maxDuration);
+  }
+
+  /// **Android only**. Returns the hit/miss and byte counters of the cache.
+  static Future<CacheStats> getCacheStats() {
+    return _videoPlayerPlatform.getCacheStats();
+  }
+
+  /// **Android only**. Deletes every cached file.
+  static Future<void> clearCache() {
+    return _videoPlayerPlatform.clearCache();
+  }
+
+  /// **Android only**. Bounds the cache and snapshot directories by age and
+  /// free space, see [VideoPlayerPlatform.setMaintenance].
+  static Future<void> setMaintenance(
+      {int snapshotMaxBytes,
+      Duration snapshotMaxAge,
+      Duration cacheMaxAge,
+      int minFreeBytes,
+      Duration interval}) {
+    return _videoPlayerPlatform.setMaintenance(
+        snapshotMaxBytes: snapshotMaxBytes,
+        snapshotMaxAge: snapshotMaxAge,
+        cacheMaxAge: cacheMaxAge,
+        minFreeBytes: minFreeBytes,
+        interval: interval);
+  }
+
+  /// **Android only**. Returns the usage and counters of the maintenance.
+  static Future<MaintenanceStats> getMaintenanceStats() {
+    return _videoPlayerPlatform.getMaintenanceStats();
+  }
+
+  /// **Android only**. Runs the maintenance now.
+  static Future<void> runMaintenance() {
+    return _videoPlayerPlatform.runMaintenance();
+  }
+
+  /// **Android only**. Keeps the native resources of all players within a
+  /// budget, see [VideoPlayerPlatform.setGovernor] and [setPriority].
+  static Future<void> setGovernor(
+      {bool enable,
+      int maxActiveDecoders,
+      int maxSurfaces,
+      int maxPlayers,
+      int maxBufferedBytes}) {
+    return _videoPlayerPlatform.setGovernor(
+        enable: enable,
+        maxActiveDecoders: maxActiveDecoders,
+        maxSurfaces: maxSurfaces,
+        maxPlayers: maxPlayers,
+        maxBufferedBytes: maxBufferedBytes);
+  }
+
+  /// **Android only**. Returns the budget and counters of the governor.
+  static Future<GovernorStats> getGovernorStats() {
+    return _videoPlayerPlatform.getGovernorStats();
+  }
+
+  /// **Android only**. Configures what the players do while the app is in
+  /// the background, see [VideoPlayerPlatform.setLifecyclePolicy].
+  static Future<void> setLifecyclePolicy(
+      {bool enable, Duration gracePeriod, bool resumePlayback}) {
+    return _videoPlayerPlatform.setLifecyclePolicy(
+        enable: enable,
+        gracePeriod: gracePeriod,
+        resumePlayback: resumePlayback);
+  }
+
+  /// **Android only**. Returns the settings and counters of the lifecycle
+  /// policy.
+  static Future<LifecycleStats> getLifecycleStats() {
+    return _videoPlayerPlatform.getLifecycleStats();
+  }
+
+  /// **Android only**. Routes the progressive sources of the players created
+  /// afterwards through a local proxy, see [VideoPlayerPlatform.setProxy].
+  static Future<void> setProxy({bool enable, int readAhead}) {
+    return _videoPlayerPlatform.setProxy(
+        enable: enable, readAhead: readAhead);
+  }
+
+  /// **Android only**. Returns the settings and counters of the local proxy.
+  static Future<ProxyStats> getProxyStats() {
+    return _videoPlayerPlatform.getProxyStats();
+  }
+
+  /// **Android only**. Limits the offline downloads, see
+  /// [VideoPlayerPlatform.setDownloadConfig].
+  static Future<void> setDownloadConfig(
+      {int maxConnections, int maxBytesPerSecond}) {
+    return _videoPlayerPlatform.setDownloadConfig(
+        maxConnections: maxConnections, maxBytesPerSecond: maxBytesPerSecond);
+  }
+
+  /// **Android only**. Downloads [url] for offline playback, see
+  /// [VideoPlayerPlatform.startDownload].
+  static Future<DownloadInfo> startDownload(String url, {int connections}) {
+    return _videoPlayerPlatform.startDownload(url, connections: connections);
+  }
+
+  /// **Android only**. Pauses the download [id].
+  static Future<void> pauseDownload(String id) {
+    return _videoPlayerPlatform.pauseDownload(id);
+  }
+
+  /// **Android only**. Stops the download [id] and deletes its files.
+  static Future<void> removeDownload(String id) {
+    return _videoPlayerPlatform.removeDownload(id);
+  }
+
+  /// **Android only**. Returns every offline download.
+  static Future<List<DownloadInfo>> getDownloads() {
+    return _videoPlayerPlatform.getDownloads();
+  }
+
+  /// **Android only**. The progress and state changes of all downloads.
+  static Stream<DownloadEvent> downloadEvents() {
+    return _videoPlayerPlatform.downloadEvents();
+  }
+
+  /// **Android only**. Returns the counters of the background executor that
+  /// runs snapshots and cache maintenance, one entry per lane.
+  static Future<List<ExecutorLaneStats>> getExecutorStats() {
+    return _videoPlayerPlatform.getExecutorStats();
+  }
+
   /// The URI to the video file. This will be in different formats depending on
   /// the [DataSourceType] of the original video.
   final String dataSource;
@@ -261,6 +515,20 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
   /// detection with whatever is set here.
   final VideoFormat formatHint;
 
+  /// **Android only**. The handle of a player prepared by [preload].
+  final int preloadHandle;
+
+  /// **Android only**. Merges high frequency platform events over this window.
+  ///
+  /// See [DataSource.eventCoalesceWindow].
+  final Duration eventCoalesceWindow;
+
+  /// **Android only**. The base buffer durations of a network video.
+  final BufferProfile bufferProfile;
+
+  /// **Android only**. Whether the buffer durations adapt to the network.
+  final bool adaptiveBuffer;
+
   /// Describes the type of data source this [VideoPlayerController]
   /// is constructed with.
   final DataSourceType dataSourceType;
@@ -268,7 +536,14 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
   /// Only set for [asset] videos. The package that the asset was loaded from.
   final String package;
 
+  /// **Android only**. How [seekTo] trades precision for speed.
+  ///
+  /// The default seeks to the nearest keyframe while a scrub bar is dragged
+  /// and to the exact position otherwise.
+  SeekMode seekMode = SeekMode.auto;
+
   Timer _timer;
+  bool _isPositionPushed = false;
   bool _isDisposed = false;
   Completer<void> _creatingCompleter;
   StreamSubscription<dynamic> _eventSubscription;
@@ -292,6 +567,7 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
           sourceType: DataSourceType.asset,
           asset: dataSource,
           package: package,
+          eventCoalesceWindow: eventCoalesceWindow,
         );
         break;
       case DataSourceType.network:
@@ -299,12 +575,17 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
           sourceType: DataSourceType.network,
           uri: dataSource,
           formatHint: formatHint,
+          preloadHandle: preloadHandle,
+          eventCoalesceWindow: eventCoalesceWindow,
+          bufferProfile: bufferProfile,
+          adaptiveBuffer: adaptiveBuffer,
         );
         break;
       case DataSourceType.file:
         dataSourceDescription = DataSource(
           sourceType: DataSourceType.file,
           uri: dataSource,
+          eventCoalesceWindow: eventCoalesceWindow,
         );
         break;
     }
@@ -323,6 +604,8 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
           value = value.copyWith(
             duration: event.duration,
             size: event.size,
+            tracks: event.tracks,
+            trackIndex: event.trackIndex,
           );
           initializingCompleter.complete(null);
           _applyLooping();
@@ -354,7 +637,39 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
           value = value.copyWith(isLoading: false);
           break;
         case VideoEventType.snapshot:
-          value = value.copyWith(filePath: event.filePath);
+          value = value.copyWith(
+              filePath: event.filePath, snapshot: event.snapshot);
+          break;
+        case VideoEventType.positionUpdate:
+          _updatePosition(event.position);
+          break;
+        case VideoEventType.metrics:
+          value = value.copyWith(metrics: event.metrics);
+          break;
+        case VideoEventType.resourceLevelChanged:
+          if (event.resourceLevel != PlayerResourceLevel.active) {
+            // 被降级的播放器不再播放
+            cancelTimer();
+            value = value.copyWith(
+                resourceLevel: event.resourceLevel, isPlaying: false);
+          } else {
+            value = value.copyWith(resourceLevel: event.resourceLevel);
+          }
+          break;
+        case VideoEventType.trackChanged:
+          final TrackSwitch trackSwitch = event.trackSwitch;
+          final VideoTrack track = trackSwitch.track;
+          final bool isVideo = track.type == VideoTrackType.video ||
+              track.type == VideoTrackType.definition;
+          value = value.copyWith(
+            trackSwitch: trackSwitch,
+            trackIndex: trackSwitch.error == null && isVideo
+                ? track.index
+                : value.trackIndex,
+          );
+          break;
+        case VideoEventType.seekCompleted:
+          value = value.copyWith(lastSeek: event.seekResult);
           break;
         case VideoEventType.unknown:
           break;
@@ -452,11 +767,14 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
     await _videoPlayerPlatform.stop(_textureId);
   }
 
-  Future<void> snapshot() async {
+  /// Captures the current frame into [VideoPlayerValue.snapshot].
+  ///
+  /// [options] picks the format, quality and size (**Android only**).
+  Future<void> snapshot({SnapshotOptions options}) async {
     if (!value.initialized || _isDisposed) {
       return;
     }
-    await _videoPlayerPlatform.snapshot(_textureId);
+    await _videoPlayerPlatform.snapshot(_textureId, options: options);
   }
 
   Future<void> reload() async {
@@ -490,6 +808,55 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
     }
     await _videoPlayerPlatform.selectTrack(_textureId, track);
   }
+
+  /// **Android only**. Switches the video track automatically from the
+  /// network conditions, see [VideoPlayerPlatform.setAbr].
+  Future<void> setAbr(
+      {bool enable, int maxWidth, int maxHeight, int maxBitrate}) async {
+    if (_creatingCompleter == null || _isDisposed) {
+      return;
+    }
+    await _creatingCompleter.future;
+    await _videoPlayerPlatform.setAbr(_textureId,
+        enable: enable,
+        maxWidth: maxWidth,
+        maxHeight: maxHeight,
+        maxBitrate: maxBitrate);
+  }
+
+  /// **Android only**. Starts or stops building the preview frames of the
+  /// source, see [VideoPlayerPlatform.setThumbnails].
+  Future<void> setThumbnails(
+      {bool enable = true,
+      Duration interval,
+      int maxWidth,
+      int maxHeight,
+      int quality}) async {
+    if (_creatingCompleter == null || _isDisposed) {
+      return;
+    }
+    await _creatingCompleter.future;
+    await _videoPlayerPlatform.setThumbnails(_textureId,
+        enable: enable,
+        interval: interval,
+        maxWidth: maxWidth,
+        maxHeight: maxHeight,
+        quality: quality);
+  }
+
+  /// **Android only**. Returns the preview frame nearest [position], e.g. to
+  /// show above a scrub bar while it is dragged.
+  ///
+  /// Returns null when the controller is not created yet, see
+  /// [VideoPlayerPlatform.getThumbnail].
+  Future<Thumbnail> getThumbnail(Duration position) async {
+    if (_creatingCompleter == null ||
+        !_creatingCompleter.isCompleted ||
+        _isDisposed) {
+      return null;
+    }
+    return _videoPlayerPlatform.getThumbnail(_textureId, position);
+  }
   
   Future<void> _applyLooping() async {
     if (!value.initialized || _isDisposed) {
@@ -545,7 +912,10 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
   ///
   /// If [moment] is outside of the video's full range it will be automatically
   /// and silently clamped.
-  Future<void> seekTo(Duration position) async {
+  ///
+  /// Pass [dragging] while a scrub bar is being dragged, and seek once more
+  /// without it on release, see [seekMode].
+  Future<void> seekTo(Duration position, {bool dragging = false}) async {
     if (!value.initialized || _isDisposed) {
       return;
     }
@@ -558,7 +928,8 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
     } else if (position < const Duration()) {
       position = const Duration();
     }
-    await _videoPlayerPlatform.seekTo(_textureId, position);
+    await _videoPlayerPlatform.seekToWithMode(
+        _textureId, position, seekMode, dragging);
     _updatePosition(position);
   }
 
@@ -578,8 +949,153 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
     _updatePosition(position);
   }
 
+  /// **Android only**. Lets the platform push the position at most every
+  /// [interval] instead of polling it every 500ms while playing.
+  ///
+  /// Pass null or [Duration.zero] to go back to polling.
+  Future<void> setPositionUpdateInterval(Duration interval) async {
+    if (_isDisposed) {
+      return;
+    }
+    _isPositionPushed = interval != null && interval > Duration.zero;
+    await _videoPlayerPlatform.setPositionUpdateInterval(_textureId, interval);
+    if (_isPositionPushed) {
+      cancelTimer();
+    } else if (value.isPlaying) {
+      createTimer();
+    }
+  }
+
+  /// **Android only**. Returns the startup, rebuffering, seek and bandwidth
+  /// counters of this player.
+  Future<PlayerMetrics> getMetrics() async {
+    if (_isDisposed) {
+      return null;
+    }
+    return _videoPlayerPlatform.getMetrics(_textureId);
+  }
+
+  /// **Android only**. Lets the platform push the metrics into
+  /// [VideoPlayerValue.metrics] every [interval].
+  ///
+  /// Pass null or [Duration.zero] to stop.
+  Future<void> setMetricsInterval(Duration interval) async {
+    if (_isDisposed) {
+      return;
+    }
+    await _videoPlayerPlatform.setMetricsInterval(_textureId, interval);
+  }
+
+  /// **Android only**. Tells the governor how important this player is, for
+  /// example [priorityHidden] once it scrolls off screen. Higher values are
+  /// kept first.
+  Future<void> setPriority(int priority) async {
+    if (_creatingCompleter == null || _isDisposed) {
+      return;
+    }
+    await _creatingCompleter.future;
+    await _videoPlayerPlatform.setPriority(_textureId, priority);
+  }
+
+  /// **Android only**. Applies [commands] to this player in one platform call,
+  /// for example the looping, volume, seek and play of a new feed item.
+  ///
+  /// The effect of every successful command is mirrored into [value].
+  Future<List<PlayerCommandResult>> batch(List<PlayerCommand> commands) async {
+    if (!value.initialized || _isDisposed) {
+      return null;
+    }
+    final Map<int, List<PlayerCommandResult>> results =
+        await _videoPlayerPlatform.batch(commands, textureId: _textureId);
+    _applyCommands(commands, results[_textureId]);
+    return results[_textureId];
+  }
+
+  /// **Android only**. Applies [commands] to all initialized [controllers]
+  /// but [except] in one platform call, for example to pause everything but
+  /// the visible item of a feed.
+  static Future<Map<VideoPlayerController, List<PlayerCommandResult>>>
+      batchAll(List<PlayerCommand> commands,
+          Iterable<VideoPlayerController> controllers,
+          {VideoPlayerController except}) async {
+    final Map<int, VideoPlayerController> targets =
+        <int, VideoPlayerController>{};
+    for (VideoPlayerController controller in controllers) {
+      if (controller != except &&
+          controller.value.initialized &&
+          !controller._isDisposed) {
+        targets[controller._textureId] = controller;
+      }
+    }
+    final Map<VideoPlayerController, List<PlayerCommandResult>> results =
+        <VideoPlayerController, List<PlayerCommandResult>>{};
+    if (targets.isEmpty) {
+      return results;
+    }
+    final Map<int, List<PlayerCommandResult>> response =
+        await _videoPlayerPlatform.batch(commands,
+            textureIds: targets.keys.toList());
+    response.forEach((int textureId, List<PlayerCommandResult> result) {
+      final VideoPlayerController controller = targets[textureId];
+      if (controller == null || controller._isDisposed) {
+        return;
+      }
+      controller._applyCommands(commands, result);
+      results[controller] = result;
+    });
+    return results;
+  }
+
+  void _applyCommands(
+      List<PlayerCommand> commands, List<PlayerCommandResult> results) {
+    if (results == null) {
+      return;
+    }
+    for (int i = 0; i < commands.length && i < results.length; i++) {
+      if (!results[i].ok) {
+        continue;
+      }
+      final PlayerCommand command = commands[i];
+      switch (command.op) {
+        case 'play':
+          value = value.copyWith(isPlaying: true);
+          createTimer();
+          break;
+        case 'pause':
+        case 'stop':
+          cancelTimer();
+          value = value.copyWith(isPlaying: false, isLoading: false);
+          break;
+        case 'setLooping':
+          value = value.copyWith(isLooping: command.value);
+          break;
+        case 'setVolume':
+          value = value.copyWith(volume: command.value.clamp(0.0, 1.0));
+          break;
+        case 'setSpeed':
+          value = value.copyWith(speed: command.value.clamp(0.5, 2.0));
+          break;
+        case 'setScaleMode':
+          value = value.copyWith(scaleMode: command.value);
+          break;
+        case 'setMirrorMode':
+          value = value.copyWith(mirrorMode: command.value);
+          break;
+        case 'seekTo':
+          _updatePosition(Duration(milliseconds: command.value));
+          break;
+        case 'position':
+          _updatePosition(Duration(milliseconds: results[i].value));
+          break;
+      }
+    }
+  }
+
   void createTimer() {
     cancelTimer();
+    if (_isPositionPushed) {
+      return;
+    }
     _timer = Timer.periodic(
       const Duration(milliseconds: 500),
           (Timer timer) async {
@@ -770,17 +1286,20 @@ class _VideoScrubber extends StatefulWidget {
 
 class _VideoScrubberState extends State<_VideoScrubber> {
   bool _controllerWasPlaying = false;
+  Duration _dragPosition;
 
   VideoPlayerController get controller => widget.controller;
 
   @override
   Widget build(BuildContext context) {
-    void seekToRelativePosition(Offset globalPosition) {
+    void seekToRelativePosition(Offset globalPosition,
+        {bool dragging = false}) {
       final RenderBox box = context.findRenderObject();
       final Offset tapPos = box.globalToLocal(globalPosition);
       final double relative = tapPos.dx / box.size.width;
       final Duration position = controller.value.duration * relative;
-      controller.seekTo(position);
+      _dragPosition = dragging ? position : null;
+      controller.seekTo(position, dragging: dragging);
     }
 
     return GestureDetector(
@@ -799,9 +1318,14 @@ class _VideoScrubberState extends State<_VideoScrubber> {
         if (!controller.value.initialized) {
           return;
         }
-        seekToRelativePosition(details.globalPosition);
+        seekToRelativePosition(details.globalPosition, dragging: true);
       },
       onHorizontalDragEnd: (DragEndDetails details) {
+        if (_dragPosition != null) {
+          // 拖动中的seek只到关键帧，松手时再精确seek一次
+          controller.seekTo(_dragPosition);
+          _dragPosition = null;
+        }
         if (_controllerWasPlaying) {
           controller.play();
         }
@@ -1,3 +1,4 @@
+import 'dart:typed_data';
 import 'package:pigeon/pigeon_lib.dart';
 
 class TextureMessage {
@@ -29,6 +30,189 @@ class CreateMessage {
   String uri;
   String packageName;
   String formatHint;
+  int preloadHandle;
+  int eventCoalesceWindow;
+  int bufferProfile;
+  bool adaptiveBuffer;
+}
+
+class PlayerPoolMessage {
+  int maxSize;
+  int prewarmCount;
+  int idleCount;
+  int hitCount;
+  int missCount;
+  int evictionCount;
+}
+
+class PreloadMessage {
+  List uris;
+  int window;
+  int bufferDuration;
+  List handles;
+  int bufferBytes;
+}
+
+class CacheMessage {
+  bool enable;
+  String dir;
+  int maxSizeMB;
+  int maxDurationS;
+  int hitCount;
+  int missCount;
+  int hitBytes;
+  int cachedBytes;
+  int evictedBytes;
+}
+
+class MetricsMessage {
+  int textureId;
+  int timeToPrepared;
+  int timeToFirstFrame;
+  int timeToFirstLoadingEnd;
+  bool preloaded;
+  int playingDuration;
+  int rebufferCount;
+  int rebufferDuration;
+  int networkRetryCount;
+  int seekCount;
+  int lastSeekLatency;
+  int totalSeekLatency;
+  List kbpsSamples;
+  double averageKbps;
+  int eventsDelivered;
+  int eventsCoalesced;
+  int bufferProfile;
+  int startBufferDuration;
+  int highBufferDuration;
+  int maxBufferDuration;
+  int bufferAdjustCount;
+  int seekCompletedCount;
+  int seekCoalescedCount;
+}
+
+class BatchMessage {
+  int textureId;
+  List textureIds;
+  int exceptTextureId;
+  List commands;
+  List results;
+}
+
+class GovernorMessage {
+  bool enable;
+  int maxActiveDecoders;
+  int maxSurfaces;
+  int maxPlayers;
+  int maxBufferedBytes;
+  int activeDecoders;
+  int bufferedBytes;
+  int demotionCount;
+  int restoreCount;
+}
+
+class SnapshotMessage {
+  int textureId;
+  int format;
+  int quality;
+  int maxWidth;
+  int maxHeight;
+  bool inMemory;
+}
+
+class ExecutorStatsMessage {
+  List lanes;
+}
+
+class MaintenanceMessage {
+  int snapshotMaxBytes;
+  int snapshotMaxAgeS;
+  int cacheMaxAgeS;
+  int minFreeBytes;
+  int intervalS;
+  int snapshotBytes;
+  int cacheBytes;
+  int availableBytes;
+  int totalBytes;
+  int reclaimedBytes;
+  int deletedFiles;
+  int passCount;
+  int sliceCount;
+  int lastPassTime;
+  int thumbnailBytes;
+}
+
+class AbrMessage {
+  int textureId;
+  bool enable;
+  int maxWidth;
+  int maxHeight;
+  int maxBitrate;
+}
+
+class SeekMessage {
+  int textureId;
+  int position;
+  int mode;
+  bool dragging;
+}
+
+class ThumbnailConfigMessage {
+  int textureId;
+  bool enable;
+  int interval;
+  int maxWidth;
+  int maxHeight;
+  int quality;
+}
+
+class ThumbnailMessage {
+  int textureId;
+  int position;
+  Uint8List bytes;
+  bool exact;
+  double progress;
+}
+
+class LifecycleMessage {
+  bool enable;
+  int gracePeriod;
+  bool resumePlayback;
+  int backgroundCount;
+  int resumeCount;
+  int surfaceReleaseCount;
+  int reclaimedSurfaceBytes;
+  int reclaimedHeapBytes;
+}
+
+class ProxyMessage {
+  bool enable;
+  int readAhead;
+  int requestCount;
+  int sharedRequestCount;
+  int upstreamBytes;
+  int servedBytes;
+}
+
+class DownloadMessage {
+  String id;
+  String url;
+  int connections;
+  int state;
+  int downloadedBytes;
+  int totalBytes;
+  String localUri;
+  String error;
+}
+
+class DownloadConfigMessage {
+  int maxConnections;
+  int maxBytesPerSecond;
+}
+
+class DownloadListMessage {
+  List downloads;
+  bool restoring;
 }
 
 @HostApi()
@@ -52,6 +236,37 @@ abstract class VideoPlayerApi {
   PositionMessage position(TextureMessage msg);
   void seekTo(PositionMessage msg);
   void pause(TextureMessage msg);
+  void setPlayerPool(PlayerPoolMessage msg);
+  PlayerPoolMessage getPlayerPool();
+  PreloadMessage preload(PreloadMessage msg);
+  void setCacheConfig(CacheMessage msg);
+  CacheMessage getCacheStats();
+  void clearCache();
+  void setPositionUpdateInterval(PositionMessage msg);
+  MetricsMessage getMetrics(TextureMessage msg);
+  void setMetricsInterval(PositionMessage msg);
+  BatchMessage batch(BatchMessage msg);
+  void setGovernor(GovernorMessage msg);
+  GovernorMessage getGovernorStats();
+  void setPriority(PositionMessage msg);
+  void snapshotWithOptions(SnapshotMessage msg);
+  ExecutorStatsMessage getExecutorStats();
+  void setMaintenance(MaintenanceMessage msg);
+  MaintenanceMessage getMaintenanceStats();
+  void runMaintenance();
+  void setAbr(AbrMessage msg);
+  void seekWithMode(SeekMessage msg);
+  void setThumbnails(ThumbnailConfigMessage msg);
+  ThumbnailMessage getThumbnail(PositionMessage msg);
+  void setLifecyclePolicy(LifecycleMessage msg);
+  LifecycleMessage getLifecycleStats();
+  void setProxy(ProxyMessage msg);
+  ProxyMessage getProxyStats();
+  void setDownloadConfig(DownloadConfigMessage msg);
+  DownloadMessage startDownload(DownloadMessage msg);
+  void pauseDownload(DownloadMessage msg);
+  void removeDownload(DownloadMessage msg);
+  DownloadListMessage getDownloads();
 }
 
 void configurePigeon(PigeonOptions opts) {
@@ -0,0 +1,176 @@
+// Copyright 2017 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:async';
+import 'dart:convert';
+import 'dart:typed_data';
+
+import 'package:flutter/services.dart';
+
+import 'messages.dart';
+
+const String _channelPrefix = 'dev.flutter.pigeon.VideoPlayerApi.compact.';
+
+const int _tagTexture = 1;
+const int _tagPosition = 2;
+const int _tagVolume = 3;
+const int _tagSeek = 4;
+const int _tagError = 0x7F;
+
+const int _frameMarker = 0x7E;
+const int _framePosition = 1;
+const int _frameBufferingUpdate = 2;
+const int _frameLoadingProgress = 3;
+const int _frameStateChanged = 4;
+
+/// The high frequency calls of [VideoPlayerApi] over fixed-layout binary
+/// channels.
+///
+/// Every message is a tag byte followed by little-endian fields, see
+/// `CompactMessages.java`. This avoids building a map and boxing every field
+/// through the standard codec on both sides of the channel.
+///
+/// Only the Android implementation registers these channels.
+class CompactVideoPlayerApi {
+  Future<PositionMessage> position(TextureMessage arg) async {
+    final ByteData reply = await _send('position', _encodeTexture(arg));
+    if (reply.getUint8(0) != _tagPosition) {
+      throw PlatformException(
+          code: 'channel-error', message: 'Unexpected reply to position.');
+    }
+    return PositionMessage()
+      ..textureId = reply.getInt64(1, Endian.little)
+      ..position = reply.getInt64(9, Endian.little);
+  }
+
+  Future<void> seekTo(PositionMessage arg) {
+    final ByteData data = ByteData(17)
+      ..setUint8(0, _tagPosition)
+      ..setInt64(1, arg.textureId, Endian.little)
+      ..setInt64(9, arg.position, Endian.little);
+    return _send('seekTo', data);
+  }
+
+  Future<void> seekWithMode(SeekMessage arg) {
+    final ByteData data = ByteData(19)
+      ..setUint8(0, _tagSeek)
+      ..setInt64(1, arg.textureId, Endian.little)
+      ..setInt64(9, arg.position, Endian.little)
+      ..setInt8(17, arg.mode ?? 0)
+      ..setInt8(18, arg.dragging == true ? 1 : 0);
+    return _send('seekWithMode', data);
+  }
+
+  Future<void> setVolume(VolumeMessage arg) {
+    return _send('setVolume', _encodeVolume(arg));
+  }
+
+  Future<void> setSpeed(VolumeMessage arg) {
+    return _send('setSpeed', _encodeVolume(arg));
+  }
+
+  Future<void> play(TextureMessage arg) {
+    return _send('play', _encodeTexture(arg));
+  }
+
+  Future<void> pause(TextureMessage arg) {
+    return _send('pause', _encodeTexture(arg));
+  }
+
+  static ByteData _encodeTexture(TextureMessage arg) {
+    return ByteData(9)
+      ..setUint8(0, _tagTexture)
+      ..setInt64(1, arg.textureId, Endian.little);
+  }
+
+  static ByteData _encodeVolume(VolumeMessage arg) {
+    return ByteData(17)
+      ..setUint8(0, _tagVolume)
+      ..setInt64(1, arg.textureId, Endian.little)
+      ..setFloat64(9, arg.volume, Endian.little);
+  }
+
+  static Future<ByteData> _send(String name, ByteData data) async {
+    const BinaryCodec codec = BinaryCodec();
+    final BasicMessageChannel<ByteData> channel =
+        BasicMessageChannel<ByteData>(_channelPrefix + name, codec);
+    final ByteData reply = await channel.send(data);
+    if (reply == null || reply.lengthInBytes == 0) {
+      throw PlatformException(
+          code: 'channel-error',
+          message: 'Unable to establish connection on channel.',
+          details: null);
+    }
+    if (reply.getUint8(0) == _tagError) {
+      throw PlatformException(
+          code: 'error',
+          message: utf8.decode(reply.buffer
+              .asUint8List(reply.offsetInBytes + 1, reply.lengthInBytes - 1)),
+          details: null);
+    }
+    return reply;
+  }
+}
+
+/// The codec of the player event channels.
+///
+/// The Android implementation sends its high frequency events as
+/// fixed-layout frames, see `EventCodec.java`. They are decoded here into the
+/// same maps the standard codec would produce; every other envelope is left to
+/// [StandardMethodCodec].
+class VideoEventCodec implements MethodCodec {
+  const VideoEventCodec();
+
+  static const StandardMethodCodec _standard = StandardMethodCodec();
+
+  @override
+  dynamic decodeEnvelope(ByteData envelope) {
+    if (envelope == null ||
+        envelope.lengthInBytes < 10 ||
+        envelope.getUint8(0) != _frameMarker) {
+      return _standard.decodeEnvelope(envelope);
+    }
+    final int value = envelope.getInt64(2, Endian.little);
+    switch (envelope.getUint8(1)) {
+      case _framePosition:
+        return <String, dynamic>{'event': 'position', 'position': value};
+      case _frameBufferingUpdate:
+        // A list with a single buffered range, as iOS sends.
+        return <String, dynamic>{
+          'event': 'bufferingUpdate',
+          'values': <dynamic>[
+            <int>[0, value]
+          ],
+        };
+      case _frameLoadingProgress:
+        return <String, dynamic>{
+          'event': 'loadingProgress',
+          'percent': value,
+          'kbps': envelope.getFloat64(10, Endian.little),
+        };
+      case _frameStateChanged:
+        return <String, dynamic>{'event': 'stateChanged', 'state': value};
+    }
+    throw PlatformException(
+        code: 'channel-error', message: 'Unknown event frame.');
+  }
+
+  @override
+  ByteData encodeMethodCall(MethodCall methodCall) =>
+      _standard.encodeMethodCall(methodCall);
+
+  @override
+  MethodCall decodeMethodCall(ByteData methodCall) =>
+      _standard.decodeMethodCall(methodCall);
+
+  @override
+  ByteData encodeSuccessEnvelope(dynamic result) =>
+      _standard.encodeSuccessEnvelope(result);
+
+  @override
+  ByteData encodeErrorEnvelope(
+          {String code, String message, dynamic details}) =>
+      _standard.encodeErrorEnvelope(
+          code: code, message: message, details: details);
+}
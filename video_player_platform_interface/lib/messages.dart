@@ -27,6 +27,10 @@ class CreateMessage {
   String uri;
   String packageName;
   String formatHint;
+  int preloadHandle;
+  int eventCoalesceWindow;
+  int bufferProfile;
+  bool adaptiveBuffer;
   // ignore: unused_element
   Map<dynamic, dynamic> _toMap() {
     final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
@@ -34,6 +38,10 @@ class CreateMessage {
     pigeonMap['uri'] = uri;
     pigeonMap['packageName'] = packageName;
     pigeonMap['formatHint'] = formatHint;
+    pigeonMap['preloadHandle'] = preloadHandle;
+    pigeonMap['eventCoalesceWindow'] = eventCoalesceWindow;
+    pigeonMap['bufferProfile'] = bufferProfile;
+    pigeonMap['adaptiveBuffer'] = adaptiveBuffer;
     return pigeonMap;
   }
   // ignore: unused_element
@@ -43,6 +51,10 @@ class CreateMessage {
     result.uri = pigeonMap['uri'];
     result.packageName = pigeonMap['packageName'];
     result.formatHint = pigeonMap['formatHint'];
+    result.preloadHandle = pigeonMap['preloadHandle'];
+    result.eventCoalesceWindow = pigeonMap['eventCoalesceWindow'];
+    result.bufferProfile = pigeonMap['bufferProfile'];
+    result.adaptiveBuffer = pigeonMap['adaptiveBuffer'];
     return result;
   }
 }
@@ -123,6 +135,615 @@ class PositionMessage {
   }
 }
 
+class PlayerPoolMessage {
+  int maxSize;
+  int prewarmCount;
+  int idleCount;
+  int hitCount;
+  int missCount;
+  int evictionCount;
+  // ignore: unused_element
+  Map<dynamic, dynamic> _toMap() {
+    final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
+    pigeonMap['maxSize'] = maxSize;
+    pigeonMap['prewarmCount'] = prewarmCount;
+    pigeonMap['idleCount'] = idleCount;
+    pigeonMap['hitCount'] = hitCount;
+    pigeonMap['missCount'] = missCount;
+    pigeonMap['evictionCount'] = evictionCount;
+    return pigeonMap;
+  }
+  // ignore: unused_element
+  static PlayerPoolMessage _fromMap(Map<dynamic, dynamic> pigeonMap) {
+    final PlayerPoolMessage result = PlayerPoolMessage();
+    result.maxSize = pigeonMap['maxSize'];
+    result.prewarmCount = pigeonMap['prewarmCount'];
+    result.idleCount = pigeonMap['idleCount'];
+    result.hitCount = pigeonMap['hitCount'];
+    result.missCount = pigeonMap['missCount'];
+    result.evictionCount = pigeonMap['evictionCount'];
+    return result;
+  }
+}
+
+class PreloadMessage {
+  List<Object> uris;
+  int window;
+  int bufferDuration;
+  List<Object> handles;
+  int bufferBytes;
+  // ignore: unused_element
+  Map<dynamic, dynamic> _toMap() {
+    final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
+    pigeonMap['uris'] = uris;
+    pigeonMap['window'] = window;
+    pigeonMap['bufferDuration'] = bufferDuration;
+    pigeonMap['handles'] = handles;
+    pigeonMap['bufferBytes'] = bufferBytes;
+    return pigeonMap;
+  }
+  // ignore: unused_element
+  static PreloadMessage _fromMap(Map<dynamic, dynamic> pigeonMap) {
+    final PreloadMessage result = PreloadMessage();
+    result.uris = pigeonMap['uris'];
+    result.window = pigeonMap['window'];
+    result.bufferDuration = pigeonMap['bufferDuration'];
+    result.handles = pigeonMap['handles'];
+    result.bufferBytes = pigeonMap['bufferBytes'];
+    return result;
+  }
+}
+
+class CacheMessage {
+  bool enable;
+  String dir;
+  int maxSizeMB;
+  int maxDurationS;
+  int hitCount;
+  int missCount;
+  int hitBytes;
+  int cachedBytes;
+  int evictedBytes;
+  // ignore: unused_element
+  Map<dynamic, dynamic> _toMap() {
+    final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
+    pigeonMap['enable'] = enable;
+    pigeonMap['dir'] = dir;
+    pigeonMap['maxSizeMB'] = maxSizeMB;
+    pigeonMap['maxDurationS'] = maxDurationS;
+    pigeonMap['hitCount'] = hitCount;
+    pigeonMap['missCount'] = missCount;
+    pigeonMap['hitBytes'] = hitBytes;
+    pigeonMap['cachedBytes'] = cachedBytes;
+    pigeonMap['evictedBytes'] = evictedBytes;
+    return pigeonMap;
+  }
+  // ignore: unused_element
+  static CacheMessage _fromMap(Map<dynamic, dynamic> pigeonMap) {
+    final CacheMessage result = CacheMessage();
+    result.enable = pigeonMap['enable'];
+    result.dir = pigeonMap['dir'];
+    result.maxSizeMB = pigeonMap['maxSizeMB'];
+    result.maxDurationS = pigeonMap['maxDurationS'];
+    result.hitCount = pigeonMap['hitCount'];
+    result.missCount = pigeonMap['missCount'];
+    result.hitBytes = pigeonMap['hitBytes'];
+    result.cachedBytes = pigeonMap['cachedBytes'];
+    result.evictedBytes = pigeonMap['evictedBytes'];
+    return result;
+  }
+}
+
+class MetricsMessage {
+  int textureId;
+  int timeToPrepared;
+  int timeToFirstFrame;
+  int timeToFirstLoadingEnd;
+  bool preloaded;
+  int playingDuration;
+  int rebufferCount;
+  int rebufferDuration;
+  int networkRetryCount;
+  int seekCount;
+  int lastSeekLatency;
+  int totalSeekLatency;
+  List<Object> kbpsSamples;
+  double averageKbps;
+  int eventsDelivered;
+  int eventsCoalesced;
+  int bufferProfile;
+  int startBufferDuration;
+  int highBufferDuration;
+  int maxBufferDuration;
+  int bufferAdjustCount;
+  int seekCompletedCount;
+  int seekCoalescedCount;
+  // ignore: unused_element
+  Map<dynamic, dynamic> _toMap() {
+    final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
+    pigeonMap['textureId'] = textureId;
+    pigeonMap['timeToPrepared'] = timeToPrepared;
+    pigeonMap['timeToFirstFrame'] = timeToFirstFrame;
+    pigeonMap['timeToFirstLoadingEnd'] = timeToFirstLoadingEnd;
+    pigeonMap['preloaded'] = preloaded;
+    pigeonMap['playingDuration'] = playingDuration;
+    pigeonMap['rebufferCount'] = rebufferCount;
+    pigeonMap['rebufferDuration'] = rebufferDuration;
+    pigeonMap['networkRetryCount'] = networkRetryCount;
+    pigeonMap['seekCount'] = seekCount;
+    pigeonMap['lastSeekLatency'] = lastSeekLatency;
+    pigeonMap['totalSeekLatency'] = totalSeekLatency;
+    pigeonMap['kbpsSamples'] = kbpsSamples;
+    pigeonMap['averageKbps'] = averageKbps;
+    pigeonMap['eventsDelivered'] = eventsDelivered;
+    pigeonMap['eventsCoalesced'] = eventsCoalesced;
+    pigeonMap['bufferProfile'] = bufferProfile;
+    pigeonMap['startBufferDuration'] = startBufferDuration;
+    pigeonMap['highBufferDuration'] = highBufferDuration;
+    pigeonMap['maxBufferDuration'] = maxBufferDuration;
+    pigeonMap['bufferAdjustCount'] = bufferAdjustCount;
+    pigeonMap['seekCompletedCount'] = seekCompletedCount;
+    pigeonMap['seekCoalescedCount'] = seekCoalescedCount;
+    return pigeonMap;
+  }
+  // ignore: unused_element
+  static MetricsMessage _fromMap(Map<dynamic, dynamic> pigeonMap) {
+    final MetricsMessage result = MetricsMessage();
+    result.textureId = pigeonMap['textureId'];
+    result.timeToPrepared = pigeonMap['timeToPrepared'];
+    result.timeToFirstFrame = pigeonMap['timeToFirstFrame'];
+    result.timeToFirstLoadingEnd = pigeonMap['timeToFirstLoadingEnd'];
+    result.preloaded = pigeonMap['preloaded'];
+    result.playingDuration = pigeonMap['playingDuration'];
+    result.rebufferCount = pigeonMap['rebufferCount'];
+    result.rebufferDuration = pigeonMap['rebufferDuration'];
+    result.networkRetryCount = pigeonMap['networkRetryCount'];
+    result.seekCount = pigeonMap['seekCount'];
+    result.lastSeekLatency = pigeonMap['lastSeekLatency'];
+    result.totalSeekLatency = pigeonMap['totalSeekLatency'];
+    result.kbpsSamples = pigeonMap['kbpsSamples'];
+    result.averageKbps = pigeonMap['averageKbps'];
+    result.eventsDelivered = pigeonMap['eventsDelivered'];
+    result.eventsCoalesced = pigeonMap['eventsCoalesced'];
+    result.bufferProfile = pigeonMap['bufferProfile'];
+    result.startBufferDuration = pigeonMap['startBufferDuration'];
+    result.highBufferDuration = pigeonMap['highBufferDuration'];
+    result.maxBufferDuration = pigeonMap['maxBufferDuration'];
+    result.bufferAdjustCount = pigeonMap['bufferAdjustCount'];
+    result.seekCompletedCount = pigeonMap['seekCompletedCount'];
+    result.seekCoalescedCount = pigeonMap['seekCoalescedCount'];
+    return result;
+  }
+}
+
+class BatchMessage {
+  int textureId;
+  List<Object> textureIds;
+  int exceptTextureId;
+  List<Object> commands;
+  List<Object> results;
+  // ignore: unused_element
+  Map<dynamic, dynamic> _toMap() {
+    final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
+    pigeonMap['textureId'] = textureId;
+    pigeonMap['textureIds'] = textureIds;
+    pigeonMap['exceptTextureId'] = exceptTextureId;
+    pigeonMap['commands'] = commands;
+    pigeonMap['results'] = results;
+    return pigeonMap;
+  }
+  // ignore: unused_element
+  static BatchMessage _fromMap(Map<dynamic, dynamic> pigeonMap) {
+    final BatchMessage result = BatchMessage();
+    result.textureId = pigeonMap['textureId'];
+    result.textureIds = pigeonMap['textureIds'];
+    result.exceptTextureId = pigeonMap['exceptTextureId'];
+    result.commands = pigeonMap['commands'];
+    result.results = pigeonMap['results'];
+    return result;
+  }
+}
+
+class GovernorMessage {
+  bool enable;
+  int maxActiveDecoders;
+  int maxSurfaces;
+  int maxPlayers;
+  int maxBufferedBytes;
+  int activeDecoders;
+  int bufferedBytes;
+  int demotionCount;
+  int restoreCount;
+  // ignore: unused_element
+  Map<dynamic, dynamic> _toMap() {
+    final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
+    pigeonMap['enable'] = enable;
+    pigeonMap['maxActiveDecoders'] = maxActiveDecoders;
+    pigeonMap['maxSurfaces'] = maxSurfaces;
+    pigeonMap['maxPlayers'] = maxPlayers;
+    pigeonMap['maxBufferedBytes'] = maxBufferedBytes;
+    pigeonMap['activeDecoders'] = activeDecoders;
+    pigeonMap['bufferedBytes'] = bufferedBytes;
+    pigeonMap['demotionCount'] = demotionCount;
+    pigeonMap['restoreCount'] = restoreCount;
+    return pigeonMap;
+  }
+  // ignore: unused_element
+  static GovernorMessage _fromMap(Map<dynamic, dynamic> pigeonMap) {
+    final GovernorMessage result = GovernorMessage();
+    result.enable = pigeonMap['enable'];
+    result.maxActiveDecoders = pigeonMap['maxActiveDecoders'];
+    result.maxSurfaces = pigeonMap['maxSurfaces'];
+    result.maxPlayers = pigeonMap['maxPlayers'];
+    result.maxBufferedBytes = pigeonMap['maxBufferedBytes'];
+    result.activeDecoders = pigeonMap['activeDecoders'];
+    result.bufferedBytes = pigeonMap['bufferedBytes'];
+    result.demotionCount = pigeonMap['demotionCount'];
+    result.restoreCount = pigeonMap['restoreCount'];
+    return result;
+  }
+}
+
+class SnapshotMessage {
+  int textureId;
+  int format;
+  int quality;
+  int maxWidth;
+  int maxHeight;
+  bool inMemory;
+  // ignore: unused_element
+  Map<dynamic, dynamic> _toMap() {
+    final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
+    pigeonMap['textureId'] = textureId;
+    pigeonMap['format'] = format;
+    pigeonMap['quality'] = quality;
+    pigeonMap['maxWidth'] = maxWidth;
+    pigeonMap['maxHeight'] = maxHeight;
+    pigeonMap['inMemory'] = inMemory;
+    return pigeonMap;
+  }
+  // ignore: unused_element
+  static SnapshotMessage _fromMap(Map<dynamic, dynamic> pigeonMap) {
+    final SnapshotMessage result = SnapshotMessage();
+    result.textureId = pigeonMap['textureId'];
+    result.format = pigeonMap['format'];
+    result.quality = pigeonMap['quality'];
+    result.maxWidth = pigeonMap['maxWidth'];
+    result.maxHeight = pigeonMap['maxHeight'];
+    result.inMemory = pigeonMap['inMemory'];
+    return result;
+  }
+}
+
+class ExecutorStatsMessage {
+  List<Object> lanes;
+  // ignore: unused_element
+  Map<dynamic, dynamic> _toMap() {
+    final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
+    pigeonMap['lanes'] = lanes;
+    return pigeonMap;
+  }
+  // ignore: unused_element
+  static ExecutorStatsMessage _fromMap(Map<dynamic, dynamic> pigeonMap) {
+    final ExecutorStatsMessage result = ExecutorStatsMessage();
+    result.lanes = pigeonMap['lanes'];
+    return result;
+  }
+}
+
+class MaintenanceMessage {
+  int snapshotMaxBytes;
+  int snapshotMaxAgeS;
+  int cacheMaxAgeS;
+  int minFreeBytes;
+  int intervalS;
+  int snapshotBytes;
+  int cacheBytes;
+  int availableBytes;
+  int totalBytes;
+  int reclaimedBytes;
+  int deletedFiles;
+  int passCount;
+  int sliceCount;
+  int lastPassTime;
+  int thumbnailBytes;
+  // ignore: unused_element
+  Map<dynamic, dynamic> _toMap() {
+    final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
+    pigeonMap['snapshotMaxBytes'] = snapshotMaxBytes;
+    pigeonMap['snapshotMaxAgeS'] = snapshotMaxAgeS;
+    pigeonMap['cacheMaxAgeS'] = cacheMaxAgeS;
+    pigeonMap['minFreeBytes'] = minFreeBytes;
+    pigeonMap['intervalS'] = intervalS;
+    pigeonMap['snapshotBytes'] = snapshotBytes;
+    pigeonMap['cacheBytes'] = cacheBytes;
+    pigeonMap['availableBytes'] = availableBytes;
+    pigeonMap['totalBytes'] = totalBytes;
+    pigeonMap['reclaimedBytes'] = reclaimedBytes;
+    pigeonMap['deletedFiles'] = deletedFiles;
+    pigeonMap['passCount'] = passCount;
+    pigeonMap['sliceCount'] = sliceCount;
+    pigeonMap['lastPassTime'] = lastPassTime;
+    pigeonMap['thumbnailBytes'] = thumbnailBytes;
+    return pigeonMap;
+  }
+  // ignore: unused_element
+  static MaintenanceMessage _fromMap(Map<dynamic, dynamic> pigeonMap) {
+    final MaintenanceMessage result = MaintenanceMessage();
+    result.snapshotMaxBytes = pigeonMap['snapshotMaxBytes'];
+    result.snapshotMaxAgeS = pigeonMap['snapshotMaxAgeS'];
+    result.cacheMaxAgeS = pigeonMap['cacheMaxAgeS'];
+    result.minFreeBytes = pigeonMap['minFreeBytes'];
+    result.intervalS = pigeonMap['intervalS'];
+    result.snapshotBytes = pigeonMap['snapshotBytes'];
+    result.cacheBytes = pigeonMap['cacheBytes'];
+    result.availableBytes = pigeonMap['availableBytes'];
+    result.totalBytes = pigeonMap['totalBytes'];
+    result.reclaimedBytes = pigeonMap['reclaimedBytes'];
+    result.deletedFiles = pigeonMap['deletedFiles'];
+    result.passCount = pigeonMap['passCount'];
+    result.sliceCount = pigeonMap['sliceCount'];
+    result.lastPassTime = pigeonMap['lastPassTime'];
+    result.thumbnailBytes = pigeonMap['thumbnailBytes'];
+    return result;
+  }
+}
+
+class AbrMessage {
+  int textureId;
+  bool enable;
+  int maxWidth;
+  int maxHeight;
+  int maxBitrate;
+  // ignore: unused_element
+  Map<dynamic, dynamic> _toMap() {
+    final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
+    pigeonMap['textureId'] = textureId;
+    pigeonMap['enable'] = enable;
+    pigeonMap['maxWidth'] = maxWidth;
+    pigeonMap['maxHeight'] = maxHeight;
+    pigeonMap['maxBitrate'] = maxBitrate;
+    return pigeonMap;
+  }
+  // ignore: unused_element
+  static AbrMessage _fromMap(Map<dynamic, dynamic> pigeonMap) {
+    final AbrMessage result = AbrMessage();
+    result.textureId = pigeonMap['textureId'];
+    result.enable = pigeonMap['enable'];
+    result.maxWidth = pigeonMap['maxWidth'];
+    result.maxHeight = pigeonMap['maxHeight'];
+    result.maxBitrate = pigeonMap['maxBitrate'];
+    return result;
+  }
+}
+
+class SeekMessage {
+  int textureId;
+  int position;
+  int mode;
+  bool dragging;
+  // ignore: unused_element
+  Map<dynamic, dynamic> _toMap() {
+    final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
+    pigeonMap['textureId'] = textureId;
+    pigeonMap['position'] = position;
+    pigeonMap['mode'] = mode;
+    pigeonMap['dragging'] = dragging;
+    return pigeonMap;
+  }
+  // ignore: unused_element
+  static SeekMessage _fromMap(Map<dynamic, dynamic> pigeonMap) {
+    final SeekMessage result = SeekMessage();
+    result.textureId = pigeonMap['textureId'];
+    result.position = pigeonMap['position'];
+    result.mode = pigeonMap['mode'];
+    result.dragging = pigeonMap['dragging'];
+    return result;
+  }
+}
+
+class ThumbnailConfigMessage {
+  int textureId;
+  bool enable;
+  int interval;
+  int maxWidth;
+  int maxHeight;
+  int quality;
+  // ignore: unused_element
+  Map<dynamic, dynamic> _toMap() {
+    final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
+    pigeonMap['textureId'] = textureId;
+    pigeonMap['enable'] = enable;
+    pigeonMap['interval'] = interval;
+    pigeonMap['maxWidth'] = maxWidth;
+    pigeonMap['maxHeight'] = maxHeight;
+    pigeonMap['quality'] = quality;
+    return pigeonMap;
+  }
+  // ignore: unused_element
+  static ThumbnailConfigMessage _fromMap(Map<dynamic, dynamic> pigeonMap) {
+    final ThumbnailConfigMessage result = ThumbnailConfigMessage();
+    result.textureId = pigeonMap['textureId'];
+    result.enable = pigeonMap['enable'];
+    result.interval = pigeonMap['interval'];
+    result.maxWidth = pigeonMap['maxWidth'];
+    result.maxHeight = pigeonMap['maxHeight'];
+    result.quality = pigeonMap['quality'];
+    return result;
+  }
+}
+
+class ThumbnailMessage {
+  int textureId;
+  int position;
+  Uint8List bytes;
+  bool exact;
+  double progress;
+  // ignore: unused_element
+  Map<dynamic, dynamic> _toMap() {
+    final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
+    pigeonMap['textureId'] = textureId;
+    pigeonMap['position'] = position;
+    pigeonMap['bytes'] = bytes;
+    pigeonMap['exact'] = exact;
+    pigeonMap['progress'] = progress;
+    return pigeonMap;
+  }
+  // ignore: unused_element
+  static ThumbnailMessage _fromMap(Map<dynamic, dynamic> pigeonMap) {
+    final ThumbnailMessage result = ThumbnailMessage();
+    result.textureId = pigeonMap['textureId'];
+    result.position = pigeonMap['position'];
+    result.bytes = pigeonMap['bytes'];
+    result.exact = pigeonMap['exact'];
+    result.progress = pigeonMap['progress'];
+    return result;
+  }
+}
+
+class LifecycleMessage {
+  bool enable;
+  int gracePeriod;
+  bool resumePlayback;
+  int backgroundCount;
+  int resumeCount;
+  int surfaceReleaseCount;
+  int reclaimedSurfaceBytes;
+  int reclaimedHeapBytes;
+  // ignore: unused_element
+  Map<dynamic, dynamic> _toMap() {
+    final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
+    pigeonMap['enable'] = enable;
+    pigeonMap['gracePeriod'] = gracePeriod;
+    pigeonMap['resumePlayback'] = resumePlayback;
+    pigeonMap['backgroundCount'] = backgroundCount;
+    pigeonMap['resumeCount'] = resumeCount;
+    pigeonMap['surfaceReleaseCount'] = surfaceReleaseCount;
+    pigeonMap['reclaimedSurfaceBytes'] = reclaimedSurfaceBytes;
+    pigeonMap['reclaimedHeapBytes'] = reclaimedHeapBytes;
+    return pigeonMap;
+  }
+  // ignore: unused_element
+  static LifecycleMessage _fromMap(Map<dynamic, dynamic> pigeonMap) {
+    final LifecycleMessage result = LifecycleMessage();
+    result.enable = pigeonMap['enable'];
+    result.gracePeriod = pigeonMap['gracePeriod'];
+    result.resumePlayback = pigeonMap['resumePlayback'];
+    result.backgroundCount = pigeonMap['backgroundCount'];
+    result.resumeCount = pigeonMap['resumeCount'];
+    result.surfaceReleaseCount = pigeonMap['surfaceReleaseCount'];
+    result.reclaimedSurfaceBytes = pigeonMap['reclaimedSurfaceBytes'];
+    result.reclaimedHeapBytes = pigeonMap['reclaimedHeapBytes'];
+    return result;
+  }
+}
+
+class ProxyMessage {
+  bool enable;
+  int readAhead;
+  int requestCount;
+  int sharedRequestCount;
+  int upstreamBytes;
+  int servedBytes;
+  // ignore: unused_element
+  Map<dynamic, dynamic> _toMap() {
+    final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
+    pigeonMap['enable'] = enable;
+    pigeonMap['readAhead'] = readAhead;
+    pigeonMap['requestCount'] = requestCount;
+    pigeonMap['sharedRequestCount'] = sharedRequestCount;
+    pigeonMap['upstreamBytes'] = upstreamBytes;
+    pigeonMap['servedBytes'] = servedBytes;
+    return pigeonMap;
+  }
+  // ignore: unused_element
+  static ProxyMessage _fromMap(Map<dynamic, dynamic> pigeonMap) {
+    final ProxyMessage result = ProxyMessage();
+    result.enable = pigeonMap['enable'];
+    result.readAhead = pigeonMap['readAhead'];
+    result.requestCount = pigeonMap['requestCount'];
+    result.sharedRequestCount = pigeonMap['sharedRequestCount'];
+    result.upstreamBytes = pigeonMap['upstreamBytes'];
+    result.servedBytes = pigeonMap['servedBytes'];
+    return result;
+  }
+}
+
+class DownloadMessage {
+  String id;
+  String url;
+  int connections;
+  int state;
+  int downloadedBytes;
+  int totalBytes;
+  String localUri;
+  String error;
+  // ignore: unused_element
+  Map<dynamic, dynamic> _toMap() {
+    final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
+    pigeonMap['id'] = id;
+    pigeonMap['url'] = url;
+    pigeonMap['connections'] = connections;
+    pigeonMap['state'] = state;
+    pigeonMap['downloadedBytes'] = downloadedBytes;
+    pigeonMap['totalBytes'] = totalBytes;
+    pigeonMap['localUri'] = localUri;
+    pigeonMap['error'] = error;
+    return pigeonMap;
+  }
+  // ignore: unused_element
+  static DownloadMessage _fromMap(Map<dynamic, dynamic> pigeonMap) {
+    final DownloadMessage result = DownloadMessage();
+    result.id = pigeonMap['id'];
+    result.url = pigeonMap['url'];
+    result.connections = pigeonMap['connections'];
+    result.state = pigeonMap['state'];
+    result.downloadedBytes = pigeonMap['downloadedBytes'];
+    result.totalBytes = pigeonMap['totalBytes'];
+    result.localUri = pigeonMap['localUri'];
+    result.error = pigeonMap['error'];
+    return result;
+  }
+}
+
+class DownloadConfigMessage {
+  int maxConnections;
+  int maxBytesPerSecond;
+  // ignore: unused_element
+  Map<dynamic, dynamic> _toMap() {
+    final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
+    pigeonMap['maxConnections'] = maxConnections;
+    pigeonMap['maxBytesPerSecond'] = maxBytesPerSecond;
+    return pigeonMap;
+  }
+  // ignore: unused_element
+  static DownloadConfigMessage _fromMap(Map<dynamic, dynamic> pigeonMap) {
+    final DownloadConfigMessage result = DownloadConfigMessage();
+    result.maxConnections = pigeonMap['maxConnections'];
+    result.maxBytesPerSecond = pigeonMap['maxBytesPerSecond'];
+    return result;
+  }
+}
+
+class DownloadListMessage {
+  List<Object> downloads;
+  bool restoring;
+  // ignore: unused_element
+  Map<dynamic, dynamic> _toMap() {
+    final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
+    pigeonMap['downloads'] = downloads;
+    pigeonMap['restoring'] = restoring;
+    return pigeonMap;
+  }
+  // ignore: unused_element
+  static DownloadListMessage _fromMap(Map<dynamic, dynamic> pigeonMap) {
+    final DownloadListMessage result = DownloadListMessage();
+    result.downloads = pigeonMap['downloads'];
+    result.restoring = pigeonMap['restoring'];
+    return result;
+  }
+}
+
 class VideoPlayerApi {
   Future<void> initialize() async {
     const BasicMessageChannel<dynamic> channel =
@@ -541,5 +1162,676 @@ class VideoPlayerApi {
     }
     
   }
-}
-
+  Future<void> setPlayerPool(PlayerPoolMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.setPlayerPool', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      // noop
+    }
+    
+  }
+  Future<PlayerPoolMessage> getPlayerPool() async {
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.getPlayerPool', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(null);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      return PlayerPoolMessage._fromMap(replyMap['result']);
+    }
+    
+  }
+  Future<PreloadMessage> preload(PreloadMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.preload', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      return PreloadMessage._fromMap(replyMap['result']);
+    }
+    
+  }
+  Future<void> setCacheConfig(CacheMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.setCacheConfig', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      // noop
+    }
+    
+  }
+  Future<CacheMessage> getCacheStats() async {
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.getCacheStats', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(null);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      return CacheMessage._fromMap(replyMap['result']);
+    }
+    
+  }
+  Future<void> clearCache() async {
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.clearCache', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(null);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      // noop
+    }
+    
+  }
+  Future<void> setPositionUpdateInterval(PositionMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.setPositionUpdateInterval', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      // noop
+    }
+    
+  }
+  Future<MetricsMessage> getMetrics(TextureMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.getMetrics', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      return MetricsMessage._fromMap(replyMap['result']);
+    }
+    
+  }
+  Future<void> setMetricsInterval(PositionMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.setMetricsInterval', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      // noop
+    }
+    
+  }
+  Future<BatchMessage> batch(BatchMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.batch', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      return BatchMessage._fromMap(replyMap['result']);
+    }
+    
+  }
+  Future<void> setGovernor(GovernorMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.setGovernor', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      // noop
+    }
+    
+  }
+  Future<GovernorMessage> getGovernorStats() async {
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.getGovernorStats', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(null);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      return GovernorMessage._fromMap(replyMap['result']);
+    }
+    
+  }
+  Future<void> setPriority(PositionMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.setPriority', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      // noop
+    }
+    
+  }
+  Future<void> snapshotWithOptions(SnapshotMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.snapshotWithOptions', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      // noop
+    }
+    
+  }
+  Future<ExecutorStatsMessage> getExecutorStats() async {
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.getExecutorStats', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(null);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      return ExecutorStatsMessage._fromMap(replyMap['result']);
+    }
+    
+  }
+  Future<void> setMaintenance(MaintenanceMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.setMaintenance', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      // noop
+    }
+    
+  }
+  Future<MaintenanceMessage> getMaintenanceStats() async {
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.getMaintenanceStats', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(null);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      return MaintenanceMessage._fromMap(replyMap['result']);
+    }
+    
+  }
+  Future<void> runMaintenance() async {
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.runMaintenance', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(null);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      // noop
+    }
+    
+  }
+  Future<void> setAbr(AbrMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.setAbr', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      // noop
+    }
+    
+  }
+  Future<void> seekWithMode(SeekMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.seekWithMode', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      // noop
+    }
+    
+  }
+  Future<void> setThumbnails(ThumbnailConfigMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.setThumbnails', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      // noop
+    }
+    
+  }
+  Future<ThumbnailMessage> getThumbnail(PositionMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.getThumbnail', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      return ThumbnailMessage._fromMap(replyMap['result']);
+    }
+    
+  }
+  Future<void> setLifecyclePolicy(LifecycleMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.setLifecyclePolicy', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      // noop
+    }
+    
+  }
+  Future<LifecycleMessage> getLifecycleStats() async {
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.getLifecycleStats', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(null);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      return LifecycleMessage._fromMap(replyMap['result']);
+    }
+    
+  }
+  Future<void> setProxy(ProxyMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.setProxy', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      // noop
+    }
+    
+  }
+  Future<ProxyMessage> getProxyStats() async {
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.getProxyStats', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(null);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      return ProxyMessage._fromMap(replyMap['result']);
+    }
+    
+  }
+  Future<void> setDownloadConfig(DownloadConfigMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.setDownloadConfig', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      // noop
+    }
+    
+  }
+  Future<DownloadMessage> startDownload(DownloadMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.startDownload', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      return DownloadMessage._fromMap(replyMap['result']);
+    }
+    
+  }
+  Future<void> pauseDownload(DownloadMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.pauseDownload', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      // noop
+    }
+    
+  }
+  Future<void> removeDownload(DownloadMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.removeDownload', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      // noop
+    }
+    
+  }
+  Future<DownloadListMessage> getDownloads() async {
+    const BasicMessageChannel<dynamic> channel =
+        BasicMessageChannel<dynamic>('dev.flutter.pigeon.VideoPlayerApi.getDownloads', StandardMessageCodec());
+    
+    final Map<dynamic, dynamic> replyMap = await channel.send(null);
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+        details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      return DownloadListMessage._fromMap(replyMap['result']);
+    }
+    
+  }
+}
@@ -3,17 +3,39 @@
 // found in the LICENSE file.
 
 import 'dart:async';
+import 'dart:io';
 import 'dart:ui';
 
 import 'package:flutter/services.dart';
 import 'package:flutter/widgets.dart';
 
+import 'compact_messages.dart';
 import 'messages.dart';
 import 'video_player_platform_interface.dart';
 
 /// An implementation of [VideoPlayerPlatform] that uses method channels.
 class MethodChannelVideoPlayer extends VideoPlayerPlatform {
+  /// Creates the method channel implementation.
+  ///
+  /// With [compactCodec], [play], [pause], [seekTo], [seekToWithMode],
+  /// [setVolume], [setSpeed] and [getPosition] are sent over fixed-layout
+  /// binary channels instead of the Pigeon ones. Only supported on Android.
+  MethodChannelVideoPlayer({bool compactCodec = false})
+      : _compactApi = compactCodec ? CompactVideoPlayerApi() : null;
+
   VideoPlayerApi _api = VideoPlayerApi();
+  final CompactVideoPlayerApi _compactApi;
+
+  // One stream for the download events, shared by [downloadEvents] and
+  // [getDownloads]. A second stream on the channel would take the events
+  // from the first one.
+  Stream<dynamic> _downloadEventStream;
+
+  Stream<dynamic> get _rawDownloadEvents {
+    return _downloadEventStream ??=
+        const EventChannel('flutter.io/videoPlayer/downloadEvents')
+            .receiveBroadcastStream();
+  }
 
   @override
   Future<void> init() {
@@ -37,11 +59,16 @@ class MethodChannelVideoPlayer extends VideoPlayerPlatform {
       case DataSourceType.network:
         message.uri = dataSource.uri;
         message.formatHint = _videoFormatStringMap[dataSource.formatHint];
+        message.preloadHandle = dataSource.preloadHandle;
         break;
       case DataSourceType.file:
         message.uri = dataSource.uri;
         break;
     }
+    message.eventCoalesceWindow =
+        dataSource.eventCoalesceWindow?.inMilliseconds;
+    message.bufferProfile = dataSource.bufferProfile?.index;
+    message.adaptiveBuffer = dataSource.adaptiveBuffer;
 
     TextureMessage response = await _api.create(message);
     return response.textureId;
@@ -61,12 +88,14 @@ class MethodChannelVideoPlayer extends VideoPlayerPlatform {
 
   @override
   Future<void> play(int textureId) {
-    return _api.play(TextureMessage()..textureId = textureId);
+    final TextureMessage message = TextureMessage()..textureId = textureId;
+    return _compactApi?.play(message) ?? _api.play(message);
   }
 
   @override
   Future<void> pause(int textureId) {
-    return _api.pause(TextureMessage()..textureId = textureId);
+    final TextureMessage message = TextureMessage()..textureId = textureId;
+    return _compactApi?.pause(message) ?? _api.pause(message);
   }
 
   @override
@@ -75,8 +104,17 @@ class MethodChannelVideoPlayer extends VideoPlayerPlatform {
   }
 
   @override
-  Future<void> snapshot(int textureId) {
-    return _api.snapshot(TextureMessage()..textureId = textureId);
+  Future<void> snapshot(int textureId, {SnapshotOptions options}) {
+    if (options == null) {
+      return _api.snapshot(TextureMessage()..textureId = textureId);
+    }
+    return _api.snapshotWithOptions(SnapshotMessage()
+      ..textureId = textureId
+      ..format = options.format.index
+      ..quality = options.quality
+      ..maxWidth = options.maxWidth
+      ..maxHeight = options.maxHeight
+      ..inMemory = options.inMemory);
   }
 
   @override
@@ -86,9 +124,10 @@ class MethodChannelVideoPlayer extends VideoPlayerPlatform {
 
   @override
   Future<void> setSpeed(int textureId, double volume) {
-    return _api.setSpeed(VolumeMessage()
+    final VolumeMessage message = VolumeMessage()
       ..textureId = textureId
-      ..volume = volume);
+      ..volume = volume;
+    return _compactApi?.setSpeed(message) ?? _api.setSpeed(message);
   }
 
   @override
@@ -112,11 +151,52 @@ class MethodChannelVideoPlayer extends VideoPlayerPlatform {
       ..position = value);
   }
   
+  @override
+  Future<void> setAbr(int textureId,
+      {bool enable, int maxWidth, int maxHeight, int maxBitrate}) {
+    return _api.setAbr(AbrMessage()
+      ..textureId = textureId
+      ..enable = enable
+      ..maxWidth = maxWidth
+      ..maxHeight = maxHeight
+      ..maxBitrate = maxBitrate);
+  }
+
+  @override
+  Future<void> setThumbnails(int textureId,
+      {bool enable = true,
+      Duration interval,
+      int maxWidth,
+      int maxHeight,
+      int quality}) {
+    return _api.setThumbnails(ThumbnailConfigMessage()
+      ..textureId = textureId
+      ..enable = enable
+      ..interval = interval?.inMilliseconds
+      ..maxWidth = maxWidth
+      ..maxHeight = maxHeight
+      ..quality = quality);
+  }
+
+  @override
+  Future<Thumbnail> getThumbnail(int textureId, Duration position) async {
+    ThumbnailMessage response = await _api.getThumbnail(PositionMessage()
+      ..textureId = textureId
+      ..position = position.inMilliseconds);
+    return Thumbnail(
+      bytes: response.bytes,
+      position: _toDuration(response.position),
+      exact: response.exact,
+      progress: response.progress,
+    );
+  }
+
   @override
   Future<void> setVolume(int textureId, double volume) {
-    return _api.setVolume(VolumeMessage()
+    final VolumeMessage message = VolumeMessage()
       ..textureId = textureId
-      ..volume = volume);
+      ..volume = volume;
+    return _compactApi?.setVolume(message) ?? _api.setVolume(message);
   }
 
   @override
@@ -135,18 +215,421 @@ class MethodChannelVideoPlayer extends VideoPlayerPlatform {
 
   @override
   Future<void> seekTo(int textureId, Duration position) {
-    return _api.seekTo(PositionMessage()
+    final PositionMessage message = PositionMessage()
       ..textureId = textureId
-      ..position = position.inMilliseconds);
+      ..position = position.inMilliseconds;
+    return _compactApi?.seekTo(message) ?? _api.seekTo(message);
+  }
+
+  @override
+  Future<void> seekToWithMode(
+      int textureId, Duration position, SeekMode mode, bool dragging) {
+    final bool accurate = mode == SeekMode.accurate ||
+        (mode == SeekMode.auto && dragging != true);
+    // 只有Android注册了seekWithMode，精确seek走原来的seekTo
+    if ((accurate && dragging != true) || !Platform.isAndroid) {
+      return seekTo(textureId, position);
+    }
+    final SeekMessage message = SeekMessage()
+      ..textureId = textureId
+      ..position = position.inMilliseconds
+      ..mode = mode.index
+      ..dragging = dragging;
+    return _compactApi?.seekWithMode(message) ?? _api.seekWithMode(message);
+  }
+
+  @override
+  Future<void> setPositionUpdateInterval(int textureId, Duration interval) {
+    return _api.setPositionUpdateInterval(PositionMessage()
+      ..textureId = textureId
+      ..position = interval?.inMilliseconds ?? 0);
   }
 
   @override
   Future<Duration> getPosition(int textureId) async {
-    PositionMessage response =
-        await _api.position(TextureMessage()..textureId = textureId);
+    final TextureMessage message = TextureMessage()..textureId = textureId;
+    PositionMessage response = await (_compactApi?.position(message) ??
+        _api.position(message));
     return Duration(milliseconds: response.position);
   }
 
+  @override
+  Future<void> setPlayerPool({int maxSize, int prewarmCount}) {
+    return _api.setPlayerPool(PlayerPoolMessage()
+      ..maxSize = maxSize
+      ..prewarmCount = prewarmCount);
+  }
+
+  @override
+  Future<PlayerPoolStats> getPlayerPoolStats() async {
+    PlayerPoolMessage response = await _api.getPlayerPool();
+    return PlayerPoolStats(
+      maxSize: response.maxSize,
+      idleCount: response.idleCount,
+      hitCount: response.hitCount,
+      missCount: response.missCount,
+      evictionCount: response.evictionCount,
+    );
+  }
+
+  @override
+  Future<List<int>> preload(List<String> uris,
+      {int window, Duration bufferDuration, int bufferBytes}) async {
+    PreloadMessage response = await _api.preload(PreloadMessage()
+      ..uris = uris
+      ..window = window
+      ..bufferDuration = bufferDuration?.inMilliseconds
+      ..bufferBytes = bufferBytes);
+    return response.handles.cast<int>();
+  }
+
+  @override
+  Future<void> setCacheConfig(
+      {bool enable, String directory, int maxSizeMB, Duration maxDuration}) {
+    return _api.setCacheConfig(CacheMessage()
+      ..enable = enable
+      ..dir = directory
+      ..maxSizeMB = maxSizeMB
+      ..maxDurationS = maxDuration?.inSeconds);
+  }
+
+  @override
+  Future<CacheStats> getCacheStats() async {
+    CacheMessage response = await _api.getCacheStats();
+    return CacheStats(
+      hitCount: response.hitCount,
+      missCount: response.missCount,
+      hitBytes: response.hitBytes,
+      cachedBytes: response.cachedBytes,
+      evictedBytes: response.evictedBytes,
+    );
+  }
+
+  @override
+  Future<void> clearCache() {
+    return _api.clearCache();
+  }
+
+  @override
+  Future<void> setMaintenance(
+      {int snapshotMaxBytes,
+      Duration snapshotMaxAge,
+      Duration cacheMaxAge,
+      int minFreeBytes,
+      Duration interval}) {
+    return _api.setMaintenance(MaintenanceMessage()
+      ..snapshotMaxBytes = snapshotMaxBytes
+      ..snapshotMaxAgeS = snapshotMaxAge?.inSeconds
+      ..cacheMaxAgeS = cacheMaxAge?.inSeconds
+      ..minFreeBytes = minFreeBytes
+      ..intervalS = interval?.inSeconds);
+  }
+
+  @override
+  Future<MaintenanceStats> getMaintenanceStats() async {
+    MaintenanceMessage response = await _api.getMaintenanceStats();
+    return MaintenanceStats(
+      snapshotBytes: response.snapshotBytes,
+      cacheBytes: response.cacheBytes,
+      thumbnailBytes: response.thumbnailBytes,
+      availableBytes: response.availableBytes,
+      totalBytes: response.totalBytes,
+      reclaimedBytes: response.reclaimedBytes,
+      deletedFiles: response.deletedFiles,
+      passCount: response.passCount,
+      sliceCount: response.sliceCount,
+      lastPassTime: Duration(milliseconds: response.lastPassTime),
+    );
+  }
+
+  @override
+  Future<void> runMaintenance() {
+    return _api.runMaintenance();
+  }
+
+  @override
+  Future<void> setGovernor(
+      {bool enable,
+      int maxActiveDecoders,
+      int maxSurfaces,
+      int maxPlayers,
+      int maxBufferedBytes}) {
+    return _api.setGovernor(GovernorMessage()
+      ..enable = enable
+      ..maxActiveDecoders = maxActiveDecoders
+      ..maxSurfaces = maxSurfaces
+      ..maxPlayers = maxPlayers
+      ..maxBufferedBytes = maxBufferedBytes);
+  }
+
+  @override
+  Future<GovernorStats> getGovernorStats() async {
+    GovernorMessage response = await _api.getGovernorStats();
+    return GovernorStats(
+      enable: response.enable,
+      maxActiveDecoders: response.maxActiveDecoders,
+      maxSurfaces: response.maxSurfaces,
+      maxPlayers: response.maxPlayers,
+      maxBufferedBytes: response.maxBufferedBytes,
+      activeDecoders: response.activeDecoders,
+      bufferedBytes: response.bufferedBytes,
+      demotionCount: response.demotionCount,
+      restoreCount: response.restoreCount,
+    );
+  }
+
+  @override
+  Future<void> setLifecyclePolicy(
+      {bool enable, Duration gracePeriod, bool resumePlayback}) {
+    return _api.setLifecyclePolicy(LifecycleMessage()
+      ..enable = enable
+      ..gracePeriod = gracePeriod?.inMilliseconds
+      ..resumePlayback = resumePlayback);
+  }
+
+  @override
+  Future<LifecycleStats> getLifecycleStats() async {
+    LifecycleMessage response = await _api.getLifecycleStats();
+    return LifecycleStats(
+      enable: response.enable,
+      gracePeriod: _toDuration(response.gracePeriod),
+      resumePlayback: response.resumePlayback,
+      backgroundCount: response.backgroundCount,
+      resumeCount: response.resumeCount,
+      surfaceReleaseCount: response.surfaceReleaseCount,
+      reclaimedSurfaceBytes: response.reclaimedSurfaceBytes,
+      reclaimedHeapBytes: response.reclaimedHeapBytes,
+    );
+  }
+
+  @override
+  Future<void> setProxy({bool enable, int readAhead}) {
+    return _api.setProxy(ProxyMessage()
+      ..enable = enable
+      ..readAhead = readAhead);
+  }
+
+  @override
+  Future<ProxyStats> getProxyStats() async {
+    ProxyMessage response = await _api.getProxyStats();
+    return ProxyStats(
+      enable: response.enable,
+      readAhead: response.readAhead,
+      requestCount: response.requestCount,
+      sharedRequestCount: response.sharedRequestCount,
+      upstreamBytes: response.upstreamBytes,
+      servedBytes: response.servedBytes,
+    );
+  }
+
+  @override
+  Future<void> setDownloadConfig({int maxConnections, int maxBytesPerSecond}) {
+    return _api.setDownloadConfig(DownloadConfigMessage()
+      ..maxConnections = maxConnections
+      ..maxBytesPerSecond = maxBytesPerSecond);
+  }
+
+  @override
+  Future<DownloadInfo> startDownload(String url, {int connections}) async {
+    DownloadMessage response = await _api.startDownload(DownloadMessage()
+      ..url = url
+      ..connections = connections);
+    return _toDownloadInfo(response);
+  }
+
+  @override
+  Future<void> pauseDownload(String id) {
+    return _api.pauseDownload(DownloadMessage()..id = id);
+  }
+
+  @override
+  Future<void> removeDownload(String id) {
+    return _api.removeDownload(DownloadMessage()..id = id);
+  }
+
+  @override
+  Future<List<DownloadInfo>> getDownloads() async {
+    // Listens before asking, so that the restored event cannot be missed.
+    final Completer<void> restored = Completer<void>();
+    final StreamSubscription<dynamic> subscription =
+        _rawDownloadEvents.listen((dynamic event) {
+      final Map<dynamic, dynamic> map = event;
+      if (map['event'] == 'restored' && !restored.isCompleted) {
+        restored.complete();
+      }
+    });
+    DownloadListMessage response;
+    try {
+      response = await _api.getDownloads();
+      if (response.restoring == true) {
+        // The platform is still reading the downloads of the last session.
+        await restored.future;
+        response = await _api.getDownloads();
+      }
+    } finally {
+      await subscription.cancel();
+    }
+    return response.downloads.map((dynamic download) {
+      final Map<dynamic, dynamic> map = download;
+      return DownloadInfo(
+        id: map['id'],
+        url: map['url'],
+        connections: map['connections'],
+        state: _toDownloadState(map['state']),
+        downloadedBytes: map['downloadedBytes'],
+        totalBytes: map['totalBytes'],
+        localUri: map['localUri'],
+        error: map['error'],
+      );
+    }).toList();
+  }
+
+  @override
+  Stream<DownloadEvent> downloadEvents() {
+    return _rawDownloadEvents.map((dynamic event) {
+      final Map<dynamic, dynamic> map = event;
+      switch (map['event']) {
+        case 'progress':
+          return DownloadEvent(
+            eventType: DownloadEventType.progress,
+            id: map['id'],
+            downloadedBytes: map['downloadedBytes'],
+            totalBytes: map['totalBytes'],
+            bytesPerSecond: map['bytesPerSecond'],
+          );
+        case 'state':
+          return DownloadEvent(
+            eventType: DownloadEventType.stateChanged,
+            id: map['id'],
+            state: _toDownloadState(map['state']),
+            downloadedBytes: map['downloadedBytes'],
+            totalBytes: map['totalBytes'],
+            localUri: map['localUri'],
+            error: map['error'],
+          );
+        case 'removed':
+          return DownloadEvent(
+            eventType: DownloadEventType.removed,
+            id: map['id'],
+          );
+        default:
+          return null;
+      }
+    }).where((DownloadEvent event) => event != null);
+  }
+
+  DownloadInfo _toDownloadInfo(DownloadMessage message) {
+    return DownloadInfo(
+      id: message.id,
+      url: message.url,
+      connections: message.connections,
+      state: _toDownloadState(message.state),
+      downloadedBytes: message.downloadedBytes,
+      totalBytes: message.totalBytes,
+      localUri: message.localUri,
+      error: message.error,
+    );
+  }
+
+  DownloadState _toDownloadState(int state) {
+    if (state == null || state < 0 || state >= DownloadState.values.length) {
+      return DownloadState.failed;
+    }
+    return DownloadState.values[state];
+  }
+
+  @override
+  Future<List<ExecutorLaneStats>> getExecutorStats() async {
+    ExecutorStatsMessage response = await _api.getExecutorStats();
+    return response.lanes.map((dynamic lane) {
+      final Map<dynamic, dynamic> map = lane;
+      return ExecutorLaneStats(
+        lane: map['lane'],
+        queueDepth: map['queueDepth'],
+        maxQueueDepth: map['maxQueueDepth'],
+        submitted: map['submitted'],
+        rejected: map['rejected'],
+        completed: map['completed'],
+        failed: map['failed'],
+        totalWait: Duration(microseconds: map['totalWaitUs']),
+        maxWait: Duration(microseconds: map['maxWaitUs']),
+        totalRun: Duration(microseconds: map['totalRunUs']),
+        maxRun: Duration(microseconds: map['maxRunUs']),
+      );
+    }).toList();
+  }
+
+  @override
+  Future<void> setPriority(int textureId, int priority) {
+    return _api.setPriority(PositionMessage()
+      ..textureId = textureId
+      ..position = priority);
+  }
+
+  @override
+  Future<PlayerMetrics> getMetrics(int textureId) async {
+    MetricsMessage response =
+        await _api.getMetrics(TextureMessage()..textureId = textureId);
+    return PlayerMetrics(
+      timeToPrepared: _toDuration(response.timeToPrepared),
+      timeToFirstFrame: _toDuration(response.timeToFirstFrame),
+      timeToFirstLoadingEnd: _toDuration(response.timeToFirstLoadingEnd),
+      preloaded: response.preloaded,
+      playingDuration: _toDuration(response.playingDuration),
+      rebufferCount: response.rebufferCount,
+      rebufferDuration: _toDuration(response.rebufferDuration),
+      networkRetryCount: response.networkRetryCount,
+      seekCount: response.seekCount,
+      lastSeekLatency: _toDuration(response.lastSeekLatency),
+      totalSeekLatency: _toDuration(response.totalSeekLatency),
+      kbpsSamples: response.kbpsSamples?.cast<double>(),
+      averageKbps: response.averageKbps,
+      eventsDelivered: response.eventsDelivered,
+      eventsCoalesced: response.eventsCoalesced,
+      bufferProfile: _toBufferProfile(response.bufferProfile),
+      startBufferDuration: _toDuration(response.startBufferDuration),
+      highBufferDuration: _toDuration(response.highBufferDuration),
+      maxBufferDuration: _toDuration(response.maxBufferDuration),
+      bufferAdjustCount: response.bufferAdjustCount,
+      seekCompletedCount: response.seekCompletedCount,
+      seekCoalescedCount: response.seekCoalescedCount,
+    );
+  }
+
+  @override
+  Future<void> setMetricsInterval(int textureId, Duration interval) {
+    return _api.setMetricsInterval(PositionMessage()
+      ..textureId = textureId
+      ..position = interval?.inMilliseconds ?? 0);
+  }
+
+  @override
+  Future<Map<int, List<PlayerCommandResult>>> batch(
+      List<PlayerCommand> commands,
+      {int textureId,
+      List<int> textureIds,
+      int exceptTextureId}) async {
+    BatchMessage response = await _api.batch(BatchMessage()
+      ..textureId = textureId
+      ..textureIds = textureIds
+      ..exceptTextureId = exceptTextureId
+      ..commands =
+          commands.map((PlayerCommand command) => command.toMap()).toList());
+    final Map<int, List<PlayerCommandResult>> results =
+        <int, List<PlayerCommandResult>>{};
+    for (dynamic entry in response.results) {
+      final Map<dynamic, dynamic> player = entry;
+      results[player['textureId']] = (player['results'] as List<dynamic>)
+          .map((dynamic result) => PlayerCommandResult(
+                ok: result['ok'],
+                value: result['value'],
+                error: result['error'],
+              ))
+          .toList();
+    }
+    return results;
+  }
+
   @override
   Stream<VideoEvent> videoEventsFor(int textureId) {
     return _eventChannelFor(textureId)
@@ -160,6 +643,10 @@ class MethodChannelVideoPlayer extends VideoPlayerPlatform {
             duration: Duration(milliseconds: map['duration']),
             size: Size(map['width']?.toDouble() ?? 0.0,
                 map['height']?.toDouble() ?? 0.0),
+            tracks: (map['tracks'] as List<dynamic>)
+                ?.map((dynamic track) => _toVideoTrack(track))
+                ?.toList(),
+            trackIndex: map['trackIndex'],
           );
         case 'completed':
           return VideoEvent(
@@ -193,7 +680,85 @@ class MethodChannelVideoPlayer extends VideoPlayerPlatform {
         case 'loadingEnd':
           return VideoEvent(eventType: VideoEventType.loadingEnd);
         case 'snapshot':
-          return VideoEvent(eventType: VideoEventType.snapshot, filePath: map['filePath'].toString());
+          return VideoEvent(
+            eventType: VideoEventType.snapshot,
+            filePath: map['filePath'],
+            snapshot: SnapshotResult(
+              filePath: map['filePath'],
+              uri: map['uri'],
+              bytes: map['bytes'],
+              position: _toDuration(map['position']),
+              cached: map['cached'],
+              mimeType: map['mimeType'],
+              width: map['width'],
+              height: map['height'],
+              size: map['size'],
+              scaleTime: _toDuration(map['scaleTime']),
+              encodeTime: _toDuration(map['encodeTime']),
+              writeTime: _toDuration(map['writeTime']),
+            ),
+          );
+        case 'position':
+          return VideoEvent(
+            eventType: VideoEventType.positionUpdate,
+            position: Duration(milliseconds: map['position']),
+          );
+        case 'metrics':
+          return VideoEvent(
+            eventType: VideoEventType.metrics,
+            metrics: PlayerMetrics(
+              timeToPrepared: _toDuration(map['timeToPrepared']),
+              timeToFirstFrame: _toDuration(map['timeToFirstFrame']),
+              timeToFirstLoadingEnd: _toDuration(map['timeToFirstLoadingEnd']),
+              preloaded: map['preloaded'],
+              playingDuration: _toDuration(map['playingDuration']),
+              rebufferCount: map['rebufferCount'],
+              rebufferDuration: _toDuration(map['rebufferDuration']),
+              networkRetryCount: map['networkRetryCount'],
+              seekCount: map['seekCount'],
+              lastSeekLatency: _toDuration(map['lastSeekLatency']),
+              totalSeekLatency: _toDuration(map['totalSeekLatency']),
+              kbpsSamples: map['kbpsSamples']?.cast<double>(),
+              averageKbps: map['averageKbps'],
+              eventsDelivered: map['eventsDelivered'],
+              eventsCoalesced: map['eventsCoalesced'],
+              bufferProfile: _toBufferProfile(map['bufferProfile']),
+              startBufferDuration: _toDuration(map['startBufferDuration']),
+              highBufferDuration: _toDuration(map['highBufferDuration']),
+              maxBufferDuration: _toDuration(map['maxBufferDuration']),
+              bufferAdjustCount: map['bufferAdjustCount'],
+              seekCompletedCount: map['seekCompletedCount'],
+              seekCoalescedCount: map['seekCoalescedCount'],
+            ),
+          );
+        case 'resourceLevelChanged':
+          return VideoEvent(
+            eventType: VideoEventType.resourceLevelChanged,
+            resourceLevel: PlayerResourceLevel.values[map['level']],
+          );
+        case 'trackChanged':
+          return VideoEvent(
+            eventType: VideoEventType.trackChanged,
+            trackSwitch: TrackSwitch(
+              track: _toVideoTrack(map),
+              latency: _toDuration(map['latency']),
+              automatic: map['automatic'],
+              error: map['error'],
+              kbps: map['kbps'],
+            ),
+          );
+        case 'seekCompleted':
+          return VideoEvent(
+            eventType: VideoEventType.seekCompleted,
+            seekResult: SeekResult(
+              position: _toDuration(map['position']),
+              accurate: map['accurate'],
+              latency: _toDuration(map['latency']),
+              seekLatency: _toDuration(map['seekLatency']),
+              coalesced: map['coalesced'],
+              pending: map['pending'],
+            ),
+          );
         default:
           return VideoEvent(eventType: VideoEventType.unknown);
       }
@@ -229,7 +794,8 @@ class MethodChannelVideoPlayer extends VideoPlayerPlatform {
   }
 
   EventChannel _eventChannelFor(int textureId) {
-    return EventChannel('flutter.io/videoPlayer/videoEvents$textureId');
+    return EventChannel('flutter.io/videoPlayer/videoEvents$textureId',
+        const VideoEventCodec());
   }
 
   static const Map<VideoFormat, String> _videoFormatStringMap =
@@ -240,6 +806,31 @@ class MethodChannelVideoPlayer extends VideoPlayerPlatform {
     VideoFormat.other: 'other',
   };
 
+  Duration _toDuration(int milliseconds) {
+    return milliseconds == null ? null : Duration(milliseconds: milliseconds);
+  }
+
+  VideoTrack _toVideoTrack(Map<dynamic, dynamic> map) {
+    final int type = map['type'];
+    return VideoTrack(
+      index: map['index'],
+      type: type != null && type >= 0 && type < VideoTrackType.values.length
+          ? VideoTrackType.values[type]
+          : null,
+      definition: map['definition'],
+      bitrate: map['bitrate'],
+      width: map['width'],
+      height: map['height'],
+      description: map['description'],
+    );
+  }
+
+  BufferProfile _toBufferProfile(int index) {
+    return index == null || index < 0 || index >= BufferProfile.values.length
+        ? null
+        : BufferProfile.values[index];
+  }
+
   DurationRange _toDurationRange(dynamic value) {
     final List<dynamic> pair = value;
     return DurationRange(
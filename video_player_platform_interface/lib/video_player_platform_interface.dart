@@ -3,6 +3,7 @@
 // found in the LICENSE file.
 
 import 'dart:async';
+import 'dart:typed_data';
 import 'dart:ui';
 
 import 'package:flutter/foundation.dart';
@@ -102,7 +103,12 @@ abstract class VideoPlayerPlatform {
     throw UnimplementedError('stop() has not been implemented.');
   }
 
-  Future<void> snapshot(int textureId) {
+  /// Captures the current frame and reports it in a
+  /// [VideoEventType.snapshot] event.
+  ///
+  /// [options] is **Android only**; without it the frame is saved as a PNG at
+  /// full size.
+  Future<void> snapshot(int textureId, {SnapshotOptions options}) {
     throw UnimplementedError('snapshot() has not been implemented.');
   }
 
@@ -121,6 +127,45 @@ abstract class VideoPlayerPlatform {
   Future<void> selectTrack(int textureId, int value) {
     throw UnimplementedError('selectTrack() has not been implemented.');
   }
+
+  /// **Android only**. Turns the automatic selection of the video track on or
+  /// off.
+  ///
+  /// When [enable] is true the player switches between the tracks listed in
+  /// [VideoEvent.tracks] from the measured throughput and buffer level. Only
+  /// tracks within [maxWidth] and [maxHeight] (compared with the long and the
+  /// short side) and [maxBitrate] (in bps) are picked; 0 removes a cap and
+  /// null keeps it. Low-RAM devices start with a 720p cap. Selecting a video
+  /// track with [selectTrack] turns the automatic selection off.
+  Future<void> setAbr(int textureId,
+      {bool enable, int maxWidth, int maxHeight, int maxBitrate}) {
+    throw UnimplementedError('setAbr() has not been implemented.');
+  }
+
+  /// **Android only**. Starts or stops building the preview frames of the
+  /// source for [getThumbnail].
+  ///
+  /// One frame is taken every [interval] (10 seconds by default, at least one
+  /// second) at the nearest keyframe, shrunk to fit [maxWidth] (240 by
+  /// default) and [maxHeight] and encoded as a JPEG of [quality]. The frames
+  /// are built in the background and kept on disk, so a later player of the
+  /// same source with the same options reuses them.
+  Future<void> setThumbnails(int textureId,
+      {bool enable = true,
+      Duration interval,
+      int maxWidth,
+      int maxHeight,
+      int quality}) {
+    throw UnimplementedError('setThumbnails() has not been implemented.');
+  }
+
+  /// **Android only**. Returns the preview frame nearest [position] that is
+  /// already built, without waiting for one to be built.
+  ///
+  /// Builds the frames around [position] next when it is not ready yet.
+  Future<Thumbnail> getThumbnail(int textureId, Duration position) {
+    throw UnimplementedError('getThumbnail() has not been implemented.');
+  }
   
   /// Sets the volume to a range between 0.0 and 1.0.
   Future<void> setVolume(int textureId, double volume) {
@@ -140,11 +185,263 @@ abstract class VideoPlayerPlatform {
     throw UnimplementedError('seekTo() has not been implemented.');
   }
 
+  /// Sets the video position with the given [mode].
+  ///
+  /// [dragging] tells whether the seek comes from a scrub bar that is still
+  /// being dragged, see [SeekMode.auto]. On Android a seek requested while
+  /// another one runs waits for it and replaces any seek already waiting, and
+  /// a [VideoEventType.seekCompleted] event reports each completed seek.
+  ///
+  /// Falls back to [seekTo] on platforms without seek modes.
+  Future<void> seekToWithMode(
+      int textureId, Duration position, SeekMode mode, bool dragging) {
+    return seekTo(textureId, position);
+  }
+
+  /// **Android only**. Makes the platform push [VideoEventType.positionUpdate]
+  /// events at most every [interval] while the video is playing.
+  ///
+  /// Pass null or [Duration.zero] to go back to polling [getPosition].
+  Future<void> setPositionUpdateInterval(int textureId, Duration interval) {
+    throw UnimplementedError(
+        'setPositionUpdateInterval() has not been implemented.');
+  }
+
+  /// **Android only**. Returns the quality of experience counters of a player.
+  Future<PlayerMetrics> getMetrics(int textureId) {
+    throw UnimplementedError('getMetrics() has not been implemented.');
+  }
+
+  /// **Android only**. Makes the platform push [VideoEventType.metrics] events
+  /// every [interval].
+  ///
+  /// Pass null or [Duration.zero] to stop them.
+  Future<void> setMetricsInterval(int textureId, Duration interval) {
+    throw UnimplementedError('setMetricsInterval() has not been implemented.');
+  }
+
+  /// **Android only**. Applies [commands] in order in a single platform call.
+  ///
+  /// The commands go to the player of [textureId], to the players in
+  /// [textureIds], or to every player when neither is given. The player of
+  /// [exceptTextureId] is skipped, so pausing everything but the visible item
+  /// of a feed is one call.
+  ///
+  /// Returns the results of every command, keyed by texture id. A failing
+  /// command does not stop the ones after it.
+  Future<Map<int, List<PlayerCommandResult>>> batch(
+      List<PlayerCommand> commands,
+      {int textureId,
+      List<int> textureIds,
+      int exceptTextureId}) {
+    throw UnimplementedError('batch() has not been implemented.');
+  }
+
   /// Gets the video position as [Duration] from the start.
   Future<Duration> getPosition(int textureId) {
     throw UnimplementedError('getPosition() has not been implemented.');
   }
 
+  /// **Android only**. Configures the pool of pre-created native players.
+  ///
+  /// At most [maxSize] idle players are kept alive, and [prewarmCount] of them
+  /// are created ahead of time so the next [create] does not pay for it.
+  Future<void> setPlayerPool({int maxSize, int prewarmCount}) {
+    throw UnimplementedError('setPlayerPool() has not been implemented.');
+  }
+
+  /// **Android only**. Returns the counters of the native player pool.
+  Future<PlayerPoolStats> getPlayerPoolStats() {
+    throw UnimplementedError('getPlayerPoolStats() has not been implemented.');
+  }
+
+  /// **Android only**. Prepares the first [window] sources of [uris] ahead of
+  /// playback and cancels every source preloaded by a previous call that is
+  /// not in the window any more.
+  ///
+  /// Each preloaded player buffers at most [bufferDuration] of media and, once
+  /// the bitrate of the source is known, at most about [bufferBytes]. Returns
+  /// one handle per uri (null outside the window) that can be passed as
+  /// [DataSource.preloadHandle] to adopt the prepared player.
+  Future<List<int>> preload(List<String> uris,
+      {int window, Duration bufferDuration, int bufferBytes}) {
+    throw UnimplementedError('preload() has not been implemented.');
+  }
+
+  /// **Android only**. Configures the on-disk media cache shared by all players.
+  ///
+  /// Files longer than [maxDuration] are not cached, and the least recently
+  /// used files are deleted once [directory] grows past [maxSizeMB].
+  Future<void> setCacheConfig(
+      {bool enable, String directory, int maxSizeMB, Duration maxDuration}) {
+    throw UnimplementedError('setCacheConfig() has not been implemented.');
+  }
+
+  /// **Android only**. Returns the hit/miss and byte counters of the cache.
+  Future<CacheStats> getCacheStats() {
+    throw UnimplementedError('getCacheStats() has not been implemented.');
+  }
+
+  /// **Android only**. Deletes every cached file.
+  Future<void> clearCache() {
+    throw UnimplementedError('clearCache() has not been implemented.');
+  }
+
+  /// **Android only**. Configures the background maintenance of the cache and
+  /// snapshot directories.
+  ///
+  /// Snapshots saved below Android Q older than [snapshotMaxAge], or beyond
+  /// [snapshotMaxBytes] in total, are deleted; both are unlimited by default.
+  /// Cached files older than [cacheMaxAge] are deleted on top of the size limit
+  /// given to [setCacheConfig]. While less than [minFreeBytes] are free on the
+  /// device, the cache gives up the difference. Maintenance runs every
+  /// [interval] and whenever the cache grows.
+  Future<void> setMaintenance(
+      {int snapshotMaxBytes,
+      Duration snapshotMaxAge,
+      Duration cacheMaxAge,
+      int minFreeBytes,
+      Duration interval}) {
+    throw UnimplementedError('setMaintenance() has not been implemented.');
+  }
+
+  /// **Android only**. Returns the usage and counters of the maintenance.
+  Future<MaintenanceStats> getMaintenanceStats() {
+    throw UnimplementedError(
+        'getMaintenanceStats() has not been implemented.');
+  }
+
+  /// **Android only**. Runs the maintenance now instead of at the next
+  /// interval.
+  Future<void> runMaintenance() {
+    throw UnimplementedError('runMaintenance() has not been implemented.');
+  }
+
+  /// **Android only**. Configures the governor that keeps concurrent players
+  /// within a resource budget.
+  ///
+  /// Players are ranked by [setPriority]. Hidden players are paused, players
+  /// ranked past [maxActiveDecoders] or past [maxBufferedBytes] of buffered
+  /// media are stopped, past [maxSurfaces] lose their surface and past
+  /// [maxPlayers] give their native player back. Each step is reported as a
+  /// [VideoEventType.resourceLevelChanged] event. A demoted player is restored
+  /// when it becomes visible again within the budget, or on the next command
+  /// that needs it.
+  ///
+  /// The governor is off until [enable] is true.
+  Future<void> setGovernor(
+      {bool enable,
+      int maxActiveDecoders,
+      int maxSurfaces,
+      int maxPlayers,
+      int maxBufferedBytes}) {
+    throw UnimplementedError('setGovernor() has not been implemented.');
+  }
+
+  /// **Android only**. Returns the budget and counters of the governor.
+  Future<GovernorStats> getGovernorStats() {
+    throw UnimplementedError('getGovernorStats() has not been implemented.');
+  }
+
+  /// **Android only**. Configures what the players do while the app is in
+  /// the background.
+  ///
+  /// The policy is off by default. When [enable] is true, the playing players
+  /// are paused as soon as the activity stops. After [gracePeriod] (10 seconds by default)
+  /// they also release their surface and stop downloading. The decoder and
+  /// the buffered data are kept, so the last frame comes back at the same
+  /// position as soon as the activity starts again. With [resumePlayback]
+  /// (the default) the players paused this way play again; a player paused or
+  /// played by the app in the meantime is left alone. Turning the policy off
+  /// while the app is in the background keeps the players paused until the
+  /// activity starts again.
+  Future<void> setLifecyclePolicy(
+      {bool enable, Duration gracePeriod, bool resumePlayback}) {
+    throw UnimplementedError('setLifecyclePolicy() has not been implemented.');
+  }
+
+  /// **Android only**. Returns the settings and counters of the lifecycle
+  /// policy.
+  Future<LifecycleStats> getLifecycleStats() {
+    throw UnimplementedError('getLifecycleStats() has not been implemented.');
+  }
+
+  /// **Android only**. Routes the progressive http(s) sources of the players
+  /// created afterwards through a local proxy.
+  ///
+  /// All players of one URL, such as a feed cell and its fullscreen page,
+  /// then share a single download. The proxy reads at most [readAhead] bytes
+  /// ahead of the players. HLS and DASH sources are not routed, and neither
+  /// is anything while the disk cache of [setCacheConfig] is enabled. Turning
+  /// the proxy off only affects the players created afterwards.
+  Future<void> setProxy({bool enable, int readAhead}) {
+    throw UnimplementedError('setProxy() has not been implemented.');
+  }
+
+  /// **Android only**. Returns the settings and counters of the local proxy.
+  Future<ProxyStats> getProxyStats() {
+    throw UnimplementedError('getProxyStats() has not been implemented.');
+  }
+
+  /// **Android only**. Limits the downloads of [startDownload].
+  ///
+  /// [maxConnections] is the default number of parallel connections of a
+  /// download, between 1 and 8. [maxBytesPerSecond] caps the bandwidth of all
+  /// downloads together; 0 removes the cap.
+  Future<void> setDownloadConfig({int maxConnections, int maxBytesPerSecond}) {
+    throw UnimplementedError('setDownloadConfig() has not been implemented.');
+  }
+
+  /// **Android only**. Downloads [url] for offline playback, or resumes its
+  /// download.
+  ///
+  /// When the server supports ranges the file is fetched in segments over
+  /// [connections] parallel connections, and a download interrupted by a
+  /// pause or by the app being killed continues where it stopped. Downloads
+  /// restored after a restart are [DownloadState.paused] until started again.
+  /// While they are being read, the info returned is [DownloadState.pending]
+  /// and the actual state follows on [downloadEvents].
+  ///
+  /// Once completed, network players created for [url] play the local file.
+  Future<DownloadInfo> startDownload(String url, {int connections}) {
+    throw UnimplementedError('startDownload() has not been implemented.');
+  }
+
+  /// **Android only**. Pauses the download [id], keeping what was downloaded.
+  Future<void> pauseDownload(String id) {
+    throw UnimplementedError('pauseDownload() has not been implemented.');
+  }
+
+  /// **Android only**. Stops the download [id] and deletes its files.
+  Future<void> removeDownload(String id) {
+    throw UnimplementedError('removeDownload() has not been implemented.');
+  }
+
+  /// **Android only**. Returns every download, including the finished ones.
+  Future<List<DownloadInfo>> getDownloads() {
+    throw UnimplementedError('getDownloads() has not been implemented.');
+  }
+
+  /// **Android only**. Returns a stream of the progress and state changes of
+  /// all downloads.
+  Stream<DownloadEvent> downloadEvents() {
+    throw UnimplementedError('downloadEvents() has not been implemented.');
+  }
+
+  /// **Android only**. Sets how important the player is to the governor.
+  ///
+  /// Use [priorityHidden] for players scrolled off screen; higher values are
+  /// kept first. Players start at [priorityDefault].
+  Future<void> setPriority(int textureId, int priority) {
+    throw UnimplementedError('setPriority() has not been implemented.');
+  }
+
+  /// **Android only**. Returns the queue and timing counters of each lane of
+  /// the background executor, from the most to the least urgent.
+  Future<List<ExecutorLaneStats>> getExecutorStats() {
+    throw UnimplementedError('getExecutorStats() has not been implemented.');
+  }
+
   /// Returns a widget displaying the video with a given textureID.
   Widget buildView(int textureId) {
     throw UnimplementedError('buildView() has not been implemented.');
@@ -175,12 +472,19 @@ class DataSource {
   ///
   /// The [package] argument must be non-null when the asset comes from a
   /// package and null otherwise.
+  ///
+  /// The [preloadHandle], [eventCoalesceWindow], [bufferProfile] and
+  /// [adaptiveBuffer] arguments can be null.
   DataSource({
     @required this.sourceType,
     this.uri,
     this.formatHint,
     this.asset,
     this.package,
+    this.preloadHandle,
+    this.eventCoalesceWindow,
+    this.bufferProfile,
+    this.adaptiveBuffer,
   });
 
   /// The way in which the video was originally loaded.
@@ -205,6 +509,785 @@ class DataSource {
   /// The package that the asset was loaded from. Only set for
   /// [DataSourceType.asset] videos.
   final String package;
+
+  /// **Android only**. A handle returned by [VideoPlayerPlatform.preload] for
+  /// [uri]. The already prepared player is reused instead of a new one,
+  /// unless [uri] has been downloaded, in which case the local file is played.
+  final int preloadHandle;
+
+  /// **Android only**. When set, high frequency events (loading progress,
+  /// state changes and buffering updates) of the same type are merged over
+  /// this window and only the latest one is delivered. [Duration.zero] merges
+  /// them once per frame. Completion and errors are never dropped.
+  final Duration eventCoalesceWindow;
+
+  /// **Android only**. The base buffer durations, [BufferProfile.standard]
+  /// when null.
+  final BufferProfile bufferProfile;
+
+  /// **Android only**. Whether the buffer durations follow the observed
+  /// throughput and rebuffers. Defaults to true.
+  final bool adaptiveBuffer;
+}
+
+/// Counters of the native player pool, see [VideoPlayerPlatform.setPlayerPool].
+class PlayerPoolStats {
+  /// Constructs an instance of [PlayerPoolStats].
+  PlayerPoolStats({
+    this.maxSize,
+    this.idleCount,
+    this.hitCount,
+    this.missCount,
+    this.evictionCount,
+  });
+
+  /// The maximum number of idle players kept alive.
+  final int maxSize;
+
+  /// The number of players currently waiting in the pool.
+  final int idleCount;
+
+  /// How many times [VideoPlayerPlatform.create] reused a pooled player.
+  final int hitCount;
+
+  /// How many times [VideoPlayerPlatform.create] had to create a new player.
+  final int missCount;
+
+  /// How many idle players were released because the pool was full or the
+  /// system was low on memory.
+  final int evictionCount;
+
+  @override
+  String toString() => '$runtimeType(maxSize: $maxSize, idleCount: $idleCount, '
+      'hitCount: $hitCount, missCount: $missCount, evictionCount: $evictionCount)';
+}
+
+/// Counters of the media cache, see [VideoPlayerPlatform.setCacheConfig].
+class CacheStats {
+  /// Constructs an instance of [CacheStats].
+  CacheStats({
+    this.hitCount,
+    this.missCount,
+    this.hitBytes,
+    this.cachedBytes,
+    this.evictedBytes,
+  });
+
+  /// How many network sources were played from the cache.
+  final int hitCount;
+
+  /// How many network sources had to be downloaded.
+  final int missCount;
+
+  /// Bytes read from the cache instead of the network.
+  final int hitBytes;
+
+  /// Bytes written to the cache.
+  final int cachedBytes;
+
+  /// Bytes deleted to keep the cache under its size limit.
+  final int evictedBytes;
+
+  @override
+  String toString() => '$runtimeType(hitCount: $hitCount, missCount: $missCount, '
+      'hitBytes: $hitBytes, cachedBytes: $cachedBytes, evictedBytes: $evictedBytes)';
+}
+
+/// The usage and counters of the directory maintenance, see
+/// [VideoPlayerPlatform.setMaintenance].
+class MaintenanceStats {
+  /// Constructs an instance of [MaintenanceStats].
+  MaintenanceStats({
+    this.snapshotBytes,
+    this.cacheBytes,
+    this.thumbnailBytes,
+    this.availableBytes,
+    this.totalBytes,
+    this.reclaimedBytes,
+    this.deletedFiles,
+    this.passCount,
+    this.sliceCount,
+    this.lastPassTime,
+  });
+
+  /// Bytes used by the saved snapshots, as of the last pass.
+  final int snapshotBytes;
+
+  /// Bytes used by the media cache, as of the last pass.
+  final int cacheBytes;
+
+  /// Bytes used by the preview frames of [VideoPlayerPlatform.setThumbnails],
+  /// as of the last pass.
+  final int thumbnailBytes;
+
+  /// Bytes free on the storage holding the cache.
+  final int availableBytes;
+
+  /// Size of the storage holding the cache.
+  final int totalBytes;
+
+  /// Bytes deleted by all passes.
+  final int reclaimedBytes;
+
+  /// Files deleted by all passes.
+  final int deletedFiles;
+
+  /// How many passes completed.
+  final int passCount;
+
+  /// How many time slices the passes were split into.
+  final int sliceCount;
+
+  /// How long the last pass took, including the time spent waiting between
+  /// its slices.
+  final Duration lastPassTime;
+
+  @override
+  String toString() => '$runtimeType(snapshotBytes: $snapshotBytes, '
+      'cacheBytes: $cacheBytes, thumbnailBytes: $thumbnailBytes, '
+      'availableBytes: $availableBytes, '
+      'reclaimedBytes: $reclaimedBytes, deletedFiles: $deletedFiles, '
+      'passCount: $passCount, lastPassTime: $lastPassTime)';
+}
+
+/// Priority of a player that is not visible, see
+/// [VideoPlayerPlatform.setPriority].
+const int priorityHidden = 0;
+
+/// The settings and counters of the lifecycle policy, see
+/// [VideoPlayerPlatform.setLifecyclePolicy].
+class LifecycleStats {
+  /// Constructs an instance of [LifecycleStats].
+  LifecycleStats({
+    this.enable,
+    this.gracePeriod,
+    this.resumePlayback,
+    this.backgroundCount,
+    this.resumeCount,
+    this.surfaceReleaseCount,
+    this.reclaimedSurfaceBytes,
+    this.reclaimedHeapBytes,
+  });
+
+  /// Whether the policy is on.
+  final bool enable;
+
+  /// How long the app stays in the background before the surfaces are
+  /// released.
+  final Duration gracePeriod;
+
+  /// Whether the players paused by the policy play again in the foreground.
+  final bool resumePlayback;
+
+  /// How many times the app went to the background.
+  final int backgroundCount;
+
+  /// How many times the app came back to the foreground.
+  final int resumeCount;
+
+  /// How many times the surfaces were released after the grace period.
+  final int surfaceReleaseCount;
+
+  /// An estimate of the bytes held by the surface buffers released.
+  final int reclaimedSurfaceBytes;
+
+  /// How much the native heap shrank after the surfaces were released.
+  final int reclaimedHeapBytes;
+
+  @override
+  String toString() => '$runtimeType(enable: $enable, '
+      'gracePeriod: $gracePeriod, backgroundCount: $backgroundCount, '
+      'surfaceReleaseCount: $surfaceReleaseCount, '
+      'reclaimedSurfaceBytes: $reclaimedSurfaceBytes, '
+      'reclaimedHeapBytes: $reclaimedHeapBytes)';
+}
+
+/// The settings and counters of the local proxy, see
+/// [VideoPlayerPlatform.setProxy].
+class ProxyStats {
+  /// Constructs an instance of [ProxyStats].
+  ProxyStats({
+    this.enable,
+    this.readAhead,
+    this.requestCount,
+    this.sharedRequestCount,
+    this.upstreamBytes,
+    this.servedBytes,
+  });
+
+  /// Whether new players are routed through the proxy.
+  final bool enable;
+
+  /// How many bytes the proxy downloads ahead of the players.
+  final int readAhead;
+
+  /// How many requests the players sent to the proxy.
+  final int requestCount;
+
+  /// How many of them arrived while another player was reading the same URL.
+  final int sharedRequestCount;
+
+  /// How many bytes the proxy downloaded.
+  final int upstreamBytes;
+
+  /// How many bytes the proxy sent to the players.
+  final int servedBytes;
+
+  @override
+  String toString() => '$runtimeType(enable: $enable, '
+      'requestCount: $requestCount, '
+      'sharedRequestCount: $sharedRequestCount, '
+      'upstreamBytes: $upstreamBytes, servedBytes: $servedBytes)';
+}
+
+/// The state of a download, see [VideoPlayerPlatform.startDownload].
+enum DownloadState {
+  /// The download is looking up the file.
+  pending,
+
+  /// The download is transferring data.
+  running,
+
+  /// The download was paused, or restored after a restart.
+  paused,
+
+  /// The file is complete and plays from [DownloadInfo.localUri].
+  completed,
+
+  /// The download stopped after an error, see [DownloadInfo.error].
+  failed,
+}
+
+/// A download, see [VideoPlayerPlatform.startDownload].
+class DownloadInfo {
+  /// Constructs an instance of [DownloadInfo].
+  DownloadInfo({
+    this.id,
+    this.url,
+    this.connections,
+    this.state,
+    this.downloadedBytes,
+    this.totalBytes,
+    this.localUri,
+    this.error,
+  });
+
+  /// Identifies the download in [VideoPlayerPlatform.pauseDownload] and
+  /// [VideoPlayerPlatform.removeDownload].
+  final String id;
+
+  /// The downloaded URL.
+  final String url;
+
+  /// How many parallel connections the download uses.
+  final int connections;
+
+  /// The state of the download.
+  final DownloadState state;
+
+  /// How many bytes were downloaded.
+  final int downloadedBytes;
+
+  /// The size of the file, or -1 while it is not known.
+  final int totalBytes;
+
+  /// The path of the downloaded file once [state] is
+  /// [DownloadState.completed].
+  final String localUri;
+
+  /// The error that failed the download.
+  final String error;
+
+  @override
+  String toString() => '$runtimeType(id: $id, state: $state, '
+      'downloadedBytes: $downloadedBytes, totalBytes: $totalBytes)';
+}
+
+/// Type of a [DownloadEvent].
+enum DownloadEventType {
+  /// Bytes were downloaded, sent at most twice a second per download.
+  progress,
+
+  /// The [DownloadEvent.state] of the download changed.
+  stateChanged,
+
+  /// The download was removed.
+  removed,
+}
+
+/// An event of [VideoPlayerPlatform.downloadEvents].
+class DownloadEvent {
+  /// Constructs an instance of [DownloadEvent].
+  DownloadEvent({
+    @required this.eventType,
+    @required this.id,
+    this.state,
+    this.downloadedBytes,
+    this.totalBytes,
+    this.bytesPerSecond,
+    this.localUri,
+    this.error,
+  });
+
+  /// The type of the event.
+  final DownloadEventType eventType;
+
+  /// The id of the download.
+  final String id;
+
+  /// The new state, for [DownloadEventType.stateChanged].
+  final DownloadState state;
+
+  /// How many bytes were downloaded.
+  final int downloadedBytes;
+
+  /// The size of the file, or -1 while it is not known.
+  final int totalBytes;
+
+  /// The transfer rate since the previous progress event.
+  ///
+  /// Only used if [eventType] is [DownloadEventType.progress].
+  final int bytesPerSecond;
+
+  /// The path of the downloaded file once completed.
+  final String localUri;
+
+  /// The error that failed the download.
+  final String error;
+
+  @override
+  String toString() => '$runtimeType(eventType: $eventType, id: $id, '
+      'state: $state, downloadedBytes: $downloadedBytes, '
+      'totalBytes: $totalBytes)';
+}
+
+/// Priority of a player until [VideoPlayerPlatform.setPriority] is called.
+const int priorityDefault = 1;
+
+/// The budget and counters of the governor, see
+/// [VideoPlayerPlatform.setGovernor].
+class GovernorStats {
+  /// Constructs an instance of [GovernorStats].
+  GovernorStats({
+    this.enable,
+    this.maxActiveDecoders,
+    this.maxSurfaces,
+    this.maxPlayers,
+    this.maxBufferedBytes,
+    this.activeDecoders,
+    this.bufferedBytes,
+    this.demotionCount,
+    this.restoreCount,
+  });
+
+  /// Whether the governor is on.
+  final bool enable;
+
+  /// The maximum number of players holding a decoder.
+  final int maxActiveDecoders;
+
+  /// The maximum number of players holding a surface.
+  final int maxSurfaces;
+
+  /// The maximum number of players holding a native player.
+  final int maxPlayers;
+
+  /// The maximum number of bytes buffered by all players together.
+  final int maxBufferedBytes;
+
+  /// The number of players currently holding a decoder.
+  final int activeDecoders;
+
+  /// An estimate of the bytes currently buffered by all players.
+  final int bufferedBytes;
+
+  /// How many times a player was demoted.
+  final int demotionCount;
+
+  /// How many times a demoted player was restored.
+  final int restoreCount;
+
+  @override
+  String toString() => '$runtimeType(enable: $enable, '
+      'activeDecoders: $activeDecoders/$maxActiveDecoders, '
+      'bufferedBytes: $bufferedBytes/$maxBufferedBytes, '
+      'demotionCount: $demotionCount, restoreCount: $restoreCount)';
+}
+
+/// The counters of one lane of the background executor, see
+/// [VideoPlayerPlatform.getExecutorStats].
+///
+/// Tasks of a more urgent lane are started first. A lane rejects new tasks
+/// once [queueDepth] reaches its capacity.
+class ExecutorLaneStats {
+  /// Constructs an instance of [ExecutorLaneStats].
+  ExecutorLaneStats({
+    this.lane,
+    this.queueDepth,
+    this.maxQueueDepth,
+    this.submitted,
+    this.rejected,
+    this.completed,
+    this.failed,
+    this.totalWait,
+    this.maxWait,
+    this.totalRun,
+    this.maxRun,
+  });
+
+  /// The name of the lane, e.g. `USER_VISIBLE` or `BACKGROUND`.
+  final String lane;
+
+  /// The number of tasks waiting for a thread.
+  final int queueDepth;
+
+  /// The highest [queueDepth] seen so far.
+  final int maxQueueDepth;
+
+  /// The number of tasks submitted, including the rejected ones.
+  final int submitted;
+
+  /// The number of tasks rejected because the lane was full.
+  final int rejected;
+
+  /// The number of tasks that ran to completion.
+  final int completed;
+
+  /// The number of tasks that threw.
+  final int failed;
+
+  /// The total time tasks waited in the queue.
+  final Duration totalWait;
+
+  /// The longest time a task waited in the queue.
+  final Duration maxWait;
+
+  /// The total time spent running tasks.
+  final Duration totalRun;
+
+  /// The longest time a task ran.
+  final Duration maxRun;
+
+  @override
+  String toString() => '$runtimeType(lane: $lane, '
+      'queueDepth: $queueDepth/$maxQueueDepth, '
+      'submitted: $submitted, rejected: $rejected, '
+      'completed: $completed, failed: $failed, '
+      'maxWait: $maxWait, maxRun: $maxRun)';
+}
+
+/// Quality of experience counters of one player, see
+/// [VideoPlayerPlatform.getMetrics].
+///
+/// The startup durations are measured from the creation of the player and are
+/// null until the stage is reached.
+class PlayerMetrics {
+  /// Constructs an instance of [PlayerMetrics].
+  PlayerMetrics({
+    this.timeToPrepared,
+    this.timeToFirstFrame,
+    this.timeToFirstLoadingEnd,
+    this.preloaded,
+    this.playingDuration,
+    this.rebufferCount,
+    this.rebufferDuration,
+    this.networkRetryCount,
+    this.seekCount,
+    this.lastSeekLatency,
+    this.totalSeekLatency,
+    this.kbpsSamples,
+    this.averageKbps,
+    this.eventsDelivered,
+    this.eventsCoalesced,
+    this.bufferProfile,
+    this.startBufferDuration,
+    this.highBufferDuration,
+    this.maxBufferDuration,
+    this.bufferAdjustCount,
+    this.seekCompletedCount,
+    this.seekCoalescedCount,
+  });
+
+  /// Time until the source was prepared.
+  final Duration timeToPrepared;
+
+  /// Time until the first frame was rendered.
+  final Duration timeToFirstFrame;
+
+  /// Time until the first loading finished.
+  final Duration timeToFirstLoadingEnd;
+
+  /// Whether the player was adopted from [VideoPlayerPlatform.preload].
+  final bool preloaded;
+
+  /// Time spent playing.
+  final Duration playingDuration;
+
+  /// How many times playback stalled after the first frame, seeks excluded.
+  final int rebufferCount;
+
+  /// Time spent in those stalls.
+  final Duration rebufferDuration;
+
+  /// How many times the player retried a failed network request.
+  final int networkRetryCount;
+
+  /// How many seeks were sent to the player.
+  final int seekCount;
+
+  /// Latency of the last completed seek.
+  final Duration lastSeekLatency;
+
+  /// Sum of the latencies of all completed seeks.
+  final Duration totalSeekLatency;
+
+  /// The most recent download speed samples, oldest first, in kbps.
+  final List<double> kbpsSamples;
+
+  /// Average download speed over the whole session, in kbps.
+  final double averageKbps;
+
+  /// Events delivered on the event channel.
+  final int eventsDelivered;
+
+  /// High frequency events dropped in favour of a newer one.
+  final int eventsCoalesced;
+
+  /// The buffer profile of the session, see [DataSource.bufferProfile].
+  final BufferProfile bufferProfile;
+
+  /// Buffered media needed before playback starts.
+  final Duration startBufferDuration;
+
+  /// Buffered media needed to leave a loading state.
+  final Duration highBufferDuration;
+
+  /// Buffered media after which downloading pauses.
+  final Duration maxBufferDuration;
+
+  /// How many times the buffer durations were adapted to the network.
+  final int bufferAdjustCount;
+
+  /// How many seeks the player reported complete.
+  final int seekCompletedCount;
+
+  /// How many seeks were dropped because a newer one replaced them while
+  /// waiting.
+  final int seekCoalescedCount;
+
+  /// Share of the watch time spent rebuffering, between 0 and 1.
+  double get rebufferRatio {
+    final int stalled = rebufferDuration?.inMilliseconds ?? 0;
+    final int total = (playingDuration?.inMilliseconds ?? 0) + stalled;
+    return total == 0 ? 0.0 : stalled / total;
+  }
+
+  @override
+  String toString() => '$runtimeType(timeToPrepared: $timeToPrepared, '
+      'timeToFirstFrame: $timeToFirstFrame, '
+      'timeToFirstLoadingEnd: $timeToFirstLoadingEnd, preloaded: $preloaded, '
+      'playingDuration: $playingDuration, rebufferCount: $rebufferCount, '
+      'rebufferDuration: $rebufferDuration, '
+      'networkRetryCount: $networkRetryCount, seekCount: $seekCount, '
+      'lastSeekLatency: $lastSeekLatency, averageKbps: $averageKbps, '
+      'eventsDelivered: $eventsDelivered, eventsCoalesced: $eventsCoalesced, '
+      'bufferProfile: $bufferProfile, '
+      'startBufferDuration: $startBufferDuration, '
+      'highBufferDuration: $highBufferDuration, '
+      'maxBufferDuration: $maxBufferDuration, '
+      'bufferAdjustCount: $bufferAdjustCount, '
+      'seekCompletedCount: $seekCompletedCount, '
+      'seekCoalescedCount: $seekCoalescedCount)';
+}
+
+/// **Android only**. Base buffer durations for a kind of content, see
+/// [DataSource.bufferProfile].
+enum BufferProfile {
+  /// The durations used before profiles existed.
+  standard,
+
+  /// Low latency live streams: small buffers and a short maximum delay.
+  live,
+
+  /// Short videos in a feed: starts as soon as possible and buffers little
+  /// ahead, since the user may swipe away.
+  feed,
+
+  /// Long-form video on demand: buffers more to avoid stalls.
+  vod,
+}
+
+/// The image format of a snapshot.
+enum SnapshotFormat {
+  /// Lossless, the largest and slowest to encode.
+  png,
+
+  /// Lossy, without transparency.
+  jpeg,
+
+  /// Lossy, or lossless at quality 100.
+  webp,
+}
+
+/// How [VideoPlayerPlatform.snapshot] encodes the frame.
+class SnapshotOptions {
+  /// Constructs an instance of [SnapshotOptions].
+  const SnapshotOptions({
+    this.format = SnapshotFormat.png,
+    this.quality = 100,
+    this.maxWidth,
+    this.maxHeight,
+    this.inMemory = false,
+  });
+
+  /// The image format.
+  final SnapshotFormat format;
+
+  /// The compression quality between 0 and 100, ignored by PNG.
+  final int quality;
+
+  /// The frame is scaled down to fit [maxWidth] and [maxHeight], keeping its
+  /// aspect ratio. Null means no limit.
+  final int maxWidth;
+
+  /// See [maxWidth].
+  final int maxHeight;
+
+  /// Returns the encoded image in [SnapshotResult.bytes] instead of saving
+  /// it, with no file or media scanner work.
+  ///
+  /// Recent in-memory snapshots are cached by position and options, so
+  /// asking again for the frame of a paused video is answered from the cache.
+  final bool inMemory;
+}
+
+/// A snapshot, see [VideoPlayerPlatform.snapshot].
+class SnapshotResult {
+  /// Constructs an instance of [SnapshotResult].
+  SnapshotResult({
+    this.filePath,
+    this.uri,
+    this.bytes,
+    this.position,
+    this.cached,
+    this.mimeType,
+    this.width,
+    this.height,
+    this.size,
+    this.scaleTime,
+    this.encodeTime,
+    this.writeTime,
+  });
+
+  /// The saved file, when the image was written to a file.
+  final String filePath;
+
+  /// The MediaStore `content://` uri, when the image was written to the
+  /// gallery on Android 10 and above.
+  final String uri;
+
+  /// The encoded image, when [SnapshotOptions.inMemory] was set.
+  final Uint8List bytes;
+
+  /// The playback position the in-memory snapshot was requested at.
+  final Duration position;
+
+  /// Whether the in-memory snapshot came from the cache.
+  final bool cached;
+
+  /// The MIME type of the image.
+  final String mimeType;
+
+  /// The width of the image, after scaling.
+  final int width;
+
+  /// The height of the image, after scaling.
+  final int height;
+
+  /// The encoded size in bytes.
+  final int size;
+
+  /// Time spent scaling the frame down.
+  final Duration scaleTime;
+
+  /// Time spent encoding, including the writes it streams to the destination.
+  final Duration encodeTime;
+
+  /// Time spent closing and publishing the image.
+  final Duration writeTime;
+
+  @override
+  String toString() => '$runtimeType(filePath: $filePath, uri: $uri, '
+      'bytes: ${bytes?.length}, position: $position, cached: $cached, '
+      'mimeType: $mimeType, width: $width, height: $height, size: $size, '
+      'scaleTime: $scaleTime, encodeTime: $encodeTime, '
+      'writeTime: $writeTime)';
+}
+
+/// One operation of [VideoPlayerPlatform.batch].
+class PlayerCommand {
+  const PlayerCommand._(this.op, [this.value]);
+
+  /// Starts playback.
+  const PlayerCommand.play() : this._('play');
+
+  /// Pauses playback.
+  const PlayerCommand.pause() : this._('pause');
+
+  /// Stops playback.
+  const PlayerCommand.stop() : this._('stop');
+
+  /// Reads the current position, returned in milliseconds.
+  const PlayerCommand.position() : this._('position');
+
+  /// Sets whether the video loops.
+  const PlayerCommand.setLooping(bool looping) : this._('setLooping', looping);
+
+  /// Sets the volume, between 0 and 1.
+  const PlayerCommand.setVolume(double volume) : this._('setVolume', volume);
+
+  /// Sets the playback speed, between 0.5 and 2.
+  const PlayerCommand.setSpeed(double speed) : this._('setSpeed', speed);
+
+  /// 1：填充， 2：拉伸， 0：适应
+  const PlayerCommand.setScaleMode(int mode) : this._('setScaleMode', mode);
+
+  /// 1：水平镜像， 2：垂直镜像， 0：无镜像
+  const PlayerCommand.setMirrorMode(int mode) : this._('setMirrorMode', mode);
+
+  /// Seeks to [position].
+  PlayerCommand.seekTo(Duration position)
+      : this._('seekTo', position.inMilliseconds);
+
+  /// The name of the operation.
+  final String op;
+
+  /// The argument of the operation, if any.
+  final dynamic value;
+
+  /// The map sent over the platform channel.
+  Map<String, dynamic> toMap() => <String, dynamic>{'op': op, 'value': value};
+
+  @override
+  String toString() => '$runtimeType($op, $value)';
+}
+
+/// The result of one [PlayerCommand].
+class PlayerCommandResult {
+  /// Constructs an instance of [PlayerCommandResult].
+  PlayerCommandResult({this.ok, this.value, this.error});
+
+  /// Whether the command succeeded.
+  final bool ok;
+
+  /// The value returned by the command, if any.
+  final dynamic value;
+
+  /// The failure reported by the platform when [ok] is false.
+  final String error;
+
+  @override
+  String toString() => '$runtimeType(ok: $ok, value: $value, error: $error)';
 }
 
 /// The way in which the video was originally loaded.
@@ -254,6 +1337,14 @@ class VideoEvent {
     this.percent,
     this.kbps,
     this.filePath,
+    this.position,
+    this.metrics,
+    this.resourceLevel,
+    this.snapshot,
+    this.tracks,
+    this.trackIndex,
+    this.trackSwitch,
+    this.seekResult,
   });
 
   /// The type of the event.
@@ -282,6 +1373,46 @@ class VideoEvent {
   
   final String filePath;
 
+  /// The current playback position.
+  ///
+  /// Only used if [eventType] is [VideoEventType.positionUpdate].
+  final Duration position;
+
+  /// The player metrics.
+  ///
+  /// Only used if [eventType] is [VideoEventType.metrics].
+  final PlayerMetrics metrics;
+
+  /// The resources the player holds after a governor transition.
+  ///
+  /// Only used if [eventType] is [VideoEventType.resourceLevelChanged].
+  final PlayerResourceLevel resourceLevel;
+
+  /// The saved snapshot.
+  ///
+  /// Only used if [eventType] is [VideoEventType.snapshot].
+  final SnapshotResult snapshot;
+
+  /// The tracks of the source.
+  ///
+  /// Only used if [eventType] is [VideoEventType.initialized].
+  final List<VideoTrack> tracks;
+
+  /// The index of the video track in use, or -1.
+  ///
+  /// Only used if [eventType] is [VideoEventType.initialized].
+  final int trackIndex;
+
+  /// The outcome of a track switch.
+  ///
+  /// Only used if [eventType] is [VideoEventType.trackChanged].
+  final TrackSwitch trackSwitch;
+
+  /// The outcome of a seek.
+  ///
+  /// Only used if [eventType] is [VideoEventType.seekCompleted].
+  final SeekResult seekResult;
+
   @override
   bool operator ==(Object other) {
     return identical(this, other) ||
@@ -293,7 +1424,15 @@ class VideoEvent {
             listEquals(buffered, other.buffered) &&
             state == other.state &&
             percent == other.percent &&
-            kbps == other.kbps;
+            kbps == other.kbps &&
+            position == other.position &&
+            metrics == other.metrics &&
+            resourceLevel == other.resourceLevel &&
+            snapshot == other.snapshot &&
+            listEquals(tracks, other.tracks) &&
+            trackIndex == other.trackIndex &&
+            trackSwitch == other.trackSwitch &&
+            seekResult == other.seekResult;
   }
 
   @override
@@ -304,7 +1443,15 @@ class VideoEvent {
       buffered.hashCode ^
       state.hashCode ^
       percent.hashCode ^
-      kbps.hashCode;
+      kbps.hashCode ^
+      position.hashCode ^
+      metrics.hashCode ^
+      resourceLevel.hashCode ^
+      snapshot.hashCode ^
+      tracks.hashCode ^
+      trackIndex.hashCode ^
+      trackSwitch.hashCode ^
+      seekResult.hashCode;
 }
 
 enum VideoState {
@@ -353,10 +1500,221 @@ enum VideoEventType {
   /// 截图
   snapshot,
 
+  /// The platform pushed the current playback position.
+  positionUpdate,
+
+  /// The platform pushed the player metrics.
+  metrics,
+
+  /// The governor demoted or restored the player.
+  resourceLevelChanged,
+
+  /// A track switch completed or failed.
+  trackChanged,
+
+  /// The player finished a seek.
+  seekCompleted,
+
   /// An unknown event has been received.
   unknown,
 }
 
+/// The kind of a [VideoTrack].
+enum VideoTrackType {
+  /// A video rendition, e.g. one variant of an HLS stream.
+  video,
+
+  /// An audio track.
+  audio,
+
+  /// A subtitle track.
+  subtitle,
+
+  /// A definition of an Aliyun VOD source.
+  definition,
+}
+
+/// A track of the source, see [VideoEvent.tracks].
+class VideoTrack {
+  /// Constructs an instance of [VideoTrack].
+  VideoTrack({
+    this.index,
+    this.type,
+    this.definition,
+    this.bitrate,
+    this.width,
+    this.height,
+    this.description,
+  });
+
+  /// The value to pass to [VideoPlayerPlatform.selectTrack].
+  final int index;
+
+  /// The kind of track.
+  final VideoTrackType type;
+
+  /// The definition name, for [VideoTrackType.definition] tracks.
+  final String definition;
+
+  /// The video bitrate in bps, 0 when unknown.
+  final int bitrate;
+
+  /// The video width in pixels.
+  final int width;
+
+  /// The video height in pixels.
+  final int height;
+
+  /// A description of the track, e.g. its language.
+  final String description;
+
+  @override
+  bool operator ==(Object other) =>
+      identical(this, other) ||
+      other is VideoTrack &&
+          index == other.index &&
+          type == other.type &&
+          bitrate == other.bitrate;
+
+  @override
+  int get hashCode => index.hashCode ^ type.hashCode ^ bitrate.hashCode;
+
+  @override
+  String toString() => '$runtimeType(index: $index, type: $type, '
+      'definition: $definition, bitrate: $bitrate, size: ${width}x$height)';
+}
+
+/// The outcome of a track switch, see [VideoEventType.trackChanged].
+class TrackSwitch {
+  /// Constructs an instance of [TrackSwitch].
+  TrackSwitch({
+    this.track,
+    this.latency,
+    this.automatic,
+    this.error,
+    this.kbps,
+  });
+
+  /// The track switched to.
+  final VideoTrack track;
+
+  /// Time from the request to the switch, null when it was not requested by
+  /// the plugin.
+  final Duration latency;
+
+  /// Whether the automatic selection requested the switch.
+  final bool automatic;
+
+  /// Why the switch failed, null when it succeeded.
+  final String error;
+
+  /// The throughput estimate of the automatic selection, in kbps.
+  final double kbps;
+
+  @override
+  String toString() => '$runtimeType(track: $track, latency: $latency, '
+      'automatic: $automatic, error: $error, kbps: $kbps)';
+}
+
+/// How a seek trades precision for speed, see
+/// [VideoPlayerPlatform.seekToWithMode].
+enum SeekMode {
+  /// Decodes up to the exact position.
+  accurate,
+
+  /// Stops at the nearest keyframe, which is faster on long videos.
+  inaccurate,
+
+  /// [inaccurate] while a scrub bar is being dragged, [accurate] otherwise.
+  auto,
+}
+
+/// A preview frame, see [VideoPlayerPlatform.getThumbnail].
+class Thumbnail {
+  /// Constructs an instance of [Thumbnail].
+  Thumbnail({
+    this.bytes,
+    this.position,
+    this.exact,
+    this.progress,
+  });
+
+  /// The JPEG data, null when no frame is built yet.
+  final Uint8List bytes;
+
+  /// Position of the frame.
+  final Duration position;
+
+  /// Whether this is the frame of the requested position rather than the
+  /// nearest one built so far.
+  final bool exact;
+
+  /// Share of the frames of the source already built, between 0 and 1.
+  final double progress;
+
+  @override
+  String toString() => '$runtimeType(bytes: ${bytes?.length}, '
+      'position: $position, exact: $exact, progress: $progress)';
+}
+
+/// The outcome of a seek, see [VideoEventType.seekCompleted].
+class SeekResult {
+  /// Constructs an instance of [SeekResult].
+  SeekResult({
+    this.position,
+    this.accurate,
+    this.latency,
+    this.seekLatency,
+    this.coalesced,
+    this.pending,
+  });
+
+  /// The requested position.
+  final Duration position;
+
+  /// Whether the seek was accurate or stopped at a keyframe.
+  final bool accurate;
+
+  /// Time from the request to the completion, including the wait for the
+  /// previous seek.
+  final Duration latency;
+
+  /// Time the player took for the seek itself.
+  final Duration seekLatency;
+
+  /// How many seeks requested since the previous completion were dropped in
+  /// favour of a newer one.
+  final int coalesced;
+
+  /// Whether a newer seek is about to run.
+  final bool pending;
+
+  @override
+  String toString() => '$runtimeType(position: $position, '
+      'accurate: $accurate, latency: $latency, seekLatency: $seekLatency, '
+      'coalesced: $coalesced, pending: $pending)';
+}
+
+/// The resources a player holds, from the most to the fewest.
+///
+/// See [VideoPlayerPlatform.setGovernor].
+enum PlayerResourceLevel {
+  /// Nothing was released.
+  active,
+
+  /// Playback was paused.
+  paused,
+
+  /// The decoder and the buffer were released.
+  stopped,
+
+  /// The surface was released as well.
+  surfaceReleased,
+
+  /// The native player was released as well.
+  released,
+}
+
 /// Describes a discrete segment of time within a video using a [start] and
 /// [end] [Duration].
 class DurationRange {